@@ -22,7 +22,13 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_
 @JsonIgnoreProperties(ignoreUnknown=true)
 public enum AssetLineageEventType implements Serializable {
 
-    PROCESS_CONTEXT_EVENT                   (0, "ProcessContextEvent", "Has the full context for a Process"),
+    /**
+     * The context of a Process is published as a delta: the first event for a Process after the server starts, or
+     * once the republish interval has passed, has the full context; the following events only have the relationships
+     * that were added or changed since the last event. Removed relationships are reported with
+     * DELETE_RELATIONSHIP_EVENT. Consumers merge the relationships of each event into the context they already have.
+     */
+    PROCESS_CONTEXT_EVENT                   (0, "ProcessContextEvent", "Has the new and changed parts of the context for a Process"),
     TECHNICAL_ELEMENT_CONTEXT_EVENT         (1, "TechnicalElementContextEvent", "Has the full context for a technical element"),
     CLASSIFICATION_CONTEXT_EVENT            (2, "ClassificationContextEvent", "Has the full context for a classified element"),
     UPDATE_ENTITY_EVENT                     (3, "UpdateEvent", "Has the entity that is being updated"),
@@ -31,6 +31,7 @@ public class AssetLineageAdmin extends AccessServiceAdmin {
     private static final Logger log = LoggerFactory.getLogger(AssetLineageAdmin.class);
     private OMRSAuditLog auditLog;
     private AssetLineageServicesInstance instance;
+    private AssetLineageOMRSTopicListener omrsTopicListener;
     private String serverName;
 
     /**
@@ -76,7 +77,9 @@ public class AssetLineageAdmin extends AccessServiceAdmin {
 
             List<String> lineageClassificationTypes = getLineageClassificationTypes(accessServiceConfig);
             this.instance = new AssetLineageServicesInstance(repositoryConnector,
-                    supportedZones, lineageClassificationTypes, serverUserName, auditLog
+                    supportedZones, lineageClassificationTypes, serverUserName, auditLog,
+                    getLongOption(accessServiceConfig, AssetLineageConstants.PROCESS_CONTEXT_REPUBLISH_INTERVAL_KEY,
+                            AssetLineageConstants.DEFAULT_PROCESS_CONTEXT_REPUBLISH_INTERVAL)
             );
             this.serverName = instance.getServerName();
 
@@ -88,10 +91,12 @@ public class AssetLineageAdmin extends AccessServiceAdmin {
             if (outTopicConnection != null) {
                 OpenMetadataTopicConnector outTopicConnector = super.getOutTopicEventBusConnector(outTopicConnection, accessServiceConfig.getAccessServiceName(), auditLog);
 
-                AssetLineageOMRSTopicListener omrsTopicListener = new AssetLineageOMRSTopicListener(
+                this.omrsTopicListener = new AssetLineageOMRSTopicListener(
                         repositoryConnector.getRepositoryHelper(), outTopicConnector, serverName,
                         serverUserName,
                         lineageClassificationTypes,
+                        getLongOption(accessServiceConfig, AssetLineageConstants.PROCESS_CONTEXT_COALESCING_WINDOW_KEY,
+                                AssetLineageConstants.DEFAULT_PROCESS_CONTEXT_COALESCING_WINDOW),
                         auditLog);
 
                 super.registerWithEnterpriseTopic(accessServiceConfig.getAccessServiceName(),
@@ -135,6 +140,22 @@ public class AssetLineageAdmin extends AccessServiceAdmin {
         return AssetLineageConstants.immutableDefaultLineageClassifications;
     }
 
+    private long getLongOption(AccessServiceConfig accessServiceConfig, String optionName, long defaultValue) {
+        Object option = null;
+        if (accessServiceConfig.getAccessServiceOptions() != null)
+            option = accessServiceConfig.getAccessServiceOptions().get(optionName);
+        if (option instanceof Number)
+            return ((Number) option).longValue();
+        if (option instanceof String) {
+            try {
+                return Long.parseLong((String) option);
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring invalid value {} for {}", option, optionName);
+            }
+        }
+        return defaultValue;
+    }
+
 
     /**
      * Shutdown the access service.
@@ -143,6 +164,9 @@ public class AssetLineageAdmin extends AccessServiceAdmin {
         final String actionDescription = "shutdown";
         AssetLineageAuditCode auditCode;
 
+        if (omrsTopicListener != null)
+            this.omrsTopicListener.shutdown();
+
         if (instance != null)
             this.instance.shutdown();
 
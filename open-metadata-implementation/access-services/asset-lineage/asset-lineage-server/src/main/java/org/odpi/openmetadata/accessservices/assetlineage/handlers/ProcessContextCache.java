@@ -0,0 +1,282 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.assetlineage.handlers;
+
+import org.odpi.openmetadata.accessservices.assetlineage.model.GraphContext;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+
+import java.util.*;
+import java.util.function.LongSupplier;
+
+/**
+ * The process context cache keeps the parts of the process contexts that have already been retrieved from the
+ * repositories, and the contexts that have already been published for each process.
+ *
+ * A part of a context is the list of entities related to one entity by one relationship type, together with
+ * the graph contexts for those relationships. It is removed from the cache as soon as an instance event concerns
+ * one of its entities, so the next context built for a process only retrieves again what has changed.
+ *
+ * The published contexts are only kept in memory. They are forgotten when the server restarts, and once the
+ * republish interval has passed since the full context of a process was published, so a consumer that has lost
+ * track of a process receives its full context again.
+ */
+class ProcessContextCache {
+
+    private static final int MAX_CACHED_SUBGRAPHS = 10000;
+    private static final int MAX_PUBLISHED_PROCESSES = 10000;
+    private static final int MAX_RECENT_INVALIDATIONS = 10000;
+
+    private final Map<String, Subgraph> subgraphs = new LinkedHashMap<String, Subgraph>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Subgraph> eldest) {
+            if (size() <= MAX_CACHED_SUBGRAPHS) return false;
+            removeSubgraphKey(eldest.getKey(), eldest.getValue());
+            return true;
+        }
+    };
+    private final Map<String, Set<String>> subgraphKeysByEntityGuid = new HashMap<>();
+
+    private final Map<String, Long> recentInvalidations = new LinkedHashMap<String, Long>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > MAX_RECENT_INVALIDATIONS;
+        }
+    };
+    private long invalidationSequence;
+
+    private final Map<String, PublishedContext> publishedContexts = new LinkedHashMap<String, PublishedContext>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, PublishedContext> eldest) {
+            if (size() <= MAX_PUBLISHED_PROCESSES) return false;
+            removePublishedRelationships(eldest.getKey(), eldest.getValue().getGraphContexts());
+            return true;
+        }
+    };
+    private final Map<String, Set<String>> processGuidsByRelationshipGuid = new HashMap<>();
+    private final long republishInterval;
+    private final LongSupplier clock;
+
+    /**
+     * @param republishInterval milliseconds after which the full context of a process is published again, 0 to
+     *                          always publish the full context
+     */
+    ProcessContextCache(long republishInterval) {
+        this(republishInterval, System::currentTimeMillis);
+    }
+
+    ProcessContextCache(long republishInterval, LongSupplier clock) {
+        this.republishInterval = republishInterval;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the sequence number of the last invalidation, to be passed to putSubgraph once the subgraph has been
+     * retrieved.
+     *
+     * @return the invalidation sequence number
+     */
+    synchronized long getInvalidationSequence() {
+        return invalidationSequence;
+    }
+
+    /**
+     * Returns the cached subgraph of an entity for a relationship type.
+     *
+     * @param guid             guid of the start entity
+     * @param relationshipType type of the relationships
+     * @return the subgraph, null if it is not cached
+     */
+    synchronized Subgraph getSubgraph(String guid, String relationshipType) {
+        return subgraphs.get(getSubgraphKey(guid, relationshipType));
+    }
+
+    /**
+     * Caches the subgraph of an entity for a relationship type, unless one of its entities has been invalidated
+     * since the subgraph started to be retrieved.
+     *
+     * @param relationshipType     type of the relationships
+     * @param subgraph             the subgraph
+     * @param invalidationSequence the invalidation sequence number from before the subgraph was retrieved
+     */
+    synchronized void putSubgraph(String relationshipType, Subgraph subgraph, long invalidationSequence) {
+        if (this.invalidationSequence - invalidationSequence >= MAX_RECENT_INVALIDATIONS) return;
+
+        for (String guid : subgraph.getEntityGuids()) {
+            Long lastInvalidation = recentInvalidations.get(guid);
+            if (lastInvalidation != null && lastInvalidation > invalidationSequence) return;
+        }
+
+        String key = getSubgraphKey(subgraph.getStartEntityGuid(), relationshipType);
+        Subgraph previous = subgraphs.put(key, subgraph);
+        if (previous != null) removeSubgraphKey(key, previous);
+
+        for (String guid : subgraph.getEntityGuids()) {
+            subgraphKeysByEntityGuid.computeIfAbsent(guid, k -> new HashSet<>()).add(key);
+        }
+    }
+
+    /**
+     * Removes all the cached subgraphs that contain the entity.
+     *
+     * @param guid guid of the entity that has changed
+     */
+    synchronized void invalidateEntity(String guid) {
+        invalidationSequence++;
+        recentInvalidations.remove(guid);
+        recentInvalidations.put(guid, invalidationSequence);
+
+        Set<String> keys = subgraphKeysByEntityGuid.remove(guid);
+        if (keys == null) return;
+
+        for (String key : keys) {
+            Subgraph subgraph = subgraphs.remove(key);
+            if (subgraph != null) removeSubgraphKey(key, subgraph);
+        }
+    }
+
+    /**
+     * Removes all the cached subgraphs that contain one of the ends of the relationship, and forgets that the
+     * relationship was published, so it is published again if it is part of the next context of a process.
+     *
+     * @param relationshipGuid guid of the relationship that has changed
+     * @param entityOneGuid    guid of the first end of the relationship
+     * @param entityTwoGuid    guid of the second end of the relationship
+     */
+    synchronized void invalidateRelationship(String relationshipGuid, String entityOneGuid, String entityTwoGuid) {
+        if (entityOneGuid != null) invalidateEntity(entityOneGuid);
+        if (entityTwoGuid != null) invalidateEntity(entityTwoGuid);
+
+        Set<String> processGuids = processGuidsByRelationshipGuid.remove(relationshipGuid);
+        if (processGuids == null) return;
+
+        for (String processGuid : processGuids) {
+            PublishedContext publishedContext = publishedContexts.get(processGuid);
+            if (publishedContext != null)
+                publishedContext.getGraphContexts().removeIf(graphContext -> relationshipGuid.equals(graphContext.getRelationshipGuid()));
+        }
+    }
+
+    /**
+     * Returns the part of the context of a process that has not been published yet. The full context is returned
+     * if nothing is known to be published for the process, or if the republish interval has passed.
+     *
+     * @param processGuid guid of the process
+     * @param context     the full context of the process
+     * @return the graph contexts that have not been published, grouped as in the full context
+     */
+    synchronized Map<String, Set<GraphContext>> getUnpublishedContext(String processGuid, Map<String, Set<GraphContext>> context) {
+        PublishedContext publishedContext = publishedContexts.get(processGuid);
+        if (publishedContext == null) return context;
+
+        if (clock.getAsLong() - publishedContext.getFullContextPublishTime() >= republishInterval) {
+            publishedContexts.remove(processGuid);
+            removePublishedRelationships(processGuid, publishedContext.getGraphContexts());
+            return context;
+        }
+
+        Map<String, Set<GraphContext>> unpublishedContext = new HashMap<>();
+        for (Map.Entry<String, Set<GraphContext>> neighbors : context.entrySet()) {
+            Set<GraphContext> unpublishedNeighbors = new HashSet<>(neighbors.getValue());
+            unpublishedNeighbors.removeAll(publishedContext.getGraphContexts());
+            if (!unpublishedNeighbors.isEmpty())
+                unpublishedContext.put(neighbors.getKey(), unpublishedNeighbors);
+        }
+        return unpublishedContext;
+    }
+
+    /**
+     * Records that a part of the context of a process has been published. The first part recorded for a process is
+     * its full context, and starts the republish interval.
+     *
+     * @param processGuid guid of the process
+     * @param context     the published graph contexts
+     */
+    synchronized void markPublished(String processGuid, Map<String, Set<GraphContext>> context) {
+        PublishedContext publishedContext = publishedContexts.computeIfAbsent(processGuid, k -> new PublishedContext(clock.getAsLong()));
+        for (Set<GraphContext> neighbors : context.values()) {
+            for (GraphContext graphContext : neighbors) {
+                publishedContext.getGraphContexts().add(graphContext);
+                processGuidsByRelationshipGuid.computeIfAbsent(graphContext.getRelationshipGuid(), k -> new HashSet<>()).add(processGuid);
+            }
+        }
+    }
+
+    private void removeSubgraphKey(String key, Subgraph subgraph) {
+        for (String guid : subgraph.getEntityGuids()) {
+            Set<String> keys = subgraphKeysByEntityGuid.get(guid);
+            if (keys == null) continue;
+            keys.remove(key);
+            if (keys.isEmpty()) subgraphKeysByEntityGuid.remove(guid);
+        }
+    }
+
+    private void removePublishedRelationships(String processGuid, Set<GraphContext> publishedContext) {
+        for (GraphContext graphContext : publishedContext) {
+            Set<String> processGuids = processGuidsByRelationshipGuid.get(graphContext.getRelationshipGuid());
+            if (processGuids == null) continue;
+            processGuids.remove(processGuid);
+            if (processGuids.isEmpty()) processGuidsByRelationshipGuid.remove(graphContext.getRelationshipGuid());
+        }
+    }
+
+    private String getSubgraphKey(String guid, String relationshipType) {
+        return guid + ":" + relationshipType;
+    }
+
+    /**
+     * The graph contexts published for a process since its full context was published.
+     */
+    private static class PublishedContext {
+
+        private final long fullContextPublishTime;
+        private final Set<GraphContext> graphContexts = new HashSet<>();
+
+        PublishedContext(long fullContextPublishTime) {
+            this.fullContextPublishTime = fullContextPublishTime;
+        }
+
+        long getFullContextPublishTime() {
+            return fullContextPublishTime;
+        }
+
+        Set<GraphContext> getGraphContexts() {
+            return graphContexts;
+        }
+    }
+
+    /**
+     * The entities related to a start entity by one relationship type, with the graph contexts of the relationships.
+     */
+    static class Subgraph {
+
+        private final String startEntityGuid;
+        private final List<EntityDetail> endEntities;
+        private final Set<GraphContext> graphContexts;
+        private final Set<String> entityGuids = new HashSet<>();
+
+        Subgraph(String startEntityGuid, List<EntityDetail> endEntities, Set<GraphContext> graphContexts) {
+            this.startEntityGuid = startEntityGuid;
+            this.endEntities = Collections.unmodifiableList(new ArrayList<>(endEntities));
+            this.graphContexts = Collections.unmodifiableSet(new HashSet<>(graphContexts));
+
+            entityGuids.add(startEntityGuid);
+            endEntities.forEach(entityDetail -> entityGuids.add(entityDetail.getGUID()));
+        }
+
+        String getStartEntityGuid() {
+            return startEntityGuid;
+        }
+
+        List<EntityDetail> getEndEntities() {
+            return endEntities;
+        }
+
+        Set<GraphContext> getGraphContexts() {
+            return graphContexts;
+        }
+
+        Set<String> getEntityGuids() {
+            return entityGuids;
+        }
+    }
+}
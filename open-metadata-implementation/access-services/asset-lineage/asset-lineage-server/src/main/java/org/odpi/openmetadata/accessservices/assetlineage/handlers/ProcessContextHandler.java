@@ -31,6 +31,7 @@ public class ProcessContextHandler {
     private final InvalidParameterHandler invalidParameterHandler;
     private final List<String> supportedZones;
     private final HandlerHelper handlerHelper;
+    private final ProcessContextCache processContextCache;
 
     private AssetContext graph;
 
@@ -42,15 +43,18 @@ public class ProcessContextHandler {
      * @param repositoryHelper        helper used by the converters
      * @param repositoryHandler       handler for calling the repository services
      * @param supportedZones          configurable list of zones that Asset Lineage is allowed to retrieve Assets from
+     * @param republishInterval       milliseconds after which the full context of a process is published again
      */
     public ProcessContextHandler(InvalidParameterHandler invalidParameterHandler,
                                  OMRSRepositoryHelper repositoryHelper,
                                  RepositoryHandler repositoryHandler,
-                                 List<String> supportedZones) {
+                                 List<String> supportedZones,
+                                 long republishInterval) {
         this.invalidParameterHandler = invalidParameterHandler;
         this.repositoryHandler = repositoryHandler;
         this.handlerHelper = new HandlerHelper(invalidParameterHandler, repositoryHelper, repositoryHandler);
         this.supportedZones = supportedZones;
+        this.processContextCache = new ProcessContextCache(republishInterval);
     }
 
     /**
@@ -60,7 +64,7 @@ public class ProcessContextHandler {
      * @param processGuid guid of the asset that has been created
      * @return Map of the relationships between the Entities that are relevant to a Process
      */
-    public Map<String, Set<GraphContext>> getProcessContext(String userId, String processGuid) throws OCFCheckedExceptionBase {
+    public synchronized Map<String, Set<GraphContext>> getProcessContext(String userId, String processGuid) throws OCFCheckedExceptionBase {
 
         final String methodName = "getProcessContext";
 
@@ -88,6 +92,49 @@ public class ProcessContextHandler {
         return checkIfAllRelationshipsExist(userId, entityDetail.get());
     }
 
+    /**
+     * Retrieves the part of the context for a Process that has not been published yet
+     *
+     * @param userId      String - userId of user making request.
+     * @param processGuid guid of the process
+     * @return Map of the relationships that are relevant to the Process and have not been published, empty map if none
+     */
+    public Map<String, Set<GraphContext>> getProcessContextChanges(String userId, String processGuid) throws OCFCheckedExceptionBase {
+        return processContextCache.getUnpublishedContext(processGuid, getProcessContext(userId, processGuid));
+    }
+
+    /**
+     * Records that a part of the context for a Process has been published, so it is left out of the next changes
+     *
+     * @param processGuid guid of the process
+     * @param context     the published relationships
+     */
+    public void markProcessContextPublished(String processGuid, Map<String, Set<GraphContext>> context) {
+        processContextCache.markPublished(processGuid, context);
+    }
+
+    /**
+     * Removes the cached context that contains the entity, after an instance event concerning the entity
+     *
+     * @param entityDetail the entity that has changed
+     */
+    public void invalidateEntity(EntityDetail entityDetail) {
+        processContextCache.invalidateEntity(entityDetail.getGUID());
+    }
+
+    /**
+     * Removes the cached context that contains either end of the relationship, after an instance event concerning
+     * the relationship
+     *
+     * @param relationship the relationship that has changed
+     */
+    public void invalidateRelationship(Relationship relationship) {
+        String entityOneGuid = relationship.getEntityOneProxy() == null ? null : relationship.getEntityOneProxy().getGUID();
+        String entityTwoGuid = relationship.getEntityTwoProxy() == null ? null : relationship.getEntityTwoProxy().getGUID();
+
+        processContextCache.invalidateRelationship(relationship.getGUID(), entityOneGuid, entityTwoGuid);
+    }
+
     private Map<String, Set<GraphContext>> checkIfAllRelationshipsExist(String userId, EntityDetail entityDetail) throws OCFCheckedExceptionBase {
 
         boolean entitiesTillLastRelationshipExist = hasEntitiesLinkedWithProcessPort(userId, entityDetail);
@@ -127,7 +174,7 @@ public class ProcessContextHandler {
 
 
     /**
-     * Retrieves the relationships of an Entity
+     * Retrieves the relationships of an Entity, from the cache if they have not changed since they were last retrieved
      *
      * @param userId           String - userId of user making request.
      * @param guid             guid of parent entity
@@ -136,6 +183,15 @@ public class ProcessContextHandler {
      * @return List of entities that are on the other end of the relationship, empty list if none
      */
     private List<EntityDetail> getRelationshipsBetweenEntities(String userId, String guid, String relationshipType, String typeDefName) throws OCFCheckedExceptionBase {
+        ProcessContextCache.Subgraph cachedSubgraph = processContextCache.getSubgraph(guid, relationshipType);
+        if (cachedSubgraph != null) {
+            addGraphContexts(cachedSubgraph.getGraphContexts());
+            return cachedSubgraph.getEndEntities();
+        }
+
+        long invalidationSequence = processContextCache.getInvalidationSequence();
+        AssetContext subgraph = new AssetContext();
+
         List<Relationship> relationships = handlerHelper.getRelationshipsByType(userId, guid, relationshipType, typeDefName);
         EntityDetail startEntity = repositoryHandler.getEntityByGUID(userId, guid, "guid", typeDefName, "getRelationships");
 
@@ -149,16 +205,38 @@ public class ProcessContextHandler {
                     startEntityType.equals(TABULAR_COLUMN)) {
                 continue;
             }
-            EntityDetail endEntity = handlerHelper.buildGraphEdgeByRelationship(userId, startEntity, relationship, graph, false);
-            if (endEntity == null) return Collections.emptyList();
+            EntityDetail endEntity = handlerHelper.buildGraphEdgeByRelationship(userId, startEntity, relationship, subgraph, false);
+            if (endEntity == null) {
+                addGraphContexts(subgraph.getGraphContexts());
+                return Collections.emptyList();
+            }
 
             entityDetails.add(endEntity);
         }
 
+        addGraphContexts(subgraph.getGraphContexts());
+        processContextCache.putSubgraph(relationshipType, new ProcessContextCache.Subgraph(guid, entityDetails, subgraph.getGraphContexts()),
+                invalidationSequence);
+
         return entityDetails;
 
     }
 
+    /**
+     * Adds the relationships of a subgraph to the context, leaving out the relationships that are already part of it
+     *
+     * @param graphContexts the relationships of the subgraph
+     */
+    private void addGraphContexts(Set<GraphContext> graphContexts) {
+        for (GraphContext graphContext : graphContexts) {
+            if (graph.getGraphContexts().stream().noneMatch(e -> e.getRelationshipGuid().equals(graphContext.getRelationshipGuid()))) {
+                graph.addVertex(graphContext.getFromVertex());
+                graph.addVertex(graphContext.getToVertex());
+                graph.addGraphContext(graphContext);
+            }
+        }
+    }
+
     /**
      * Creates the full context for a Process. There are two cases, a process can have a relationship to either
      * a Port Alias or to a Port Implementation. In case of Port Alias it should take the context until Port Implementation
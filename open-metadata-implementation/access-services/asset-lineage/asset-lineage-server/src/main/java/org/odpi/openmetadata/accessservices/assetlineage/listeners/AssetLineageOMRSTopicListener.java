@@ -42,17 +42,30 @@ public class AssetLineageOMRSTopicListener implements OMRSTopicListener {
     /**
      * The constructor is given the connection to the out topic for Asset Lineage OMAS
      * along with classes for testing and manipulating instances.
-     *  @param repositoryHelper           helper object for building and querying TypeDefs and metadata instances
-     * @param outTopicConnector          The connector used for the Asset Lineage OMAS Out Topic
-     * @param serverName                 name of this server instance
-     * @param serverUserName             name of the user of the server instance
+     * @param repositoryHelper               helper object for building and querying TypeDefs and metadata instances
+     * @param outTopicConnector              The connector used for the Asset Lineage OMAS Out Topic
+     * @param serverName                     name of this server instance
+     * @param serverUserName                 name of the user of the server instance
+     * @param lineageClassificationTypes     the classification types that are relevant for lineage
+     * @param processContextCoalescingWindow milliseconds to wait before publishing the context of a process
+     * @param auditLog                       audit log
      */
     public AssetLineageOMRSTopicListener(OMRSRepositoryHelper repositoryHelper,
                                          OpenMetadataTopicConnector outTopicConnector,
                                          String serverName, String serverUserName, List<String> lineageClassificationTypes,
-                                         OMRSAuditLog auditLog)
+                                         long processContextCoalescingWindow, OMRSAuditLog auditLog)
             throws OCFCheckedExceptionBase {
-        this.publisher = new AssetLineagePublisher(repositoryHelper, outTopicConnector, serverName, serverUserName);
+        this(new AssetLineagePublisher(repositoryHelper, outTopicConnector, serverName, serverUserName,
+                processContextCoalescingWindow, auditLog), lineageClassificationTypes, auditLog);
+    }
+
+    /**
+     * @param publisher                  publisher of the lineage events
+     * @param lineageClassificationTypes the classification types that are relevant for lineage
+     * @param auditLog                   audit log
+     */
+    AssetLineageOMRSTopicListener(AssetLineagePublisher publisher, List<String> lineageClassificationTypes, OMRSAuditLog auditLog) {
+        this.publisher = publisher;
         this.lineageClassificationTypes = lineageClassificationTypes;
         this.auditLog = auditLog;
     }
@@ -97,6 +110,11 @@ public class AssetLineageOMRSTopicListener implements OMRSTopicListener {
             return;
 
         try {
+            if (entityDetail != null)
+                publisher.invalidateProcessContext(entityDetail);
+            if (relationship != null)
+                publisher.invalidateProcessContext(relationship);
+
             switch (instanceEventType) {
                 case NEW_ENTITY_EVENT:
                     processNewEntity(entityDetail);
@@ -221,6 +239,13 @@ public class AssetLineageOMRSTopicListener implements OMRSTopicListener {
 
     }
 
+    /**
+     * Publishes the process contexts that are waiting to be published and stops the publisher.
+     */
+    public void shutdown() {
+        publisher.shutdown();
+    }
+
     private boolean anyLineageClassificationsLeft(EntityDetail entityDetail) {
         return lineageClassificationTypes.stream().anyMatch(classificationType -> entityDetail.getClassifications().stream().anyMatch(
                 classification -> classification.getName().equals(classificationType)));
@@ -6,6 +6,7 @@ package org.odpi.openmetadata.accessservices.assetlineage.outtopic;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.collections4.MapUtils;
+import org.odpi.openmetadata.accessservices.assetlineage.auditlog.AssetLineageAuditCode;
 import org.odpi.openmetadata.accessservices.assetlineage.event.AssetLineageEventHeader;
 import org.odpi.openmetadata.accessservices.assetlineage.event.AssetLineageEventType;
 import org.odpi.openmetadata.accessservices.assetlineage.event.LineageEvent;
@@ -21,22 +22,34 @@ import org.odpi.openmetadata.accessservices.assetlineage.server.AssetLineageInst
 import org.odpi.openmetadata.accessservices.assetlineage.util.SuperTypesRetriever;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.OCFCheckedExceptionBase;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * AssetLineagePublisher is the connector responsible for publishing lineage context information about
  * new and changed assets.
+ *
+ * The context of a process is published once the coalescing window has passed since the first request to publish
+ * it, so a burst of changes to a process results in a single event. The event only carries the part of the context
+ * that has not been published yet.
  */
 public class AssetLineagePublisher {
 
     private static final Logger log = LoggerFactory.getLogger(AssetLineagePublisher.class);
+    private static final int SHUTDOWN_WAIT_SECONDS = 30;
     private static AssetLineageInstanceHandler instanceHandler = new AssetLineageInstanceHandler();
     private OpenMetadataTopicConnector outTopicConnector;
     private String serverUserName;
@@ -45,40 +58,106 @@ public class AssetLineagePublisher {
     private ClassificationHandler classificationHandler;
     private AssetContextHandler assetContextHandler;
     private GlossaryHandler glossaryHandler;
+    private OMRSAuditLog auditLog;
+    private long processContextCoalescingWindow;
+    private ScheduledExecutorService processContextScheduler;
+    private Map<String, EntityDetail> pendingProcesses = new ConcurrentHashMap<>();
 
     /**
      * The constructor is given the connection to the out topic for Asset Lineage OMAS
      * along with classes for testing and manipulating instances.
      *
-     * @param repositoryHelper  provides utilities for manipulating the repository services objects
-     * @param outTopicConnector connection to the out topic
-     * @param serverName        name of the user of the server instance
-     * @param serverUserName    name of this server instance
+     * @param repositoryHelper               provides utilities for manipulating the repository services objects
+     * @param outTopicConnector              connection to the out topic
+     * @param serverName                     name of the user of the server instance
+     * @param serverUserName                 name of this server instance
+     * @param processContextCoalescingWindow milliseconds to wait before publishing the context of a process, 0 to publish it at once
+     * @param auditLog                       audit log used for the errors that occur while publishing the context of a process
      */
     public AssetLineagePublisher(OMRSRepositoryHelper repositoryHelper, OpenMetadataTopicConnector outTopicConnector,
-                                 String serverName, String serverUserName)
+                                 String serverName, String serverUserName, long processContextCoalescingWindow,
+                                 OMRSAuditLog auditLog)
             throws OCFCheckedExceptionBase {
+        this(outTopicConnector, serverName, serverUserName,
+                instanceHandler.getProcessHandler(serverUserName, serverName, "AssetLineagePublisher"),
+                processContextCoalescingWindow, auditLog);
         String methodName = "AssetLineagePublisher";
-        this.outTopicConnector = outTopicConnector;
-        this.serverUserName = serverUserName;
         this.superTypesRetriever = new SuperTypesRetriever(repositoryHelper);
-        this.processContextHandler = instanceHandler.getProcessHandler(serverUserName, serverName, methodName);
         this.classificationHandler = instanceHandler.getClassificationHandler(serverUserName, serverName, methodName);
         this.assetContextHandler = instanceHandler.getAssetContextHandler(serverUserName, serverName, methodName);
         this.glossaryHandler = instanceHandler.getGlossaryHandler(serverUserName, serverName, methodName);
     }
 
     /**
-     * Takes the context for a Process and publishes the event to the Cohort
+     * Constructor for publishing the process contexts only.
+     *
+     * @param outTopicConnector              connection to the out topic
+     * @param serverName                     name of this server instance
+     * @param serverUserName                 name of the user of the server instance
+     * @param processContextHandler          handler that builds the context of a process
+     * @param processContextCoalescingWindow milliseconds to wait before publishing the context of a process, 0 to publish it at once
+     * @param auditLog                       audit log used for the errors that occur while publishing the context of a process
+     */
+    AssetLineagePublisher(OpenMetadataTopicConnector outTopicConnector, String serverName, String serverUserName,
+                          ProcessContextHandler processContextHandler, long processContextCoalescingWindow,
+                          OMRSAuditLog auditLog) {
+        this.outTopicConnector = outTopicConnector;
+        this.serverUserName = serverUserName;
+        this.processContextHandler = processContextHandler;
+        this.auditLog = auditLog;
+        this.processContextCoalescingWindow = processContextCoalescingWindow;
+        if (processContextCoalescingWindow > 0) {
+            this.processContextScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "AssetLineage-" + serverName + "-process-context");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Takes the context for a Process and publishes the event to the Cohort. When a coalescing window is set, the
+     * event is published once the window has passed, together with any other change to the Process in the meantime.
      *
      * @param entityDetail entity to get context
      */
     public void publishProcessContext(EntityDetail entityDetail) throws OCFCheckedExceptionBase, JsonProcessingException {
-        Map<String, Set<GraphContext>> processContext = processContextHandler.getProcessContext(serverUserName, entityDetail.getGUID());
-        LineageEvent event = new LineageEvent();
-        event.setAssetContext(processContext);
-        event.setAssetLineageEventType(AssetLineageEventType.PROCESS_CONTEXT_EVENT);
-        publishEvent(event);
+        if (processContextScheduler == null) {
+            publishProcessContextChanges(entityDetail.getGUID());
+            return;
+        }
+
+        String processGuid = entityDetail.getGUID();
+        if (pendingProcesses.put(processGuid, entityDetail) != null) {
+            log.debug("The context of process {} is already waiting to be published", processGuid);
+            return;
+        }
+
+        try {
+            processContextScheduler.schedule(() -> publishPendingProcessContext(processGuid), processContextCoalescingWindow, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // the publisher is shutting down
+            pendingProcesses.remove(processGuid);
+            publishProcessContextChanges(processGuid);
+        }
+    }
+
+    /**
+     * Removes the cached process context that contains the entity
+     *
+     * @param entityDetail entity that has changed
+     */
+    public void invalidateProcessContext(EntityDetail entityDetail) {
+        processContextHandler.invalidateEntity(entityDetail);
+    }
+
+    /**
+     * Removes the cached process context that contains the relationship or its ends
+     *
+     * @param relationship relationship that has changed
+     */
+    public void invalidateProcessContext(Relationship relationship) {
+        processContextHandler.invalidateRelationship(relationship);
     }
 
     public void publishAssetContext(EntityDetail entityDetail) throws OCFCheckedExceptionBase, JsonProcessingException {
@@ -125,6 +204,67 @@ public class AssetLineagePublisher {
         publishEvent(event);
     }
 
+    /**
+     * Publishes the process contexts that are waiting for the coalescing window to pass and stops the scheduler.
+     */
+    public void shutdown() {
+        if (processContextScheduler == null)
+            return;
+
+        processContextScheduler.shutdown();
+        try {
+            if (!processContextScheduler.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                log.debug("The process contexts were not published within {} seconds", SHUTDOWN_WAIT_SECONDS);
+                processContextScheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            processContextScheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void publishPendingProcessContext(String processGuid) {
+        EntityDetail entityDetail = pendingProcesses.remove(processGuid);
+        if (entityDetail == null)
+            return;
+
+        try {
+            publishProcessContextChanges(processGuid);
+        } catch (Exception e) {
+            log.error("An exception occurred while publishing the context of process {}", processGuid, e);
+            logExceptionToAudit(entityDetail, e);
+        }
+    }
+
+    private void publishProcessContextChanges(String processGuid) throws OCFCheckedExceptionBase, JsonProcessingException {
+        Map<String, Set<GraphContext>> processContext = processContextHandler.getProcessContextChanges(serverUserName, processGuid);
+        if (processContext.isEmpty()) {
+            log.debug("The context of process {} has not changed since it was last published", processGuid);
+            return;
+        }
+
+        LineageEvent event = new LineageEvent();
+        event.setAssetContext(processContext);
+        event.setAssetLineageEventType(AssetLineageEventType.PROCESS_CONTEXT_EVENT);
+        publishEvent(event);
+        processContextHandler.markProcessContextPublished(processGuid, processContext);
+    }
+
+    private void logExceptionToAudit(EntityDetail entityDetail, Exception e) {
+        if (auditLog == null)
+            return;
+
+        AssetLineageAuditCode auditCode = AssetLineageAuditCode.EVENT_PROCESSING_ERROR;
+        auditLog.logException("Asset Lineage OMAS is publishing the context of a process.",
+                auditCode.getLogMessageId(),
+                auditCode.getSeverity(),
+                auditCode.getFormattedLogMessage(entityDetail.toString()),
+                null,
+                auditCode.getSystemAction(),
+                auditCode.getUserAction(),
+                e);
+    }
+
     /**
      * Output a new asset event.
      *
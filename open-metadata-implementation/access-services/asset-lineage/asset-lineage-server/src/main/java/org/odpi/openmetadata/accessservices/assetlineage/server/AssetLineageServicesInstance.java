@@ -35,12 +35,14 @@ public class AssetLineageServicesInstance extends OCFOMASServiceInstance {
      * @param lineageClassificationTypes
      * @param localServerUserId   userId used for server initiated actions
      * @param auditLog            destination for audit log events.
+     * @param processContextRepublishInterval milliseconds after which the full context of a process is published again
      * @throws NewInstanceException a problem occurred during initialization
      */
     public AssetLineageServicesInstance(OMRSRepositoryConnector repositoryConnector,
                                         List<String> supportedZones,
                                         List<String> lineageClassificationTypes,
-                                        String localServerUserId, OMRSAuditLog auditLog) throws NewInstanceException {
+                                        String localServerUserId, OMRSAuditLog auditLog,
+                                        long processContextRepublishInterval) throws NewInstanceException {
         super(myDescription.getAccessServiceFullName(),
                 repositoryConnector,
                 auditLog,
@@ -67,7 +69,8 @@ public class AssetLineageServicesInstance extends OCFOMASServiceInstance {
                     invalidParameterHandler,
                     repositoryHelper,
                     repositoryHandler,
-                    supportedZones);
+                    supportedZones,
+                    processContextRepublishInterval);
 
             classificationHandler = new ClassificationHandler(
                     invalidParameterHandler,
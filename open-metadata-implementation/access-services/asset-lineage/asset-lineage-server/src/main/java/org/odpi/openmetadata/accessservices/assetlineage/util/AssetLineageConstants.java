@@ -12,6 +12,10 @@ public final class AssetLineageConstants {
     private AssetLineageConstants() {}
 
     public static final String LINEAGE_CLASSIFICATION_TYPES_KEY = "LineageClassificationTypes";
+    public static final String PROCESS_CONTEXT_COALESCING_WINDOW_KEY = "ProcessContextCoalescingWindow";
+    public static final long DEFAULT_PROCESS_CONTEXT_COALESCING_WINDOW = 1000;
+    public static final String PROCESS_CONTEXT_REPUBLISH_INTERVAL_KEY = "ProcessContextRepublishInterval";
+    public static final long DEFAULT_PROCESS_CONTEXT_REPUBLISH_INTERVAL = 3600000;
     public static final String ASSET_LINEAGE_OMAS = "AssetLineageOmas";
     public static final String REFERENCEABLE = "Referenceable";
     public static final String GUID_PARAMETER = "guid";
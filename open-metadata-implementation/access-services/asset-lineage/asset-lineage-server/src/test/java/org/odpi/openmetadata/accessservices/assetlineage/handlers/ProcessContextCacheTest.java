@@ -0,0 +1,157 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.assetlineage.handlers;
+
+import org.junit.jupiter.api.Test;
+import org.odpi.openmetadata.accessservices.assetlineage.model.GraphContext;
+import org.odpi.openmetadata.accessservices.assetlineage.model.LineageEntity;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProcessContextCacheTest {
+
+    private static final String PROCESS = "process";
+    private static final String PORT_IMPLEMENTATION = "PortImplementation";
+    private static final long REPUBLISH_INTERVAL = 1000;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final ProcessContextCache processContextCache = new ProcessContextCache(REPUBLISH_INTERVAL, clock::get);
+
+    private final GraphContext toPortOne = graphContext("r1", PROCESS, "port1");
+    private final GraphContext toPortTwo = graphContext("r2", PROCESS, "port2");
+
+    @Test
+    void fullContextIsReturnedUntilItIsPublished() {
+        Map<String, Set<GraphContext>> context = context(toPortOne);
+
+        assertEquals(context, processContextCache.getUnpublishedContext(PROCESS, context));
+        assertEquals(context, processContextCache.getUnpublishedContext(PROCESS, context));
+    }
+
+    @Test
+    void onlyTheChangesAreReturnedOncePublished() {
+        processContextCache.markPublished(PROCESS, context(toPortOne));
+
+        assertEquals(context(toPortTwo), processContextCache.getUnpublishedContext(PROCESS, context(toPortOne, toPortTwo)));
+    }
+
+    @Test
+    void nothingIsReturnedWhenNothingChanged() {
+        processContextCache.markPublished(PROCESS, context(toPortOne, toPortTwo));
+
+        assertTrue(processContextCache.getUnpublishedContext(PROCESS, context(toPortOne, toPortTwo)).isEmpty());
+    }
+
+    @Test
+    void relationshipChangeRepublishesTheRelationship() {
+        processContextCache.markPublished(PROCESS, context(toPortOne, toPortTwo));
+
+        processContextCache.invalidateRelationship("r1", PROCESS, "port1");
+
+        assertEquals(context(toPortOne), processContextCache.getUnpublishedContext(PROCESS, context(toPortOne, toPortTwo)));
+    }
+
+    @Test
+    void relationshipChangeRemovesTheSubgraphsOfItsEnds() {
+        processContextCache.putSubgraph(PORT_IMPLEMENTATION, subgraph(PROCESS, "port1"), processContextCache.getInvalidationSequence());
+        processContextCache.putSubgraph(PORT_IMPLEMENTATION, subgraph("port1", "schema1"), processContextCache.getInvalidationSequence());
+        processContextCache.putSubgraph(PORT_IMPLEMENTATION, subgraph("port3", "schema3"), processContextCache.getInvalidationSequence());
+
+        processContextCache.invalidateRelationship("r9", "schema1", "port1");
+
+        assertNull(processContextCache.getSubgraph(PROCESS, PORT_IMPLEMENTATION));
+        assertNull(processContextCache.getSubgraph("port1", PORT_IMPLEMENTATION));
+        assertNotNull(processContextCache.getSubgraph("port3", PORT_IMPLEMENTATION));
+    }
+
+    @Test
+    void classificationChangeRemovesOnlyTheSubgraphsOfTheEntity() {
+        processContextCache.putSubgraph(PORT_IMPLEMENTATION, subgraph(PROCESS, "port1"), processContextCache.getInvalidationSequence());
+        processContextCache.putSubgraph(PORT_IMPLEMENTATION, subgraph("port3", "schema3"), processContextCache.getInvalidationSequence());
+
+        processContextCache.invalidateEntity("port1");
+
+        assertNull(processContextCache.getSubgraph(PROCESS, PORT_IMPLEMENTATION));
+        assertNotNull(processContextCache.getSubgraph("port3", PORT_IMPLEMENTATION));
+    }
+
+    @Test
+    void subgraphRetrievedBeforeAnInvalidationIsNotCached() {
+        long invalidationSequence = processContextCache.getInvalidationSequence();
+
+        processContextCache.invalidateEntity("port1");
+        processContextCache.putSubgraph(PORT_IMPLEMENTATION, subgraph(PROCESS, "port1"), invalidationSequence);
+        processContextCache.putSubgraph(PORT_IMPLEMENTATION, subgraph("port3", "schema3"), invalidationSequence);
+
+        assertNull(processContextCache.getSubgraph(PROCESS, PORT_IMPLEMENTATION));
+        assertNotNull(processContextCache.getSubgraph("port3", PORT_IMPLEMENTATION));
+    }
+
+    @Test
+    void fullContextIsRepublishedAfterTheInterval() {
+        processContextCache.markPublished(PROCESS, context(toPortOne));
+
+        clock.set(REPUBLISH_INTERVAL - 1);
+        processContextCache.markPublished(PROCESS, context(toPortTwo));
+        assertTrue(processContextCache.getUnpublishedContext(PROCESS, context(toPortOne, toPortTwo)).isEmpty());
+
+        clock.set(REPUBLISH_INTERVAL);
+        assertEquals(context(toPortOne, toPortTwo), processContextCache.getUnpublishedContext(PROCESS, context(toPortOne, toPortTwo)));
+
+        processContextCache.markPublished(PROCESS, context(toPortOne, toPortTwo));
+        assertTrue(processContextCache.getUnpublishedContext(PROCESS, context(toPortOne, toPortTwo)).isEmpty());
+    }
+
+    @Test
+    void zeroIntervalAlwaysReturnsTheFullContext() {
+        ProcessContextCache cache = new ProcessContextCache(0, clock::get);
+        cache.markPublished(PROCESS, context(toPortOne));
+
+        assertEquals(context(toPortOne), cache.getUnpublishedContext(PROCESS, context(toPortOne)));
+    }
+
+    @Test
+    void newCacheReturnsTheFullContext() {
+        processContextCache.markPublished(PROCESS, context(toPortOne));
+
+        ProcessContextCache restartedCache = new ProcessContextCache(REPUBLISH_INTERVAL, clock::get);
+
+        assertEquals(context(toPortOne), restartedCache.getUnpublishedContext(PROCESS, context(toPortOne)));
+    }
+
+    private Map<String, Set<GraphContext>> context(GraphContext... graphContexts) {
+        Map<String, Set<GraphContext>> context = new HashMap<>();
+        for (GraphContext graphContext : graphContexts) {
+            context.computeIfAbsent(graphContext.getFromVertex().getGuid(), k -> new HashSet<>()).add(graphContext);
+        }
+        return context;
+    }
+
+    private GraphContext graphContext(String relationshipGuid, String fromGuid, String toGuid) {
+        return new GraphContext(PORT_IMPLEMENTATION, relationshipGuid, lineageEntity(fromGuid), lineageEntity(toGuid));
+    }
+
+    private LineageEntity lineageEntity(String guid) {
+        LineageEntity lineageEntity = new LineageEntity();
+        lineageEntity.setGuid(guid);
+        return lineageEntity;
+    }
+
+    private ProcessContextCache.Subgraph subgraph(String startGuid, String endGuid) {
+        EntityDetail endEntity = new EntityDetail();
+        endEntity.setGUID(endGuid);
+        return new ProcessContextCache.Subgraph(startGuid, Collections.singletonList(endEntity),
+                Collections.singleton(graphContext(startGuid + endGuid, startGuid, endGuid)));
+    }
+}
@@ -0,0 +1,63 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.assetlineage.listeners;
+
+import org.junit.jupiter.api.Test;
+import org.odpi.openmetadata.accessservices.assetlineage.outtopic.AssetLineagePublisher;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.events.OMRSEventOriginator;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+
+import java.util.Collections;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class AssetLineageOMRSTopicListenerTest {
+
+    private final AssetLineagePublisher publisher = mock(AssetLineagePublisher.class);
+    private final AssetLineageOMRSTopicListener listener = new AssetLineageOMRSTopicListener(publisher,
+            Collections.singletonList("Confidentiality"), null);
+
+    @Test
+    void classificationChangesInvalidateTheProcessContext() {
+        for (OMRSInstanceEventType eventType : new OMRSInstanceEventType[]{OMRSInstanceEventType.CLASSIFIED_ENTITY_EVENT,
+                OMRSInstanceEventType.RECLASSIFIED_ENTITY_EVENT, OMRSInstanceEventType.DECLASSIFIED_ENTITY_EVENT}) {
+            EntityDetail entityDetail = new EntityDetail();
+            entityDetail.setGUID(eventType.getName());
+            entityDetail.setType(instanceType("Column"));
+
+            listener.processInstanceEvent(instanceEvent(new OMRSInstanceEvent(eventType, entityDetail)));
+
+            verify(publisher).invalidateProcessContext(entityDetail);
+        }
+    }
+
+    @Test
+    void relationshipChangesInvalidateTheProcessContext() {
+        for (OMRSInstanceEventType eventType : new OMRSInstanceEventType[]{OMRSInstanceEventType.NEW_RELATIONSHIP_EVENT,
+                OMRSInstanceEventType.UPDATED_RELATIONSHIP_EVENT, OMRSInstanceEventType.DELETED_RELATIONSHIP_EVENT}) {
+            Relationship relationship = new Relationship();
+            relationship.setGUID(eventType.getName());
+            relationship.setType(instanceType("SchemaAttributeType"));
+
+            listener.processInstanceEvent(instanceEvent(new OMRSInstanceEvent(eventType, relationship)));
+
+            verify(publisher).invalidateProcessContext(relationship);
+        }
+    }
+
+    private OMRSInstanceEvent instanceEvent(OMRSInstanceEvent instanceEvent) {
+        instanceEvent.setEventOriginator(new OMRSEventOriginator());
+        return instanceEvent;
+    }
+
+    private InstanceType instanceType(String typeDefName) {
+        InstanceType instanceType = new InstanceType();
+        instanceType.setTypeDefName(typeDefName);
+        return instanceType;
+    }
+}
@@ -0,0 +1,120 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.assetlineage.outtopic;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.odpi.openmetadata.accessservices.assetlineage.handlers.ProcessContextHandler;
+import org.odpi.openmetadata.accessservices.assetlineage.model.GraphContext;
+import org.odpi.openmetadata.accessservices.assetlineage.model.LineageEntity;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AssetLineagePublisherTest {
+
+    private static final String SERVER_NAME = "server";
+    private static final String USER = "user";
+    private static final String PROCESS = "process";
+    private static final long COALESCING_WINDOW = 200;
+
+    private final ProcessContextHandler processContextHandler = mock(ProcessContextHandler.class);
+    private final OpenMetadataTopicConnector outTopicConnector = mock(OpenMetadataTopicConnector.class);
+    private final Map<String, Set<GraphContext>> processContext = Collections.singletonMap(PROCESS,
+            Collections.singleton(new GraphContext("PortImplementation", "r1", lineageEntity(PROCESS), lineageEntity("port1"))));
+
+    private AssetLineagePublisher publisher;
+
+    @AfterEach
+    void shutdownPublisher() {
+        if (publisher != null)
+            publisher.shutdown();
+    }
+
+    @Test
+    void burstOfChangesIsPublishedOnce() throws Exception {
+        when(processContextHandler.getProcessContextChanges(USER, PROCESS)).thenReturn(processContext);
+        publisher = new AssetLineagePublisher(outTopicConnector, SERVER_NAME, USER, processContextHandler, COALESCING_WINDOW, null);
+
+        for (int i = 0; i < 5; i++) {
+            publisher.publishProcessContext(process());
+        }
+        verify(outTopicConnector, never()).sendEvent(anyString());
+
+        verify(outTopicConnector, timeout(5000)).sendEvent(anyString());
+        verify(processContextHandler, after(COALESCING_WINDOW * 2).times(1)).getProcessContextChanges(USER, PROCESS);
+        verify(processContextHandler).markProcessContextPublished(PROCESS, processContext);
+        verify(outTopicConnector, times(1)).sendEvent(anyString());
+    }
+
+    @Test
+    void changeAfterTheWindowIsPublishedAgain() throws Exception {
+        when(processContextHandler.getProcessContextChanges(USER, PROCESS)).thenReturn(processContext);
+        publisher = new AssetLineagePublisher(outTopicConnector, SERVER_NAME, USER, processContextHandler, COALESCING_WINDOW, null);
+
+        publisher.publishProcessContext(process());
+        verify(outTopicConnector, timeout(5000)).sendEvent(anyString());
+
+        publisher.publishProcessContext(process());
+        verify(outTopicConnector, timeout(5000).times(2)).sendEvent(anyString());
+    }
+
+    @Test
+    void contextIsPublishedAtOnceWithoutWindow() throws Exception {
+        when(processContextHandler.getProcessContextChanges(USER, PROCESS)).thenReturn(processContext);
+        publisher = new AssetLineagePublisher(outTopicConnector, SERVER_NAME, USER, processContextHandler, 0, null);
+
+        publisher.publishProcessContext(process());
+        publisher.publishProcessContext(process());
+
+        verify(outTopicConnector, times(2)).sendEvent(anyString());
+        verify(processContextHandler, times(2)).markProcessContextPublished(PROCESS, processContext);
+    }
+
+    @Test
+    void shutdownPublishesThePendingContexts() throws Exception {
+        when(processContextHandler.getProcessContextChanges(USER, PROCESS)).thenReturn(processContext);
+        publisher = new AssetLineagePublisher(outTopicConnector, SERVER_NAME, USER, processContextHandler, COALESCING_WINDOW, null);
+
+        publisher.publishProcessContext(process());
+        publisher.shutdown();
+
+        verify(outTopicConnector).sendEvent(anyString());
+    }
+
+    @Test
+    void unchangedContextIsNotPublished() throws Exception {
+        when(processContextHandler.getProcessContextChanges(USER, PROCESS)).thenReturn(Collections.emptyMap());
+        publisher = new AssetLineagePublisher(outTopicConnector, SERVER_NAME, USER, processContextHandler, 0, null);
+
+        publisher.publishProcessContext(process());
+
+        verify(outTopicConnector, never()).sendEvent(anyString());
+        verify(processContextHandler, never()).markProcessContextPublished(eq(PROCESS), eq(Collections.emptyMap()));
+    }
+
+    private EntityDetail process() {
+        EntityDetail entityDetail = new EntityDetail();
+        entityDetail.setGUID(PROCESS);
+        return entityDetail;
+    }
+
+    private static LineageEntity lineageEntity(String guid) {
+        LineageEntity lineageEntity = new LineageEntity();
+        lineageEntity.setGuid(guid);
+        return lineageEntity;
+    }
+}
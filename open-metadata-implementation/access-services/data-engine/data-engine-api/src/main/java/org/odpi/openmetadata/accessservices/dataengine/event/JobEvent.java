@@ -0,0 +1,151 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.dataengine.event;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.odpi.openmetadata.accessservices.dataengine.model.LineageMapping;
+import org.odpi.openmetadata.accessservices.dataengine.model.PortAlias;
+import org.odpi.openmetadata.accessservices.dataengine.model.PortImplementation;
+import org.odpi.openmetadata.accessservices.dataengine.model.Process;
+import org.odpi.openmetadata.accessservices.dataengine.model.SchemaType;
+
+import java.util.List;
+import java.util.Objects;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+/**
+ * The job event of Data Engine OMAS, carrying the schema types, ports, processes and lineage mappings of a job.
+ */
+@JsonAutoDetect(getterVisibility = PUBLIC_ONLY, setterVisibility = PUBLIC_ONLY, fieldVisibility = NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class JobEvent extends DataEngineEventHeader {
+
+    private List<SchemaType> schemaTypes;
+    private List<PortImplementation> portImplementations;
+    private List<PortAlias> portAliases;
+    private List<Process> processes;
+    private List<LineageMapping> lineageMappings;
+
+    /**
+     * Gets schema types.
+     *
+     * @return the schema types
+     */
+    public List<SchemaType> getSchemaTypes() {
+        return schemaTypes;
+    }
+
+    /**
+     * Sets schema types.
+     *
+     * @param schemaTypes the schema types
+     */
+    public void setSchemaTypes(List<SchemaType> schemaTypes) {
+        this.schemaTypes = schemaTypes;
+    }
+
+    /**
+     * Gets port implementations.
+     *
+     * @return the port implementations
+     */
+    public List<PortImplementation> getPortImplementations() {
+        return portImplementations;
+    }
+
+    /**
+     * Sets port implementations.
+     *
+     * @param portImplementations the port implementations
+     */
+    public void setPortImplementations(List<PortImplementation> portImplementations) {
+        this.portImplementations = portImplementations;
+    }
+
+    /**
+     * Gets port aliases.
+     *
+     * @return the port aliases
+     */
+    public List<PortAlias> getPortAliases() {
+        return portAliases;
+    }
+
+    /**
+     * Sets port aliases.
+     *
+     * @param portAliases the port aliases
+     */
+    public void setPortAliases(List<PortAlias> portAliases) {
+        this.portAliases = portAliases;
+    }
+
+    /**
+     * Gets processes.
+     *
+     * @return the processes
+     */
+    public List<Process> getProcesses() {
+        return processes;
+    }
+
+    /**
+     * Sets processes.
+     *
+     * @param processes the processes
+     */
+    public void setProcesses(List<Process> processes) {
+        this.processes = processes;
+    }
+
+    /**
+     * Gets lineage mappings.
+     *
+     * @return the lineage mappings
+     */
+    public List<LineageMapping> getLineageMappings() {
+        return lineageMappings;
+    }
+
+    /**
+     * Sets lineage mappings.
+     *
+     * @param lineageMappings the lineage mappings
+     */
+    public void setLineageMappings(List<LineageMapping> lineageMappings) {
+        this.lineageMappings = lineageMappings;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        JobEvent that = (JobEvent) o;
+        return Objects.equals(schemaTypes, that.schemaTypes) &&
+                Objects.equals(portImplementations, that.portImplementations) &&
+                Objects.equals(portAliases, that.portAliases) &&
+                Objects.equals(processes, that.processes) &&
+                Objects.equals(lineageMappings, that.lineageMappings);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(schemaTypes, portImplementations, portAliases, processes, lineageMappings);
+    }
+
+    @Override
+    public String toString() {
+        return "JobEvent{" +
+                "schemaTypes=" + schemaTypes +
+                ", portImplementations=" + portImplementations +
+                ", portAliases=" + portAliases +
+                ", processes=" + processes +
+                ", lineageMappings=" + lineageMappings +
+                "} " + super.toString();
+    }
+}
@@ -0,0 +1,101 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.dataengine.rest;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.odpi.openmetadata.accessservices.dataengine.model.LineageMapping;
+import org.odpi.openmetadata.accessservices.dataengine.model.PortAlias;
+import org.odpi.openmetadata.accessservices.dataengine.model.PortImplementation;
+import org.odpi.openmetadata.accessservices.dataengine.model.Process;
+import org.odpi.openmetadata.accessservices.dataengine.model.SchemaType;
+
+import java.util.List;
+import java.util.Objects;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+/**
+ * JobRequestBody carries all the metadata of a job in one request: the schema types, port implementations,
+ * port aliases and lineage mappings that are shared by the processes, and the processes themselves.
+ */
+@JsonAutoDetect(getterVisibility = PUBLIC_ONLY, setterVisibility = PUBLIC_ONLY, fieldVisibility = NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class JobRequestBody extends DataEngineOMASAPIRequestBody {
+    private List<SchemaType> schemaTypes;
+    private List<PortImplementation> portImplementations;
+    private List<PortAlias> portAliases;
+    private List<Process> processes;
+    private List<LineageMapping> lineageMappings;
+
+    public List<SchemaType> getSchemaTypes() {
+        return schemaTypes;
+    }
+
+    public void setSchemaTypes(List<SchemaType> schemaTypes) {
+        this.schemaTypes = schemaTypes;
+    }
+
+    public List<PortImplementation> getPortImplementations() {
+        return portImplementations;
+    }
+
+    public void setPortImplementations(List<PortImplementation> portImplementations) {
+        this.portImplementations = portImplementations;
+    }
+
+    public List<PortAlias> getPortAliases() {
+        return portAliases;
+    }
+
+    public void setPortAliases(List<PortAlias> portAliases) {
+        this.portAliases = portAliases;
+    }
+
+    public List<Process> getProcesses() {
+        return processes;
+    }
+
+    public void setProcesses(List<Process> processes) {
+        this.processes = processes;
+    }
+
+    public List<LineageMapping> getLineageMappings() {
+        return lineageMappings;
+    }
+
+    public void setLineageMappings(List<LineageMapping> lineageMappings) {
+        this.lineageMappings = lineageMappings;
+    }
+
+    @Override
+    public String toString() {
+        return "JobRequestBody{" +
+                "schemaTypes=" + schemaTypes +
+                ", portImplementations=" + portImplementations +
+                ", portAliases=" + portAliases +
+                ", processes=" + processes +
+                ", lineageMappings=" + lineageMappings +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        JobRequestBody that = (JobRequestBody) o;
+        return Objects.equals(schemaTypes, that.schemaTypes) &&
+                Objects.equals(portImplementations, that.portImplementations) &&
+                Objects.equals(portAliases, that.portAliases) &&
+                Objects.equals(processes, that.processes) &&
+                Objects.equals(lineageMappings, that.lineageMappings);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(schemaTypes, portImplementations, portAliases, processes, lineageMappings);
+    }
+}
@@ -54,6 +54,28 @@ public interface DataEngineClient {
                                                                                         PropertyServerException,
                                                                                         UserNotAuthorizedException;
 
+    /**
+     * Create or update all the metadata of a job in one call: the schema types, ports, processes and lineage mappings
+     *
+     * @param userId              the name of the calling user
+     * @param schemaTypes         the schema types shared by the ports of the job
+     * @param portImplementations the port implementations shared by the processes of the job
+     * @param portAliases         the port aliases shared by the processes of the job
+     * @param processes           the processes of the job
+     * @param lineageMappings     the lineage mappings between the schema attributes of the job
+     *
+     * @return unique identifiers of the processes in the repository
+     *
+     * @throws InvalidParameterException the bean properties are invalid
+     * @throws UserNotAuthorizedException user not authorized to issue this request
+     * @throws PropertyServerException problem accessing the property server
+     */
+    List<String> createOrUpdateJob(String userId, List<SchemaType> schemaTypes, List<PortImplementation> portImplementations,
+                                   List<PortAlias> portAliases, List<Process> processes, List<LineageMapping> lineageMappings) throws
+                                                                                                                               InvalidParameterException,
+                                                                                                                               PropertyServerException,
+                                                                                                                               UserNotAuthorizedException;
+
     /**
      * Create or update the software server capability entity
      *
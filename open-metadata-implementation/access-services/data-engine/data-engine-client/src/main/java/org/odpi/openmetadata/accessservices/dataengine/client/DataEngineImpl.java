@@ -11,6 +11,7 @@ import org.odpi.openmetadata.accessservices.dataengine.model.SchemaType;
 import org.odpi.openmetadata.accessservices.dataengine.model.SoftwareServerCapability;
 import org.odpi.openmetadata.accessservices.dataengine.rest.DataEngineOMASAPIRequestBody;
 import org.odpi.openmetadata.accessservices.dataengine.rest.DataEngineRegistrationRequestBody;
+import org.odpi.openmetadata.accessservices.dataengine.rest.JobRequestBody;
 import org.odpi.openmetadata.accessservices.dataengine.rest.LineageMappingsRequestBody;
 import org.odpi.openmetadata.accessservices.dataengine.rest.PortAliasRequestBody;
 import org.odpi.openmetadata.accessservices.dataengine.rest.PortImplementationRequestBody;
@@ -42,6 +43,7 @@ public class DataEngineImpl extends OCFRESTClient implements DataEngineClient {
     private static final String PORT_ALIAS_URL_TEMPLATE = DATA_ENGINE_PATH + "port-aliases";
     private static final String LINEAGE_MAPPINGS_URL_TEMPLATE = DATA_ENGINE_PATH + "lineage-mappings";
     private static final String PORTS_TO_PROCESS_URL_TEMPLATE = DATA_ENGINE_PATH + "processes/{2}/ports";
+    private static final String JOB_URL_TEMPLATE = DATA_ENGINE_PATH + "jobs";
 
     private static final String PROCESSES_METHOD_NAME = "createOrUpdateProcesses";
     private static final String PROCESS_METHOD_NAME = "createOrUpdateProcess";
@@ -51,6 +53,7 @@ public class DataEngineImpl extends OCFRESTClient implements DataEngineClient {
     private static final String PORT_ALIAS_METHOD_NAME = "createOrUpdatePortAlias";
     private static final String LINEAGE_MAPPINGS_METHOD_NAME = "addLineageMappings";
     private static final String PORTS_TO_PROCESS_METHOD_NAME = "addPortsToProcess";
+    private static final String JOB_METHOD_NAME = "createOrUpdateJob";
 
     private String serverPlatformRootURL;
 
@@ -134,6 +137,26 @@ public class DataEngineImpl extends OCFRESTClient implements DataEngineClient {
         return callProcessListPostRESTCall(userId, PROCESSES_METHOD_NAME, PROCESS_URL_TEMPLATE, requestBody);
     }
 
+    @Override
+    public List<String> createOrUpdateJob(String userId, List<SchemaType> schemaTypes, List<PortImplementation> portImplementations,
+                                          List<PortAlias> portAliases, List<Process> processes, List<LineageMapping> lineageMappings) throws
+                                                                                                                                      InvalidParameterException,
+                                                                                                                                      PropertyServerException,
+                                                                                                                                      UserNotAuthorizedException {
+
+        invalidParameterHandler.validateUserId(userId, JOB_METHOD_NAME);
+
+        JobRequestBody requestBody = new JobRequestBody();
+        requestBody.setSchemaTypes(schemaTypes);
+        requestBody.setPortImplementations(portImplementations);
+        requestBody.setPortAliases(portAliases);
+        requestBody.setProcesses(processes);
+        requestBody.setLineageMappings(lineageMappings);
+        requestBody.setExternalSourceName(externalSourceName);
+
+        return callProcessListPostRESTCall(userId, JOB_METHOD_NAME, JOB_URL_TEMPLATE, requestBody);
+    }
+
     @Override
     public String createExternalDataEngine(String userId, SoftwareServerCapability softwareServerCapability) throws
                                                                                                              InvalidParameterException,
@@ -251,8 +274,8 @@ public class DataEngineImpl extends OCFRESTClient implements DataEngineClient {
         return restResult.getGUID();
     }
 
-    private List<String> callProcessListPostRESTCall(String userId, String methodName, String urlTemplate, ProcessesRequestBody requestBody,
-                                                     Object... params) throws PropertyServerException, InvalidParameterException,
+    private List<String> callProcessListPostRESTCall(String userId, String methodName, String urlTemplate,
+                                                     DataEngineOMASAPIRequestBody requestBody, Object... params) throws PropertyServerException, InvalidParameterException,
                                                                               UserNotAuthorizedException {
         ProcessListResponse restResult = super.callPostRESTCall(methodName, ProcessListResponse.class, serverPlatformRootURL + urlTemplate,
                 requestBody, serverName, userId, params);
@@ -63,12 +63,13 @@ public class DataEngineAdmin extends AccessServiceAdmin {
                     accessServiceConfig.getAccessServiceName(), auditLog);
 
             instance = new DataEngineServicesInstance(repositoryConnector, supportedZones, defaultZones, auditLog, serverUserName,
-                    repositoryConnector.getMaxPageSize());
+                    repositoryConnector.getMaxPageSize(), accessServiceConfig.getAccessServiceOptions());
             serverName = instance.getServerName();
 
             if (accessServiceConfig.getAccessServiceInTopic() != null) {
                 DataEngineEventProcessor dataEngineEventProcessor = new DataEngineEventProcessor(instance, auditLog);
-                DataEngineInTopicListener dataEngineInTopicListener = new DataEngineInTopicListener(auditLog, dataEngineEventProcessor);
+                DataEngineInTopicListener dataEngineInTopicListener = new DataEngineInTopicListener(auditLog, dataEngineEventProcessor,
+                        instance.getWorkerPool());
 
                 OpenMetadataTopicConnector dataEngineInTopicConnector = initializeDataEngineTopicConnector(
                         accessServiceConfig.getAccessServiceInTopic());
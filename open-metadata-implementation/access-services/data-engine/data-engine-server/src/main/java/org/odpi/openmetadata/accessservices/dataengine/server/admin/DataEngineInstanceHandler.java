@@ -120,6 +120,27 @@ public class DataEngineInstanceHandler extends OCFOMASServiceInstanceHandler {
 
         return instance.getPortHandler();
     }
-}
 
+    /**
+     * Retrieve the worker pool for bulk operations of the access service
+     *
+     * @param userId               calling user
+     * @param serverName           name of the server tied to the request
+     * @param serviceOperationName name of called operation
+     *
+     * @return worker pool for use by the requested instance
+     *
+     * @throws InvalidParameterException no available instance for the requested server
+     * @throws UserNotAuthorizedException user does not have access to the requested server
+     * @throws PropertyServerException the service name is not known - indicating a logic error
+     */
+    public DataEngineWorkerPool getWorkerPool(String userId, String serverName, String serviceOperationName) throws
+                                                                                                               InvalidParameterException,
+                                                                                                               UserNotAuthorizedException,
+                                                                                                               PropertyServerException {
+        DataEngineServicesInstance instance = (DataEngineServicesInstance) super.getServerServiceInstance(userId,
+                serverName, serviceOperationName);
 
+        return instance.getWorkerPool();
+    }
+}
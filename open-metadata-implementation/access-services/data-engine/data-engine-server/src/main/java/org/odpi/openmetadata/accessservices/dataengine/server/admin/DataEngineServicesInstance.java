@@ -15,6 +15,7 @@ import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * DataEngineServicesInstance caches references to OMRS objects for a specific server.
@@ -28,6 +29,7 @@ public class DataEngineServicesInstance extends OCFOMASServiceInstance {
     private DataEngineSchemaTypeHandler dataEngineSchemaTypeHandler;
     private PortHandler portHandler;
     private DataEngineCommonHandler dataEngineCommonHandler;
+    private DataEngineWorkerPool workerPool;
 
     /**
      * Set up the local repository connector that will service the REST Calls
@@ -38,11 +40,13 @@ public class DataEngineServicesInstance extends OCFOMASServiceInstance {
      * @param auditLog            logging destination
      * @param localServerUserId   userId used for server initiated actions
      * @param maxPageSize         max number of results to return on single request
+     * @param accessServiceOptions options from the access service configuration, used to configure the worker pool
      *
      * @throws NewInstanceException a problem occurred during initialization
      */
     DataEngineServicesInstance(OMRSRepositoryConnector repositoryConnector, List<String> supportedZones, List<String> defaultZones,
-                               OMRSAuditLog auditLog, String localServerUserId, int maxPageSize) throws NewInstanceException {
+                               OMRSAuditLog auditLog, String localServerUserId, int maxPageSize,
+                               Map<String, Object> accessServiceOptions) throws NewInstanceException {
 
 
         super(description.getAccessServiceFullName(), repositoryConnector, supportedZones, defaultZones, auditLog,
@@ -64,6 +68,8 @@ public class DataEngineServicesInstance extends OCFOMASServiceInstance {
                 processHandler.setSecurityVerifier(securityVerifier);
             }
 
+            workerPool = DataEngineWorkerPool.create(serverName, accessServiceOptions);
+
         } else {
             final String methodName = "new ServiceInstance";
 
@@ -110,4 +116,25 @@ public class DataEngineServicesInstance extends OCFOMASServiceInstance {
     PortHandler getPortHandler() {
         return portHandler;
     }
+
+    /**
+     * Return the worker pool for bulk operations and in topic events
+     *
+     * @return worker pool
+     */
+    public DataEngineWorkerPool getWorkerPool() {
+        return workerPool;
+    }
+
+    /**
+     * Stop the worker pool and unregister from the instance map
+     */
+    @Override
+    public void shutdown() {
+        if (workerPool != null) {
+            workerPool.shutdown();
+        }
+
+        super.shutdown();
+    }
 }
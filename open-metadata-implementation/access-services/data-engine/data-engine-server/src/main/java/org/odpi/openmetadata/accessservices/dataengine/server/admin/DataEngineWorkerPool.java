@@ -0,0 +1,426 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.dataengine.server.admin;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * DataEngineWorkerPool runs the bulk work of the Data Engine OMAS for one server, such as creating the processes,
+ * ports and lineage mappings of a request, so it does not compete with other services for the JVM-wide common pool.
+ *
+ * The pool has a fixed number of worker threads and a bounded queue. A bulk operation uses at most
+ * maxRequestConcurrency threads, including the calling thread, which always takes part in the work. If the queue
+ * is full, or the workers are busy, the calling thread does the work itself; this slows down the caller rather than
+ * letting the backlog grow, and means nested bulk operations can never wait on each other.
+ *
+ * Events from the in topic are processed on the same pool, one at a time and in the order they arrive. The topic
+ * listener waits until its event has been processed, so the topic does not move past an event that has not been
+ * applied, and failures reach the topic connector, which reports them in the audit log.
+ *
+ * When the pool is stopped, the events already queued are processed before it returns.
+ *
+ * The getters report the load of the pool, so its options can be sized from a running server.
+ */
+public class DataEngineWorkerPool {
+    /**
+     * Access service option for the number of worker threads
+     */
+    public static final String WORKER_THREADS_OPTION = "workerThreads";
+    /**
+     * Access service option for the number of tasks that can wait for a worker thread
+     */
+    public static final String WORKER_QUEUE_SIZE_OPTION = "workerQueueSize";
+    /**
+     * Access service option for the number of threads a single request can use
+     */
+    public static final String MAX_REQUEST_CONCURRENCY_OPTION = "maxRequestConcurrency";
+    /**
+     * Access service option for the number of in topic events that can wait to be processed
+     */
+    public static final String EVENT_QUEUE_SIZE_OPTION = "eventQueueSize";
+
+    private static final int DEFAULT_WORKER_THREADS = Runtime.getRuntime().availableProcessors();
+    private static final int DEFAULT_WORKER_QUEUE_SIZE = 1000;
+    private static final int DEFAULT_MAX_REQUEST_CONCURRENCY = DEFAULT_WORKER_THREADS;
+    private static final int DEFAULT_EVENT_QUEUE_SIZE = 100;
+    private static final int SHUTDOWN_WAIT_SECONDS = 30;
+
+    private static final Logger log = LoggerFactory.getLogger(DataEngineWorkerPool.class);
+
+    private final ThreadPoolExecutor executor;
+    private final int maxRequestConcurrency;
+    private final BlockingQueue<FutureTask<?>> eventQueue;
+    private final AtomicBoolean eventProcessorScheduled = new AtomicBoolean(false);
+    private volatile boolean shutdown = false;
+
+    private final AtomicLong completedItemCount = new AtomicLong();
+    private final AtomicLong callerRunItemCount = new AtomicLong();
+    private final AtomicLong processedEventCount = new AtomicLong();
+
+    /**
+     * Create the worker pool for a server.
+     *
+     * @param serverName            name of the server, used to name the threads
+     * @param workerThreads         number of worker threads
+     * @param workerQueueSize       number of tasks that can wait for a worker thread
+     * @param maxRequestConcurrency number of threads a single bulk operation can use
+     * @param eventQueueSize        number of in topic events that can wait to be processed
+     */
+    public DataEngineWorkerPool(String serverName, int workerThreads, int workerQueueSize, int maxRequestConcurrency, int eventQueueSize) {
+        this.maxRequestConcurrency = maxRequestConcurrency;
+        this.eventQueue = new LinkedBlockingQueue<>(eventQueueSize);
+        this.executor = new ThreadPoolExecutor(workerThreads, workerThreads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(workerQueueSize),
+                new WorkerThreadFactory(serverName), new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Create the worker pool for a server from the access service options.
+     *
+     * @param serverName           name of the server, used to name the threads
+     * @param accessServiceOptions options from the access service configuration, may be null
+     *
+     * @return worker pool
+     */
+    public static DataEngineWorkerPool create(String serverName, Map<String, Object> accessServiceOptions) {
+        int workerThreads = getIntegerOption(accessServiceOptions, WORKER_THREADS_OPTION, DEFAULT_WORKER_THREADS);
+
+        return new DataEngineWorkerPool(serverName, workerThreads,
+                getIntegerOption(accessServiceOptions, WORKER_QUEUE_SIZE_OPTION, DEFAULT_WORKER_QUEUE_SIZE),
+                getIntegerOption(accessServiceOptions, MAX_REQUEST_CONCURRENCY_OPTION, Math.min(workerThreads, DEFAULT_MAX_REQUEST_CONCURRENCY)),
+                getIntegerOption(accessServiceOptions, EVENT_QUEUE_SIZE_OPTION, DEFAULT_EVENT_QUEUE_SIZE));
+    }
+
+    /**
+     * Perform an action on each item, using up to maxRequestConcurrency threads. The method returns once the action
+     * has completed for every item. The actions are expected to capture their own checked exceptions; the first
+     * runtime exception thrown by an action is rethrown once all the items have been processed.
+     *
+     * @param items  items to process
+     * @param action action to perform on each item
+     * @param <T>    type of the items
+     */
+    public <T> void forEach(Collection<T> items, Consumer<? super T> action) {
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+
+        Iterator<T> iterator = items.iterator();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Runnable worker = () -> processItems(iterator, action, failure);
+
+        List<Future<?>> helpers = new ArrayList<>();
+        int helperCount = Math.min(items.size(), maxRequestConcurrency) - 1;
+
+        for (int i = 0; i < helperCount; i++) {
+            try {
+                helpers.add(executor.submit(worker));
+            } catch (RejectedExecutionException error) {
+                // the queue is full - the calling thread will process the remaining items
+                break;
+            }
+        }
+
+        callerRunItemCount.addAndGet(processItems(iterator, action, failure));
+
+        waitForHelpers(helpers);
+
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    /**
+     * Process an event from the in topic. Events are processed one at a time in the order they are queued, and the
+     * calling thread waits until its event has been processed. A runtime exception thrown by the event is rethrown.
+     *
+     * @param event processing of the event
+     *
+     * @throws RejectedExecutionException the pool has been stopped
+     * @throws CancellationException      the calling thread was interrupted, or the pool was stopped before the
+     *                                    event could be processed
+     */
+    public void processEvent(Runnable event) {
+        if (shutdown) {
+            throw new RejectedExecutionException("The Data Engine worker pool has been stopped");
+        }
+
+        FutureTask<Void> task = new FutureTask<>(event, null);
+
+        try {
+            eventQueue.put(task);
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting to queue a Data Engine event");
+        }
+
+        scheduleEventProcessor();
+        waitForEvent(task);
+    }
+
+    /**
+     * Stop the worker threads, waiting for the work in progress and the queued events to complete. Queued events
+     * are only abandoned if an event is still running once the wait is over.
+     */
+    public void shutdown() {
+        shutdown = true;
+        executor.shutdown();
+
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Data Engine worker pool did not terminate within {} seconds", SHUTDOWN_WAIT_SECONDS);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException error) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        drainEvents();
+    }
+
+    /**
+     * Return the number of worker threads that are running tasks.
+     *
+     * @return thread count
+     */
+    public int getActiveWorkerCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * Return the number of tasks waiting for a worker thread.
+     *
+     * @return task count
+     */
+    public int getQueuedTaskCount() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Return the number of in topic events waiting to be processed.
+     *
+     * @return event count
+     */
+    public int getQueuedEventCount() {
+        return eventQueue.size();
+    }
+
+    /**
+     * Return the number of items processed by bulk operations.
+     *
+     * @return item count
+     */
+    public long getCompletedItemCount() {
+        return completedItemCount.get();
+    }
+
+    /**
+     * Return the number of items processed by the calling threads of bulk operations rather than by worker threads.
+     * A high proportion shows that the pool is too small for the load.
+     *
+     * @return item count
+     */
+    public long getCallerRunItemCount() {
+        return callerRunItemCount.get();
+    }
+
+    /**
+     * Return the number of in topic events processed.
+     *
+     * @return event count
+     */
+    public long getProcessedEventCount() {
+        return processedEventCount.get();
+    }
+
+    /**
+     * Return the number of worker threads.
+     *
+     * @return thread count
+     */
+    public int getMaxWorkerCount() {
+        return executor.getMaximumPoolSize();
+    }
+
+    /**
+     * Return the number of threads a single bulk operation can use.
+     *
+     * @return thread count
+     */
+    public int getMaxRequestConcurrency() {
+        return maxRequestConcurrency;
+    }
+
+    private <T> int processItems(Iterator<T> iterator, Consumer<? super T> action, AtomicReference<RuntimeException> failure) {
+        int processedItems = 0;
+        while (true) {
+            T item;
+            synchronized (iterator) {
+                if (!iterator.hasNext()) {
+                    return processedItems;
+                }
+                item = iterator.next();
+            }
+
+            try {
+                action.accept(item);
+            } catch (RuntimeException error) {
+                failure.compareAndSet(null, error);
+            }
+
+            processedItems++;
+            completedItemCount.incrementAndGet();
+        }
+    }
+
+    private void waitForHelpers(List<Future<?>> helpers) {
+        for (Future<?> helper : helpers) {
+            // a helper that has not started is not needed, since the calling thread has taken all the items
+            if (helper.cancel(false)) {
+                continue;
+            }
+
+            try {
+                helper.get();
+            } catch (InterruptedException error) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while waiting for Data Engine workers");
+            } catch (ExecutionException error) {
+                // the runtime exceptions of the actions are captured by processItems, so this is an error
+                throw new IllegalStateException("Data Engine worker ended unexpectedly", error.getCause());
+            }
+        }
+    }
+
+    private void waitForEvent(FutureTask<?> task) {
+        try {
+            task.get();
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for a Data Engine event to be processed");
+        } catch (ExecutionException error) {
+            Throwable cause = error.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Unexpected exception processing Data Engine event", cause);
+        }
+    }
+
+    private void scheduleEventProcessor() {
+        if (eventQueue.isEmpty() || !eventProcessorScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            executor.execute(this::processEvents);
+        } catch (RejectedExecutionException error) {
+            // the worker queue is full - process the events on the listener thread
+            processEvents();
+        }
+    }
+
+    private void processEvents() {
+        try {
+            runQueuedEvents();
+        } finally {
+            eventProcessorScheduled.set(false);
+        }
+
+        // an event may have been queued after the queue was found to be empty
+        scheduleEventProcessor();
+    }
+
+    private void runQueuedEvents() {
+        // the task captures the exception of the event for the thread waiting on it
+        FutureTask<?> event;
+        while ((event = eventQueue.poll()) != null) {
+            event.run();
+            processedEventCount.incrementAndGet();
+        }
+    }
+
+    private void drainEvents() {
+        // the executor is stopped, so the remaining events are processed on the calling thread
+        if (eventProcessorScheduled.compareAndSet(false, true)) {
+            processEvents();
+            return;
+        }
+
+        // an event is still running on a worker thread - release the threads waiting on the events behind it
+        FutureTask<?> event;
+        int abandonedEvents = 0;
+        while ((event = eventQueue.poll()) != null) {
+            event.cancel(false);
+            abandonedEvents++;
+        }
+        if (abandonedEvents > 0) {
+            log.warn("{} Data Engine events were not processed before the worker pool stopped", abandonedEvents);
+        }
+    }
+
+    private static int getIntegerOption(Map<String, Object> accessServiceOptions, String optionName, int defaultValue) {
+        if (accessServiceOptions == null) {
+            return defaultValue;
+        }
+
+        Object option = accessServiceOptions.get(optionName);
+
+        try {
+            if (option instanceof Number && ((Number) option).intValue() > 0) {
+                return ((Number) option).intValue();
+            } else if (option instanceof String && Integer.parseInt((String) option) > 0) {
+                return Integer.parseInt((String) option);
+            }
+        } catch (NumberFormatException error) {
+            log.debug("Ignoring invalid value {} for Data Engine option {}", option, optionName);
+        }
+
+        return defaultValue;
+    }
+
+    /**
+     * Names the worker threads after the server and makes them daemon threads.
+     */
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final String namePrefix;
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        WorkerThreadFactory(String serverName) {
+            this.namePrefix = "DataEngine-" + serverName + "-worker-";
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, namePrefix + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -21,7 +21,15 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * DataEngineCommonHandler manages objects from the property server. It runs server-side in the DataEngine OMAS
@@ -37,6 +45,8 @@ public class DataEngineCommonHandler {
 
     private static final Logger log = LoggerFactory.getLogger(DataEngineCommonHandler.class);
 
+    private static final int QUALIFIED_NAME_BATCH_SIZE = 100;
+
     /**
      * Construct the handler information needed to interact with the repository services
      *
@@ -180,6 +190,151 @@ public class DataEngineCommonHandler {
         return retrievedEntity;
     }
 
+    /**
+     * Find out if the entity is already stored in the repository, using the lookup cache of the request first. The result of a
+     * repository lookup is added to the cache.
+     *
+     * @param userId            the name of the calling user
+     * @param qualifiedName     the qualifiedName name of the entity to be searched
+     * @param entityTypeName    the type name of the entity
+     * @param entityLookupCache the entities already looked up by the request
+     *
+     * @return optional with entity details if found, empty optional if not found
+     *
+     * @throws InvalidParameterException  the bean properties are invalid
+     * @throws UserNotAuthorizedException user not authorized to issue this request
+     * @throws PropertyServerException    problem accessing the property server
+     */
+    protected Optional<EntityDetail> findEntity(String userId, String qualifiedName, String entityTypeName,
+                                                EntityLookupCache entityLookupCache) throws UserNotAuthorizedException,
+                                                                                            PropertyServerException,
+                                                                                            InvalidParameterException {
+        if (entityLookupCache.containsEntity(entityTypeName, qualifiedName)) {
+            return entityLookupCache.getEntity(entityTypeName, qualifiedName);
+        }
+
+        Optional<EntityDetail> retrievedEntity = findEntity(userId, qualifiedName, entityTypeName);
+        entityLookupCache.addEntity(entityTypeName, qualifiedName, retrievedEntity.orElse(null));
+
+        return retrievedEntity;
+    }
+
+    /**
+     * Find the unique identifier of an entity, including the entities created earlier in the same request.
+     *
+     * @param userId            the name of the calling user
+     * @param qualifiedName     the qualifiedName name of the entity to be searched
+     * @param entityTypeName    the type name of the entity
+     * @param entityLookupCache the entities already looked up by the request
+     *
+     * @return optional with the unique identifier if found, empty optional if not found
+     *
+     * @throws InvalidParameterException  the bean properties are invalid
+     * @throws UserNotAuthorizedException user not authorized to issue this request
+     * @throws PropertyServerException    problem accessing the property server
+     */
+    protected Optional<String> findEntityGUID(String userId, String qualifiedName, String entityTypeName,
+                                              EntityLookupCache entityLookupCache) throws UserNotAuthorizedException,
+                                                                                          PropertyServerException,
+                                                                                          InvalidParameterException {
+        Optional<String> createdEntityGUID = entityLookupCache.getCreatedEntityGUID(entityTypeName, qualifiedName);
+        if (createdEntityGUID.isPresent()) {
+            return createdEntityGUID;
+        }
+
+        return findEntity(userId, qualifiedName, entityTypeName, entityLookupCache).map(InstanceHeader::getGUID);
+    }
+
+    /**
+     * Look up the entities for a collection of qualified names and add the results to the lookup cache of the request. The names
+     * are searched in batches, with a single repository search for each batch. Only the names that are found are cached: a name
+     * that is missing from the results, because the repository does not support the search, more than one entity has the name or
+     * the entity does not exist, is looked up on its own when needed, so an existing entity is never taken as missing.
+     *
+     * @param userId            the name of the calling user
+     * @param qualifiedNames    the qualified names of the entities to be searched
+     * @param entityTypeName    the type name of the entities
+     * @param entityLookupCache the cache that receives the results
+     *
+     * @throws InvalidParameterException  the bean properties are invalid
+     * @throws UserNotAuthorizedException user not authorized to issue this request
+     */
+    protected void findEntities(String userId, Collection<String> qualifiedNames, String entityTypeName,
+                                EntityLookupCache entityLookupCache) throws InvalidParameterException,
+                                                                            UserNotAuthorizedException {
+        final String methodName = "findEntities";
+
+        invalidParameterHandler.validateUserId(userId, methodName);
+
+        List<String> unresolvedNames = qualifiedNames.stream()
+                .filter(qualifiedName -> qualifiedName != null && !qualifiedName.isEmpty())
+                .filter(qualifiedName -> !entityLookupCache.containsEntity(entityTypeName, qualifiedName))
+                .distinct().collect(Collectors.toList());
+        if (unresolvedNames.isEmpty()) {
+            return;
+        }
+
+        TypeDef entityTypeDef = repositoryHelper.getTypeDefByName(userId, entityTypeName);
+
+        for (int start = 0; start < unresolvedNames.size(); start += QUALIFIED_NAME_BATCH_SIZE) {
+            List<String> batch = unresolvedNames.subList(start, Math.min(start + QUALIFIED_NAME_BATCH_SIZE, unresolvedNames.size()));
+            try {
+                findEntityBatch(userId, batch, entityTypeDef, entityLookupCache);
+            } catch (PropertyServerException error) {
+                // the repository does not support this search, the names will be looked up one by one
+                log.debug("Unable to look up {} entities by qualified name in one search", entityTypeName, error);
+            }
+        }
+    }
+
+    private void findEntityBatch(String userId, List<String> qualifiedNames, TypeDef entityTypeDef,
+                                 EntityLookupCache entityLookupCache) throws UserNotAuthorizedException,
+                                                                             PropertyServerException {
+        final String methodName = "findEntities";
+
+        String qualifiedNamesRegex = qualifiedNames.stream().map(repositoryHelper::getExactMatchRegex).collect(Collectors.joining("|"));
+        InstanceProperties properties = repositoryHelper.addStringPropertyToInstance(serviceName, null, CommonMapper.QUALIFIED_NAME_PROPERTY_NAME,
+                qualifiedNamesRegex, methodName);
+
+        Map<String, List<EntityDetail>> retrievedEntities = new HashMap<>();
+        Set<String> retrievedGUIDs = new HashSet<>();
+        int startingFrom = 0;
+        while (true) {
+            // the repository may return smaller pages than requested, so only an empty page ends the results
+            List<EntityDetail> page = repositoryHandler.getEntitiesByName(userId, properties, entityTypeDef.getGUID(), startingFrom,
+                    QUALIFIED_NAME_BATCH_SIZE, methodName);
+            if (page == null || page.isEmpty()) {
+                break;
+            }
+
+            boolean newEntityFound = false;
+            for (EntityDetail entity : page) {
+                if (!retrievedGUIDs.add(entity.getGUID())) {
+                    continue;
+                }
+                newEntityFound = true;
+                String qualifiedName = repositoryHelper.getStringProperty(serviceName, CommonMapper.QUALIFIED_NAME_PROPERTY_NAME,
+                        entity.getProperties(), methodName);
+                retrievedEntities.computeIfAbsent(qualifiedName, name -> new ArrayList<>()).add(entity);
+            }
+            if (!newEntityFound) {
+                // the repository ignores the starting point of the page
+                break;
+            }
+            startingFrom += page.size();
+        }
+
+        for (String qualifiedName : qualifiedNames) {
+            List<EntityDetail> entities = retrievedEntities.get(qualifiedName);
+            if (entities != null && entities.size() == 1) {
+                entityLookupCache.addEntity(entityTypeDef.getName(), qualifiedName, entities.get(0));
+            }
+        }
+
+        log.debug("Searched for {} {} entities by qualifiedName, found {}", qualifiedNames.size(), entityTypeDef.getName(),
+                retrievedEntities.size());
+    }
+
     /**
      * Create or updates an external relationship between two entities. Verifies that the relationship is not present before creating it. If the
      * relationship is present, verifies the instanceProperties for the relationship to be updated.
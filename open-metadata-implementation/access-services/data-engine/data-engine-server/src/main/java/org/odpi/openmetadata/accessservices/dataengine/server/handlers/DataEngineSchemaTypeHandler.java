@@ -27,6 +27,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -91,6 +92,28 @@ public class DataEngineSchemaTypeHandler {
                                            String externalSourceName) throws InvalidParameterException,
                                                                              PropertyServerException,
                                                                              UserNotAuthorizedException {
+        return createOrUpdateSchemaType(userId, schemaType, externalSourceName, null);
+    }
+
+    /**
+     * Create the schema type entity, with the corresponding schema attributes and relationships, using the entities already
+     * looked up by the request
+     *
+     * @param userId             the name of the calling user
+     * @param schemaType         the schema type values
+     * @param externalSourceName the unique name of the external source
+     * @param entityLookupCache  the entities already looked up by the request, may be null
+     *
+     * @return unique identifier of the schema type in the repository
+     *
+     * @throws InvalidParameterException  the bean properties are invalid
+     * @throws UserNotAuthorizedException user not authorized to issue this request
+     * @throws PropertyServerException    problem accessing the property server
+     */
+    public String createOrUpdateSchemaType(String userId, org.odpi.openmetadata.accessservices.dataengine.model.SchemaType schemaType,
+                                           String externalSourceName, EntityLookupCache entityLookupCache) throws InvalidParameterException,
+                                                                                                                  PropertyServerException,
+                                                                                                                  UserNotAuthorizedException {
         final String methodName = "createOrUpdateSchemaType";
 
         invalidParameterHandler.validateUserId(userId, methodName);
@@ -100,11 +123,15 @@ public class DataEngineSchemaTypeHandler {
         SchemaType schemaTypeBean = createTabularSchemaType(schemaType.getQualifiedName(), schemaType.getDisplayName(), schemaType.getAuthor(),
                 schemaType.getEncodingStandard(), schemaType.getUsage(), schemaType.getVersionNumber());
 
-        Optional<EntityDetail> originalSchemaTypeEntity = findSchemaTypeEntity(userId, schemaTypeBean.getQualifiedName());
+        Optional<EntityDetail> originalSchemaTypeEntity = findSchemaTypeEntity(userId, schemaTypeBean.getQualifiedName(), entityLookupCache);
         String schemaTypeGUID;
         if (!originalSchemaTypeEntity.isPresent()) {
             String externalSourceGUID = dataEngineRegistrationHandler.getExternalDataEngineByQualifiedName(userId, externalSourceName);
             schemaTypeGUID = schemaTypeHandler.addExternalSchemaType(userId, schemaTypeBean, externalSourceGUID, externalSourceName);
+
+            if (entityLookupCache != null) {
+                entityLookupCache.addCreatedEntity(SchemaElementMapper.SCHEMA_TYPE_TYPE_NAME, schemaTypeBean.getQualifiedName(), schemaTypeGUID);
+            }
         } else {
             schemaTypeGUID = originalSchemaTypeEntity.get().getGUID();
 
@@ -117,7 +144,7 @@ public class DataEngineSchemaTypeHandler {
             }
         }
 
-        createOrUpdateSchemaAttributes(userId, schemaTypeGUID, schemaType.getAttributeList(), externalSourceName);
+        createOrUpdateSchemaAttributes(userId, schemaTypeGUID, schemaType.getAttributeList(), externalSourceName, entityLookupCache);
 
         return schemaTypeGUID;
     }
@@ -158,6 +185,38 @@ public class DataEngineSchemaTypeHandler {
         return dataEngineCommonHandler.findEntity(userId, qualifiedName, SchemaElementMapper.SCHEMA_ATTRIBUTE_TYPE_NAME);
     }
 
+    /**
+     * Look up the SchemaType objects of a request in the repository, so that they are retrieved with a single search
+     *
+     * @param userId            the name of the calling user
+     * @param qualifiedNames    the qualified names of the schema types of the request
+     * @param entityLookupCache the cache that receives the entities
+     *
+     * @throws InvalidParameterException  the bean properties are invalid
+     * @throws UserNotAuthorizedException user not authorized to issue this request
+     */
+    public void findSchemaTypeEntities(String userId, Collection<String> qualifiedNames, EntityLookupCache entityLookupCache) throws
+                                                                                                                             InvalidParameterException,
+                                                                                                                             UserNotAuthorizedException {
+        dataEngineCommonHandler.findEntities(userId, qualifiedNames, SchemaElementMapper.SCHEMA_TYPE_TYPE_NAME, entityLookupCache);
+    }
+
+    /**
+     * Look up the SchemaAttribute objects of a request in the repository, so that they are retrieved with a single search
+     *
+     * @param userId            the name of the calling user
+     * @param qualifiedNames    the qualified names of the schema attributes of the request
+     * @param entityLookupCache the cache that receives the entities
+     *
+     * @throws InvalidParameterException  the bean properties are invalid
+     * @throws UserNotAuthorizedException user not authorized to issue this request
+     */
+    public void findSchemaAttributeEntities(String userId, Collection<String> qualifiedNames, EntityLookupCache entityLookupCache) throws
+                                                                                                                                  InvalidParameterException,
+                                                                                                                                  UserNotAuthorizedException {
+        dataEngineCommonHandler.findEntities(userId, qualifiedNames, SchemaElementMapper.SCHEMA_ATTRIBUTE_TYPE_NAME, entityLookupCache);
+    }
+
     /**
      * Create LineageMapping relationship between two schema attributes
      *
@@ -174,28 +233,48 @@ public class DataEngineSchemaTypeHandler {
                                               String externalSourceName) throws InvalidParameterException,
                                                                                 UserNotAuthorizedException,
                                                                                 PropertyServerException {
+        addLineageMappingRelationship(userId, sourceSchemaAttributeQualifiedName, targetSchemaAttributeQualifiedName, externalSourceName, null);
+    }
+
+    /**
+     * Create LineageMapping relationship between two schema attributes, using the entities already looked up by the request
+     *
+     * @param userId                             the name of the calling user
+     * @param sourceSchemaAttributeQualifiedName the qualified name of the source schema attribute
+     * @param targetSchemaAttributeQualifiedName the qualified name of the target schema attribute
+     * @param externalSourceName                 the unique name of the external source
+     * @param entityLookupCache                  the entities already looked up by the request, may be null
+     *
+     * @throws InvalidParameterException  the bean properties are invalid
+     * @throws UserNotAuthorizedException user not authorized to issue this request
+     * @throws PropertyServerException    problem accessing the property server
+     */
+    public void addLineageMappingRelationship(String userId, String sourceSchemaAttributeQualifiedName, String targetSchemaAttributeQualifiedName,
+                                              String externalSourceName, EntityLookupCache entityLookupCache) throws InvalidParameterException,
+                                                                                                                     UserNotAuthorizedException,
+                                                                                                                     PropertyServerException {
         final String methodName = "addLineageMappingRelationship";
 
         invalidParameterHandler.validateUserId(userId, methodName);
         invalidParameterHandler.validateName(sourceSchemaAttributeQualifiedName, PortPropertiesMapper.QUALIFIED_NAME_PROPERTY_NAME, methodName);
         invalidParameterHandler.validateName(targetSchemaAttributeQualifiedName, PortPropertiesMapper.QUALIFIED_NAME_PROPERTY_NAME, methodName);
 
-        Optional<EntityDetail> sourceSchemaAttributeEntity = findSchemaAttributeEntity(userId, sourceSchemaAttributeQualifiedName);
-        Optional<EntityDetail> targetSchemaAttributeEntity = findSchemaAttributeEntity(userId, targetSchemaAttributeQualifiedName);
+        Optional<String> sourceSchemaAttributeGUID = findSchemaAttributeGUID(userId, sourceSchemaAttributeQualifiedName, entityLookupCache);
+        Optional<String> targetSchemaAttributeGUID = findSchemaAttributeGUID(userId, targetSchemaAttributeQualifiedName, entityLookupCache);
 
-        if (!sourceSchemaAttributeEntity.isPresent()) {
+        if (!sourceSchemaAttributeGUID.isPresent()) {
             dataEngineCommonHandler.throwInvalidParameterException(DataEngineErrorCode.SCHEMA_ATTRIBUTE_NOT_FOUND, methodName,
                     sourceSchemaAttributeQualifiedName);
             return;
         }
-        if (!targetSchemaAttributeEntity.isPresent()) {
+        if (!targetSchemaAttributeGUID.isPresent()) {
             dataEngineCommonHandler.throwInvalidParameterException(DataEngineErrorCode.SCHEMA_ATTRIBUTE_NOT_FOUND, methodName,
                     targetSchemaAttributeQualifiedName);
             return;
         }
 
-        dataEngineCommonHandler.createOrUpdateExternalRelationship(userId, sourceSchemaAttributeEntity.get().getGUID(),
-                targetSchemaAttributeEntity.get().getGUID(), SchemaTypePropertiesMapper.LINEAGE_MAPPINGS_TYPE_NAME,
+        dataEngineCommonHandler.createOrUpdateExternalRelationship(userId, sourceSchemaAttributeGUID.get(),
+                targetSchemaAttributeGUID.get(), SchemaTypePropertiesMapper.LINEAGE_MAPPINGS_TYPE_NAME,
                 SchemaElementMapper.SCHEMA_ATTRIBUTE_TYPE_NAME, externalSourceName, null);
     }
 
@@ -239,30 +318,55 @@ public class DataEngineSchemaTypeHandler {
      */
     public void addAnchorGUID(String userId, Attribute attribute, String processGUID) throws InvalidParameterException, UserNotAuthorizedException,
                                                                                              PropertyServerException {
+        addAnchorGUID(userId, attribute, processGUID, null);
+    }
+
+    /**
+     * Updates the schema attribute with anchorGUID property set to process GUID, using the entities already looked up by the request
+     *
+     * @param userId            the name of the calling user
+     * @param attribute         the properties of the schema attribute
+     * @param processGUID       the GUID of the process
+     * @param entityLookupCache the entities already looked up by the request, may be null
+     *
+     * @throws InvalidParameterException  the bean properties are invalid
+     * @throws UserNotAuthorizedException user not authorized to issue this request
+     * @throws PropertyServerException    problem accessing the property server
+     */
+    public void addAnchorGUID(String userId, Attribute attribute, String processGUID, EntityLookupCache entityLookupCache) throws
+                                                                                                                          InvalidParameterException,
+                                                                                                                          UserNotAuthorizedException,
+                                                                                                                          PropertyServerException {
         final String methodName = "addAnchorGUID";
 
         SchemaAttribute schemaAttribute = createTabularColumn(attribute);
         schemaAttribute.setAnchorGUID(processGUID);
 
-        Optional<EntityDetail> schemaAttributeEntity = findSchemaAttributeEntity(userId, attribute.getQualifiedName());
-        if (!schemaAttributeEntity.isPresent()) {
+        Optional<String> schemaAttributeGUID = findSchemaAttributeGUID(userId, attribute.getQualifiedName(), entityLookupCache);
+        if (!schemaAttributeGUID.isPresent()) {
             dataEngineCommonHandler.throwInvalidParameterException(DataEngineErrorCode.SCHEMA_ATTRIBUTE_NOT_FOUND, methodName);
         } else {
-            schemaTypeHandler.updateSchemaAttribute(userId, schemaAttributeEntity.get().getGUID(), schemaAttribute);
+            schemaTypeHandler.updateSchemaAttribute(userId, schemaAttributeGUID.get(), schemaAttribute);
         }
     }
 
-    private void createOrUpdateSchemaAttributes(String userId, String schemaTypeGUID, List<Attribute> attributeList, String externalSourceName) throws
-                                                                                                                                                InvalidParameterException,
-                                                                                                                                                PropertyServerException,
-                                                                                                                                                UserNotAuthorizedException {
+    private void createOrUpdateSchemaAttributes(String userId, String schemaTypeGUID, List<Attribute> attributeList, String externalSourceName,
+                                                EntityLookupCache entityLookupCache) throws InvalidParameterException,
+                                                                                            PropertyServerException,
+                                                                                            UserNotAuthorizedException {
         for (Attribute attribute : attributeList) {
             SchemaAttribute schemaAttribute = createTabularColumn(attribute);
 
-            Optional<EntityDetail> schemaAttributeEntity = findSchemaAttributeEntity(userId, schemaAttribute.getQualifiedName());
+            Optional<EntityDetail> schemaAttributeEntity = findSchemaAttributeEntity(userId, schemaAttribute.getQualifiedName(), entityLookupCache);
 
             if (!schemaAttributeEntity.isPresent()) {
-                createSchemaAttribute(userId, schemaTypeGUID, schemaAttribute, attribute.getDataType(), externalSourceName);
+                String schemaAttributeGUID = createSchemaAttribute(userId, schemaTypeGUID, schemaAttribute, attribute.getDataType(),
+                        externalSourceName);
+
+                if (entityLookupCache != null) {
+                    entityLookupCache.addCreatedEntity(SchemaElementMapper.SCHEMA_ATTRIBUTE_TYPE_NAME, schemaAttribute.getQualifiedName(),
+                            schemaAttributeGUID);
+                }
             } else {
                 String schemaAttributeGUID = schemaAttributeEntity.get().getGUID();
                 EntityDetail updatedSchemaAttributeEntity = buildSchemaAttributeEntityDetail(schemaAttributeGUID, schemaAttribute);
@@ -276,6 +380,36 @@ public class DataEngineSchemaTypeHandler {
         }
     }
 
+    private Optional<EntityDetail> findSchemaTypeEntity(String userId, String qualifiedName, EntityLookupCache entityLookupCache) throws
+                                                                                                                                 UserNotAuthorizedException,
+                                                                                                                                 PropertyServerException,
+                                                                                                                                 InvalidParameterException {
+        if (entityLookupCache == null) {
+            return findSchemaTypeEntity(userId, qualifiedName);
+        }
+        return dataEngineCommonHandler.findEntity(userId, qualifiedName, SchemaElementMapper.SCHEMA_TYPE_TYPE_NAME, entityLookupCache);
+    }
+
+    private Optional<EntityDetail> findSchemaAttributeEntity(String userId, String qualifiedName, EntityLookupCache entityLookupCache) throws
+                                                                                                                                      UserNotAuthorizedException,
+                                                                                                                                      PropertyServerException,
+                                                                                                                                      InvalidParameterException {
+        if (entityLookupCache == null) {
+            return findSchemaAttributeEntity(userId, qualifiedName);
+        }
+        return dataEngineCommonHandler.findEntity(userId, qualifiedName, SchemaElementMapper.SCHEMA_ATTRIBUTE_TYPE_NAME, entityLookupCache);
+    }
+
+    private Optional<String> findSchemaAttributeGUID(String userId, String qualifiedName, EntityLookupCache entityLookupCache) throws
+                                                                                                                               UserNotAuthorizedException,
+                                                                                                                               PropertyServerException,
+                                                                                                                               InvalidParameterException {
+        if (entityLookupCache == null) {
+            return findSchemaAttributeEntity(userId, qualifiedName).map(InstanceHeader::getGUID);
+        }
+        return dataEngineCommonHandler.findEntityGUID(userId, qualifiedName, SchemaElementMapper.SCHEMA_ATTRIBUTE_TYPE_NAME, entityLookupCache);
+    }
+
     private EntityDetail buildSchemaAttributeEntityDetail(String schemaAttributeGUID, SchemaAttribute schemaAttribute) throws
                                                                                                                        InvalidParameterException {
         String methodName = "buildSchemaAttributeEntityDetail";
@@ -333,7 +467,7 @@ public class DataEngineSchemaTypeHandler {
             return new HashSet<>();
         }
 
-        return entities.parallelStream().map(InstanceHeader::getGUID).collect(Collectors.toSet());
+        return entities.stream().map(InstanceHeader::getGUID).collect(Collectors.toSet());
     }
 
     /**
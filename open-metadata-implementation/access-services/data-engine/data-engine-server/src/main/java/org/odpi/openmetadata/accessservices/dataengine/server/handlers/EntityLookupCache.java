@@ -0,0 +1,90 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.dataengine.server.handlers;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * EntityLookupCache holds the entities found by qualified name while a single Data Engine OMAS request is processed,
+ * so that an element that is referenced many times in the request is only retrieved once. It is filled with one
+ * batched lookup for all the qualified names of the request, and records the entities created by the request.
+ * A qualified name that is not in the cache is looked up in the repository.
+ *
+ * The cache can be used by several threads at once.
+ */
+public class EntityLookupCache {
+    private final Map<String, Map<String, Optional<EntityDetail>>> entities = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, String>> createdEntityGUIDs = new ConcurrentHashMap<>();
+
+    /**
+     * Return whether the result of looking up the qualified name is known.
+     *
+     * @param entityTypeName the type name used for the lookup
+     * @param qualifiedName  the qualified name of the entity
+     *
+     * @return true if the entity was found or is known not to exist
+     */
+    public boolean containsEntity(String entityTypeName, String qualifiedName) {
+        return getEntities(entityTypeName).containsKey(qualifiedName);
+    }
+
+    /**
+     * Return the entity with the qualified name.
+     *
+     * @param entityTypeName the type name used for the lookup
+     * @param qualifiedName  the qualified name of the entity
+     *
+     * @return optional with the entity details, empty optional if the entity does not exist or is not in the cache
+     */
+    public Optional<EntityDetail> getEntity(String entityTypeName, String qualifiedName) {
+        return getEntities(entityTypeName).getOrDefault(qualifiedName, Optional.empty());
+    }
+
+    /**
+     * Record the result of looking up a qualified name.
+     *
+     * @param entityTypeName the type name used for the lookup
+     * @param qualifiedName  the qualified name of the entity
+     * @param entity         the entity details, or null if the entity does not exist
+     */
+    public void addEntity(String entityTypeName, String qualifiedName, EntityDetail entity) {
+        getEntities(entityTypeName).put(qualifiedName, Optional.ofNullable(entity));
+    }
+
+    /**
+     * Record an entity created by the request when only its unique identifier is known. Later lookups that need
+     * the entity details go to the repository.
+     *
+     * @param entityTypeName the type name used for the lookup
+     * @param qualifiedName  the qualified name of the entity
+     * @param guid           the unique identifier of the created entity
+     */
+    public void addCreatedEntity(String entityTypeName, String qualifiedName, String guid) {
+        getEntities(entityTypeName).remove(qualifiedName);
+        createdEntityGUIDs.computeIfAbsent(entityTypeName, typeName -> new ConcurrentHashMap<>()).put(qualifiedName, guid);
+    }
+
+    /**
+     * Return the unique identifier of an entity created by the request.
+     *
+     * @param entityTypeName the type name used for the lookup
+     * @param qualifiedName  the qualified name of the entity
+     *
+     * @return optional with the unique identifier, empty optional if the entity was not created by the request
+     */
+    public Optional<String> getCreatedEntityGUID(String entityTypeName, String qualifiedName) {
+        Map<String, String> guids = createdEntityGUIDs.get(entityTypeName);
+        if (guids == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(guids.get(qualifiedName));
+    }
+
+    private Map<String, Optional<EntityDetail>> getEntities(String entityTypeName) {
+        return entities.computeIfAbsent(entityTypeName, typeName -> new ConcurrentHashMap<>());
+    }
+}
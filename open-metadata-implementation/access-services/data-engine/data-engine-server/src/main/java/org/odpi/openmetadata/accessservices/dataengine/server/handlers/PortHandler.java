@@ -23,6 +23,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 
+import java.util.Collection;
 import java.util.Optional;
 
 /**
@@ -263,14 +264,34 @@ public class PortHandler {
                                               String externalSourceName) throws InvalidParameterException,
                                                                                 UserNotAuthorizedException,
                                                                                 PropertyServerException {
+        addPortDelegationRelationship(userId, portGUID, portType, delegatesToQualifiedName, externalSourceName, null);
+    }
 
-
+    /**
+     * Create a PortDelegation relationship between two ports, using the entities already looked up by the request to
+     * find the target port. Verifies that the relationship is not present before creating it
+     *
+     * @param userId                   the name of the calling user
+     * @param portGUID                 the unique identifier of the source port
+     * @param portType                 the type of the source port
+     * @param delegatesToQualifiedName the unique identifier of the target port
+     * @param externalSourceName       the unique name of the external source
+     * @param entityLookupCache        the entities already looked up by the request, may be null
+     *
+     * @throws InvalidParameterException  the bean properties are invalid
+     * @throws UserNotAuthorizedException user not authorized to issue this request
+     * @throws PropertyServerException    problem accessing the property server
+     */
+    public void addPortDelegationRelationship(String userId, String portGUID, PortType portType, String delegatesToQualifiedName,
+                                              String externalSourceName, EntityLookupCache entityLookupCache) throws InvalidParameterException,
+                                                                                                                     UserNotAuthorizedException,
+                                                                                                                     PropertyServerException {
         final String methodName = "addPortDelegationRelationship";
 
         invalidParameterHandler.validateUserId(userId, methodName);
         invalidParameterHandler.validateName(delegatesToQualifiedName, PortPropertiesMapper.QUALIFIED_NAME_PROPERTY_NAME, methodName);
 
-        Optional<EntityDetail> delegatedPortEntity = findPortEntity(userId, delegatesToQualifiedName);
+        Optional<EntityDetail> delegatedPortEntity = findPortEntity(userId, delegatesToQualifiedName, entityLookupCache);
         if (delegatedPortEntity.isPresent()) {
             String delegatedPortType = getPortType(delegatedPortEntity.get());
 
@@ -362,6 +383,99 @@ public class PortHandler {
         return portEntity;
     }
 
+    /**
+     * Find out if the PortImplementation object is already stored in the repository, using the entities already looked up by the request
+     *
+     * @param userId            the name of the calling user
+     * @param qualifiedName     the qualifiedName name of the port to be searched
+     * @param entityLookupCache the entities already looked up by the request, may be null
+     *
+     * @return optional with entity details if found, empty optional if not found
+     *
+     * @throws InvalidParameterException  the bean properties are invalid
+     * @throws UserNotAuthorizedException user not authorized to issue this request
+     * @throws PropertyServerException    problem accessing the property server
+     */
+    public Optional<EntityDetail> findPortImplementationEntity(String userId, String qualifiedName, EntityLookupCache entityLookupCache) throws
+                                                                                                                                       InvalidParameterException,
+                                                                                                                                       UserNotAuthorizedException,
+                                                                                                                                       PropertyServerException {
+        if (entityLookupCache == null) {
+            return findPortImplementationEntity(userId, qualifiedName);
+        }
+        return dataEngineCommonHandler.findEntity(userId, qualifiedName, PortPropertiesMapper.PORT_IMPLEMENTATION_TYPE_NAME, entityLookupCache);
+    }
+
+    /**
+     * Find out if the PortAlias object is already stored in the repository, using the entities already looked up by the request
+     *
+     * @param userId            the name of the calling user
+     * @param qualifiedName     the qualifiedName name of the port to be searched
+     * @param entityLookupCache the entities already looked up by the request, may be null
+     *
+     * @return optional with entity details if found, empty optional if not found
+     *
+     * @throws InvalidParameterException  the bean properties are invalid
+     * @throws UserNotAuthorizedException user not authorized to issue this request
+     * @throws PropertyServerException    problem accessing the property server
+     */
+    public Optional<EntityDetail> findPortAliasEntity(String userId, String qualifiedName, EntityLookupCache entityLookupCache) throws
+                                                                                                                              InvalidParameterException,
+                                                                                                                              UserNotAuthorizedException,
+                                                                                                                              PropertyServerException {
+        if (entityLookupCache == null) {
+            return findPortAliasEntity(userId, qualifiedName);
+        }
+        return dataEngineCommonHandler.findEntity(userId, qualifiedName, PortPropertiesMapper.PORT_ALIAS_TYPE_NAME, entityLookupCache);
+    }
+
+    /**
+     * Look up the PortImplementation objects of a request in the repository, so that they are retrieved with a single search
+     *
+     * @param userId            the name of the calling user
+     * @param qualifiedNames    the qualified names of the port implementations of the request
+     * @param entityLookupCache the cache that receives the entities
+     *
+     * @throws InvalidParameterException  the bean properties are invalid
+     * @throws UserNotAuthorizedException user not authorized to issue this request
+     */
+    public void findPortImplementationEntities(String userId, Collection<String> qualifiedNames, EntityLookupCache entityLookupCache) throws
+                                                                                                                                     InvalidParameterException,
+                                                                                                                                     UserNotAuthorizedException {
+        dataEngineCommonHandler.findEntities(userId, qualifiedNames, PortPropertiesMapper.PORT_IMPLEMENTATION_TYPE_NAME, entityLookupCache);
+    }
+
+    /**
+     * Look up the PortAlias objects of a request in the repository, so that they are retrieved with a single search
+     *
+     * @param userId            the name of the calling user
+     * @param qualifiedNames    the qualified names of the port aliases of the request
+     * @param entityLookupCache the cache that receives the entities
+     *
+     * @throws InvalidParameterException  the bean properties are invalid
+     * @throws UserNotAuthorizedException user not authorized to issue this request
+     */
+    public void findPortAliasEntities(String userId, Collection<String> qualifiedNames, EntityLookupCache entityLookupCache) throws
+                                                                                                                            InvalidParameterException,
+                                                                                                                            UserNotAuthorizedException {
+        dataEngineCommonHandler.findEntities(userId, qualifiedNames, PortPropertiesMapper.PORT_ALIAS_TYPE_NAME, entityLookupCache);
+    }
+
+    private Optional<EntityDetail> findPortEntity(String userId, String qualifiedName, EntityLookupCache entityLookupCache) throws
+                                                                                                                          InvalidParameterException,
+                                                                                                                          UserNotAuthorizedException,
+                                                                                                                          PropertyServerException {
+        if (entityLookupCache == null) {
+            return findPortEntity(userId, qualifiedName);
+        }
+
+        Optional<EntityDetail> portEntity = findPortAliasEntity(userId, qualifiedName, entityLookupCache);
+        if (!portEntity.isPresent()) {
+            portEntity = findPortImplementationEntity(userId, qualifiedName, entityLookupCache);
+        }
+        return portEntity;
+    }
+
     private String getPortType(EntityDetail delegatedPort) {
         if (delegatedPort == null) {
             return null;
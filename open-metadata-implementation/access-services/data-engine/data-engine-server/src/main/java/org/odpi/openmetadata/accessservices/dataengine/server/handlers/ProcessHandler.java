@@ -29,6 +29,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 import org.springframework.util.StringUtils;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -193,6 +194,45 @@ public class ProcessHandler {
         return dataEngineCommonHandler.findEntity(userId, qualifiedName, ProcessPropertiesMapper.PROCESS_TYPE_NAME);
     }
 
+    /**
+     * Find out if the Process object is already stored in the repository, using the entities already looked up by the request
+     *
+     * @param userId            the name of the calling user
+     * @param qualifiedName     the qualifiedName name of the process to be searched
+     * @param entityLookupCache the entities already looked up by the request, may be null
+     *
+     * @return optional with entity details if found, empty optional if not found
+     *
+     * @throws InvalidParameterException  the bean properties are invalid
+     * @throws UserNotAuthorizedException user not authorized to issue this request
+     * @throws PropertyServerException    problem accessing the property server
+     */
+    public Optional<EntityDetail> findProcessEntity(String userId, String qualifiedName, EntityLookupCache entityLookupCache) throws
+                                                                                                                              UserNotAuthorizedException,
+                                                                                                                              PropertyServerException,
+                                                                                                                              InvalidParameterException {
+        if (entityLookupCache == null) {
+            return findProcessEntity(userId, qualifiedName);
+        }
+        return dataEngineCommonHandler.findEntity(userId, qualifiedName, ProcessPropertiesMapper.PROCESS_TYPE_NAME, entityLookupCache);
+    }
+
+    /**
+     * Look up the Process objects of a request in the repository, so that they are retrieved with a single search
+     *
+     * @param userId            the name of the calling user
+     * @param qualifiedNames    the qualified names of the processes of the request
+     * @param entityLookupCache the cache that receives the entities
+     *
+     * @throws InvalidParameterException  the bean properties are invalid
+     * @throws UserNotAuthorizedException user not authorized to issue this request
+     */
+    public void findProcessEntities(String userId, Collection<String> qualifiedNames, EntityLookupCache entityLookupCache) throws
+                                                                                                                          InvalidParameterException,
+                                                                                                                          UserNotAuthorizedException {
+        dataEngineCommonHandler.findEntities(userId, qualifiedNames, ProcessPropertiesMapper.PROCESS_TYPE_NAME, entityLookupCache);
+    }
+
     /**
      * Create ProcessPort relationships between a Process asset and the corresponding Ports. Verifies that the
      * relationship is not present before creating it
@@ -264,7 +304,7 @@ public class ProcessHandler {
             return new HashSet<>();
         }
 
-        return entities.parallelStream().filter(entityDetail -> entityDetail.getType().getTypeDefName().equalsIgnoreCase(portTypeName))
+        return entities.stream().filter(entityDetail -> entityDetail.getType().getTypeDefName().equalsIgnoreCase(portTypeName))
                 .map(InstanceHeader::getGUID).collect(Collectors.toSet());
     }
 
@@ -314,6 +354,28 @@ public class ProcessHandler {
                                                            String externalSourceName) throws InvalidParameterException,
                                                                                              PropertyServerException,
                                                                                              UserNotAuthorizedException {
+        createOrUpdateProcessHierarchyRelationship(userId, parentProcess, processGUID, externalSourceName, null);
+    }
+
+    /**
+     * Create or update the ProcessHierarchy relationship between a process and its parent, using the entities already looked up
+     * by the request to find the parent process
+     *
+     * @param userId             the name of the calling user
+     * @param parentProcess      the parent process values
+     * @param processGUID        the unique identifier of the child process
+     * @param externalSourceName the unique name of the external source
+     * @param entityLookupCache  the entities already looked up by the request, may be null
+     *
+     * @throws InvalidParameterException  the bean properties are invalid
+     * @throws UserNotAuthorizedException user not authorized to issue this request
+     * @throws PropertyServerException    problem accessing the property server
+     */
+    public void createOrUpdateProcessHierarchyRelationship(String userId, ParentProcess parentProcess, String processGUID,
+                                                           String externalSourceName, EntityLookupCache entityLookupCache) throws
+                                                                                                                           InvalidParameterException,
+                                                                                                                           PropertyServerException,
+                                                                                                                           UserNotAuthorizedException {
         final String methodName = "createOrUpdateProcessHierarchyRelationship";
 
         ProcessContainmentType processContainmentType = parentProcess.getProcessContainmentType();
@@ -321,9 +383,9 @@ public class ProcessHandler {
                 ProcessPropertiesMapper.CONTAINMENT_TYPE, processContainmentType.getOrdinal(), processContainmentType.getName(),
                 processContainmentType.getDescription(), methodName);
 
-        Optional<EntityDetail> parentProcessEntity = findProcessEntity(userId, parentProcess.getQualifiedName());
-        if (parentProcessEntity.isPresent()) {
-            dataEngineCommonHandler.createOrUpdateExternalRelationship(userId, parentProcessEntity.get().getGUID(), processGUID,
+        Optional<String> parentProcessGUID = findProcessGUID(userId, parentProcess.getQualifiedName(), entityLookupCache);
+        if (parentProcessGUID.isPresent()) {
+            dataEngineCommonHandler.createOrUpdateExternalRelationship(userId, parentProcessGUID.get(), processGUID,
                     ProcessPropertiesMapper.PROCESS_HIERARCHY_TYPE_NAME, ProcessPropertiesMapper.PROCESS_TYPE_NAME, externalSourceName,
                     relationshipProperties);
         } else {
@@ -332,6 +394,16 @@ public class ProcessHandler {
         }
     }
 
+    private Optional<String> findProcessGUID(String userId, String qualifiedName, EntityLookupCache entityLookupCache) throws
+                                                                                                                       UserNotAuthorizedException,
+                                                                                                                       PropertyServerException,
+                                                                                                                       InvalidParameterException {
+        if (entityLookupCache == null) {
+            return findProcessEntity(userId, qualifiedName).map(InstanceHeader::getGUID);
+        }
+        return dataEngineCommonHandler.findEntityGUID(userId, qualifiedName, ProcessPropertiesMapper.PROCESS_TYPE_NAME, entityLookupCache);
+    }
+
     private void initializeAssetZoneMembership(Process updatedProcess) throws InvalidParameterException, PropertyServerException {
         List<String> zoneMembership = securityVerifier.initializeAssetZones(defaultZones, updatedProcess);
         updatedProcess.setZoneMembership(zoneMembership);
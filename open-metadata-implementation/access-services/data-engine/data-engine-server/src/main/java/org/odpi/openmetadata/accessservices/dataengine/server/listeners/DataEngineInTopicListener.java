@@ -7,6 +7,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.accessservices.dataengine.event.DataEngineEventHeader;
 import org.odpi.openmetadata.accessservices.dataengine.ffdc.DataEngineErrorCode;
+import org.odpi.openmetadata.accessservices.dataengine.server.admin.DataEngineWorkerPool;
 import org.odpi.openmetadata.accessservices.dataengine.server.processors.DataEngineEventProcessor;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogRecordSeverity;
@@ -17,12 +18,14 @@ import org.slf4j.LoggerFactory;
 /**
  * The Data Engine in topic processor is listening events from external data engines about
  * metadata changes. It will handle different types of events defined in Data Engine OMAS API module.
+ * The events are processed in order on the worker pool of the server.
  */
 public class DataEngineInTopicListener implements OpenMetadataTopicListener {
     private static final Logger log = LoggerFactory.getLogger(DataEngineInTopicListener.class);
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
     private final OMRSAuditLog auditLog;
     private DataEngineEventProcessor dataEngineEventProcessor;
+    private final DataEngineWorkerPool workerPool;
 
     /**
      * The constructor is given the connection to the out topic for Data Engine OMAS along with classes for
@@ -30,19 +33,27 @@ public class DataEngineInTopicListener implements OpenMetadataTopicListener {
      *
      * @param auditLog                 audit log
      * @param dataEngineEventProcessor the event processor for Data Engine OMAS
+     * @param workerPool               the worker pool that processes the events
      */
-    public DataEngineInTopicListener(OMRSAuditLog auditLog, DataEngineEventProcessor dataEngineEventProcessor) {
+    public DataEngineInTopicListener(OMRSAuditLog auditLog, DataEngineEventProcessor dataEngineEventProcessor,
+                                     DataEngineWorkerPool workerPool) {
         this.auditLog = auditLog;
         this.dataEngineEventProcessor = dataEngineEventProcessor;
+        this.workerPool = workerPool;
     }
 
     /**
-     * Method to pass an event received on topic.
+     * Method to pass an event received on topic. The event is queued on the worker pool and the method returns
+     * once it has been processed. Runtime exceptions are passed back to the topic connector, which logs them.
      *
      * @param dataEngineEvent inbound event
      */
     @Override
     public void processEvent(String dataEngineEvent) {
+        workerPool.processEvent(() -> processQueuedEvent(dataEngineEvent));
+    }
+
+    private void processQueuedEvent(String dataEngineEvent) {
         log.debug("Processing instance event {}", dataEngineEvent);
 
         if (dataEngineEvent == null) {
@@ -73,6 +84,9 @@ public class DataEngineInTopicListener implements OpenMetadataTopicListener {
                         case PROCESSES_EVENT:
                             dataEngineEventProcessor.processProcessesEvent(dataEngineEvent);
                             break;
+                        case JOB_EVENT:
+                            dataEngineEventProcessor.processJobEvent(dataEngineEvent);
+                            break;
                         default:
                             log.debug("Ignored instance event - unknown event type");
                             break;
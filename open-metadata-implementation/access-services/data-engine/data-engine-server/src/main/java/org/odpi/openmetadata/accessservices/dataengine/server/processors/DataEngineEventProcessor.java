@@ -6,6 +6,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.collections4.CollectionUtils;
 import org.odpi.openmetadata.accessservices.dataengine.event.DataEngineRegistrationEvent;
+import org.odpi.openmetadata.accessservices.dataengine.event.JobEvent;
 import org.odpi.openmetadata.accessservices.dataengine.event.LineageMappingsEvent;
 import org.odpi.openmetadata.accessservices.dataengine.event.PortAliasEvent;
 import org.odpi.openmetadata.accessservices.dataengine.event.PortImplementationEvent;
@@ -186,6 +187,29 @@ public class DataEngineEventProcessor {
         }
     }
 
+    /**
+     * Process a {@link JobEvent}
+     *
+     * @param dataEngineEvent the event to be processed
+     */
+    public void processJobEvent(String dataEngineEvent) {
+        final String methodName = "processJobEvent";
+
+        log.debug(DEBUG_MESSAGE_METHOD, methodName);
+        try {
+            JobEvent jobEvent = OBJECT_MAPPER.readValue(dataEngineEvent, JobEvent.class);
+
+            ProcessListResponse response = dataEngineRESTServices.createOrUpdateJob(jobEvent.getUserId(), serverName, jobEvent.getSchemaTypes(),
+                    jobEvent.getPortImplementations(), jobEvent.getPortAliases(), jobEvent.getProcesses(), jobEvent.getLineageMappings(),
+                    jobEvent.getExternalSourceName());
+            validateResponse(response, dataEngineEvent, methodName);
+
+        } catch (JsonProcessingException | DataEngineException e) {
+            log.debug("Exception in parsing event from in Data Engine In Topic", e);
+            logException(dataEngineEvent, methodName, e);
+        }
+    }
+
     private void logException(String dataEngineEvent, String methodName, Exception e) {
         log.debug("Exception in processing {} from in Data Engine In Topic: {}", methodName, e);
 
@@ -14,6 +14,7 @@ import org.odpi.openmetadata.accessservices.dataengine.model.SchemaType;
 import org.odpi.openmetadata.accessservices.dataengine.model.SoftwareServerCapability;
 import org.odpi.openmetadata.accessservices.dataengine.model.UpdateSemantic;
 import org.odpi.openmetadata.accessservices.dataengine.rest.DataEngineRegistrationRequestBody;
+import org.odpi.openmetadata.accessservices.dataengine.rest.JobRequestBody;
 import org.odpi.openmetadata.accessservices.dataengine.rest.LineageMappingsRequestBody;
 import org.odpi.openmetadata.accessservices.dataengine.rest.PortAliasRequestBody;
 import org.odpi.openmetadata.accessservices.dataengine.rest.PortImplementationRequestBody;
@@ -22,11 +23,15 @@ import org.odpi.openmetadata.accessservices.dataengine.rest.ProcessListResponse;
 import org.odpi.openmetadata.accessservices.dataengine.rest.ProcessesRequestBody;
 import org.odpi.openmetadata.accessservices.dataengine.rest.SchemaTypeRequestBody;
 import org.odpi.openmetadata.accessservices.dataengine.server.admin.DataEngineInstanceHandler;
+import org.odpi.openmetadata.accessservices.dataengine.server.admin.DataEngineWorkerPool;
 import org.odpi.openmetadata.accessservices.dataengine.server.handlers.DataEngineRegistrationHandler;
 import org.odpi.openmetadata.accessservices.dataengine.server.handlers.DataEngineSchemaTypeHandler;
+import org.odpi.openmetadata.accessservices.dataengine.server.handlers.EntityLookupCache;
 import org.odpi.openmetadata.accessservices.dataengine.server.handlers.PortHandler;
 import org.odpi.openmetadata.accessservices.dataengine.server.handlers.ProcessHandler;
 import org.odpi.openmetadata.accessservices.dataengine.server.mappers.PortPropertiesMapper;
+import org.odpi.openmetadata.accessservices.dataengine.server.mappers.ProcessPropertiesMapper;
+import org.odpi.openmetadata.commonservices.ocf.metadatamanagement.mappers.SchemaElementMapper;
 import org.odpi.openmetadata.commonservices.ffdc.RESTExceptionHandler;
 import org.odpi.openmetadata.commonservices.ffdc.rest.FFDCResponseBase;
 import org.odpi.openmetadata.commonservices.ffdc.rest.GUIDResponse;
@@ -42,9 +47,11 @@ import org.springframework.http.HttpStatus;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -165,7 +172,7 @@ public class DataEngineRESTServices {
             }
 
             String newSchemaTypeGUID = createOrUpdateSchemaType(userId, serverName, schemaTypeRequestBody.getSchemaType(),
-                    schemaTypeRequestBody.getExternalSourceName());
+                    schemaTypeRequestBody.getExternalSourceName(), null);
 
             response.setGUID(newSchemaTypeGUID);
 
@@ -292,6 +299,40 @@ public class DataEngineRESTServices {
         return response;
     }
 
+    /**
+     * Create or update all the metadata of a job in one request: the schema types, ports, processes and lineage mappings
+     *
+     * @param userId         the name of the calling user
+     * @param serverName     name of server instance to call
+     * @param jobRequestBody properties of the job
+     *
+     * @return a list unique identifiers (GUIDs) of the created/updated processes
+     */
+    public ProcessListResponse createOrUpdateJob(String userId, String serverName, JobRequestBody jobRequestBody) {
+        final String methodName = "createOrUpdateJob";
+
+        log.debug(DEBUG_MESSAGE_METHOD, methodName);
+
+        ProcessListResponse response = new ProcessListResponse();
+
+        try {
+            if (jobRequestBody == null) {
+                restExceptionHandler.handleNoRequestBody(userId, methodName, serverName);
+                return response;
+            }
+
+            return createOrUpdateJob(userId, serverName, jobRequestBody.getSchemaTypes(), jobRequestBody.getPortImplementations(),
+                    jobRequestBody.getPortAliases(), jobRequestBody.getProcesses(), jobRequestBody.getLineageMappings(),
+                    jobRequestBody.getExternalSourceName());
+        } catch (InvalidParameterException error) {
+            restExceptionHandler.captureInvalidParameterException(response, error);
+        }
+
+        log.debug(DEBUG_MESSAGE_METHOD_RETURN, methodName, response);
+
+        return response;
+    }
+
     /**
      * Create or update a Port Alias with a PortDelegation relationship
      *
@@ -310,29 +351,7 @@ public class DataEngineRESTServices {
                                                                                                                                           InvalidParameterException,
                                                                                                                                           PropertyServerException,
                                                                                                                                           UserNotAuthorizedException {
-        final String methodName = "createOrUpdatePortAliasWithDelegation";
-
-        log.debug(DEBUG_MESSAGE_METHOD, methodName);
-
-        PortHandler portHandler = instanceHandler.getPortHandler(userId, serverName, methodName);
-
-        Optional<EntityDetail> portEntity = portHandler.findPortAliasEntity(userId, portAlias.getQualifiedName());
-
-        String portAliasGUID;
-        if (!portEntity.isPresent()) {
-            portAliasGUID = portHandler.createPortAlias(userId, portAlias, externalSourceName);
-        } else {
-            portAliasGUID = portEntity.get().getGUID();
-            portHandler.updatePortAlias(userId, portEntity.get(), portAlias);
-        }
-
-        if (!StringUtils.isEmpty(portAlias.getDelegatesTo())) {
-            portHandler.addPortDelegationRelationship(userId, portAliasGUID, portAlias.getPortType(), portAlias.getDelegatesTo(), externalSourceName);
-        }
-
-        log.debug(DEBUG_MESSAGE_METHOD_RETURN, methodName, portAliasGUID);
-
-        return portAliasGUID;
+        return createOrUpdatePortAliasWithDelegation(userId, serverName, portAlias, externalSourceName, null);
     }
 
     /**
@@ -353,33 +372,7 @@ public class DataEngineRESTServices {
                                                                  String externalSourceName) throws InvalidParameterException,
                                                                                                    PropertyServerException,
                                                                                                    UserNotAuthorizedException {
-        final String methodName = "createOrUpdatePortImplementationWithSchemaType";
-
-        log.debug(DEBUG_MESSAGE_METHOD, methodName);
-
-        PortHandler portHandler = instanceHandler.getPortHandler(userId, serverName, methodName);
-
-        String schemaTypeGUID = createOrUpdateSchemaType(userId, serverName, portImplementation.getSchemaType(), externalSourceName);
-
-        Optional<EntityDetail> portEntity = portHandler.findPortImplementationEntity(userId, portImplementation.getQualifiedName());
-
-        String portImplementationGUID;
-        if (!portEntity.isPresent()) {
-            portImplementationGUID = portHandler.createPortImplementation(userId, portImplementation, externalSourceName);
-        } else {
-            portImplementationGUID = portEntity.get().getGUID();
-            portHandler.updatePortImplementation(userId, portEntity.get(), portImplementation);
-
-            if (portImplementation.getUpdateSemantic() == UpdateSemantic.REPLACE) {
-                deleteObsoleteSchemaType(userId, serverName, schemaTypeGUID, portHandler.findSchemaTypeForPort(userId, portImplementationGUID));
-            }
-        }
-
-        portHandler.addPortSchemaRelationship(userId, portImplementationGUID, schemaTypeGUID, externalSourceName);
-
-        log.debug(DEBUG_MESSAGE_METHOD_RETURN, methodName, portImplementationGUID);
-
-        return portImplementationGUID;
+        return createOrUpdatePortImplementationWithSchemaType(userId, serverName, portImplementation, externalSourceName, null);
     }
 
     /**
@@ -466,28 +459,7 @@ public class DataEngineRESTServices {
                                    String externalSourceName) throws InvalidParameterException,
                                                                      PropertyServerException,
                                                                      UserNotAuthorizedException {
-        final String methodName = "addLineageMappings";
-
-        log.debug(DEBUG_MESSAGE_METHOD, methodName);
-
-        if (CollectionUtils.isEmpty(lineageMappings)) {
-            return;
-        }
-
-        DataEngineSchemaTypeHandler dataEngineSchemaTypeHandler = instanceHandler.getDataEngineSchemaTypeHandler(userId, serverName, methodName);
-
-        lineageMappings.parallelStream().forEach(lineageMapping -> {
-            try {
-                dataEngineSchemaTypeHandler.addLineageMappingRelationship(userId, lineageMapping.getSourceAttribute(),
-                        lineageMapping.getTargetAttribute(), externalSourceName);
-            } catch (InvalidParameterException error) {
-                restExceptionHandler.captureInvalidParameterException(response, error);
-            } catch (PropertyServerException error) {
-                restExceptionHandler.capturePropertyServerException(response, error);
-            } catch (UserNotAuthorizedException error) {
-                restExceptionHandler.captureUserNotAuthorizedException(response, error);
-            }
-        });
+        addLineageMappings(userId, serverName, lineageMappings, response, externalSourceName, null);
     }
 
     /**
@@ -499,37 +471,111 @@ public class DataEngineRESTServices {
      * @return a list unique identifiers (GUIDs) of the created/updated processes
      */
     public ProcessListResponse createOrUpdateProcesses(String userId, String serverName, List<Process> processes, String externalSourceName) {
+        final String methodName = "createOrUpdateProcesses";
 
-        Predicate<? super Process> hasPortImplementationsPredicate = process -> CollectionUtils.isNotEmpty(process.getPortImplementations());
-        Map<Boolean, List<Process>> partitionedProcesses = processes.parallelStream().collect(partitioningBy(hasPortImplementationsPredicate));
+        ProcessListResponse response = new ProcessListResponse();
+        DataEngineWorkerPool workerPool;
+        try {
+            workerPool = instanceHandler.getWorkerPool(userId, serverName, methodName);
+        } catch (InvalidParameterException error) {
+            restExceptionHandler.captureInvalidParameterException(response, error);
+            return response;
+        } catch (PropertyServerException error) {
+            restExceptionHandler.capturePropertyServerException(response, error);
+            return response;
+        } catch (UserNotAuthorizedException error) {
+            restExceptionHandler.captureUserNotAuthorizedException(response, error);
+            return response;
+        }
 
-        List<GUIDResponse> createdProcesses = new ArrayList<>();
-        List<GUIDResponse> failedProcesses = new ArrayList<>();
-        Consumer<Process> processConsumer = process ->
-        {
-            GUIDResponse guidResponse = createOrUpdateProcess(userId, serverName, process, externalSourceName);
-            if (guidResponse.getRelatedHTTPCode() == HttpStatus.OK.value()) {
-                String processGUID = guidResponse.getGUID();
-                process.setGUID(processGUID);
-                VoidResponse updateStatusResponse = updateProcessStatus(userId, serverName, processGUID, InstanceStatus.ACTIVE);
-                if (updateStatusResponse.getRelatedHTTPCode() != 200) {
-                    captureException(updateStatusResponse, guidResponse);
-                }
-                createdProcesses.add(guidResponse);
-            } else {
-                failedProcesses.add(guidResponse);
-            }
-        };
+        createOrUpdateProcesses(userId, serverName, processes, response, externalSourceName, workerPool, null);
+        activateProcesses(userId, serverName, response, workerPool);
 
-        partitionedProcesses.get(Boolean.TRUE).parallelStream().forEach(processConsumer);
-        // processes that have port aliases can not be processed in parallel, as multiple processes can define the same port alias
-        partitionedProcesses.get(Boolean.FALSE).forEach(processConsumer);
+        return response;
+    }
+
+    /**
+     * Create or update the schema types, ports, processes and lineage mappings of a job. The qualified names of all the
+     * elements of the job are looked up with one repository search per element type, and the elements are then written
+     * type by type: schema types first, then ports, processes and finally the lineage mappings, so that every element
+     * is written after the elements it refers to. The processes are only set to ACTIVE once their ports, lineage mappings
+     * and parent processes have been written; a process that fails remains DRAFT and is returned in the failed list.
+     *
+     * @param userId              the name of the calling user
+     * @param serverName          name of server instance to call
+     * @param schemaTypes         the schema types shared by the ports of the job
+     * @param portImplementations the port implementations shared by the processes of the job
+     * @param portAliases         the port aliases shared by the processes of the job
+     * @param processes           the processes of the job
+     * @param lineageMappings     the lineage mappings between the schema attributes of the job
+     * @param externalSourceName  the unique name of the external source
+     *
+     * @return a list unique identifiers (GUIDs) of the created/updated processes
+     */
+    public ProcessListResponse createOrUpdateJob(String userId, String serverName, List<SchemaType> schemaTypes,
+                                                 List<PortImplementation> portImplementations, List<PortAlias> portAliases, List<Process> processes,
+                                                 List<LineageMapping> lineageMappings, String externalSourceName) {
+        final String methodName = "createOrUpdateJob";
+
+        log.debug(DEBUG_MESSAGE_METHOD, methodName);
 
         ProcessListResponse response = new ProcessListResponse();
-        response.setGUIDs(createdProcesses.parallelStream().map(GUIDResponse::getGUID).collect(Collectors.toList()));
-        handleFailedProcesses(response, failedProcesses);
+        EntityLookupCache entityLookupCache = new EntityLookupCache();
 
-        addProcessHierarchyRelationships(userId, serverName, processes, response, externalSourceName);
+        try {
+            DataEngineWorkerPool workerPool = instanceHandler.getWorkerPool(userId, serverName, methodName);
+
+            findJobEntities(userId, serverName, schemaTypes, portImplementations, portAliases, processes, lineageMappings, entityLookupCache);
+
+            if (CollectionUtils.isNotEmpty(schemaTypes)) {
+                DataEngineSchemaTypeHandler dataEngineSchemaTypeHandler = instanceHandler.getDataEngineSchemaTypeHandler(userId, serverName,
+                        methodName);
+
+                workerPool.forEach(schemaTypes, schemaType -> {
+                    try {
+                        dataEngineSchemaTypeHandler.createOrUpdateSchemaType(userId, schemaType, externalSourceName, entityLookupCache);
+                    } catch (InvalidParameterException error) {
+                        restExceptionHandler.captureInvalidParameterException(response, error);
+                    } catch (PropertyServerException error) {
+                        restExceptionHandler.capturePropertyServerException(response, error);
+                    } catch (UserNotAuthorizedException error) {
+                        restExceptionHandler.captureUserNotAuthorizedException(response, error);
+                    }
+                });
+            }
+
+            createOrUpdatePortImplementations(userId, serverName, portImplementations, response, externalSourceName, entityLookupCache);
+            // port aliases are written after the port implementations they can delegate to
+            createOrUpdatePortAliases(userId, serverName, portAliases, response, externalSourceName, entityLookupCache);
+
+            //check intermediary status of the response after creating the shared elements of the job
+            if (response.getRelatedHTTPCode() != HttpStatus.OK.value()) {
+                return response;
+            }
+
+            if (CollectionUtils.isNotEmpty(processes)) {
+                createOrUpdateProcesses(userId, serverName, processes, response, externalSourceName, workerPool, entityLookupCache);
+            }
+
+            addLineageMappings(userId, serverName, lineageMappings, response, externalSourceName, entityLookupCache);
+
+            // the lineage mappings of the job can not be matched to single processes, so none is activated when one fails
+            if (response.getRelatedHTTPCode() != HttpStatus.OK.value()) {
+                response.getFailedGUIDs().addAll(response.getGUIDs());
+                response.getGUIDs().clear();
+                return response;
+            }
+
+            activateProcesses(userId, serverName, response, workerPool);
+        } catch (InvalidParameterException error) {
+            restExceptionHandler.captureInvalidParameterException(response, error);
+        } catch (PropertyServerException error) {
+            restExceptionHandler.capturePropertyServerException(response, error);
+        } catch (UserNotAuthorizedException error) {
+            restExceptionHandler.captureUserNotAuthorizedException(response, error);
+        }
+
+        log.debug(DEBUG_MESSAGE_METHOD_RETURN, methodName, response);
 
         return response;
     }
@@ -609,18 +655,215 @@ public class DataEngineRESTServices {
         return response;
     }
 
+    private void createOrUpdateProcesses(String userId, String serverName, List<Process> processes, ProcessListResponse response,
+                                         String externalSourceName, DataEngineWorkerPool workerPool, EntityLookupCache entityLookupCache) {
+        Predicate<? super Process> hasPortImplementationsPredicate = process -> CollectionUtils.isNotEmpty(process.getPortImplementations());
+        Map<Boolean, List<Process>> partitionedProcesses = processes.stream().collect(partitioningBy(hasPortImplementationsPredicate));
+
+        List<GUIDResponse> createdProcesses = Collections.synchronizedList(new ArrayList<>());
+        List<GUIDResponse> failedProcesses = Collections.synchronizedList(new ArrayList<>());
+        Consumer<Process> processConsumer = process ->
+        {
+            GUIDResponse guidResponse = createOrUpdateProcess(userId, serverName, process, externalSourceName, entityLookupCache);
+            if (guidResponse.getRelatedHTTPCode() == HttpStatus.OK.value()) {
+                String processGUID = guidResponse.getGUID();
+                process.setGUID(processGUID);
+                createdProcesses.add(guidResponse);
+            } else {
+                failedProcesses.add(guidResponse);
+            }
+        };
 
-    private String createOrUpdateSchemaType(String userId, String serverName, SchemaType schemaType, String externalSourceName) throws
-                                                                                                                                InvalidParameterException,
-                                                                                                                                UserNotAuthorizedException,
-                                                                                                                                PropertyServerException {
+        workerPool.forEach(partitionedProcesses.get(Boolean.TRUE), processConsumer);
+        // processes that have port aliases can not be processed in parallel, as multiple processes can define the same port alias
+        partitionedProcesses.get(Boolean.FALSE).forEach(processConsumer);
+
+        response.setGUIDs(createdProcesses.stream().map(GUIDResponse::getGUID).collect(Collectors.toList()));
+        handleFailedProcesses(response, failedProcesses);
+
+        addProcessHierarchyRelationships(userId, serverName, processes, response, externalSourceName, workerPool, entityLookupCache);
+    }
+
+    private void activateProcesses(String userId, String serverName, ProcessListResponse response, DataEngineWorkerPool workerPool) {
+        List<String> failedGUIDs = Collections.synchronizedList(new ArrayList<>());
+
+        workerPool.forEach(response.getGUIDs(), processGUID -> {
+            VoidResponse updateStatusResponse = updateProcessStatus(userId, serverName, processGUID, InstanceStatus.ACTIVE);
+            if (updateStatusResponse.getRelatedHTTPCode() != HttpStatus.OK.value()) {
+                captureException(updateStatusResponse, response);
+                failedGUIDs.add(processGUID);
+            }
+        });
+
+        response.getGUIDs().removeAll(failedGUIDs);
+        response.getFailedGUIDs().addAll(failedGUIDs);
+    }
+
+    private String createOrUpdatePortAliasWithDelegation(String userId, String serverName, PortAlias portAlias, String externalSourceName,
+                                                         EntityLookupCache entityLookupCache) throws InvalidParameterException,
+                                                                                                     PropertyServerException,
+                                                                                                     UserNotAuthorizedException {
+        final String methodName = "createOrUpdatePortAliasWithDelegation";
+
+        log.debug(DEBUG_MESSAGE_METHOD, methodName);
+
+        PortHandler portHandler = instanceHandler.getPortHandler(userId, serverName, methodName);
+
+        Optional<EntityDetail> portEntity = portHandler.findPortAliasEntity(userId, portAlias.getQualifiedName(), entityLookupCache);
+
+        String portAliasGUID;
+        if (!portEntity.isPresent()) {
+            portAliasGUID = portHandler.createPortAlias(userId, portAlias, externalSourceName);
+            addCreatedEntity(entityLookupCache, PortPropertiesMapper.PORT_ALIAS_TYPE_NAME, portAlias.getQualifiedName(), portAliasGUID);
+        } else {
+            portAliasGUID = portEntity.get().getGUID();
+            portHandler.updatePortAlias(userId, portEntity.get(), portAlias);
+        }
+
+        if (!StringUtils.isEmpty(portAlias.getDelegatesTo())) {
+            portHandler.addPortDelegationRelationship(userId, portAliasGUID, portAlias.getPortType(), portAlias.getDelegatesTo(), externalSourceName,
+                    entityLookupCache);
+        }
+
+        log.debug(DEBUG_MESSAGE_METHOD_RETURN, methodName, portAliasGUID);
+
+        return portAliasGUID;
+    }
+
+    private String createOrUpdatePortImplementationWithSchemaType(String userId, String serverName, PortImplementation portImplementation,
+                                                                  String externalSourceName, EntityLookupCache entityLookupCache) throws
+                                                                                                                                  InvalidParameterException,
+                                                                                                                                  PropertyServerException,
+                                                                                                                                  UserNotAuthorizedException {
+        final String methodName = "createOrUpdatePortImplementationWithSchemaType";
+
+        log.debug(DEBUG_MESSAGE_METHOD, methodName);
+
+        PortHandler portHandler = instanceHandler.getPortHandler(userId, serverName, methodName);
+
+        String schemaTypeGUID = createOrUpdateSchemaType(userId, serverName, portImplementation.getSchemaType(), externalSourceName,
+                entityLookupCache);
+
+        Optional<EntityDetail> portEntity = portHandler.findPortImplementationEntity(userId, portImplementation.getQualifiedName(),
+                entityLookupCache);
+
+        String portImplementationGUID;
+        if (!portEntity.isPresent()) {
+            portImplementationGUID = portHandler.createPortImplementation(userId, portImplementation, externalSourceName);
+            addCreatedEntity(entityLookupCache, PortPropertiesMapper.PORT_IMPLEMENTATION_TYPE_NAME, portImplementation.getQualifiedName(),
+                    portImplementationGUID);
+        } else {
+            portImplementationGUID = portEntity.get().getGUID();
+            portHandler.updatePortImplementation(userId, portEntity.get(), portImplementation);
+
+            if (portImplementation.getUpdateSemantic() == UpdateSemantic.REPLACE) {
+                deleteObsoleteSchemaType(userId, serverName, schemaTypeGUID, portHandler.findSchemaTypeForPort(userId, portImplementationGUID));
+            }
+        }
+
+        portHandler.addPortSchemaRelationship(userId, portImplementationGUID, schemaTypeGUID, externalSourceName);
+
+        log.debug(DEBUG_MESSAGE_METHOD_RETURN, methodName, portImplementationGUID);
+
+        return portImplementationGUID;
+    }
+
+    private void addLineageMappings(String userId, String serverName, List<LineageMapping> lineageMappings, FFDCResponseBase response,
+                                    String externalSourceName, EntityLookupCache entityLookupCache) throws InvalidParameterException,
+                                                                                                           PropertyServerException,
+                                                                                                           UserNotAuthorizedException {
+        final String methodName = "addLineageMappings";
+
+        log.debug(DEBUG_MESSAGE_METHOD, methodName);
+
+        if (CollectionUtils.isEmpty(lineageMappings)) {
+            return;
+        }
+
+        DataEngineSchemaTypeHandler dataEngineSchemaTypeHandler = instanceHandler.getDataEngineSchemaTypeHandler(userId, serverName, methodName);
+        DataEngineWorkerPool workerPool = instanceHandler.getWorkerPool(userId, serverName, methodName);
+
+        workerPool.forEach(lineageMappings, lineageMapping -> {
+            try {
+                dataEngineSchemaTypeHandler.addLineageMappingRelationship(userId, lineageMapping.getSourceAttribute(),
+                        lineageMapping.getTargetAttribute(), externalSourceName, entityLookupCache);
+            } catch (InvalidParameterException error) {
+                restExceptionHandler.captureInvalidParameterException(response, error);
+            } catch (PropertyServerException error) {
+                restExceptionHandler.capturePropertyServerException(response, error);
+            } catch (UserNotAuthorizedException error) {
+                restExceptionHandler.captureUserNotAuthorizedException(response, error);
+            }
+        });
+    }
+
+    private void findJobEntities(String userId, String serverName, List<SchemaType> schemaTypes, List<PortImplementation> portImplementations,
+                                 List<PortAlias> portAliases, List<Process> processes, List<LineageMapping> lineageMappings,
+                                 EntityLookupCache entityLookupCache) throws InvalidParameterException,
+                                                                             PropertyServerException,
+                                                                             UserNotAuthorizedException {
+        final String methodName = "findJobEntities";
+
+        log.debug(DEBUG_MESSAGE_METHOD, methodName);
+
+        List<Process> jobProcesses = nullToEmpty(processes);
+
+        List<PortImplementation> allPortImplementations = Stream.concat(nullToEmpty(portImplementations).stream(),
+                jobProcesses.stream().flatMap(process -> nullToEmpty(process.getPortImplementations()).stream())).collect(Collectors.toList());
+        List<PortAlias> allPortAliases = Stream.concat(nullToEmpty(portAliases).stream(),
+                jobProcesses.stream().flatMap(process -> nullToEmpty(process.getPortAliases()).stream())).collect(Collectors.toList());
+        List<SchemaType> allSchemaTypes = Stream.concat(nullToEmpty(schemaTypes).stream(),
+                allPortImplementations.stream().map(PortImplementation::getSchemaType)).filter(Objects::nonNull).collect(Collectors.toList());
+        List<LineageMapping> allLineageMappings = Stream.concat(nullToEmpty(lineageMappings).stream(),
+                jobProcesses.stream().flatMap(process -> nullToEmpty(process.getLineageMappings()).stream())).collect(Collectors.toList());
+
+        List<String> schemaAttributeQualifiedNames = Stream.concat(
+                allSchemaTypes.stream().flatMap(schemaType -> nullToEmpty(schemaType.getAttributeList()).stream()).map(Attribute::getQualifiedName),
+                allLineageMappings.stream().flatMap(lineageMapping -> Stream.of(lineageMapping.getSourceAttribute(),
+                        lineageMapping.getTargetAttribute()))).collect(Collectors.toList());
+        // a port alias can delegate to either a port alias or a port implementation
+        List<String> delegatedPortQualifiedNames = allPortAliases.stream().map(PortAlias::getDelegatesTo).collect(Collectors.toList());
+        List<String> processQualifiedNames = Stream.concat(jobProcesses.stream().map(Process::getQualifiedName),
+                jobProcesses.stream().flatMap(process -> nullToEmpty(process.getParentProcesses()).stream()).map(ParentProcess::getQualifiedName))
+                .collect(Collectors.toList());
+
+        DataEngineSchemaTypeHandler dataEngineSchemaTypeHandler = instanceHandler.getDataEngineSchemaTypeHandler(userId, serverName, methodName);
+        PortHandler portHandler = instanceHandler.getPortHandler(userId, serverName, methodName);
+        ProcessHandler processHandler = instanceHandler.getProcessHandler(userId, serverName, methodName);
+
+        dataEngineSchemaTypeHandler.findSchemaTypeEntities(userId,
+                allSchemaTypes.stream().map(SchemaType::getQualifiedName).collect(Collectors.toList()), entityLookupCache);
+        dataEngineSchemaTypeHandler.findSchemaAttributeEntities(userId, schemaAttributeQualifiedNames, entityLookupCache);
+        portHandler.findPortImplementationEntities(userId, Stream.concat(allPortImplementations.stream().map(PortImplementation::getQualifiedName),
+                delegatedPortQualifiedNames.stream()).collect(Collectors.toList()), entityLookupCache);
+        portHandler.findPortAliasEntities(userId, Stream.concat(allPortAliases.stream().map(PortAlias::getQualifiedName),
+                delegatedPortQualifiedNames.stream()).collect(Collectors.toList()), entityLookupCache);
+        processHandler.findProcessEntities(userId, processQualifiedNames, entityLookupCache);
+
+        log.debug(DEBUG_METHOD_RETURN_VOID_RESPONSE, methodName);
+    }
+
+    private <T> List<T> nullToEmpty(List<T> list) {
+        return list == null ? Collections.emptyList() : list;
+    }
+
+    private void addCreatedEntity(EntityLookupCache entityLookupCache, String entityTypeName, String qualifiedName, String guid) {
+        if (entityLookupCache != null) {
+            entityLookupCache.addCreatedEntity(entityTypeName, qualifiedName, guid);
+        }
+    }
+
+    private String createOrUpdateSchemaType(String userId, String serverName, SchemaType schemaType, String externalSourceName,
+                                            EntityLookupCache entityLookupCache) throws InvalidParameterException,
+                                                                                        UserNotAuthorizedException,
+                                                                                        PropertyServerException {
         final String methodName = "createOrUpdateSchemaType";
 
         log.debug(DEBUG_MESSAGE_METHOD, methodName);
 
         DataEngineSchemaTypeHandler dataEngineSchemaTypeHandler = instanceHandler.getDataEngineSchemaTypeHandler(userId, serverName, methodName);
 
-        String schemaTypeGUID = dataEngineSchemaTypeHandler.createOrUpdateSchemaType(userId, schemaType, externalSourceName);
+        String schemaTypeGUID = dataEngineSchemaTypeHandler.createOrUpdateSchemaType(userId, schemaType, externalSourceName, entityLookupCache);
 
         log.debug(DEBUG_MESSAGE_METHOD_RETURN, methodName, schemaTypeGUID);
 
@@ -645,8 +888,8 @@ public class DataEngineRESTServices {
     }
 
     private void handleFailedProcesses(ProcessListResponse response, List<GUIDResponse> failedProcesses) {
-        response.setFailedGUIDs((failedProcesses.parallelStream().map(GUIDResponse::getGUID).collect(Collectors.toList())));
-        failedProcesses.parallelStream().forEach(guidResponse -> captureException(guidResponse, response));
+        response.setFailedGUIDs((failedProcesses.stream().map(GUIDResponse::getGUID).collect(Collectors.toList())));
+        failedProcesses.forEach(guidResponse -> captureException(guidResponse, response));
     }
 
     private void captureException(FFDCResponseBase initialResponse, FFDCResponseBase response) {
@@ -690,7 +933,8 @@ public class DataEngineRESTServices {
      *
      * @return the unique identifier (guid) of the created process
      */
-    private GUIDResponse createOrUpdateProcess(String userId, String serverName, Process process, String externalSourceName) {
+    private GUIDResponse createOrUpdateProcess(String userId, String serverName, Process process, String externalSourceName,
+                                               EntityLookupCache entityLookupCache) {
         final String methodName = "createOrUpdateProcess";
 
         log.debug(DEBUG_MESSAGE_METHOD, methodName);
@@ -705,9 +949,10 @@ public class DataEngineRESTServices {
 
         try {
             Set<String> portImplementationGUIDs = createOrUpdatePortImplementations(userId, serverName, portImplementations, response,
-                    externalSourceName);
+                    externalSourceName, entityLookupCache);
 
-            Set<String> portAliasGUIDs = createOrUpdatePortAliases(userId, serverName, portAliases, response, externalSourceName);
+            Set<String> portAliasGUIDs = createOrUpdatePortAliases(userId, serverName, portAliases, response, externalSourceName,
+                    entityLookupCache);
 
             //check intermediary status of the response after creating the ports
             if (response.getRelatedHTTPCode() != HttpStatus.OK.value()) {
@@ -716,14 +961,15 @@ public class DataEngineRESTServices {
 
             ProcessHandler processHandler = instanceHandler.getProcessHandler(userId, serverName, methodName);
 
-            Optional<EntityDetail> processEntity = processHandler.findProcessEntity(userId, qualifiedName);
+            Optional<EntityDetail> processEntity = processHandler.findProcessEntity(userId, qualifiedName, entityLookupCache);
             String processGUID;
             if (!processEntity.isPresent()) {
                 processGUID = processHandler.createProcess(userId, process, externalSourceName);
+                addCreatedEntity(entityLookupCache, ProcessPropertiesMapper.PROCESS_TYPE_NAME, qualifiedName, processGUID);
 
                 List<Attribute> schemaAttributes = getAttributes(portImplementations);
 
-                addAnchorGUID(userId, serverName, processGUID, schemaAttributes);
+                addAnchorGUID(userId, serverName, processGUID, schemaAttributes, entityLookupCache);
             } else {
                 processGUID = processEntity.get().getGUID();
                 processHandler.updateProcess(userId, processEntity.get(), process);
@@ -740,7 +986,7 @@ public class DataEngineRESTServices {
                     Stream.concat(portImplementationGUIDs.stream(), portAliasGUIDs.stream()).collect(Collectors.toSet()), response,
                     externalSourceName);
 
-            addLineageMappings(userId, serverName, lineageMappings, response, externalSourceName);
+            addLineageMappings(userId, serverName, lineageMappings, response, externalSourceName, entityLookupCache);
 
             response.setGUID(processGUID);
         } catch (InvalidParameterException error) {
@@ -764,33 +1010,36 @@ public class DataEngineRESTServices {
                 .flatMap(Collection::stream).collect(Collectors.toList());
     }
 
-    private void addAnchorGUID(String userId, String serverName, String processGUID, List<Attribute> schemaAttributes) throws
-                                                                                                                       InvalidParameterException,
-                                                                                                                       PropertyServerException,
-                                                                                                                       UserNotAuthorizedException {
+    private void addAnchorGUID(String userId, String serverName, String processGUID, List<Attribute> schemaAttributes,
+                               EntityLookupCache entityLookupCache) throws InvalidParameterException,
+                                                                           PropertyServerException,
+                                                                           UserNotAuthorizedException {
         final String methodName = "addAnchorGUID";
 
         DataEngineSchemaTypeHandler dataEngineSchemaTypeHandler = instanceHandler.getDataEngineSchemaTypeHandler(userId, serverName, methodName);
         for (Attribute attribute : schemaAttributes) {
-            dataEngineSchemaTypeHandler.addAnchorGUID(userId, attribute, processGUID);
+            dataEngineSchemaTypeHandler.addAnchorGUID(userId, attribute, processGUID, entityLookupCache);
         }
     }
 
     private void addProcessHierarchyRelationships(String userId, String serverName, List<Process> processes, ProcessListResponse response,
-                                                  String externalSourceName) {
+                                                  String externalSourceName, DataEngineWorkerPool workerPool, EntityLookupCache entityLookupCache) {
         final String methodName = "addProcessHierarchyRelationships";
 
-        ArrayList<String> failedGUIDS = new ArrayList<>();
+        List<String> failedGUIDS = Collections.synchronizedList(new ArrayList<>());
+        Set<String> createdGUIDs = new HashSet<>(response.getGUIDs());
 
         // add the ProcessHierarchy relationships only for successfully created processes
-        processes.parallelStream().filter(process -> response.getGUIDs().contains(process.getGUID())).forEach(process -> {
+        List<Process> createdProcesses = processes.stream().filter(process -> createdGUIDs.contains(process.getGUID())).collect(Collectors.toList());
+        workerPool.forEach(createdProcesses, process -> {
             List<ParentProcess> parentProcesses = process.getParentProcesses();
             String processGUID = process.getGUID();
             if (CollectionUtils.isNotEmpty(parentProcesses)) {
                 try {
                     ProcessHandler processHandler = instanceHandler.getProcessHandler(userId, serverName, methodName);
                     for (ParentProcess parentProcess : parentProcesses) {
-                        processHandler.createOrUpdateProcessHierarchyRelationship(userId, parentProcess, processGUID, externalSourceName);
+                        processHandler.createOrUpdateProcessHierarchyRelationship(userId, parentProcess, processGUID, externalSourceName,
+                                entityLookupCache);
                     }
                 } catch (InvalidParameterException error) {
                     restExceptionHandler.captureInvalidParameterException(response, error);
@@ -800,10 +1049,9 @@ public class DataEngineRESTServices {
                     restExceptionHandler.captureUserNotAuthorizedException(response, error);
                 }
             }
-            // failed to create a processHierarchy relationship, set the status of the process back to DRAFT and add the processGUID
+            // failed to create a processHierarchy relationship, the process stays DRAFT and the processGUID is added
             // to the list of failed processes
             if (response.getRelatedHTTPCode() != HttpStatus.OK.value()) {
-                updateProcessStatus(userId, serverName, processGUID, InstanceStatus.DRAFT);
                 failedGUIDS.add(processGUID);
             }
         });
@@ -820,8 +1068,9 @@ public class DataEngineRESTServices {
         final String methodName = "addProcessPortRelationships";
 
         ProcessHandler processHandler = instanceHandler.getProcessHandler(userId, serverName, methodName);
+        DataEngineWorkerPool workerPool = instanceHandler.getWorkerPool(userId, serverName, methodName);
 
-        portGUIDs.parallelStream().forEach(portGUID -> {
+        workerPool.forEach(portGUIDs, portGUID -> {
             try {
                 processHandler.addProcessPortRelationship(userId, processGUID, portGUID, externalSourceName);
             } catch (InvalidParameterException error) {
@@ -852,8 +1101,10 @@ public class DataEngineRESTServices {
         Set<String> oldPortGUIDs = processHandler.getPortsForProcess(userId, processGUID, portTypeName);
 
         // delete ports that are not in the process payload anymore
-        List<String> obsoletePorts = oldPortGUIDs.parallelStream().collect(partitioningBy(newPortGUIDs::contains)).get(Boolean.FALSE);
-        obsoletePorts.parallelStream().forEach(portGUID -> {
+        List<String> obsoletePorts = oldPortGUIDs.stream().collect(partitioningBy(newPortGUIDs::contains)).get(Boolean.FALSE);
+        DataEngineWorkerPool workerPool = instanceHandler.getWorkerPool(userId, serverName, methodName);
+
+        workerPool.forEach(obsoletePorts, portGUID -> {
             try {
                 portHandler.removePort(userId, portGUID, portTypeName);
             } catch (InvalidParameterException error) {
@@ -870,19 +1121,24 @@ public class DataEngineRESTServices {
 
 
     private Set<String> createOrUpdatePortImplementations(String userId, String serverName, List<PortImplementation> portImplementations,
-                                                          GUIDResponse response, String externalSourceName) {
+                                                          FFDCResponseBase response, String externalSourceName,
+                                                          EntityLookupCache entityLookupCache) throws InvalidParameterException,
+                                                                                                      PropertyServerException,
+                                                                                                      UserNotAuthorizedException {
         final String methodName = "createOrUpdatePortImplementations";
 
         log.debug(DEBUG_MESSAGE_METHOD, methodName);
 
-        Set<String> portImplementationGUIDs = new HashSet<>();
+        Set<String> portImplementationGUIDs = Collections.synchronizedSet(new HashSet<>());
 
         if (CollectionUtils.isNotEmpty(portImplementations)) {
-            portImplementations.parallelStream().forEach(portImplementation ->
+            DataEngineWorkerPool workerPool = instanceHandler.getWorkerPool(userId, serverName, methodName);
+
+            workerPool.forEach(portImplementations, portImplementation ->
             {
                 try {
                     portImplementationGUIDs.add(createOrUpdatePortImplementationWithSchemaType(userId, serverName, portImplementation,
-                            externalSourceName));
+                            externalSourceName, entityLookupCache));
                 } catch (InvalidParameterException error) {
                     restExceptionHandler.captureInvalidParameterException(response, error);
                 } catch (PropertyServerException error) {
@@ -897,18 +1153,23 @@ public class DataEngineRESTServices {
         return portImplementationGUIDs;
     }
 
-    private Set<String> createOrUpdatePortAliases(String userId, String serverName, List<PortAlias> portAliases, GUIDResponse response,
-                                                  String externalSourceName) {
+    private Set<String> createOrUpdatePortAliases(String userId, String serverName, List<PortAlias> portAliases, FFDCResponseBase response,
+                                                  String externalSourceName, EntityLookupCache entityLookupCache) throws
+                                                                                                                  InvalidParameterException,
+                                                                                                                  PropertyServerException,
+                                                                                                                  UserNotAuthorizedException {
         final String methodName = "createOrUpdatePortAliases";
 
         log.debug(DEBUG_MESSAGE_METHOD, methodName);
 
-        Set<String> portAliasGUIDs = new HashSet<>();
+        Set<String> portAliasGUIDs = Collections.synchronizedSet(new HashSet<>());
 
         if (CollectionUtils.isNotEmpty(portAliases)) {
-            portAliases.parallelStream().forEach(portAlias -> {
+            DataEngineWorkerPool workerPool = instanceHandler.getWorkerPool(userId, serverName, methodName);
+
+            workerPool.forEach(portAliases, portAlias -> {
                 try {
-                    portAliasGUIDs.add(createOrUpdatePortAliasWithDelegation(userId, serverName, portAlias, externalSourceName));
+                    portAliasGUIDs.add(createOrUpdatePortAliasWithDelegation(userId, serverName, portAlias, externalSourceName, entityLookupCache));
                 } catch (InvalidParameterException error) {
                     restExceptionHandler.captureInvalidParameterException(response, error);
                 } catch (PropertyServerException error) {
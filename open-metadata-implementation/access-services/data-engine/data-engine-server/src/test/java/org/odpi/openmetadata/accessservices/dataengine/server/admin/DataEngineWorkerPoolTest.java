@@ -0,0 +1,249 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.dataengine.server.admin;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DataEngineWorkerPoolTest {
+    private static final String SERVER_NAME = "server";
+    private static final long WAIT_SECONDS = 10;
+
+    private final List<DataEngineWorkerPool> pools = new ArrayList<>();
+    private final List<Thread> threads = new ArrayList<>();
+
+    @AfterEach
+    void after() throws InterruptedException {
+        for (DataEngineWorkerPool pool : pools) {
+            pool.shutdown();
+        }
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(WAIT_SECONDS));
+        }
+    }
+
+    @Test
+    void forEachProcessesEveryItem() {
+        DataEngineWorkerPool pool = createPool(4, 10, 4);
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            items.add(i);
+        }
+        Set<Integer> processed = Collections.synchronizedSet(new HashSet<>());
+
+        pool.forEach(items, processed::add);
+
+        assertEquals(new HashSet<>(items), processed);
+        assertEquals(100, pool.getCompletedItemCount());
+    }
+
+    @Test
+    void forEachRunsOnCallingThreadWhenWorkersAreBusy() throws InterruptedException {
+        DataEngineWorkerPool pool = createPool(1, 1, 4);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch busy = new CountDownLatch(2);
+
+        // the only worker thread and the first calling thread are held by the first operation
+        startThread(() -> pool.forEach(Arrays.asList("a", "b"), item -> {
+            busy.countDown();
+            awaitQuietly(release);
+        }));
+        assertTrue(busy.await(WAIT_SECONDS, TimeUnit.SECONDS));
+
+        // one helper fills the queue and the other is rejected, so the calling thread processes all the items
+        List<String> threadNames = new CopyOnWriteArrayList<>();
+        pool.forEach(Arrays.asList("c", "d", "e"), item -> threadNames.add(Thread.currentThread().getName()));
+
+        assertEquals(Collections.nCopies(3, Thread.currentThread().getName()), threadNames);
+        release.countDown();
+    }
+
+    @Test
+    void forEachRethrowsFirstFailureAfterProcessingEveryItem() {
+        DataEngineWorkerPool pool = createPool(2, 10, 2);
+        Set<String> processed = Collections.synchronizedSet(new HashSet<>());
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class,
+                () -> pool.forEach(Arrays.asList("a", "b", "c", "d"), item -> {
+                    if ("b".equals(item)) {
+                        throw new IllegalStateException(item);
+                    }
+                    processed.add(item);
+                }));
+
+        assertEquals("b", failure.getMessage());
+        assertEquals(new HashSet<>(Arrays.asList("a", "c", "d")), processed);
+    }
+
+    @Test
+    void eventsAreProcessedInQueueOrder() throws InterruptedException {
+        DataEngineWorkerPool pool = createPool(2, 10, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch firstEventStarted = new CountDownLatch(1);
+        List<String> processed = new CopyOnWriteArrayList<>();
+        AtomicInteger running = new AtomicInteger();
+
+        startThread(() -> pool.processEvent(() -> {
+            firstEventStarted.countDown();
+            awaitQuietly(release);
+            processed.add("event0");
+        }));
+        assertTrue(firstEventStarted.await(WAIT_SECONDS, TimeUnit.SECONDS));
+
+        // each event is queued once the previous thread is waiting for its own event
+        for (int i = 1; i <= 5; i++) {
+            String name = "event" + i;
+            Thread thread = startThread(() -> pool.processEvent(() -> {
+                assertEquals(1, running.incrementAndGet());
+                processed.add(name);
+                running.decrementAndGet();
+            }));
+            awaitWaiting(thread);
+        }
+
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(WAIT_SECONDS));
+        }
+
+        assertEquals(Arrays.asList("event0", "event1", "event2", "event3", "event4", "event5"), processed);
+    }
+
+    @Test
+    void processEventReturnsOnceTheEventIsProcessed() {
+        DataEngineWorkerPool pool = createPool(2, 10, 2);
+        List<String> processed = new CopyOnWriteArrayList<>();
+
+        pool.processEvent(() -> processed.add("event"));
+
+        assertEquals(Collections.singletonList("event"), processed);
+    }
+
+    @Test
+    void processEventRethrowsFailure() {
+        DataEngineWorkerPool pool = createPool(2, 10, 2);
+        List<String> processed = new CopyOnWriteArrayList<>();
+
+        IllegalArgumentException failure = assertThrows(IllegalArgumentException.class, () -> pool.processEvent(() -> {
+            throw new IllegalArgumentException("bad event");
+        }));
+        pool.processEvent(() -> processed.add("next"));
+
+        assertEquals("bad event", failure.getMessage());
+        assertEquals(Collections.singletonList("next"), processed);
+    }
+
+    @Test
+    void shutdownProcessesQueuedEvents() throws InterruptedException {
+        DataEngineWorkerPool pool = createPool(1, 10, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch firstEventStarted = new CountDownLatch(1);
+        List<String> processed = new CopyOnWriteArrayList<>();
+
+        startThread(() -> pool.processEvent(() -> {
+            firstEventStarted.countDown();
+            awaitQuietly(release);
+            processed.add("first");
+        }));
+        assertTrue(firstEventStarted.await(WAIT_SECONDS, TimeUnit.SECONDS));
+        awaitWaiting(startThread(() -> pool.processEvent(() -> processed.add("second"))));
+
+        Thread shutdown = startThread(pool::shutdown);
+        release.countDown();
+        shutdown.join(TimeUnit.SECONDS.toMillis(WAIT_SECONDS));
+
+        assertFalse(shutdown.isAlive());
+        assertEquals(Arrays.asList("first", "second"), processed);
+        assertThrows(RejectedExecutionException.class, () -> pool.processEvent(() -> processed.add("late")));
+    }
+
+    @Test
+    void metricsReportTheLoadOfThePool() throws InterruptedException {
+        DataEngineWorkerPool pool = createPool(1, 10, 3);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch eventStarted = new CountDownLatch(1);
+        CountDownLatch itemStarted = new CountDownLatch(1);
+        List<String> itemThreadNames = new CopyOnWriteArrayList<>();
+
+        assertEquals(1, pool.getMaxWorkerCount());
+        assertEquals(3, pool.getMaxRequestConcurrency());
+
+        // the only worker thread is held by an event, so the next event and the helpers of a bulk operation wait
+        startThread(() -> pool.processEvent(() -> {
+            eventStarted.countDown();
+            awaitQuietly(release);
+        }));
+        assertTrue(eventStarted.await(WAIT_SECONDS, TimeUnit.SECONDS));
+        awaitWaiting(startThread(() -> pool.processEvent(() -> { })));
+        Thread caller = startThread(() -> pool.forEach(Arrays.asList("a", "b", "c"), item -> {
+            itemThreadNames.add(Thread.currentThread().getName());
+            itemStarted.countDown();
+            awaitQuietly(release);
+        }));
+        assertTrue(itemStarted.await(WAIT_SECONDS, TimeUnit.SECONDS));
+
+        assertEquals(1, pool.getActiveWorkerCount());
+        assertEquals(1, pool.getQueuedEventCount());
+        assertEquals(2, pool.getQueuedTaskCount());
+
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(WAIT_SECONDS));
+        }
+        pool.shutdown();
+
+        assertEquals(0, pool.getActiveWorkerCount());
+        assertEquals(0, pool.getQueuedEventCount());
+        assertEquals(0, pool.getQueuedTaskCount());
+        assertEquals(2, pool.getProcessedEventCount());
+        assertEquals(3, pool.getCompletedItemCount());
+        assertEquals(Collections.frequency(itemThreadNames, caller.getName()), pool.getCallerRunItemCount());
+    }
+
+    private DataEngineWorkerPool createPool(int workerThreads, int workerQueueSize, int maxRequestConcurrency) {
+        DataEngineWorkerPool pool = new DataEngineWorkerPool(SERVER_NAME, workerThreads, workerQueueSize, maxRequestConcurrency, 10);
+        pools.add(pool);
+        return pool;
+    }
+
+    private Thread startThread(Runnable runnable) {
+        Thread thread = new Thread(runnable);
+        thread.setDaemon(true);
+        threads.add(thread);
+        thread.start();
+        return thread;
+    }
+
+    private void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(WAIT_SECONDS);
+        while (thread.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(Thread.State.WAITING, thread.getState());
+    }
+
+    private void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
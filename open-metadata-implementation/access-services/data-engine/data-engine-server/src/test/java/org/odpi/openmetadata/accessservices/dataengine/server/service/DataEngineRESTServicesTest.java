@@ -2,11 +2,13 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.accessservices.dataengine.server.service;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -23,6 +25,7 @@ import org.odpi.openmetadata.accessservices.dataengine.model.SchemaType;
 import org.odpi.openmetadata.accessservices.dataengine.model.SoftwareServerCapability;
 import org.odpi.openmetadata.accessservices.dataengine.model.UpdateSemantic;
 import org.odpi.openmetadata.accessservices.dataengine.rest.DataEngineRegistrationRequestBody;
+import org.odpi.openmetadata.accessservices.dataengine.rest.JobRequestBody;
 import org.odpi.openmetadata.accessservices.dataengine.rest.LineageMappingsRequestBody;
 import org.odpi.openmetadata.accessservices.dataengine.rest.PortAliasRequestBody;
 import org.odpi.openmetadata.accessservices.dataengine.rest.PortImplementationRequestBody;
@@ -31,12 +34,15 @@ import org.odpi.openmetadata.accessservices.dataengine.rest.ProcessListResponse;
 import org.odpi.openmetadata.accessservices.dataengine.rest.ProcessesRequestBody;
 import org.odpi.openmetadata.accessservices.dataengine.rest.SchemaTypeRequestBody;
 import org.odpi.openmetadata.accessservices.dataengine.server.admin.DataEngineInstanceHandler;
+import org.odpi.openmetadata.accessservices.dataengine.server.admin.DataEngineWorkerPool;
 import org.odpi.openmetadata.accessservices.dataengine.server.handlers.DataEngineRegistrationHandler;
 import org.odpi.openmetadata.accessservices.dataengine.server.handlers.DataEngineSchemaTypeHandler;
+import org.odpi.openmetadata.accessservices.dataengine.server.handlers.EntityLookupCache;
 import org.odpi.openmetadata.accessservices.dataengine.server.handlers.PortHandler;
 import org.odpi.openmetadata.accessservices.dataengine.server.handlers.ProcessHandler;
 import org.odpi.openmetadata.accessservices.dataengine.server.mappers.PortPropertiesMapper;
 import org.odpi.openmetadata.commonservices.ffdc.RESTExceptionHandler;
+import org.odpi.openmetadata.commonservices.ffdc.rest.FFDCResponseBase;
 import org.odpi.openmetadata.commonservices.ffdc.rest.GUIDResponse;
 import org.odpi.openmetadata.commonservices.ffdc.rest.VoidResponse;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
@@ -45,6 +51,7 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedExcepti
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.OwnerType;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.springframework.http.HttpStatus;
 import org.springframework.util.ReflectionUtils;
 
 import java.lang.reflect.Field;
@@ -58,8 +65,11 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -128,10 +138,15 @@ class DataEngineRESTServicesTest {
     @Captor
     private ArgumentCaptor<InstanceStatus> instanceStatuses;
 
+    private DataEngineWorkerPool workerPool;
+
     @BeforeEach
-    void before() {
+    void before() throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException {
         MockitoAnnotations.initMocks(this);
 
+        workerPool = new DataEngineWorkerPool(SERVER_NAME, 2, 10, 2, 10);
+        when(instanceHandler.getWorkerPool(any(), any(), any())).thenReturn(workerPool);
+
         Field instanceHandlerField = ReflectionUtils.findField(DataEngineRESTServices.class, "instanceHandler");
         instanceHandlerField.setAccessible(true);
         ReflectionUtils.setField(instanceHandlerField, dataEngineRESTServices, instanceHandler);
@@ -145,6 +160,11 @@ class DataEngineRESTServicesTest {
 
     }
 
+    @AfterEach
+    void after() {
+        workerPool.shutdown();
+    }
+
     @Test
     void createExternalDataEngine() throws InvalidParameterException, PropertyServerException,
                                            UserNotAuthorizedException {
@@ -262,7 +282,7 @@ class DataEngineRESTServicesTest {
     void createSchemaType() throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException {
         mockSchemaTypeHandler("createOrUpdateSchemaType");
 
-        when(dataEngineSchemaTypeHandler.createOrUpdateSchemaType(USER, getSchemaType(), EXTERNAL_SOURCE_DE_QUALIFIED_NAME)).thenReturn(GUID);
+        when(dataEngineSchemaTypeHandler.createOrUpdateSchemaType(USER, getSchemaType(), EXTERNAL_SOURCE_DE_QUALIFIED_NAME, null)).thenReturn(GUID);
 
         SchemaTypeRequestBody requestBody = mockSchemaTypeRequestBody();
 
@@ -283,7 +303,7 @@ class DataEngineRESTServicesTest {
         mockSchemaTypeHandler(methodName);
 
         InvalidParameterException mockedException = mockException(InvalidParameterException.class, methodName);
-        when(dataEngineSchemaTypeHandler.createOrUpdateSchemaType(USER, getSchemaType(), EXTERNAL_SOURCE_DE_QUALIFIED_NAME)).thenThrow(mockedException);
+        when(dataEngineSchemaTypeHandler.createOrUpdateSchemaType(USER, getSchemaType(), EXTERNAL_SOURCE_DE_QUALIFIED_NAME, null)).thenThrow(mockedException);
 
         SchemaTypeRequestBody requestBody = mockSchemaTypeRequestBody();
 
@@ -304,7 +324,7 @@ class DataEngineRESTServicesTest {
         mockSchemaTypeHandler(methodName);
 
         UserNotAuthorizedException mockedException = mockException(UserNotAuthorizedException.class, methodName);
-        when(dataEngineSchemaTypeHandler.createOrUpdateSchemaType(USER, getSchemaType(), EXTERNAL_SOURCE_DE_QUALIFIED_NAME)).thenThrow(mockedException);
+        when(dataEngineSchemaTypeHandler.createOrUpdateSchemaType(USER, getSchemaType(), EXTERNAL_SOURCE_DE_QUALIFIED_NAME, null)).thenThrow(mockedException);
 
         SchemaTypeRequestBody requestBody = mockSchemaTypeRequestBody();
 
@@ -324,7 +344,7 @@ class DataEngineRESTServicesTest {
 
         GUIDResponse response = dataEngineRESTServices.createOrUpdatePortImplementation(USER, SERVER_NAME, requestBody);
 
-        verify(dataEngineSchemaTypeHandler, times(1)).createOrUpdateSchemaType(USER, getSchemaType(), EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
+        verify(dataEngineSchemaTypeHandler, times(1)).createOrUpdateSchemaType(USER, getSchemaType(), EXTERNAL_SOURCE_DE_QUALIFIED_NAME, null);
         assertEquals(GUID, response.getGUID());
     }
 
@@ -348,7 +368,7 @@ class DataEngineRESTServicesTest {
 
         GUIDResponse response = dataEngineRESTServices.createOrUpdatePortImplementation(USER, SERVER_NAME, requestBody);
 
-        verify(dataEngineSchemaTypeHandler, times(1)).createOrUpdateSchemaType(USER, getSchemaType(), EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
+        verify(dataEngineSchemaTypeHandler, times(1)).createOrUpdateSchemaType(USER, getSchemaType(), EXTERNAL_SOURCE_DE_QUALIFIED_NAME, null);
         verify(restExceptionHandler, times(1)).captureUserNotAuthorizedException(response, mockedException);
     }
 
@@ -373,7 +393,7 @@ class DataEngineRESTServicesTest {
 
         GUIDResponse response = dataEngineRESTServices.createOrUpdatePortImplementation(USER, SERVER_NAME, requestBody);
 
-        verify(dataEngineSchemaTypeHandler, times(1)).createOrUpdateSchemaType(USER, getSchemaType(), EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
+        verify(dataEngineSchemaTypeHandler, times(1)).createOrUpdateSchemaType(USER, getSchemaType(), EXTERNAL_SOURCE_DE_QUALIFIED_NAME, null);
         verify(restExceptionHandler, times(1)).captureInvalidParameterException(response, mockedException);
     }
 
@@ -384,10 +404,10 @@ class DataEngineRESTServicesTest {
         mockPortHandler("createOrUpdatePortImplementationWithSchemaType");
 
         Optional<EntityDetail> portEntity = mockEntityDetail(PORT_GUID);
-        when(portHandler.findPortImplementationEntity(USER, QUALIFIED_NAME)).thenReturn(portEntity);
+        when(portHandler.findPortImplementationEntity(USER, QUALIFIED_NAME, null)).thenReturn(portEntity);
 
         when(portHandler.findSchemaTypeForPort(USER, PORT_GUID)).thenReturn(SCHEMA_GUID);
-        when(dataEngineSchemaTypeHandler.createOrUpdateSchemaType(USER, getSchemaType(), EXTERNAL_SOURCE_DE_QUALIFIED_NAME)).thenReturn(SCHEMA_GUID);
+        when(dataEngineSchemaTypeHandler.createOrUpdateSchemaType(USER, getSchemaType(), EXTERNAL_SOURCE_DE_QUALIFIED_NAME, null)).thenReturn(SCHEMA_GUID);
 
         PortImplementationRequestBody requestBody = mockPortImplementationRequestBody();
 
@@ -395,7 +415,7 @@ class DataEngineRESTServicesTest {
 
         verify(portHandler, times(1)).updatePortImplementation(USER, portEntity.get(), portImplementation);
 
-        verify(dataEngineSchemaTypeHandler, times(1)).createOrUpdateSchemaType(USER, getSchemaType(), EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
+        verify(dataEngineSchemaTypeHandler, times(1)).createOrUpdateSchemaType(USER, getSchemaType(), EXTERNAL_SOURCE_DE_QUALIFIED_NAME, null);
         assertEquals(PORT_GUID, response.getGUID());
     }
 
@@ -406,17 +426,17 @@ class DataEngineRESTServicesTest {
         mockPortHandler("createOrUpdatePortImplementationWithSchemaType");
 
         Optional<EntityDetail> portEntity = mockEntityDetail(PORT_GUID);
-        when(portHandler.findPortImplementationEntity(USER, QUALIFIED_NAME)).thenReturn(portEntity);
+        when(portHandler.findPortImplementationEntity(USER, QUALIFIED_NAME, null)).thenReturn(portEntity);
 
         when(portHandler.findSchemaTypeForPort(USER, PORT_GUID)).thenReturn(OLD_SCHEMA_GUID);
-        when(dataEngineSchemaTypeHandler.createOrUpdateSchemaType(USER, getSchemaType(), EXTERNAL_SOURCE_DE_QUALIFIED_NAME)).thenReturn(SCHEMA_GUID);
+        when(dataEngineSchemaTypeHandler.createOrUpdateSchemaType(USER, getSchemaType(), EXTERNAL_SOURCE_DE_QUALIFIED_NAME, null)).thenReturn(SCHEMA_GUID);
         PortImplementationRequestBody requestBody = mockPortImplementationRequestBody();
 
         GUIDResponse response = dataEngineRESTServices.createOrUpdatePortImplementation(USER, SERVER_NAME, requestBody);
 
         verify(portHandler, times(1)).updatePortImplementation(USER, portEntity.get(), portImplementation);
 
-        verify(dataEngineSchemaTypeHandler, times(1)).createOrUpdateSchemaType(USER, getSchemaType(), EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
+        verify(dataEngineSchemaTypeHandler, times(1)).createOrUpdateSchemaType(USER, getSchemaType(), EXTERNAL_SOURCE_DE_QUALIFIED_NAME, null);
 
         verify(dataEngineSchemaTypeHandler, times(1)).removeSchemaType(USER, OLD_SCHEMA_GUID);
         assertEquals(PORT_GUID, response.getGUID());
@@ -434,7 +454,7 @@ class DataEngineRESTServicesTest {
 
         assertEquals(GUID, response.getGUID());
         verify(portHandler, times(1)).addPortDelegationRelationship(USER, GUID, PortType.INOUT_PORT, DELEGATED_QUALIFIED_NAME,
-                EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
+                EXTERNAL_SOURCE_DE_QUALIFIED_NAME, null);
     }
 
     @Test
@@ -485,7 +505,7 @@ class DataEngineRESTServicesTest {
          mockPortHandler("createOrUpdatePortAliasWithDelegation");
 
         Optional<EntityDetail> portEntity = mockEntityDetail(GUID);
-        when(portHandler.findPortAliasEntity(USER, QUALIFIED_NAME)).thenReturn(portEntity);
+        when(portHandler.findPortAliasEntity(USER, QUALIFIED_NAME, null)).thenReturn(portEntity);
 
         PortAliasRequestBody requestBody = mockPortAliasRequestBody();
 
@@ -494,7 +514,7 @@ class DataEngineRESTServicesTest {
         assertEquals(GUID, response.getGUID());
         verify(portHandler, times(1)).updatePortAlias(USER, portEntity.get(), portAlias);
         verify(portHandler, times(1)).addPortDelegationRelationship(USER, GUID, PortType.INOUT_PORT, DELEGATED_QUALIFIED_NAME,
-                EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
+                EXTERNAL_SOURCE_DE_QUALIFIED_NAME, null);
     }
     @Test
     void createProcess() throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException {
@@ -515,13 +535,100 @@ class DataEngineRESTServicesTest {
 
         ProcessListResponse response = dataEngineRESTServices.createOrUpdateProcesses(USER, SERVER_NAME, requestBody);
 
-        verify(dataEngineSchemaTypeHandler, times(1)).createOrUpdateSchemaType(USER, getSchemaType(), EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
+        verify(dataEngineSchemaTypeHandler, times(1)).createOrUpdateSchemaType(USER, getSchemaType(), EXTERNAL_SOURCE_DE_QUALIFIED_NAME, null);
         verify(portHandler, times(1)).createPortImplementation(USER, portImplementation, EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
         verify(portHandler, times(1)).addPortDelegationRelationship(USER, GUID, PortType.INOUT_PORT, DELEGATED_QUALIFIED_NAME,
-                EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
+                EXTERNAL_SOURCE_DE_QUALIFIED_NAME, null);
+
+        verify(processHandler, times(1)).updateProcessStatus(USER, GUID, InstanceStatus.ACTIVE);
+        assertEquals(GUID, response.getGUIDs().get(0));
+    }
+
+    @Test
+    void createJob() throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException {
+        mockSchemaTypeHandler("findJobEntities");
+        mockPortHandler("findJobEntities");
+        mockProcessHandler("findJobEntities");
+        mockSchemaTypeHandler("createOrUpdateJob");
+        mockSchemaTypeHandler("createOrUpdateSchemaType");
+        mockSchemaTypeHandler("addLineageMappings");
+        mockSchemaTypeHandler("addAnchorGUID");
+        mockPortHandler("createOrUpdatePortImplementationWithSchemaType");
+        mockPortHandler("createOrUpdatePortAliasWithDelegation");
+        mockProcessHandler("createOrUpdateProcess");
+        mockProcessHandler("updateProcessStatus");
+        mockProcessHandler("addProcessPortRelationships");
+
+        when(portHandler.createPortImplementation(USER, portImplementation, EXTERNAL_SOURCE_DE_QUALIFIED_NAME)).thenReturn(PORT_GUID);
+        when(portHandler.createPortAlias(USER, portAlias, EXTERNAL_SOURCE_DE_QUALIFIED_NAME)).thenReturn(GUID);
+        when(processHandler.createProcess(USER, process, EXTERNAL_SOURCE_DE_QUALIFIED_NAME)).thenReturn(GUID);
+
+        JobRequestBody requestBody = mockJobRequestBody();
+
+        ProcessListResponse response = dataEngineRESTServices.createOrUpdateJob(USER, SERVER_NAME, requestBody);
+
+        verify(dataEngineSchemaTypeHandler, times(1)).findSchemaTypeEntities(eq(USER), any(), any(EntityLookupCache.class));
+        verify(portHandler, times(1)).findPortImplementationEntities(eq(USER), any(), any(EntityLookupCache.class));
+        verify(portHandler, times(1)).findPortAliasEntities(eq(USER), any(), any(EntityLookupCache.class));
+        verify(processHandler, times(1)).findProcessEntities(eq(USER), eq(Collections.singletonList(QUALIFIED_NAME)),
+                any(EntityLookupCache.class));
+
+        // once for the schema type of the job and once for the schema type of the port implementation
+        verify(dataEngineSchemaTypeHandler, times(2)).createOrUpdateSchemaType(eq(USER), eq(getSchemaType()),
+                eq(EXTERNAL_SOURCE_DE_QUALIFIED_NAME), any(EntityLookupCache.class));
+        verify(portHandler, times(1)).createPortImplementation(USER, portImplementation, EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
+        verify(dataEngineSchemaTypeHandler, times(1)).addLineageMappingRelationship(eq(USER), eq(SOURCE_QUALIFIED_NAME),
+                eq(TARGET_QUALIFIED_NAME), eq(EXTERNAL_SOURCE_DE_QUALIFIED_NAME), any(EntityLookupCache.class));
 
         verify(processHandler, times(1)).updateProcessStatus(USER, GUID, InstanceStatus.ACTIVE);
         assertEquals(GUID, response.getGUIDs().get(0));
+
+        // the processes of the job are only activated once the lineage mappings of the job have been written
+        InOrder inOrder = inOrder(dataEngineSchemaTypeHandler, processHandler);
+        inOrder.verify(dataEngineSchemaTypeHandler).addLineageMappingRelationship(eq(USER), eq(SOURCE_QUALIFIED_NAME),
+                eq(TARGET_QUALIFIED_NAME), eq(EXTERNAL_SOURCE_DE_QUALIFIED_NAME), any(EntityLookupCache.class));
+        inOrder.verify(processHandler).updateProcessStatus(USER, GUID, InstanceStatus.ACTIVE);
+    }
+
+    @Test
+    void createJob_ProcessesStayDraftWhenLineageMappingFails() throws InvalidParameterException,
+                                                                      PropertyServerException,
+                                                                      UserNotAuthorizedException,
+                                                                      InvocationTargetException,
+                                                                      NoSuchMethodException,
+                                                                      InstantiationException,
+                                                                      IllegalAccessException {
+        mockSchemaTypeHandler("findJobEntities");
+        mockPortHandler("findJobEntities");
+        mockProcessHandler("findJobEntities");
+        mockSchemaTypeHandler("createOrUpdateJob");
+        mockSchemaTypeHandler("createOrUpdateSchemaType");
+        mockSchemaTypeHandler("addLineageMappings");
+        mockSchemaTypeHandler("addAnchorGUID");
+        mockPortHandler("createOrUpdatePortImplementationWithSchemaType");
+        mockPortHandler("createOrUpdatePortAliasWithDelegation");
+        mockProcessHandler("createOrUpdateProcess");
+        mockProcessHandler("addProcessPortRelationships");
+
+        when(portHandler.createPortImplementation(USER, portImplementation, EXTERNAL_SOURCE_DE_QUALIFIED_NAME)).thenReturn(PORT_GUID);
+        when(portHandler.createPortAlias(USER, portAlias, EXTERNAL_SOURCE_DE_QUALIFIED_NAME)).thenReturn(GUID);
+        when(processHandler.createProcess(USER, process, EXTERNAL_SOURCE_DE_QUALIFIED_NAME)).thenReturn(GUID);
+
+        InvalidParameterException mockedException = mockException(InvalidParameterException.class, "addLineageMappings");
+        doThrow(mockedException).when(dataEngineSchemaTypeHandler).addLineageMappingRelationship(eq(USER), eq(SOURCE_QUALIFIED_NAME),
+                eq(TARGET_QUALIFIED_NAME), eq(EXTERNAL_SOURCE_DE_QUALIFIED_NAME), any(EntityLookupCache.class));
+        doAnswer(invocation -> {
+            invocation.getArgument(0, FFDCResponseBase.class).setRelatedHTTPCode(HttpStatus.BAD_REQUEST.value());
+            return null;
+        }).when(restExceptionHandler).captureInvalidParameterException(any(), eq(mockedException));
+
+        JobRequestBody requestBody = mockJobRequestBody();
+
+        ProcessListResponse response = dataEngineRESTServices.createOrUpdateJob(USER, SERVER_NAME, requestBody);
+
+        verify(processHandler, never()).updateProcessStatus(USER, GUID, InstanceStatus.ACTIVE);
+        assertTrue(response.getGUIDs().isEmpty());
+        assertEquals(Collections.singletonList(GUID), response.getFailedGUIDs());
     }
 
     @Test
@@ -554,10 +661,10 @@ class DataEngineRESTServicesTest {
 
         dataEngineRESTServices.createOrUpdateProcesses(USER, SERVER_NAME, requestBody);
 
-        verify(dataEngineSchemaTypeHandler, times(1)).createOrUpdateSchemaType(USER, getSchemaType(), EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
+        verify(dataEngineSchemaTypeHandler, times(1)).createOrUpdateSchemaType(USER, getSchemaType(), EXTERNAL_SOURCE_DE_QUALIFIED_NAME, null);
         verify(portHandler, times(1)).createPortImplementation(USER, portImplementation, EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
         verify(portHandler, times(1)).addPortDelegationRelationship(USER, GUID, PortType.INOUT_PORT, DELEGATED_QUALIFIED_NAME,
-                EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
+                EXTERNAL_SOURCE_DE_QUALIFIED_NAME, null);
 
         verify(restExceptionHandler, times(1)).captureInvalidParameterException(any(GUIDResponse.class), eq(mockedException));
     }
@@ -589,10 +696,10 @@ class DataEngineRESTServicesTest {
 
         dataEngineRESTServices.createOrUpdateProcesses(USER, SERVER_NAME, requestBody);
 
-        verify(dataEngineSchemaTypeHandler, times(1)).createOrUpdateSchemaType(USER, getSchemaType(), EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
+        verify(dataEngineSchemaTypeHandler, times(1)).createOrUpdateSchemaType(USER, getSchemaType(), EXTERNAL_SOURCE_DE_QUALIFIED_NAME, null);
         verify(portHandler, times(1)).createPortImplementation(USER, portImplementation, EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
         verify(portHandler, times(1)).addPortDelegationRelationship(USER, GUID, PortType.INOUT_PORT, DELEGATED_QUALIFIED_NAME,
-                EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
+                EXTERNAL_SOURCE_DE_QUALIFIED_NAME, null);
 
         verify(restExceptionHandler, times(1)).captureUserNotAuthorizedException(any(GUIDResponse.class), eq(mockedException));
     }
@@ -611,25 +718,25 @@ class DataEngineRESTServicesTest {
 
 
         Optional<EntityDetail> portEntity = mockEntityDetail(PORT_GUID);
-        when(portHandler.findPortImplementationEntity(USER, QUALIFIED_NAME)).thenReturn(portEntity);
+        when(portHandler.findPortImplementationEntity(USER, QUALIFIED_NAME, null)).thenReturn(portEntity);
 
         when(portHandler.findSchemaTypeForPort(USER, PORT_GUID)).thenReturn(OLD_SCHEMA_GUID);
-        when(dataEngineSchemaTypeHandler.createOrUpdateSchemaType(USER, getSchemaType(), EXTERNAL_SOURCE_DE_QUALIFIED_NAME)).thenReturn(SCHEMA_GUID);
+        when(dataEngineSchemaTypeHandler.createOrUpdateSchemaType(USER, getSchemaType(), EXTERNAL_SOURCE_DE_QUALIFIED_NAME, null)).thenReturn(SCHEMA_GUID);
 
         when(portHandler.createPortAlias(USER, portAlias, EXTERNAL_SOURCE_DE_QUALIFIED_NAME)).thenReturn(PORT_GUID);
 
         Optional<EntityDetail> processEntity =mockEntityDetail(GUID);
-        when(processHandler.findProcessEntity(USER, QUALIFIED_NAME)).thenReturn(processEntity);
+        when(processHandler.findProcessEntity(USER, QUALIFIED_NAME, null)).thenReturn(processEntity);
 
         when(processHandler.getPortsForProcess(USER, GUID, PortPropertiesMapper.PORT_IMPLEMENTATION_TYPE_NAME)).thenReturn(new HashSet<>(Collections.singletonList(PORT_GUID)));
         ProcessesRequestBody requestBody = mockProcessesRequestBody();
 
         ProcessListResponse response = dataEngineRESTServices.createOrUpdateProcesses(USER, SERVER_NAME, requestBody);
 
-        verify(dataEngineSchemaTypeHandler, times(1)).createOrUpdateSchemaType(USER, getSchemaType(), EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
+        verify(dataEngineSchemaTypeHandler, times(1)).createOrUpdateSchemaType(USER, getSchemaType(), EXTERNAL_SOURCE_DE_QUALIFIED_NAME, null);
         verify(portHandler, times(1)).updatePortImplementation(USER, portEntity.get(), portImplementation);
         verify(portHandler, times(1)).addPortDelegationRelationship(USER, PORT_GUID, PortType.INOUT_PORT,
-                DELEGATED_QUALIFIED_NAME, EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
+                DELEGATED_QUALIFIED_NAME, EXTERNAL_SOURCE_DE_QUALIFIED_NAME, null);
 
         verify(processHandler, times(2)).updateProcessStatus(any(), any(), instanceStatuses.capture());
         List<InstanceStatus> allValues = instanceStatuses.getAllValues();
@@ -717,7 +824,7 @@ class DataEngineRESTServicesTest {
         dataEngineRESTServices.addLineageMappings(USER, SERVER_NAME, requestBody);
 
         verify(dataEngineSchemaTypeHandler, times(1)).addLineageMappingRelationship(USER, SOURCE_QUALIFIED_NAME,
-                TARGET_QUALIFIED_NAME, EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
+                TARGET_QUALIFIED_NAME, EXTERNAL_SOURCE_DE_QUALIFIED_NAME, null);
     }
 
     @Test
@@ -735,7 +842,7 @@ class DataEngineRESTServicesTest {
 
         InvalidParameterException mockedException = mockException(InvalidParameterException.class, methodName);
         doThrow(mockedException).when(dataEngineSchemaTypeHandler).addLineageMappingRelationship(USER, SOURCE_QUALIFIED_NAME, TARGET_QUALIFIED_NAME,
-                EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
+                EXTERNAL_SOURCE_DE_QUALIFIED_NAME, null);
 
         VoidResponse response = dataEngineRESTServices.addLineageMappings(USER, SERVER_NAME, requestBody);
 
@@ -757,7 +864,7 @@ class DataEngineRESTServicesTest {
 
         UserNotAuthorizedException mockedException = mockException(UserNotAuthorizedException.class, methodName);
         doThrow(mockedException).when(dataEngineSchemaTypeHandler).addLineageMappingRelationship(USER, SOURCE_QUALIFIED_NAME, TARGET_QUALIFIED_NAME,
-                EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
+                EXTERNAL_SOURCE_DE_QUALIFIED_NAME, null);
 
         VoidResponse response = dataEngineRESTServices.addLineageMappings(USER, SERVER_NAME, requestBody);
 
@@ -821,6 +928,15 @@ class DataEngineRESTServicesTest {
         return requestBody;
     }
 
+    private JobRequestBody mockJobRequestBody() {
+        JobRequestBody requestBody = new JobRequestBody();
+        requestBody.setSchemaTypes(Collections.singletonList(getSchemaType()));
+        requestBody.setProcesses(Collections.singletonList(process));
+        requestBody.setLineageMappings(Collections.singletonList(getLineageMapping()));
+        requestBody.setExternalSourceName(EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
+        return requestBody;
+    }
+
     private PortListRequestBody mockPortListRequestBody() {
         PortListRequestBody requestBody = new PortListRequestBody();
         requestBody.setPorts(Collections.singletonList(QUALIFIED_NAME));
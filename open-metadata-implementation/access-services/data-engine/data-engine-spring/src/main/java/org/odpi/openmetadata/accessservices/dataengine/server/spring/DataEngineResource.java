@@ -129,6 +129,22 @@ public class DataEngineResource {
         return restAPI.createOrUpdateProcesses(userId, serverName, processesRequestBody);
     }
 
+    /**
+     * Create or update the schema types, ports, processes and lineage mappings of a job in one request
+     *
+     * @param serverName     name of server instance to call
+     * @param userId         the name of the calling user
+     * @param jobRequestBody properties of the job
+     *
+     * @return unique identifiers of the created processes
+     */
+    @PostMapping(path = "/jobs")
+    public GUIDListResponse createOrUpdateJob(@PathVariable("userId") String userId,
+                                              @PathVariable("serverName") String serverName,
+                                              @RequestBody JobRequestBody jobRequestBody) {
+        return restAPI.createOrUpdateJob(userId, serverName, jobRequestBody);
+    }
+
     /**
      * Add ports to an existing Process entity
      *
@@ -0,0 +1,420 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.datastore.csvfile;
+
+import org.odpi.openmetadata.adapters.connectors.datastore.csvfile.ffdc.CSVFileConnectorErrorCode;
+import org.odpi.openmetadata.adapters.connectors.datastore.csvfile.ffdc.exception.FileReadException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+
+/**
+ * CSVFileRecordCursor reads through the data records of a CSV file in order, starting with record 0.
+ * The file is read once, through a character buffer and line buffer that are reused for every record,
+ * so a cursor is the efficient way to process all of the records in a large file.
+ *
+ * The records returned match those returned by CSVFileStoreConnector.readRecord() except that an empty
+ * line is returned as an empty list, since null marks the end of the file.
+ * A cursor may also cover a range of records, so different threads can each read part of the file through
+ * their own cursor.  A cursor is not thread-safe and must be closed once it is finished with.
+ */
+public class CSVFileRecordCursor implements AutoCloseable
+{
+    private static final int readBufferSize   = 64 * 1024;
+    private static final int maxPendingLines  = 1024;
+    private static final int maxPendingLength = 16 * readBufferSize;
+
+    private CSVFileStoreConnector connector;
+    private File                  fileStore;
+    private String                fileStoreName;
+    private Charset               fileCharset;
+    private long                  startOffset;
+    private Reader                reader;
+
+    /*
+     * Reusable buffers for decoding the file.
+     */
+    private char[]                readBuffer     = new char[readBufferSize];
+    private int                   readPosition   = 0;
+    private int                   readLimit      = 0;
+    private boolean               afterReturn    = false;
+    private StringBuilder         currentLine    = new StringBuilder();
+    private long                  lineCount      = 0;
+
+    /*
+     * Lines that only contain white space are held back until a line with content is found, since white space
+     * lines at the end of the file are not records.  Only a limited number of these lines are buffered.  If there
+     * are more, they are read again from the file, through a second cursor, once the line with content is found.
+     */
+    private Deque<String>         pendingLines        = new ArrayDeque<>();
+    private int                   pendingLength       = 0;
+    private long                  pendingLineCount    = 0;
+    private long                  pendingFirstLine    = 0;
+    private boolean               pendingOverflow     = false;
+    private String                pendingContentLine  = null;
+    private CSVFileRecordCursor   replayCursor        = null;
+
+    private long                  recordCount    = 0;
+    private long                  maxRecords;
+
+
+    /**
+     * Open the file.
+     *
+     * @param connector connector that parses the records
+     * @param fileStore file to read
+     * @param fileStoreName name of the file for messages
+     * @param fileCharset character set of the file
+     * @param startOffset byte offset of the first line to read
+     * @param maxRecords maximum number of records to return
+     * @param skipColumnNames is the first line read the column names?
+     * @throws IOException unable to open the file
+     */
+    CSVFileRecordCursor(CSVFileStoreConnector connector,
+                        File                  fileStore,
+                        String                fileStoreName,
+                        Charset               fileCharset,
+                        long                  startOffset,
+                        long                  maxRecords,
+                        boolean               skipColumnNames) throws IOException
+    {
+        FileChannel fileChannel = FileChannel.open(fileStore.toPath(), StandardOpenOption.READ);
+
+        try
+        {
+            fileChannel.position(startOffset);
+        }
+        catch (IOException  error)
+        {
+            fileChannel.close();
+            throw error;
+        }
+
+        this.connector = connector;
+        this.fileStore = fileStore;
+        this.fileStoreName = fileStoreName;
+        this.fileCharset = fileCharset;
+        this.startOffset = startOffset;
+        this.maxRecords = maxRecords;
+        this.reader = new InputStreamReader(Channels.newInputStream(fileChannel), fileCharset);
+
+        if (skipColumnNames)
+        {
+            readLine();
+        }
+    }
+
+
+    /**
+     * Return the next data record from the file.
+     *
+     * @return List of strings, each string is the value from the column, or null if there are no more records.
+     * @throws FileReadException unable to read the file
+     */
+    public List<String> nextRecord() throws FileReadException
+    {
+        final String  methodName = "nextRecord";
+
+        if (recordCount >= maxRecords)
+        {
+            return null;
+        }
+
+        try
+        {
+            if (pendingContentLine != null)
+            {
+                return returnPendingRecord();
+            }
+
+            while (readLine())
+            {
+                if (CSVFileStoreConnector.isWhiteSpace(currentLine))
+                {
+                    holdBackLine();
+                }
+                else if (pendingLineCount == 0)
+                {
+                    return returnRecord(currentLine);
+                }
+                else
+                {
+                    pendingContentLine = currentLine.toString();
+
+                    return returnPendingRecord();
+                }
+            }
+
+            pendingLines.clear();
+            pendingLength = 0;
+            pendingLineCount = 0;
+            pendingOverflow = false;
+
+            return null;
+        }
+        catch (IOException  error)
+        {
+            throw new FileReadException(CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION.getMessageDefinition(fileStoreName,
+                                                                                                               error.getMessage()),
+                                        this.getClass().getName(),
+                                        methodName,
+                                        error,
+                                        fileStoreName);
+        }
+    }
+
+
+    /**
+     * Return the next batch of data records from the file.
+     *
+     * @param maxRecords maximum number of records to return
+     * @return list of records - this is empty if there are no more records
+     * @throws FileReadException unable to read the file
+     */
+    public List<List<String>> nextBatch(int  maxRecords) throws FileReadException
+    {
+        List<List<String>> records = new ArrayList<>();
+
+        while (records.size() < maxRecords)
+        {
+            List<String> record = nextRecord();
+
+            if (record == null)
+            {
+                break;
+            }
+
+            records.add(record);
+        }
+
+        return records;
+    }
+
+
+    /**
+     * Return the number of records returned so far.  For a cursor that starts at record 0, this is also the
+     * record number of the next record.
+     *
+     * @return count
+     */
+    public long getRecordCount()
+    {
+        return recordCount;
+    }
+
+
+    /**
+     * Close the file.
+     *
+     * @throws FileReadException unable to close the file
+     */
+    @Override
+    public void close() throws FileReadException
+    {
+        final String  methodName = "close";
+
+        try
+        {
+            if (replayCursor != null)
+            {
+                replayCursor.reader.close();
+                replayCursor = null;
+            }
+
+            reader.close();
+        }
+        catch (IOException  error)
+        {
+            throw new FileReadException(CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION.getMessageDefinition(fileStoreName,
+                                                                                                               error.getMessage()),
+                                        this.getClass().getName(),
+                                        methodName,
+                                        error,
+                                        fileStoreName);
+        }
+    }
+
+
+    /**
+     * Hold back the white space line in currentLine until it is known whether a line with content follows it.
+     */
+    private void holdBackLine()
+    {
+        if (pendingLineCount == 0)
+        {
+            pendingFirstLine = lineCount - 1;
+        }
+
+        pendingLineCount ++;
+
+        if (! pendingOverflow)
+        {
+            if ((pendingLines.size() < maxPendingLines) && (pendingLength + currentLine.length() <= maxPendingLength))
+            {
+                pendingLines.addLast(currentLine.toString());
+                pendingLength = pendingLength + currentLine.length();
+            }
+            else
+            {
+                pendingLines.clear();
+                pendingLength = 0;
+                pendingOverflow = true;
+            }
+        }
+    }
+
+
+    /**
+     * Return the next of the lines that were held back, followed by the line with content that was found after them.
+     *
+     * @return list of column values
+     * @throws IOException unable to read the held back lines from the file
+     */
+    private List<String> returnPendingRecord() throws IOException
+    {
+        if (pendingLineCount == 0)
+        {
+            String line = pendingContentLine;
+
+            pendingContentLine = null;
+
+            return returnRecord(line);
+        }
+
+        pendingLineCount --;
+
+        if (! pendingOverflow)
+        {
+            String line = pendingLines.removeFirst();
+
+            pendingLength = pendingLength - line.length();
+
+            return returnRecord(line);
+        }
+
+        if (replayCursor == null)
+        {
+            replayCursor = new CSVFileRecordCursor(connector, fileStore, fileStoreName, fileCharset, startOffset, Long.MAX_VALUE, false);
+
+            for (long i = 0; i < pendingFirstLine; i++)
+            {
+                replayCursor.readLine();
+            }
+        }
+
+        replayCursor.readLine();
+
+        List<String> record = returnRecord(replayCursor.currentLine);
+
+        if (pendingLineCount == 0)
+        {
+            replayCursor.reader.close();
+            replayCursor = null;
+            pendingOverflow = false;
+        }
+
+        return record;
+    }
+
+
+    /**
+     * Parse a line from the file and count it as a record.
+     *
+     * @param line line from the file
+     * @return list of column values
+     */
+    private List<String> returnRecord(CharSequence line)
+    {
+        recordCount ++;
+
+        List<String> record = connector.parseRecord(line);
+
+        if (record == null)
+        {
+            return new ArrayList<>();
+        }
+
+        return record;
+    }
+
+
+    /**
+     * Read the next line of the file into currentLine.  A line ends with a line feed, a carriage return or
+     * a carriage return followed by a line feed.
+     *
+     * @return false if the end of the file has been reached and there are no more lines
+     * @throws IOException unable to read the file
+     */
+    private boolean readLine() throws IOException
+    {
+        boolean lineFound = false;
+
+        currentLine.setLength(0);
+
+        while (true)
+        {
+            if (readPosition == readLimit)
+            {
+                readLimit = reader.read(readBuffer, 0, readBuffer.length);
+                readPosition = 0;
+
+                if (readLimit < 0)
+                {
+                    readLimit = 0;
+
+                    if (lineFound)
+                    {
+                        lineCount ++;
+                    }
+
+                    return lineFound;
+                }
+            }
+
+            if (afterReturn)
+            {
+                afterReturn = false;
+
+                if (readBuffer[readPosition] == '\n')
+                {
+                    readPosition ++;
+                    continue;
+                }
+            }
+
+            lineFound = true;
+
+            int lineEnd = readPosition;
+
+            while ((lineEnd < readLimit) && (readBuffer[lineEnd] != '\n') && (readBuffer[lineEnd] != '\r'))
+            {
+                lineEnd ++;
+            }
+
+            currentLine.append(readBuffer, readPosition, lineEnd - readPosition);
+
+            if (lineEnd < readLimit)
+            {
+                afterReturn = (readBuffer[lineEnd] == '\r');
+                readPosition = lineEnd + 1;
+                lineCount ++;
+
+                return true;
+            }
+
+            readPosition = lineEnd;
+        }
+    }
+}
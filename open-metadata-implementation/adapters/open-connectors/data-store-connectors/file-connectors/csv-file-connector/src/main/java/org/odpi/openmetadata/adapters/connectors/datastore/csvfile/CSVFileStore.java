@@ -42,8 +42,8 @@ public interface CSVFileStore extends BasicFileStore
 
 
     /**
-     * Return the number of records in the file.  This is achieved by scanning the file and counting the records -
-     * not recommended for very large files.
+     * Return the number of records in the file.  The file is scanned the first time this information is needed
+     * and again whenever the file changes.
      *
      * @return count
      * @throws FileException there is a problem accessing the file
@@ -74,4 +74,28 @@ public interface CSVFileStore extends BasicFileStore
      * @throws FileReadException unable to find, open or read the file, or the file does not include the requested record.
      */
     List<String>      readRecord(int  rowNumber) throws FileException, FileReadException;
+
+
+    /**
+     * Open a cursor that reads through the data records of the file in order, starting with record 0.
+     * The caller must close the cursor when it is finished with it.
+     *
+     * @return cursor positioned before the first data record
+     * @throws FileException there is a problem accessing the file
+     * @throws FileReadException unable to open the file
+     */
+    CSVFileRecordCursor openRecordCursor() throws FileException, FileReadException;
+
+
+    /**
+     * Open a cursor that reads through a range of data records, so that different parts of the file can be read
+     * in parallel.  The caller must close the cursor when it is finished with it.
+     *
+     * @param firstRecordNumber number of the first data record to return
+     * @param maxRecords maximum number of data records to return
+     * @return cursor positioned before the first data record in the range
+     * @throws FileException there is a problem accessing the file
+     * @throws FileReadException unable to open the file, or the file does not include the first record
+     */
+    CSVFileRecordCursor openRecordCursor(long firstRecordNumber, long maxRecords) throws FileException, FileReadException;
 }
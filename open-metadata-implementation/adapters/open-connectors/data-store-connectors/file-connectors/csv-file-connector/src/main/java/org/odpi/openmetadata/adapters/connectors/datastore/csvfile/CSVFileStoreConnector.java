@@ -14,6 +14,10 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
 
 
@@ -28,6 +32,16 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     private List<String>   columnNames       = null;
     private char           delimiterChar     = ',';
     private char           quoteChar         = '"';
+    private Charset        fileCharset       = Charset.defaultCharset();
+    private boolean        indexableCharset  = isASCIICompatible(fileCharset);
+
+    /*
+     * Index of the position of each line in the file, along with the buffer used to read individual rows.
+     */
+    private static final int readBufferSize = 64 * 1024;
+
+    private LineIndex      lineIndex         = null;
+    private ByteBuffer     rowBuffer         = null;
 
     /*
      * Variables used for logging and debug.
@@ -127,8 +141,8 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
 
 
     /**
-     * Return the number of records in the file.  This is achieved by scanning the file and counting the records -
-     * not recommended for very large files.
+     * Return the number of records in the file.  The file is scanned once to build an index of the
+     * position of each record, and the index is reused until the file changes.
      *
      * @return count
      * @throws FileException problem accessing the file
@@ -138,33 +152,14 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     {
         final String  methodName = "getRecordCount";
 
-        long    rowCount = 0;
+        File      fileStore = getFile(methodName);
+        LineIndex lineIndex = getLineIndex(fileStore, methodName);
 
-        File fileStore = getFile(methodName);
+        long    rowCount = lineIndex.lineCount;
 
-        try
+        if ((rowCount > 0) && (columnNames == null))
         {
-            Scanner scanner  = new Scanner(fileStore);
-            while (scanner.hasNext())
-            {
-                scanner.nextLine();
-                rowCount ++;
-            }
-            scanner.close();
-
-            if ((rowCount > 0) && (columnNames == null))
-            {
-                rowCount = rowCount - 1;
-            }
-        }
-        catch (IOException  error)
-        {
-            throw new FileReadException(CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION.getMessageDefinition(fileStoreName,
-                                                                                                               error.getMessage()),
-                                        this.getClass().getName(),
-                                        methodName,
-                                        error,
-                                        fileStoreName);
+            rowCount = rowCount - 1;
         }
 
         return rowCount;
@@ -223,45 +218,139 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
 
 
     /**
-     * Return the requested row in the file.  The first record is record 0.
+     * Open a cursor that reads through the data records of the file in order.  This is the most efficient way
+     * to process every record in the file since the file is read once, from start to end.
+     * The caller must close the cursor when it is finished with it.
      *
-     * @param recordLocation long
-     * @param methodName name of calling method
-     * @return List of strings, each string is the value from the column.
+     * @return cursor positioned before the first data record
      * @throws FileException problem accessing the file
-     * @throws FileReadException unable to find, open or read the file, or the file does not include the requested record.
+     * @throws FileReadException unable to open the file
      */
-    private List<String>      readRow(int     recordLocation,
-                                      String  methodName) throws FileException, FileReadException
+    public CSVFileRecordCursor openRecordCursor() throws FileException, FileReadException
     {
+        final String  methodName = "openRecordCursor";
 
         File fileStore = super.getFile(methodName);
 
         try
         {
-            Scanner scanner        = new Scanner(fileStore);
+            return new CSVFileRecordCursor(this, fileStore, fileStoreName, fileCharset, 0, Long.MAX_VALUE, columnNames == null);
+        }
+        catch (IOException  error)
+        {
+            throw new FileReadException(CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION.getMessageDefinition(fileStoreName,
+                                                                                                               error.getMessage()),
+                                        this.getClass().getName(),
+                                        methodName,
+                                        error,
+                                        fileStoreName);
+        }
+    }
 
-            int rowCounter = 0;
-            while (scanner.hasNext())
-            {
-                if (rowCounter == recordLocation)
-                {
-                    return parseRecord(scanner.nextLine());
-                }
-                else
-                {
-                    scanner.nextLine();
-                }
-                rowCounter ++;
-            }
-            scanner.close();
 
+    /**
+     * Open a cursor that reads through a range of data records.  The start of the range is located using the
+     * line index, so the file can be divided into ranges that are read in parallel, each through its own cursor.
+     * The caller must close the cursor when it is finished with it.
+     *
+     * @param firstRecordNumber number of the first data record to return
+     * @param maxRecords maximum number of data records to return
+     * @return cursor positioned before the first data record in the range
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to open the file, or the file does not include the first record
+     */
+    public CSVFileRecordCursor openRecordCursor(long   firstRecordNumber,
+                                                long   maxRecords) throws FileException, FileReadException
+    {
+        final String  methodName = "openRecordCursor";
+
+        File      fileStore      = super.getFile(methodName);
+        LineIndex lineIndex      = getLineIndex(fileStore, methodName);
+        long      recordLocation = (columnNames == null) ? firstRecordNumber + 1 : firstRecordNumber;
+        long      startOffset    = lineIndex.fileLength;
+
+        if ((firstRecordNumber < 0) || (recordLocation > lineIndex.lineCount))
+        {
+            throw new FileReadException(CSVFileConnectorErrorCode.FILE_TOO_SHORT.getMessageDefinition(fileStoreName,
+                                                                                                      Long.toString(recordLocation)),
+                                        this.getClass().getName(),
+                                        methodName,
+                                        fileStoreName);
+        }
+
+        if (recordLocation < lineIndex.lineOffsetCount)
+        {
+            startOffset = lineIndex.lineOffsets[(int)recordLocation];
+        }
+
+        try
+        {
+            return new CSVFileRecordCursor(this, fileStore, fileStoreName, fileCharset, startOffset, maxRecords, false);
+        }
+        catch (IOException  error)
+        {
+            throw new FileReadException(CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION.getMessageDefinition(fileStoreName,
+                                                                                                               error.getMessage()),
+                                        this.getClass().getName(),
+                                        methodName,
+                                        error,
+                                        fileStoreName);
+        }
+    }
+
+
+    /**
+     * Return the requested row in the file.  The first record is record 0.  The row is located using the
+     * line index, so only the bytes of the requested row are read from the file.
+     *
+     * @param recordLocation long
+     * @param methodName name of calling method
+     * @return List of strings, each string is the value from the column.
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to find, open or read the file, or the file does not include the requested record.
+     */
+    private synchronized List<String>      readRow(int     recordLocation,
+                                                   String  methodName) throws FileException, FileReadException
+    {
+        File      fileStore = super.getFile(methodName);
+        LineIndex lineIndex = getLineIndex(fileStore, methodName);
+
+        if ((recordLocation < 0) || (recordLocation >= lineIndex.lineCount))
+        {
             throw new FileReadException(CSVFileConnectorErrorCode.FILE_TOO_SHORT.getMessageDefinition(fileStoreName,
                                                                                                       Integer.toString(recordLocation)),
                                         this.getClass().getName(),
                                         methodName,
                                         fileStoreName);
+        }
+
+        long rowStart = lineIndex.lineOffsets[recordLocation];
+        long rowEnd   = lineIndex.fileLength;
 
+        if (recordLocation + 1 < lineIndex.lineOffsetCount)
+        {
+            rowEnd = lineIndex.lineOffsets[recordLocation + 1];
+        }
+
+        int rowLength = (int)(rowEnd - rowStart);
+
+        if ((rowBuffer == null) || (rowBuffer.capacity() < rowLength))
+        {
+            rowBuffer = ByteBuffer.allocate(Math.max(rowLength, readBufferSize));
+        }
+
+        rowBuffer.clear();
+        rowBuffer.limit(rowLength);
+
+        try (FileChannel fileChannel = FileChannel.open(fileStore.toPath(), StandardOpenOption.READ))
+        {
+            while (rowBuffer.hasRemaining())
+            {
+                if (fileChannel.read(rowBuffer, rowStart + rowBuffer.position()) < 0)
+                {
+                    break;
+                }
+            }
         }
         catch (IOException  error)
         {
@@ -272,6 +361,275 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
                                         error,
                                         fileStoreName);
         }
+
+        rowBuffer.flip();
+
+        /*
+         * Remove the line terminator.
+         */
+        while ((rowBuffer.limit() > 0) &&
+               ((rowBuffer.get(rowBuffer.limit() - 1) == '\n') || (rowBuffer.get(rowBuffer.limit() - 1) == '\r')))
+        {
+            rowBuffer.limit(rowBuffer.limit() - 1);
+        }
+
+        return parseRecord(fileCharset.decode(rowBuffer));
+    }
+
+
+    /**
+     * Return the line index for the file, building it if this is the first request or the file has changed since
+     * the index was built.
+     *
+     * @param fileStore file to index
+     * @param methodName name of calling method
+     * @return line index
+     * @throws FileReadException unable to read the file
+     */
+    private synchronized LineIndex getLineIndex(File     fileStore,
+                                                String   methodName) throws FileReadException
+    {
+        String filePath     = fileStore.getAbsolutePath();
+        long   lastModified = fileStore.lastModified();
+        long   fileLength   = fileStore.length();
+
+        if (! indexableCharset)
+        {
+            throw new FileReadException(CSVFileConnectorErrorCode.CHARACTER_SET_NOT_INDEXABLE.getMessageDefinition(fileStoreName,
+                                                                                                                   fileCharset.name()),
+                                        this.getClass().getName(),
+                                        methodName,
+                                        fileStoreName);
+        }
+
+        if ((lineIndex == null) ||
+            (! filePath.equals(lineIndex.filePath)) ||
+            (lastModified != lineIndex.lastModified) ||
+            (fileLength != lineIndex.fileLength))
+        {
+            log.debug("Building line index for file " + fileStoreName);
+
+            try
+            {
+                lineIndex = buildLineIndex(filePath, lastModified);
+            }
+            catch (IOException  error)
+            {
+                lineIndex = null;
+
+                throw new FileReadException(CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION.getMessageDefinition(fileStoreName,
+                                                                                                                   error.getMessage()),
+                                            this.getClass().getName(),
+                                            methodName,
+                                            error,
+                                            fileStoreName);
+            }
+        }
+
+        return lineIndex;
+    }
+
+
+    /**
+     * Scan the file to locate the start of each line.  A line ends with a line feed, a carriage return or
+     * a carriage return followed by a line feed.  Lines at the end of the file that contain only white space
+     * are not counted as records.
+     *
+     * The scan works on the bytes of the file, so it relies on the character set encoding each ASCII character
+     * as the matching single byte.  A line that also contains other bytes may be made up of white space that is
+     * not ASCII, so if such lines are found at the end of the file, they are decoded to test for white space.
+     *
+     * @param filePath location of the file
+     * @param lastModified last modified time of the file before the scan started
+     * @return new line index
+     * @throws IOException unable to read the file
+     */
+    private LineIndex buildLineIndex(String   filePath,
+                                     long     lastModified) throws IOException
+    {
+        LineIndex newIndex = new LineIndex(filePath, lastModified);
+
+        try (FileChannel fileChannel = FileChannel.open(new File(filePath).toPath(), StandardOpenOption.READ))
+        {
+            ByteBuffer    readBuffer       = ByteBuffer.allocate(readBufferSize);
+            byte[]        bytes            = readBuffer.array();
+            long          filePosition     = 0;
+            boolean       atLineStart      = true;
+            boolean       afterReturn      = false;
+            boolean       encodedLine      = false;
+            int           lastContentLine  = -1;
+            List<Integer> encodedLines     = new ArrayList<>();
+            int           bytesRead;
+
+            while ((bytesRead = fileChannel.read(readBuffer)) >= 0)
+            {
+                for (int i = 0; i < bytesRead; i++)
+                {
+                    byte character = bytes[i];
+
+                    if (afterReturn)
+                    {
+                        afterReturn = false;
+
+                        if (character == '\n')
+                        {
+                            continue;
+                        }
+                    }
+
+                    if (atLineStart)
+                    {
+                        newIndex.addLineOffset(filePosition + i);
+                        atLineStart = false;
+                        encodedLine = false;
+                    }
+
+                    int currentLine = newIndex.lineOffsetCount - 1;
+
+                    if ((character == '\n') || (character == '\r'))
+                    {
+                        atLineStart = true;
+                        afterReturn = (character == '\r');
+                    }
+                    else if ((character < 0) && (lastContentLine != currentLine))
+                    {
+                        /*
+                         * Once a line contains a byte outside ASCII, the bytes that follow may be part of a
+                         * multi-byte character, so the line is decoded if it turns out to matter.
+                         */
+                        if (! encodedLine)
+                        {
+                            encodedLines.add(currentLine);
+                            encodedLine = true;
+                        }
+                    }
+                    else if ((! encodedLine) && (! Character.isWhitespace((char)character)))
+                    {
+                        lastContentLine = currentLine;
+                        encodedLines.clear();
+                    }
+                }
+
+                filePosition = filePosition + bytesRead;
+                readBuffer.clear();
+            }
+
+            newIndex.fileLength = filePosition;
+
+            for (int i = encodedLines.size() - 1; i >= 0; i--)
+            {
+                int encodedLineNumber = encodedLines.get(i);
+
+                if (! isWhiteSpace(readLine(fileChannel, newIndex, encodedLineNumber)))
+                {
+                    lastContentLine = encodedLineNumber;
+                    break;
+                }
+            }
+
+            newIndex.lineCount = lastContentLine + 1;
+        }
+
+        return newIndex;
+    }
+
+
+    /**
+     * Read and decode a line of the file located through a line index.
+     *
+     * @param fileChannel open file
+     * @param lineIndex index of the file
+     * @param lineNumber number of the line to read
+     * @return line, including its line terminator
+     * @throws IOException unable to read the file
+     */
+    private CharSequence readLine(FileChannel   fileChannel,
+                                  LineIndex     lineIndex,
+                                  int           lineNumber) throws IOException
+    {
+        long lineStart = lineIndex.lineOffsets[lineNumber];
+        long lineEnd   = lineIndex.fileLength;
+
+        if (lineNumber + 1 < lineIndex.lineOffsetCount)
+        {
+            lineEnd = lineIndex.lineOffsets[lineNumber + 1];
+        }
+
+        ByteBuffer lineBuffer = ByteBuffer.allocate((int)(lineEnd - lineStart));
+
+        while (lineBuffer.hasRemaining())
+        {
+            if (fileChannel.read(lineBuffer, lineStart + lineBuffer.position()) < 0)
+            {
+                break;
+            }
+        }
+
+        lineBuffer.flip();
+
+        return fileCharset.decode(lineBuffer);
+    }
+
+
+    /**
+     * Test whether a line only contains white space.  This is the test used by both the line index and
+     * CSVFileRecordCursor to decide whether the lines at the end of the file are records.
+     *
+     * @param line line from the file
+     * @return boolean flag
+     */
+    static boolean isWhiteSpace(CharSequence line)
+    {
+        for (int i = 0; i < line.length(); i++)
+        {
+            if (! Character.isWhitespace(line.charAt(i)))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Test whether a character set encodes each ASCII character as the single byte with the same value.  Only
+     * the files of these character sets can be scanned byte by byte to build the line index, so character sets
+     * such as UTF-16 are not supported by the methods that locate records by number.
+     *
+     * @param charset character set of the file
+     * @return boolean flag
+     */
+    static boolean isASCIICompatible(Charset  charset)
+    {
+        char[] asciiCharacters = new char[128];
+
+        for (int i = 0; i < asciiCharacters.length; i++)
+        {
+            asciiCharacters[i] = (char)i;
+        }
+
+        if (! charset.canEncode())
+        {
+            return false;
+        }
+
+        byte[] encodedCharacters = new String(asciiCharacters).getBytes(charset);
+
+        if (encodedCharacters.length != asciiCharacters.length)
+        {
+            return false;
+        }
+
+        for (int i = 0; i < encodedCharacters.length; i++)
+        {
+            if (encodedCharacters[i] != i)
+            {
+                return false;
+            }
+        }
+
+        return true;
     }
 
 
@@ -282,24 +640,26 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
      * @param fileRecord a single record from the CSV file store
      * @return an array of column values extracted from the record
      */
-    private  List<String> parseRecord(String fileRecord)
+    List<String> parseRecord(CharSequence fileRecord)
     {
-        if ((fileRecord == null) || (fileRecord.isEmpty()))
+        if ((fileRecord == null) || (fileRecord.length() == 0))
         {
             return null;
         }
 
-        List<String> result = new ArrayList<>();
-        StringBuffer currentValue = new StringBuffer();
+        List<String>  result = new ArrayList<>();
+        StringBuilder currentValue = new StringBuilder();
 
         boolean inQuotes = false;
         boolean startCollectingCharacters = false;
         boolean doubleQuotesInColumn = false;
 
-        char[] characters = fileRecord.toCharArray();
+        char firstCharacter = fileRecord.charAt(0);
 
-        for (char character : characters)
+        for (int i = 0; i < fileRecord.length(); i++)
         {
+            char character = fileRecord.charAt(i);
+
             if (inQuotes)
             {
                 startCollectingCharacters = true;
@@ -332,7 +692,7 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
 
                     inQuotes = true;
 
-                    if (characters[0] != '"' && quoteChar == '\"')
+                    if (firstCharacter != '"' && quoteChar == '\"')
                     {
                         currentValue.append('"');
                     }
@@ -346,7 +706,7 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
                 {
                     result.add(currentValue.toString());
 
-                    currentValue = new StringBuffer();
+                    currentValue.setLength(0);
                     startCollectingCharacters = false;
 
                 }
@@ -384,4 +744,50 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
 
         log.debug("Closing Structured File Store");
     }
+
+
+    /**
+     * LineIndex records the byte offset of the start of each line in the file, along with the properties of the
+     * file that show whether the index is still current.
+     */
+    private static class LineIndex
+    {
+        private String filePath;
+        private long   lastModified;
+        private long   fileLength      = 0;
+        private long[] lineOffsets     = new long[1024];
+        private int    lineOffsetCount = 0;
+        private int    lineCount       = 0;
+
+
+        /**
+         * Create an empty index for a file.
+         *
+         * @param filePath location of the file
+         * @param lastModified last modified time of the file
+         */
+        LineIndex(String filePath,
+                  long   lastModified)
+        {
+            this.filePath = filePath;
+            this.lastModified = lastModified;
+        }
+
+
+        /**
+         * Add the offset of the start of the next line.
+         *
+         * @param lineOffset byte offset
+         */
+        void addLineOffset(long lineOffset)
+        {
+            if (lineOffsetCount == lineOffsets.length)
+            {
+                lineOffsets = Arrays.copyOf(lineOffsets, lineOffsets.length * 2);
+            }
+
+            lineOffsets[lineOffsetCount] = lineOffset;
+            lineOffsetCount ++;
+        }
+    }
 }
@@ -43,6 +43,10 @@ public enum CSVFileConnectorErrorCode implements ExceptionMessageSet
             "File {0} does not have {1} rows",
             "The connector is unable to retrieve the requested record because the file is too short.",
             "Ensure the record number requested is within the size of the file.  Method getRecordCount will provide information on the number of data records in the file"),
+    CHARACTER_SET_NOT_INDEXABLE(400, "CSV-FILE-CONNECTOR-400-005",
+            "The records of file {0} cannot be located by number because its character set {1} does not encode ASCII characters as single bytes",
+            "The connector is unable to count the records in the file or to read a record by its number.",
+            "Read the file from the start with openRecordCursor(), or run the server with an ASCII-compatible default character set such as UTF-8."),
     FILE_NOT_FOUND(404, "CSV-FILE-CONNECTOR-404-001",
              "The file named {0} in the Connection object {1} does not exist",
              "The connector is unable to open the structure file.",
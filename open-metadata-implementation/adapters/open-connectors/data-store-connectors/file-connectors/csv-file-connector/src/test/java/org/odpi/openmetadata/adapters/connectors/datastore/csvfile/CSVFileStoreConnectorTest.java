@@ -10,8 +10,14 @@ import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorTyp
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.*;
 
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
@@ -117,6 +123,25 @@ public class CSVFileStoreConnectorTest
         }
     }
 
+    private void compareCursor(CSVFileStoreConnector connector) throws FileException,
+                                                                       FileReadException
+    {
+        try (CSVFileRecordCursor cursor = connector.openRecordCursor())
+        {
+            for (int i=0; i<connector.getRecordCount(); i++)
+            {
+                List<String>  expectedRecord = connector.readRecord(i);
+
+                assertEquals(cursor.getRecordCount(), i);
+                assertEquals(cursor.nextRecord(), (expectedRecord == null) ? new ArrayList<>() : expectedRecord);
+            }
+
+            assertTrue(cursor.nextRecord() == null);
+            assertTrue(cursor.nextBatch(10).isEmpty());
+        }
+    }
+
+
     @Test public void testSimpleColumns()
     {
         CSVFileStoreConnector connector = new CSVFileStoreConnector();
@@ -131,6 +156,7 @@ public class CSVFileStoreConnectorTest
 
             connector.getFileName();
             scanFile(connector);
+            compareCursor(connector);
 
             connector.disconnect();
             assertFalse(connector.isActive());
@@ -155,6 +181,7 @@ public class CSVFileStoreConnectorTest
 
             connector.getFileName();
             scanFile(connector);
+            compareCursor(connector);
 
             connector.disconnect();
             assertFalse(connector.isActive());
@@ -196,6 +223,7 @@ public class CSVFileStoreConnectorTest
 
             connector.getFileName();
             scanFile(connector);
+            compareCursor(connector);
 
             connector.disconnect();
             assertFalse(connector.isActive());
@@ -358,4 +386,181 @@ public class CSVFileStoreConnectorTest
             assertTrue(false);
         }
     }
+
+
+    @Test public void testLineEndings() throws Exception
+    {
+        File testFile = File.createTempFile("LineEndings", ".csv");
+
+        try
+        {
+            Files.write(testFile.toPath(), "Name,Value\r\nA,1\r\n\nB,2\rC,3\n  \n\n".getBytes(StandardCharsets.UTF_8));
+
+            CSVFileStoreConnector connector = new CSVFileStoreConnector();
+
+            connector.initialize(UUID.randomUUID().toString(), getConnectionProperties(testFile.getAbsolutePath()));
+            connector.start();
+
+            assertEquals(connector.getColumnNames(), Arrays.asList("Name", "Value"));
+            assertEquals(connector.getRecordCount(), 4);
+            assertEquals(connector.readRecord(0), Arrays.asList("A", "1"));
+            assertTrue(connector.readRecord(1) == null);
+            assertEquals(connector.readRecord(2), Arrays.asList("B", "2"));
+            assertEquals(connector.readRecord(3), Arrays.asList("C", "3"));
+
+            compareCursor(connector);
+
+            try (CSVFileRecordCursor cursor = connector.openRecordCursor())
+            {
+                assertEquals(cursor.nextBatch(3).size(), 3);
+                assertEquals(cursor.nextBatch(3).size(), 1);
+                assertEquals(cursor.getRecordCount(), 4);
+            }
+
+            try (CSVFileRecordCursor cursor = connector.openRecordCursor(2, 1))
+            {
+                assertEquals(cursor.nextRecord(), Arrays.asList("B", "2"));
+                assertTrue(cursor.nextRecord() == null);
+            }
+
+            try (CSVFileRecordCursor cursor = connector.openRecordCursor(3, 10))
+            {
+                assertEquals(cursor.nextRecord(), Arrays.asList("C", "3"));
+                assertTrue(cursor.nextRecord() == null);
+            }
+
+            connector.disconnect();
+        }
+        finally
+        {
+            testFile.delete();
+        }
+    }
+
+
+    @Test public void testFileChanges() throws Exception
+    {
+        File testFile = File.createTempFile("FileChanges", ".csv");
+
+        try
+        {
+            Files.write(testFile.toPath(), "Name,Value\nA,1\n".getBytes(StandardCharsets.UTF_8));
+
+            CSVFileStoreConnector connector = new CSVFileStoreConnector();
+
+            connector.initialize(UUID.randomUUID().toString(), getConnectionProperties(testFile.getAbsolutePath()));
+            connector.start();
+
+            assertEquals(connector.getRecordCount(), 1);
+
+            Files.write(testFile.toPath(), "Name,Value\nA,1\nB,2\nC,3\n".getBytes(StandardCharsets.UTF_8));
+
+            assertEquals(connector.getRecordCount(), 3);
+            assertEquals(connector.readRecord(2), Arrays.asList("C", "3"));
+
+            connector.disconnect();
+        }
+        finally
+        {
+            testFile.delete();
+        }
+    }
+
+
+    @Test public void testNonASCIILastLine() throws Exception
+    {
+        File   testFile     = File.createTempFile("NonASCIILastLine", ".csv");
+        byte[] lastLine     = " \u3000 \n".getBytes(StandardCharsets.UTF_8);
+        byte[] fileContents = "Name,Value\nA,1\n\n".getBytes(StandardCharsets.UTF_8);
+
+        try
+        {
+            ByteArrayOutputStream fileStream = new ByteArrayOutputStream();
+
+            fileStream.write(fileContents);
+            fileStream.write(lastLine);
+            Files.write(testFile.toPath(), fileStream.toByteArray());
+
+            CSVFileStoreConnector connector = new CSVFileStoreConnector();
+
+            connector.initialize(UUID.randomUUID().toString(), getConnectionProperties(testFile.getAbsolutePath()));
+            connector.start();
+
+            /*
+             * The last line is only white space if the default character set decodes the ideographic space.
+             */
+            boolean lastLineIsWhiteSpace = CSVFileStoreConnector.isWhiteSpace(new String(lastLine, Charset.defaultCharset()));
+
+            assertEquals(connector.getRecordCount(), lastLineIsWhiteSpace ? 1 : 3);
+            compareCursor(connector);
+
+            connector.disconnect();
+        }
+        finally
+        {
+            testFile.delete();
+        }
+    }
+
+
+    @Test public void testManyWhiteSpaceLines() throws Exception
+    {
+        File          testFile     = File.createTempFile("ManyWhiteSpaceLines", ".csv");
+        StringBuilder fileContents = new StringBuilder("Name,Value\nA,1\n");
+
+        try
+        {
+            for (int i = 0; i < 2000; i++)
+            {
+                fileContents.append((i % 2 == 0) ? " \n" : "\t\n");
+            }
+
+            fileContents.append("B,2\n");
+
+            for (int i = 0; i < 2 * 1024 * 1024; i++)
+            {
+                fileContents.append(' ');
+            }
+
+            fileContents.append("\nC,3\n\n\n");
+
+            Files.write(testFile.toPath(), fileContents.toString().getBytes(StandardCharsets.UTF_8));
+
+            CSVFileStoreConnector connector = new CSVFileStoreConnector();
+
+            connector.initialize(UUID.randomUUID().toString(), getConnectionProperties(testFile.getAbsolutePath()));
+            connector.start();
+
+            assertEquals(connector.getRecordCount(), 2004);
+            assertEquals(connector.readRecord(2001), Arrays.asList("B", "2"));
+            assertEquals(connector.readRecord(2003), Arrays.asList("C", "3"));
+
+            compareCursor(connector);
+
+            try (CSVFileRecordCursor cursor = connector.openRecordCursor(1, 4))
+            {
+                assertEquals(cursor.nextRecord(), Collections.singletonList(" "));
+                assertEquals(cursor.nextRecord(), Collections.singletonList("\t"));
+                assertEquals(cursor.nextBatch(10).size(), 2);
+                assertTrue(cursor.nextRecord() == null);
+            }
+
+            connector.disconnect();
+        }
+        finally
+        {
+            testFile.delete();
+        }
+    }
+
+
+    @Test public void testASCIICompatibleCharacterSets()
+    {
+        assertTrue(CSVFileStoreConnector.isASCIICompatible(StandardCharsets.UTF_8));
+        assertTrue(CSVFileStoreConnector.isASCIICompatible(StandardCharsets.US_ASCII));
+        assertTrue(CSVFileStoreConnector.isASCIICompatible(StandardCharsets.ISO_8859_1));
+        assertFalse(CSVFileStoreConnector.isASCIICompatible(StandardCharsets.UTF_16));
+        assertFalse(CSVFileStoreConnector.isASCIICompatible(StandardCharsets.UTF_16LE));
+        assertFalse(CSVFileStoreConnector.isASCIICompatible(Charset.forName("UTF-32")));
+    }
 }
@@ -2,6 +2,7 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.adapters.connectors.discoveryservices;
 
+import org.odpi.openmetadata.adapters.connectors.datastore.csvfile.CSVFileRecordCursor;
 import org.odpi.openmetadata.adapters.connectors.datastore.csvfile.CSVFileStoreConnector;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.discovery.DiscoveryAnnotationStore;
@@ -13,10 +14,19 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
- * CSVDiscoveryService is a discovery service implementation for analysing CSF Files.
+ * CSVDiscoveryService is a discovery service implementation for analysing CSF Files.  The file is profiled in a
+ * single pass using sketches that keep the memory needed for each column fixed, whatever the size of the file.
  */
 public class CSVDiscoveryService extends AuditableDiscoveryService
 {
@@ -32,6 +42,27 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
     private final static String BOOLEAN_UC_FALSE  = "FALSE";
     private final static String BOOLEAN_LC_FALSE  = "false";
 
+    private final static String VALUE_COUNT_NAME          = "valueCount";
+    private final static String EMPTY_VALUE_COUNT_NAME    = "emptyValueCount";
+    private final static String DISTINCT_VALUE_COUNT_NAME = "distinctValueCount";
+    private final static String VALUE_LIST_COMPLETE_NAME  = "valueListComplete";
+    private final static String LOWER_QUARTILE_NAME       = "lowerQuartile";
+    private final static String MEDIAN_NAME               = "median";
+    private final static String UPPER_QUARTILE_NAME       = "upperQuartile";
+
+    /*
+     * The value list and value counts are exact for columns with up to maxValueListSize distinct values.  Above this,
+     * they hold the most frequent values.  Files are profiled in parallel once they have minRecordsPerRange
+     * records for each thread.  The ranges of all of the files being profiled share one pool of worker threads.
+     */
+    private final static int    maxValueListSize   = 1000;
+    private final static long   minRecordsPerRange = 10000;
+    private final static int    maxWorkerThreads   = Runtime.getRuntime().availableProcessors();
+    private final static int    maxQueuedRanges    = maxWorkerThreads * 4;
+    private final static String workerThreadName   = "CSVDiscoveryService-profiler-";
+
+    private final static ExecutorService workerPool = createWorkerPool();
+
 
 
     /**
@@ -73,62 +104,263 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
 
 
     /**
-     * Return the updated value count for this column.
+     * Return the best guess for the data field type from the guesses for two different parts of the file.
      *
-     * @param existingValueCount current value count
-     * @param newFieldValue next field value to process
-     * @return new value count
+     * @param firstType type guess from the first part
+     * @param secondType type guess from the second part
+     * @return combined guess
      */
-    private Map<String, Integer> getValueCount(Map<String, Integer> existingValueCount, String newFieldValue)
+    private String mergeDataFieldTypes(String  firstType, String secondType)
     {
-        if (existingValueCount == null)
+        if (firstType == null)
         {
-            Map<String, Integer> newValueCount = new HashMap<>();
+            return secondType;
+        }
 
-            newValueCount.put(newFieldValue, 1);
+        if (secondType == null)
+        {
+            return firstType;
+        }
 
-            return newValueCount;
+        if (BOOLEAN_TYPE_NAME.equals(firstType) && BOOLEAN_TYPE_NAME.equals(secondType))
+        {
+            return BOOLEAN_TYPE_NAME;
         }
 
-        Integer   countForValue = existingValueCount.get(newFieldValue);
+        return STRING_TYPE_NAME;
+    }
+
+
+    /**
+     * Profile all of the records in the file.  Large files are divided into ranges of records that are profiled
+     * in parallel and the results merged.
+     *
+     * @param assetConnector connector to the file
+     * @param recordCount number of records in the file
+     * @param columnCount number of columns
+     * @param delimiterCount number of delimiters in each record
+     * @return profile of the file
+     * @throws Exception problem reading the file
+     */
+    private RecordsProfile profileRecords(CSVFileStoreConnector assetConnector,
+                                          long                  recordCount,
+                                          int                   columnCount,
+                                          int                   delimiterCount) throws Exception
+    {
+        int rangeCount = (int)Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), recordCount / minRecordsPerRange));
 
-        if (countForValue == null)
+        if (rangeCount == 1)
         {
-            existingValueCount.put(newFieldValue, 1);
+            return profileRange(assetConnector, 0, recordCount, columnCount, delimiterCount);
+        }
+
+        long                         recordsPerRange = (recordCount + rangeCount - 1) / rangeCount;
+        List<Future<RecordsProfile>> rangeProfiles   = new ArrayList<>();
+
+        try
+        {
+            for (int rangeNumber = 0; rangeNumber < rangeCount; rangeNumber++)
+            {
+                long firstRecord = rangeNumber * recordsPerRange;
+                long maxRecords  = Math.min(recordsPerRange, recordCount - firstRecord);
+
+                rangeProfiles.add(workerPool.submit(() -> profileRange(assetConnector, firstRecord, maxRecords, columnCount, delimiterCount)));
+            }
+
+            RecordsProfile recordsProfile = rangeProfiles.get(0).get();
+
+            for (int rangeNumber = 1; rangeNumber < rangeCount; rangeNumber++)
+            {
+                recordsProfile.merge(rangeProfiles.get(rangeNumber).get());
+            }
+
+            return recordsProfile;
+        }
+        catch (ExecutionException error)
+        {
+            if (error.getCause() instanceof Exception)
+            {
+                throw (Exception)error.getCause();
+            }
+
+            throw error;
         }
-        else
+        finally
         {
-            existingValueCount.put(newFieldValue, countForValue + 1);
+            /*
+             * If a range failed, the ranges still running are stopped so they do not hold on to the shared threads.
+             */
+            for (Future<RecordsProfile> rangeProfile : rangeProfiles)
+            {
+                rangeProfile.cancel(true);
+            }
         }
+    }
+
+
+    /**
+     * Create the pool of worker threads shared by all of the discovery services that are profiling files.  The
+     * threads are daemon threads so they do not hold up the shutdown of the platform, and idle threads are released.
+     * When the queue is full, the thread starting the discovery profiles the range itself.
+     *
+     * @return executor service
+     */
+    private static ExecutorService createWorkerPool()
+    {
+        ThreadFactory threadFactory = new ThreadFactory()
+        {
+            private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+            @Override
+            public Thread newThread(Runnable runnable)
+            {
+                Thread thread = new Thread(runnable, workerThreadName + threadNumber.getAndIncrement());
+
+                thread.setDaemon(true);
+
+                return thread;
+            }
+        };
 
-        return existingValueCount;
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maxWorkerThreads,
+                                                         maxWorkerThreads,
+                                                         60L,
+                                                         TimeUnit.SECONDS,
+                                                         new ArrayBlockingQueue<>(maxQueuedRanges),
+                                                         threadFactory,
+                                                         new ThreadPoolExecutor.CallerRunsPolicy());
+
+        pool.allowCoreThreadTimeOut(true);
+
+        return pool;
     }
 
 
     /**
-     * Return the updated value list.
+     * Profile a range of records from the file in a single pass.
      *
-     * @param existingValueList existing value list
-     * @param newFieldValue next field value to process
-     * @return updated value list
+     * @param assetConnector connector to the file
+     * @param firstRecord number of the first record in the range
+     * @param maxRecords number of records in the range
+     * @param columnCount number of columns
+     * @param delimiterCount number of delimiters in each record
+     * @return profile of the range
+     * @throws Exception problem reading the file
+     */
+    private RecordsProfile profileRange(CSVFileStoreConnector assetConnector,
+                                        long                  firstRecord,
+                                        long                  maxRecords,
+                                        int                   columnCount,
+                                        int                   delimiterCount) throws Exception
+    {
+        RecordsProfile recordsProfile = new RecordsProfile(columnCount);
+
+        try (CSVFileRecordCursor cursor = assetConnector.openRecordCursor(firstRecord, maxRecords))
+        {
+            List<String>  recordValues;
+
+            while ((recordValues = cursor.nextRecord()) != null)
+            {
+                if (! recordValues.isEmpty())
+                {
+                    int columnPosition = 0;
+                    int recordLength = 0;
+
+                    for (String fieldValue : recordValues)
+                    {
+                        if (columnPosition < columnCount)
+                        {
+                            ColumnProfile columnProfile = recordsProfile.columnProfiles[columnPosition];
+
+                            columnProfile.add(fieldValue, this.getDataFieldType(columnProfile.getDataFieldType(), fieldValue));
+                        }
+
+                        recordLength = recordLength + fieldValue.length();
+
+                        columnPosition++;
+                    }
+
+                    recordsProfile.size = recordsProfile.size + recordLength + delimiterCount;
+                }
+            }
+        }
+
+        return recordsProfile;
+    }
+
+
+    /**
+     * Return the data profile annotation for a column.
+     *
+     * @param columnProfile statistics for the column
+     * @return annotation
      */
-    private List<String> getValueList(List<String> existingValueList, String newFieldValue)
+    private DataProfileAnnotation getDataProfile(ColumnProfile columnProfile)
     {
-        if (existingValueList == null)
+        DataProfileAnnotation dataProfile = new DataProfileAnnotation();
+
+        if (columnProfile.getValueCount() > 0)
         {
-            List<String> newValueList = new ArrayList<>();
+            FrequentValuesSketch frequentValues = columnProfile.getFrequentValues();
+            Map<String, Integer> valueCount     = new HashMap<>();
+            List<String>         valueList      = new ArrayList<>();
+
+            for (Map.Entry<String, Long> entry : frequentValues.getCounts().entrySet())
+            {
+                valueList.add(entry.getKey());
+                valueCount.put(entry.getKey(), (int)Math.min(Integer.MAX_VALUE, entry.getValue()));
+            }
+
+            dataProfile.setValueCount(valueCount);
+            dataProfile.setValueList(valueList);
+            dataProfile.setInferredLength(columnProfile.getMaxValueLength());
 
-            newValueList.add(newFieldValue);
+            Map<String, Long>    profileCounts = new HashMap<>();
+            Map<String, Boolean> profileFlags  = new HashMap<>();
 
-            return newValueList;
+            profileCounts.put(VALUE_COUNT_NAME, columnProfile.getValueCount());
+            profileCounts.put(EMPTY_VALUE_COUNT_NAME, columnProfile.getEmptyValueCount());
+            profileCounts.put(DISTINCT_VALUE_COUNT_NAME, columnProfile.getDistinctValueCount());
+            profileFlags.put(VALUE_LIST_COMPLETE_NAME, frequentValues.isComplete());
+
+            dataProfile.setProfileCounts(profileCounts);
+            dataProfile.setProfileFlags(profileFlags);
+
+            QuantileDigest numericValues = columnProfile.getNumericValues();
+
+            if (numericValues != null)
+            {
+                Map<String, String> profileProperties = new HashMap<>();
+
+                profileProperties.put(LOWER_QUARTILE_NAME, formatNumber(numericValues.getQuantile(0.25)));
+                profileProperties.put(MEDIAN_NAME, formatNumber(numericValues.getQuantile(0.5)));
+                profileProperties.put(UPPER_QUARTILE_NAME, formatNumber(numericValues.getQuantile(0.75)));
+
+                dataProfile.setProfileProperties(profileProperties);
+                dataProfile.setValueRangeFrom(formatNumber(numericValues.getMin()));
+                dataProfile.setValueRangeTo(formatNumber(numericValues.getMax()));
+                dataProfile.setAverageValue(formatNumber(numericValues.getMean()));
+            }
         }
 
-        if (! existingValueList.contains(newFieldValue))
+        return dataProfile;
+    }
+
+
+    /**
+     * Format a number for an annotation, leaving off the decimal places from whole numbers.
+     *
+     * @param value number
+     * @return formatted number
+     */
+    private String formatNumber(double value)
+    {
+        if ((value == Math.rint(value)) && (Math.abs(value) < 1e15))
         {
-            existingValueList.add(newFieldValue);
+            return Long.toString((long)value);
         }
 
-        return existingValueList;
+        return Double.toString(value);
     }
 
 
@@ -148,7 +380,7 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
 
             CSVFileStoreConnector    assetConnector  = (CSVFileStoreConnector)discoveryContext.getAssetStore().getConnectorToAsset();
             DiscoveryAnnotationStore annotationStore = discoveryContext.getAnnotationStore();
-            int                      size            = 0;
+            long                     size            = 0;
             int                      delimiterCount  = 0;
             long                     recordCount     = assetConnector.getRecordCount();
 
@@ -162,7 +394,6 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
 
             List<String>                        columnNames = assetConnector.getColumnNames();
             Map<Integer, DataField>             dataFields  = new HashMap<>();
-            Map<Integer, DataProfileAnnotation> dataProfiles  = new HashMap<>();
 
             if (columnNames != null)
             {
@@ -178,10 +409,6 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
                         dataField.setDataFieldName(columnName);
                         dataFields.put(position, dataField);
 
-                        DataProfileAnnotation dataProfile = new DataProfileAnnotation();
-
-                        dataProfiles.put(position, dataProfile);
-
                         size = size + columnName.length();
                         position++;
                     }
@@ -194,39 +421,20 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
 
                 size = size + delimiterCount;
 
-                for (int recordNumber=0; recordNumber < recordCount ; recordNumber++)
-                {
-                    List<String>  recordValues = assetConnector.readRecord(recordNumber);
-
-                    if ((recordValues != null) && (! recordValues.isEmpty()))
-                    {
-                        int columnPosition = 0;
-                        int recordLength = 0;
-
-                        for (String fieldValue : recordValues)
-                        {
-                            DataField             dataField   = dataFields.get(columnPosition);
-                            DataProfileAnnotation dataProfile = dataProfiles.get(columnPosition);
+                RecordsProfile recordsProfile = this.profileRecords(assetConnector, recordCount, dataFields.size(), delimiterCount);
 
-                            dataField.setDataFieldType(this.getDataFieldType(dataField.getDataFieldType(), fieldValue));
+                size = size + recordsProfile.size;
 
-                            dataProfile.setValueCount(this.getValueCount(dataProfile.getValueCount(), fieldValue));
-                            dataProfile.setValueList(this.getValueList(dataProfile.getValueList(), fieldValue));
+                for (int columnNumber=0 ; columnNumber < dataFields.size(); columnNumber++)
+                {
+                    DataField     dataField     = dataFields.get(columnNumber);
+                    ColumnProfile columnProfile = recordsProfile.columnProfiles[columnNumber];
 
-                            recordLength = recordLength + fieldValue.length();
+                    dataField.setDataFieldType(columnProfile.getDataFieldType());
 
-                            columnPosition++;
-                        }
+                    String  dataFieldGUID = annotationStore.addDataFieldToDiscoveryReport(schemaAnnotationGUID, dataField);
 
-                        size = size + recordLength + delimiterCount;
-                    }
-                }
-
-                for (int columnNumber=0 ; columnNumber < columnNames.size(); columnNumber++)
-                {
-                    String  dataFieldGUID = annotationStore.addDataFieldToDiscoveryReport(schemaAnnotationGUID, dataFields.get(columnNumber));
-
-                    annotationStore.addAnnotationToDataField(dataFieldGUID, dataProfiles.get(columnNumber));
+                    annotationStore.addAnnotationToDataField(dataFieldGUID, this.getDataProfile(columnProfile));
                 }
             }
 
@@ -238,7 +446,7 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
 
             measurementAnnotation.setModifiedTime(assetConnector.getLastUpdateDate());
             measurementAnnotation.setDataSourceProperties(measurementProperties);
-            measurementAnnotation.setSize(size);
+            measurementAnnotation.setSize((int)Math.min(Integer.MAX_VALUE, size));
 
             annotationStore.addAnnotationToDiscoveryReport(measurementAnnotation);
         }
@@ -251,4 +459,49 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
             super.handleUnexpectedException(methodName, error);
         }
     }
+
+
+    /**
+     * RecordsProfile holds the statistics for a range of records in the file.
+     */
+    private class RecordsProfile
+    {
+        private ColumnProfile[] columnProfiles;
+        private long            size = 0;
+
+
+        /**
+         * Create an empty profile.
+         *
+         * @param columnCount number of columns
+         */
+        RecordsProfile(int columnCount)
+        {
+            columnProfiles = new ColumnProfile[columnCount];
+
+            for (int columnNumber = 0; columnNumber < columnCount; columnNumber++)
+            {
+                columnProfiles[columnNumber] = new ColumnProfile(maxValueListSize);
+            }
+        }
+
+
+        /**
+         * Add the statistics for the following range of records.
+         *
+         * @param other profile of the following range
+         */
+        void merge(RecordsProfile other)
+        {
+            for (int columnNumber = 0; columnNumber < columnProfiles.length; columnNumber++)
+            {
+                ColumnProfile columnProfile = columnProfiles[columnNumber];
+                ColumnProfile otherProfile  = other.columnProfiles[columnNumber];
+
+                columnProfile.merge(otherProfile, mergeDataFieldTypes(columnProfile.getDataFieldType(), otherProfile.getDataFieldType()));
+            }
+
+            size = size + other.size;
+        }
+    }
 }
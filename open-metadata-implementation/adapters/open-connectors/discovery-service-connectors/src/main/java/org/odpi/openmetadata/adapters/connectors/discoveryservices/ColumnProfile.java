@@ -0,0 +1,192 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+
+/**
+ * ColumnProfile accumulates the statistics for one column of a tabular asset.  The memory it uses is fixed,
+ * however many values are added.  Profiles built from different parts of the asset can be merged.
+ */
+class ColumnProfile
+{
+    private String               dataFieldType   = null;
+    private long                 valueCount      = 0;
+    private long                 emptyValueCount = 0;
+    private int                  maxValueLength  = 0;
+    private FrequentValuesSketch frequentValues;
+    private HyperLogLogSketch    distinctValues  = new HyperLogLogSketch();
+    private QuantileDigest       numericValues   = new QuantileDigest();
+
+
+    /**
+     * Create an empty profile.
+     *
+     * @param maxFrequentValues maximum number of values to count
+     */
+    ColumnProfile(int   maxFrequentValues)
+    {
+        this.frequentValues = new FrequentValuesSketch(maxFrequentValues);
+    }
+
+
+    /**
+     * Add a value from the column.
+     *
+     * @param fieldValue value
+     * @param newDataFieldType best guess for the data field type after this value
+     */
+    void add(String   fieldValue,
+             String   newDataFieldType)
+    {
+        dataFieldType = newDataFieldType;
+        valueCount++;
+        maxValueLength = Math.max(maxValueLength, fieldValue.length());
+
+        frequentValues.add(fieldValue);
+        distinctValues.add(fieldValue);
+
+        if (fieldValue.trim().isEmpty())
+        {
+            emptyValueCount++;
+        }
+        else if (numericValues != null)
+        {
+            try
+            {
+                double numericValue = Double.parseDouble(fieldValue);
+
+                if (Double.isNaN(numericValue) || Double.isInfinite(numericValue))
+                {
+                    numericValues = null;
+                }
+                else
+                {
+                    numericValues.add(numericValue);
+                }
+            }
+            catch (NumberFormatException notNumeric)
+            {
+                /*
+                 * The column is not numeric so there is no need to keep the digest.
+                 */
+                numericValues = null;
+            }
+        }
+    }
+
+
+    /**
+     * Add the statistics from another part of the asset to this profile.
+     *
+     * @param other profile to merge
+     * @param mergedDataFieldType best guess for the data field type from both profiles
+     */
+    void merge(ColumnProfile   other,
+               String          mergedDataFieldType)
+    {
+        dataFieldType = mergedDataFieldType;
+        valueCount = valueCount + other.valueCount;
+        emptyValueCount = emptyValueCount + other.emptyValueCount;
+        maxValueLength = Math.max(maxValueLength, other.maxValueLength);
+
+        frequentValues.merge(other.frequentValues);
+        distinctValues.merge(other.distinctValues);
+
+        if ((numericValues != null) && (other.numericValues != null))
+        {
+            numericValues.merge(other.numericValues);
+        }
+        else
+        {
+            numericValues = null;
+        }
+    }
+
+
+    /**
+     * Return the best guess for the data field type.
+     *
+     * @return type name or null if there are no values
+     */
+    String getDataFieldType()
+    {
+        return dataFieldType;
+    }
+
+
+    /**
+     * Return the number of values in the column.
+     *
+     * @return count
+     */
+    long getValueCount()
+    {
+        return valueCount;
+    }
+
+
+    /**
+     * Return the number of values that are empty or only white space.
+     *
+     * @return count
+     */
+    long getEmptyValueCount()
+    {
+        return emptyValueCount;
+    }
+
+
+    /**
+     * Return the length of the longest value.
+     *
+     * @return length
+     */
+    int getMaxValueLength()
+    {
+        return maxValueLength;
+    }
+
+
+    /**
+     * Return the counts of the most frequent values.
+     *
+     * @return sketch
+     */
+    FrequentValuesSketch getFrequentValues()
+    {
+        return frequentValues;
+    }
+
+
+    /**
+     * Return the number of distinct values.  This is exact while every distinct value has been counted
+     * and an estimate after that.
+     *
+     * @return count
+     */
+    long getDistinctValueCount()
+    {
+        if (frequentValues.isComplete())
+        {
+            return frequentValues.getCounts().size();
+        }
+
+        return distinctValues.estimate();
+    }
+
+
+    /**
+     * Return the digest of the numeric values.
+     *
+     * @return digest or null if the column has non-numeric values or no values that are not empty
+     */
+    QuantileDigest getNumericValues()
+    {
+        if ((numericValues == null) || (numericValues.getCount() == 0))
+        {
+            return null;
+        }
+
+        return numericValues;
+    }
+}
@@ -0,0 +1,139 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * FrequentValuesSketch keeps the counts of the most frequent values in a column using the Misra-Gries algorithm.
+ * While the column has no more distinct values than the capacity of the sketch, the counts are exact and in the
+ * order the values were first seen.  Once the capacity is exceeded, only the frequent values are kept and their
+ * counts are lower bounds.  Any value that occurs in more than 1/capacity of the records is always kept.
+ */
+class FrequentValuesSketch
+{
+    private int               capacity;
+    private Map<String, Long> counts   = new LinkedHashMap<>();
+    private boolean           complete = true;
+
+
+    /**
+     * Create an empty sketch.
+     *
+     * @param capacity maximum number of values to count
+     */
+    FrequentValuesSketch(int   capacity)
+    {
+        this.capacity = capacity;
+    }
+
+
+    /**
+     * Add a value to the sketch.
+     *
+     * @param value value from the column
+     */
+    void add(String   value)
+    {
+        Long count = counts.get(value);
+
+        if (count != null)
+        {
+            counts.put(value, count + 1);
+        }
+        else if (counts.size() < capacity)
+        {
+            counts.put(value, 1L);
+        }
+        else
+        {
+            /*
+             * No room for the new value so every count is reduced by one.  This discards the new value
+             * along with any value that has only been seen once since the last reduction.
+             */
+            complete = false;
+            reduce(1);
+        }
+    }
+
+
+    /**
+     * Add the counts from another sketch to this sketch.
+     *
+     * @param other sketch to merge
+     */
+    void merge(FrequentValuesSketch   other)
+    {
+        complete = complete && other.complete;
+
+        for (Map.Entry<String, Long> entry : other.counts.entrySet())
+        {
+            Long count = counts.get(entry.getKey());
+
+            counts.put(entry.getKey(), (count == null) ? entry.getValue() : count + entry.getValue());
+        }
+
+        if (counts.size() > capacity)
+        {
+            List<Long> sortedCounts = new ArrayList<>(counts.values());
+
+            sortedCounts.sort(Collections.reverseOrder());
+
+            complete = false;
+            reduce(sortedCounts.get(capacity));
+        }
+    }
+
+
+    /**
+     * Return whether the sketch has counted every distinct value.
+     *
+     * @return boolean flag
+     */
+    boolean isComplete()
+    {
+        return complete;
+    }
+
+
+    /**
+     * Return the counted values and their counts.  The counts are exact if the sketch is complete.
+     *
+     * @return map of value to count
+     */
+    Map<String, Long> getCounts()
+    {
+        return counts;
+    }
+
+
+    /**
+     * Reduce every count, removing the values whose count falls to zero.
+     *
+     * @param reduction amount to subtract from each count
+     */
+    private void reduce(long   reduction)
+    {
+        Iterator<Map.Entry<String, Long>> iterator = counts.entrySet().iterator();
+
+        while (iterator.hasNext())
+        {
+            Map.Entry<String, Long> entry = iterator.next();
+
+            if (entry.getValue() <= reduction)
+            {
+                iterator.remove();
+            }
+            else
+            {
+                entry.setValue(entry.getValue() - reduction);
+            }
+        }
+    }
+}
@@ -0,0 +1,269 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+import java.util.Arrays;
+
+
+/**
+ * QuantileDigest summarizes the numeric values in a column so that their quantiles can be estimated using a
+ * fixed amount of memory.  It is a simple merging t-digest: values are collected in a buffer and then merged
+ * into a sorted list of centroids.  Centroids near the ends of the distribution are kept small so the estimates
+ * of extreme quantiles are the most accurate.  The minimum, maximum and mean are exact.
+ */
+class QuantileDigest
+{
+    private static final double compression = 100;
+    private static final int    bufferSize  = 500;
+
+    /*
+     * Centroids, sorted by mean, followed by the values buffered since the last compression.
+     */
+    private double[] means   = new double[(int)compression * 2 + bufferSize];
+    private long[]   weights = new long[(int)compression * 2 + bufferSize];
+    private int      centroidCount = 0;
+    private int      entryCount    = 0;
+
+    private long     totalWeight = 0;
+    private double   sum         = 0;
+    private double   min         = Double.POSITIVE_INFINITY;
+    private double   max         = Double.NEGATIVE_INFINITY;
+
+
+    /**
+     * Add a value to the digest.
+     *
+     * @param value numeric value from the column
+     */
+    void add(double   value)
+    {
+        add(value, 1);
+
+        sum = sum + value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+
+    /**
+     * Add the values summarized by another digest to this digest.
+     *
+     * @param other digest to merge
+     */
+    void merge(QuantileDigest   other)
+    {
+        for (int i = 0; i < other.entryCount; i++)
+        {
+            add(other.means[i], other.weights[i]);
+        }
+
+        sum = sum + other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+
+    /**
+     * Return the number of values added to the digest.
+     *
+     * @return count
+     */
+    long getCount()
+    {
+        return totalWeight;
+    }
+
+
+    /**
+     * Return the smallest value.
+     *
+     * @return value
+     */
+    double getMin()
+    {
+        return min;
+    }
+
+
+    /**
+     * Return the largest value.
+     *
+     * @return value
+     */
+    double getMax()
+    {
+        return max;
+    }
+
+
+    /**
+     * Return the mean of the values.
+     *
+     * @return value
+     */
+    double getMean()
+    {
+        return sum / totalWeight;
+    }
+
+
+    /**
+     * Return the estimated value at a quantile.
+     *
+     * @param quantile quantile between 0 and 1
+     * @return estimated value
+     */
+    double getQuantile(double   quantile)
+    {
+        compress();
+
+        if (centroidCount == 0)
+        {
+            return Double.NaN;
+        }
+
+        if (centroidCount == 1)
+        {
+            return means[0];
+        }
+
+        double target     = quantile * totalWeight;
+        double cumulative = 0;
+
+        for (int i = 0; i < centroidCount; i++)
+        {
+            double centre = cumulative + weights[i] / 2.0;
+
+            if (target < centre)
+            {
+                if (i == 0)
+                {
+                    return interpolate(min, means[0], target / centre);
+                }
+
+                double previousCentre = cumulative - weights[i - 1] / 2.0;
+
+                return interpolate(means[i - 1], means[i], (target - previousCentre) / (centre - previousCentre));
+            }
+
+            cumulative = cumulative + weights[i];
+        }
+
+        double lastCentre = totalWeight - weights[centroidCount - 1] / 2.0;
+
+        return interpolate(means[centroidCount - 1], max, (target - lastCentre) / (totalWeight - lastCentre));
+    }
+
+
+    /**
+     * Add a weighted value to the buffer, compressing the digest if the buffer is full.
+     *
+     * @param mean value
+     * @param weight number of values it represents
+     */
+    private void add(double   mean,
+                     long     weight)
+    {
+        if (entryCount == means.length)
+        {
+            compress();
+        }
+
+        means[entryCount] = mean;
+        weights[entryCount] = weight;
+        entryCount++;
+        totalWeight = totalWeight + weight;
+    }
+
+
+    /**
+     * Sort the centroids and buffered values and merge neighbours as long as the merged centroid stays within
+     * the size allowed at its position in the distribution.
+     */
+    private void compress()
+    {
+        if (entryCount == centroidCount)
+        {
+            return;
+        }
+
+        Integer[] order = new Integer[entryCount];
+
+        for (int i = 0; i < entryCount; i++)
+        {
+            order[i] = i;
+        }
+
+        Arrays.sort(order, (left, right) -> Double.compare(means[left], means[right]));
+
+        double[] sortedMeans   = new double[means.length];
+        long[]   sortedWeights = new long[weights.length];
+        int      newCount      = 0;
+        long     weightSoFar   = 0;
+
+        sortedMeans[0] = means[order[0]];
+        sortedWeights[0] = weights[order[0]];
+
+        for (int i = 1; i < entryCount; i++)
+        {
+            double nextMean       = means[order[i]];
+            long   nextWeight     = weights[order[i]];
+            long   proposedWeight = sortedWeights[newCount] + nextWeight;
+            double startQuantile  = (double)weightSoFar / totalWeight;
+            double endQuantile    = (double)(weightSoFar + proposedWeight) / totalWeight;
+
+            if (scale(endQuantile) - scale(startQuantile) <= 1)
+            {
+                sortedMeans[newCount] = sortedMeans[newCount] + (nextMean - sortedMeans[newCount]) * nextWeight / proposedWeight;
+                sortedWeights[newCount] = proposedWeight;
+            }
+            else
+            {
+                weightSoFar = weightSoFar + sortedWeights[newCount];
+                newCount++;
+                sortedMeans[newCount] = nextMean;
+                sortedWeights[newCount] = nextWeight;
+            }
+        }
+
+        means = sortedMeans;
+        weights = sortedWeights;
+        centroidCount = newCount + 1;
+        entryCount = centroidCount;
+
+        if (entryCount > means.length - bufferSize)
+        {
+            means = Arrays.copyOf(means, entryCount + bufferSize);
+            weights = Arrays.copyOf(weights, entryCount + bufferSize);
+        }
+    }
+
+
+    /**
+     * Map a quantile onto the scale used to limit the size of the centroids.  A centroid may span at most one unit
+     * of the scale, which is stretched at the ends of the distribution, and the whole scale is compression/2 units.
+     *
+     * @param quantile quantile between 0 and 1
+     * @return position on the scale
+     */
+    private double scale(double   quantile)
+    {
+        return compression / (2 * Math.PI) * Math.asin(2 * Math.min(1, quantile) - 1);
+    }
+
+
+    /**
+     * Return the value part way between two values.
+     *
+     * @param from start value
+     * @param to end value
+     * @param fraction how far to go from start to end
+     * @return interpolated value
+     */
+    private double interpolate(double   from,
+                               double   to,
+                               double   fraction)
+    {
+        return from + (to - from) * Math.max(0, Math.min(1, fraction));
+    }
+}
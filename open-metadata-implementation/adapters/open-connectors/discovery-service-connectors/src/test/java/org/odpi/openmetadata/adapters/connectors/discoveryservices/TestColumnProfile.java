@@ -0,0 +1,104 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Verify that merging the ColumnProfiles of two parts of a column gives the same statistics as profiling the
+ * whole column.
+ */
+public class TestColumnProfile
+{
+    private static final String TYPE_NAME = "string";
+
+
+    @Test
+    public void testMergeMatchesSingleProfile()
+    {
+        List<String>  values = Arrays.asList("10", "2", " ", "7", "10", "", "3.5", "2", "10");
+        ColumnProfile whole  = getProfile(values, 100);
+        ColumnProfile merged = getProfile(values.subList(0, 4), 100);
+
+        merged.merge(getProfile(values.subList(4, values.size()), 100), TYPE_NAME);
+
+        for (ColumnProfile profile : new ColumnProfile[] { whole, merged })
+        {
+            assertEquals(profile.getValueCount(), 9);
+            assertEquals(profile.getEmptyValueCount(), 2);
+            assertEquals(profile.getMaxValueLength(), 3);
+            assertEquals(profile.getDistinctValueCount(), 6);
+            assertTrue(profile.getFrequentValues().isComplete());
+            assertEquals(profile.getFrequentValues().getCounts().get("10"), Long.valueOf(3));
+
+            QuantileDigest numericValues = profile.getNumericValues();
+
+            assertNotNull(numericValues);
+            assertEquals(numericValues.getCount(), 7);
+            assertEquals(numericValues.getMin(), 2.0);
+            assertEquals(numericValues.getMax(), 10.0);
+            assertEquals(numericValues.getMean(), 44.5 / 7, 1e-9);
+        }
+    }
+
+
+    @Test
+    public void testNonNumericPartDropsTheDigest()
+    {
+        ColumnProfile merged = getProfile(Arrays.asList("1", "2", "3"), 100);
+
+        merged.merge(getProfile(Arrays.asList("4", "five"), 100), TYPE_NAME);
+
+        assertNull(merged.getNumericValues());
+        assertEquals(merged.getValueCount(), 5);
+    }
+
+
+    @Test
+    public void testDistinctCountIsEstimatedOnceTheValueListIsFull()
+    {
+        ColumnProfile merged = getProfile(getValues(0, 6000), 1000);
+
+        merged.merge(getProfile(getValues(4000, 10000), 1000), TYPE_NAME);
+
+        assertFalse(merged.getFrequentValues().isComplete());
+        assertTrue(Math.abs(merged.getDistinctValueCount() - 10000) <= 500,
+                   "estimate " + merged.getDistinctValueCount());
+    }
+
+
+    private ColumnProfile getProfile(List<String> values, int maxFrequentValues)
+    {
+        ColumnProfile profile = new ColumnProfile(maxFrequentValues);
+
+        for (String value : values)
+        {
+            profile.add(value, TYPE_NAME);
+        }
+
+        return profile;
+    }
+
+
+    private List<String> getValues(int start, int end)
+    {
+        String[] values = new String[end - start];
+
+        for (int i = start; i < end; i++)
+        {
+            values[i - start] = "name-" + i;
+        }
+
+        return Arrays.asList(values);
+    }
+}
@@ -0,0 +1,181 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Verify that FrequentValuesSketch counts exactly while it has room for every value and that, once it has run out
+ * of room, its counts stay within the Misra-Gries error bound of the exact counts, including after a merge.
+ */
+public class TestFrequentValuesSketch
+{
+    private static final int CAPACITY     = 50;
+    private static final int RECORD_COUNT = 100000;
+
+
+    @Test
+    public void testExactCountsWithinCapacity()
+    {
+        FrequentValuesSketch sketch = new FrequentValuesSketch(CAPACITY);
+
+        for (String value : new String[] { "b", "a", "b", "c", "b", "a" })
+        {
+            sketch.add(value);
+        }
+
+        assertTrue(sketch.isComplete());
+        assertEquals(new ArrayList<>(sketch.getCounts().keySet()), Arrays.asList("b", "a", "c"));
+        assertEquals(sketch.getCounts().get("b"), Long.valueOf(3));
+        assertEquals(sketch.getCounts().get("a"), Long.valueOf(2));
+        assertEquals(sketch.getCounts().get("c"), Long.valueOf(1));
+    }
+
+
+    @Test
+    public void testMergeWithinCapacityIsExact()
+    {
+        List<String>         values = getSkewedValues(new Random(1), 2000, 20);
+        FrequentValuesSketch first  = getSketch(values.subList(0, 700));
+        FrequentValuesSketch second = getSketch(values.subList(700, values.size()));
+
+        first.merge(second);
+
+        assertTrue(first.isComplete());
+        assertEquals(first.getCounts(), getExactCounts(values));
+    }
+
+
+    @Test
+    public void testErrorBoundOnceCapacityIsExceeded()
+    {
+        List<String>         values = getSkewedValues(new Random(2), RECORD_COUNT, 5000);
+        FrequentValuesSketch sketch = getSketch(values);
+
+        assertFalse(sketch.isComplete());
+        assertWithinErrorBound(sketch, getExactCounts(values), values.size());
+    }
+
+
+    @Test
+    public void testErrorBoundAfterMerge()
+    {
+        Random               random = new Random(3);
+        List<String>         values = getSkewedValues(random, RECORD_COUNT, 5000);
+        FrequentValuesSketch merged = new FrequentValuesSketch(CAPACITY);
+
+        /*
+         * The ranges have different distributions so the merge has to discard values that were kept by one range.
+         */
+        for (int range = 0; range < 4; range++)
+        {
+            List<String> rangeValues = values.subList(range * RECORD_COUNT / 4, (range + 1) * RECORD_COUNT / 4);
+
+            Collections.shuffle(rangeValues, random);
+            merged.merge(getSketch(rangeValues));
+        }
+
+        assertFalse(merged.isComplete());
+        assertTrue(merged.getCounts().size() <= CAPACITY);
+        assertWithinErrorBound(merged, getExactCounts(values), values.size());
+    }
+
+
+    /**
+     * Each count is a lower bound that is at most recordCount / (capacity + 1) below the exact count, so every value
+     * that occurs more often than that is kept.
+     *
+     * @param sketch sketch to check
+     * @param exactCounts exact count of each value
+     * @param recordCount number of values added
+     */
+    private void assertWithinErrorBound(FrequentValuesSketch sketch,
+                                        Map<String, Long>    exactCounts,
+                                        long                 recordCount)
+    {
+        long maxError = recordCount / (CAPACITY + 1);
+
+        for (Map.Entry<String, Long> entry : sketch.getCounts().entrySet())
+        {
+            long exactCount = exactCounts.get(entry.getKey());
+
+            assertTrue(entry.getValue() <= exactCount, "count of " + entry.getKey() + " is too high");
+            assertTrue(entry.getValue() >= exactCount - maxError, "count of " + entry.getKey() + " is too low");
+        }
+
+        int frequentValueCount = 0;
+
+        for (Map.Entry<String, Long> entry : exactCounts.entrySet())
+        {
+            if (entry.getValue() > maxError)
+            {
+                frequentValueCount++;
+                assertTrue(sketch.getCounts().containsKey(entry.getKey()), "frequent value " + entry.getKey() + " is missing");
+            }
+        }
+
+        assertTrue(frequentValueCount > 0);
+    }
+
+
+    /**
+     * Return values where value i occurs roughly in proportion to 1 / (i + 1).
+     *
+     * @param random source of randomness
+     * @param count number of values
+     * @param distinctCount number of distinct values
+     * @return values
+     */
+    private List<String> getSkewedValues(Random random, int count, int distinctCount)
+    {
+        double[] cumulative = new double[distinctCount];
+        double   total      = 0;
+
+        for (int i = 0; i < distinctCount; i++)
+        {
+            total = total + 1.0 / (i + 1);
+            cumulative[i] = total;
+        }
+
+        List<String> values = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++)
+        {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+
+            values.add("value" + ((index >= 0) ? index : -index - 1));
+        }
+
+        return values;
+    }
+
+
+    private FrequentValuesSketch getSketch(List<String> values)
+    {
+        FrequentValuesSketch sketch = new FrequentValuesSketch(CAPACITY);
+
+        values.forEach(sketch::add);
+
+        return sketch;
+    }
+
+
+    private Map<String, Long> getExactCounts(List<String> values)
+    {
+        Map<String, Long> counts = new HashMap<>();
+
+        for (String value : values)
+        {
+            counts.merge(value, 1L, Long::sum);
+        }
+
+        return counts;
+    }
+}
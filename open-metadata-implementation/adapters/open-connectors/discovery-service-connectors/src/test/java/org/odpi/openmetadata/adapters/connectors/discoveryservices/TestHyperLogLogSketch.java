@@ -0,0 +1,91 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Verify that the estimates of HyperLogLogSketch stay within three standard errors (about 5%) of the exact number
+ * of distinct values, and that merging sketches gives the same estimate as one sketch of all of the values.
+ */
+public class TestHyperLogLogSketch
+{
+    private static final double MAX_RELATIVE_ERROR = 0.05;
+
+
+    @Test
+    public void testSmallCountsAreNearlyExact()
+    {
+        for (int distinctCount : new int[] { 0, 1, 10, 100 })
+        {
+            HyperLogLogSketch sketch = getSketch(0, distinctCount);
+
+            assertTrue(Math.abs(sketch.estimate() - distinctCount) <= Math.max(1, distinctCount / 100),
+                       "estimate " + sketch.estimate() + " for " + distinctCount + " values");
+        }
+    }
+
+
+    @Test
+    public void testRepeatedValuesAreCountedOnce()
+    {
+        HyperLogLogSketch sketch = getSketch(0, 1000);
+
+        for (int i = 0; i < 10; i++)
+        {
+            sketch.merge(getSketch(0, 1000));
+        }
+
+        assertEquals(sketch.estimate(), getSketch(0, 1000).estimate());
+    }
+
+
+    @Test
+    public void testErrorBoundForLargeCounts()
+    {
+        for (int distinctCount : new int[] { 5000, 50000, 500000 })
+        {
+            assertWithinErrorBound(getSketch(0, distinctCount).estimate(), distinctCount);
+        }
+    }
+
+
+    @Test
+    public void testMergeOfOverlappingRanges()
+    {
+        HyperLogLogSketch first  = getSketch(0, 60000);
+        HyperLogLogSketch second = getSketch(40000, 100000);
+
+        first.merge(second);
+
+        assertEquals(first.estimate(), getSketch(0, 100000).estimate());
+        assertWithinErrorBound(first.estimate(), 100000);
+    }
+
+
+    private void assertWithinErrorBound(long estimate, long distinctCount)
+    {
+        assertTrue(Math.abs(estimate - distinctCount) <= distinctCount * MAX_RELATIVE_ERROR,
+                   "estimate " + estimate + " for " + distinctCount + " values");
+    }
+
+
+    /**
+     * Return a sketch of the values from start (inclusive) to end (exclusive).
+     */
+    private HyperLogLogSketch getSketch(int start, int end)
+    {
+        HyperLogLogSketch sketch = new HyperLogLogSketch();
+
+        for (int i = start; i < end; i++)
+        {
+            sketch.add("customer-" + i);
+        }
+
+        return sketch;
+    }
+}
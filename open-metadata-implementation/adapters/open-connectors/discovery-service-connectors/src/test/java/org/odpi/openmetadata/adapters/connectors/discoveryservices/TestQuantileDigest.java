@@ -0,0 +1,136 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.discoveryservices;
+
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Verify that QuantileDigest keeps the minimum, maximum and mean exact and that its quantile estimates are within
+ * 1% in rank of the exact quantiles, both for a single digest and for digests that are merged.
+ */
+public class TestQuantileDigest
+{
+    private static final double   MAX_RANK_ERROR = 0.01;
+    private static final double[] QUANTILES      = { 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99 };
+
+
+    @Test
+    public void testSmallDigest()
+    {
+        QuantileDigest digest = new QuantileDigest();
+
+        digest.add(3);
+        digest.add(1);
+        digest.add(2);
+
+        assertEquals(digest.getCount(), 3);
+        assertEquals(digest.getMin(), 1.0);
+        assertEquals(digest.getMax(), 3.0);
+        assertEquals(digest.getMean(), 2.0);
+        assertEquals(digest.getQuantile(0.5), 2.0);
+    }
+
+
+    @Test
+    public void testErrorBoundForUniformValues()
+    {
+        double[] values = new double[100000];
+        Random   random = new Random(1);
+
+        for (int i = 0; i < values.length; i++)
+        {
+            values[i] = random.nextDouble() * 1000;
+        }
+
+        assertWithinErrorBound(getDigest(values, 0, values.length), values);
+    }
+
+
+    @Test
+    public void testErrorBoundForSkewedValues()
+    {
+        double[] values = new double[100000];
+        Random   random = new Random(2);
+
+        for (int i = 0; i < values.length; i++)
+        {
+            values[i] = Math.exp(random.nextGaussian() * 2);
+        }
+
+        assertWithinErrorBound(getDigest(values, 0, values.length), values);
+    }
+
+
+    @Test
+    public void testErrorBoundAfterMerge()
+    {
+        double[] values = new double[100000];
+        Random   random = new Random(3);
+
+        /*
+         * Each range has a different distribution so the merged digest has to interleave their centroids.
+         */
+        for (int i = 0; i < values.length; i++)
+        {
+            values[i] = (i / 25000) * 100 + random.nextGaussian() * 50;
+        }
+
+        QuantileDigest merged = getDigest(values, 0, 25000);
+
+        for (int range = 1; range < 4; range++)
+        {
+            merged.merge(getDigest(values, range * 25000, (range + 1) * 25000));
+        }
+
+        assertWithinErrorBound(merged, values);
+    }
+
+
+    private void assertWithinErrorBound(QuantileDigest digest, double[] values)
+    {
+        double[] sortedValues = values.clone();
+        double   sum          = 0;
+
+        Arrays.sort(sortedValues);
+
+        for (double value : values)
+        {
+            sum = sum + value;
+        }
+
+        assertEquals(digest.getCount(), values.length);
+        assertEquals(digest.getMin(), sortedValues[0]);
+        assertEquals(digest.getMax(), sortedValues[sortedValues.length - 1]);
+        assertEquals(digest.getMean(), sum / values.length, 1e-9 * Math.abs(sum / values.length));
+
+        for (double quantile : QUANTILES)
+        {
+            double estimate = digest.getQuantile(quantile);
+            int    rank     = Arrays.binarySearch(sortedValues, estimate);
+            double rankQuantile = (double)((rank >= 0) ? rank : -rank - 1) / sortedValues.length;
+
+            assertTrue(Math.abs(rankQuantile - quantile) <= MAX_RANK_ERROR,
+                       "quantile " + quantile + " estimated at rank quantile " + rankQuantile);
+        }
+    }
+
+
+    private QuantileDigest getDigest(double[] values, int start, int end)
+    {
+        QuantileDigest digest = new QuantileDigest();
+
+        for (int i = start; i < end; i++)
+        {
+            digest.add(values[i]);
+        }
+
+        return digest;
+    }
+}
@@ -28,6 +28,10 @@ import org.slf4j.LoggerFactory;
 /**
  * KafkaOpenMetadataEventConsumer is used to process events from kafka topic and is part of native
  * Apache Kafka event/messaging infrastructure.
+ *
+ * By default, the received events are passed to the connector's topic listener thread which delivers them
+ * one at a time.  If dispatch threads are configured, the events are delivered in parallel by a
+ * KafkaOpenMetadataEventDispatcher that keeps the events with the same ordering key in sequence.
  */
 public class KafkaOpenMetadataEventConsumer implements Runnable
 {
@@ -44,6 +48,7 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
     private              String                          localServerId;
 
     private              KafkaOpenMetadataTopicConnector connector;
+    private              KafkaOpenMetadataEventDispatcher dispatcher = null;
 
     private Map<TopicPartition, OffsetAndMetadata> currentOffsets = Collections.synchronizedMap(new HashMap<>());
     private long nextMessageProcessingStatusCheckTime = System.currentTimeMillis();
@@ -106,6 +111,23 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
         this.messageProcessingStatusCheckIntervalMs = config.getLongProperty(KafkaOpenMetadataEventConsumerProperty.COMMIT_CHECK_INTERVAL_MS);
         long messageTimeoutMins = config.getLongProperty(KafkaOpenMetadataEventConsumerProperty.CONSUMER_EVENT_PROCESSING_TIMEOUT_MINS);
         this.messageProcessingTimeoutMs = messageTimeoutMins < 0 ? messageTimeoutMins : TimeUnit.MILLISECONDS.convert(messageTimeoutMins, TimeUnit.MINUTES);
+
+        int dispatchThreadCount = config.getIntProperty(KafkaOpenMetadataEventConsumerProperty.DISPATCH_THREAD_COUNT);
+        if (dispatchThreadCount > 0)
+        {
+            String  orderingKey     = config.getProperty(KafkaOpenMetadataEventConsumerProperty.DISPATCH_ORDERING_KEY);
+            boolean orderByInstance = (orderingKey != null) && "instance".equalsIgnoreCase(orderingKey.trim());
+
+            this.dispatcher = new KafkaOpenMetadataEventDispatcher("KafkaEventDispatcher-" + topicName + "-",
+                                                                   dispatchThreadCount,
+                                                                   config.getIntProperty(KafkaOpenMetadataEventConsumerProperty.DISPATCH_QUEUE_SIZE),
+                                                                   orderByInstance,
+                                                                   connector);
+
+            auditLog.logMessage(actionDescription,
+                                KafkaOpenMetadataTopicConnectorAuditCode.KAFKA_CONSUMER_PARALLEL_DISPATCH.getMessageDefinition
+                                        (topicName, Integer.toString(dispatchThreadCount), orderByInstance ? "instance" : "partition"));
+        }
     }
 
 
@@ -146,7 +168,16 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
             
             
                 	
-            	int nUnprocessedEvents = connector.getNumberOfUnprocessedEvents();
+            	int nUnprocessedEvents = getNumberOfUndeliveredEvents();
+            	if (! pollRequired && dispatcher != null && dispatcher.isBackedUp())
+            	{
+            		//A dispatch thread holds as many events as it is allowed to.  Stop reading
+            		//events until it has delivered some of them.
+            		log.debug("Skipping Kafka polling since a dispatch thread queue is full");
+            		awaitNextPollingTime();
+            		continue;
+            	}
+
             	if (! pollRequired && nUnprocessedEvents > maxQueueSize)
             	{
             		//The connector queue is too big.  Wait until the size goes down until
@@ -174,7 +205,7 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
                         try
                         {
                             addUnprocessedEvent(record.partition(), record.topic(), event);
-                            connector.distributeToListeners(event);
+                            distributeToListeners(record.partition(), event);
                         }
                         catch (Exception error)
                         {
@@ -234,6 +265,13 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
             }
         }
 
+        if (dispatcher != null)
+        {
+            //Let the dispatcher threads finish delivering the events they hold
+            //so that their offsets can be committed below
+            dispatcher.shutdown();
+        }
+
         if (consumer != null)
         {
             try
@@ -287,6 +325,43 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
         }
     }
 
+    /**
+     * Pass an event to the dispatcher threads, if there are any, or the connector's topic listener thread.
+     *
+     * @param partition partition that the event was received from
+     * @param event event to deliver
+     */
+    private void distributeToListeners(int partition, KafkaIncomingEvent event)
+    {
+        if (dispatcher != null)
+        {
+            dispatcher.dispatch(partition, event);
+        }
+        else
+        {
+            connector.distributeToListeners(event);
+        }
+    }
+
+
+    /**
+     * Gets the number of received events that have not yet been passed to the
+     * topic listeners.
+     *
+     * @return count
+     */
+    private int getNumberOfUndeliveredEvents()
+    {
+        int result = connector.getNumberOfUnprocessedEvents();
+
+        if (dispatcher != null)
+        {
+            result = result + dispatcher.getNumberOfPendingEvents();
+        }
+        return result;
+    }
+
+
     private void addUnprocessedEvent(int partition, String topic, KafkaIncomingEvent event) {
         if (isAutoCommitEnabled) {
             return;
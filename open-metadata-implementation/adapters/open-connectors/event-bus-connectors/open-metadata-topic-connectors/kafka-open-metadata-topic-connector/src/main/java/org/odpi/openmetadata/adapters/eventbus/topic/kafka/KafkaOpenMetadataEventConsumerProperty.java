@@ -54,7 +54,29 @@ public enum KafkaOpenMetadataEventConsumerProperty
      * used if auto commit is disabled in the Kafka consumer. 
      * 
      */
-    COMMIT_CHECK_INTERVAL_MS("commit_check_interval_ms", "5000");
+    COMMIT_CHECK_INTERVAL_MS("commit_check_interval_ms", "5000"),
+
+    /**
+     * The number of threads used to deliver received events to the topic listeners.  When
+     * the value is zero, events are delivered one at a time on the topic listener thread.
+     */
+    DISPATCH_THREAD_COUNT("dispatch_thread_count", "0"),
+
+    /**
+     * The number of events that each dispatch thread can hold before the consumer stops reading
+     * new events.  While a dispatch thread holds this many events, polling is skipped (as it is
+     * when the event_bus_max_queue_size is exceeded) so the consumer does not read events faster
+     * than the topic listeners can process them.
+     */
+    DISPATCH_QUEUE_SIZE("dispatch_queue_size", "100"),
+
+    /**
+     * Controls which events are delivered in order when there are dispatch threads.  With
+     * "partition", the events from each partition are delivered in offset order.  With
+     * "instance", the events about each instance (or type) are delivered in offset order and
+     * events about different instances on the same partition may be delivered in parallel.
+     */
+    DISPATCH_ORDERING_KEY("dispatch_ordering_key", "partition");
 
 	private String propertyName;
 	private String defaultValue;
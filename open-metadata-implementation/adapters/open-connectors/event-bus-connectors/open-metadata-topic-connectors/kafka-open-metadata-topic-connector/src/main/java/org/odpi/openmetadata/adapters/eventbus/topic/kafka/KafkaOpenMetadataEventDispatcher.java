@@ -0,0 +1,288 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * KafkaOpenMetadataEventDispatcher passes the events received by the KafkaOpenMetadataEventConsumer to the
+ * topic listeners on a set of dispatcher threads rather than the single topic listener thread.
+ *
+ * Each dispatcher thread works through its own queue of events in the order they were received.  An event
+ * is placed on a queue chosen from its ordering key, so all events with the same key are processed one
+ * after another in offset order, while events with different keys are processed in parallel.  The key is
+ * either the partition the event came from, or the unique identifier (guid) of the instance or type that
+ * the event describes.  Events without a guid are ordered by partition.
+ *
+ * The consumer still records every event in its unprocessed event queues before it is dispatched, so an
+ * offset is only committed once all of the earlier events on the partition have been fully processed.
+ *
+ * Dispatch never blocks, since the consumer must keep polling Kafka to stay in its consumer group.  Instead,
+ * the dispatcher reports when any of its queues holds the configured number of events, and the consumer
+ * skips polling until the dispatcher threads have caught up, so it stops reading events that the topic
+ * listeners can not keep up with.
+ */
+class KafkaOpenMetadataEventDispatcher
+{
+    private static final Logger      log         = LoggerFactory.getLogger(KafkaOpenMetadataEventDispatcher.class);
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    private static final String GUID_PROPERTY_NAME = "guid";
+    private static final long   SHUTDOWN_WAIT_SEC  = 30;
+
+    private final ThreadPoolExecutor[]            dispatcherThreads;
+    private final int                             queueSize;
+    private final boolean                         orderByInstance;
+    private final KafkaOpenMetadataTopicConnector connector;
+    private final AtomicInteger                   pendingEventCount = new AtomicInteger(0);
+
+
+    /**
+     * Constructor for the dispatcher.
+     *
+     * @param threadName prefix for the names of the dispatcher threads
+     * @param threadCount number of dispatcher threads
+     * @param queueSize number of events each dispatcher thread can hold before the dispatcher is backed up
+     * @param orderByInstance should events be ordered by instance guid rather than partition
+     * @param connector connector holding the inbound listeners
+     */
+    KafkaOpenMetadataEventDispatcher(String                          threadName,
+                                     int                             threadCount,
+                                     int                             queueSize,
+                                     boolean                         orderByInstance,
+                                     KafkaOpenMetadataTopicConnector connector)
+    {
+        this.dispatcherThreads = new ThreadPoolExecutor[threadCount];
+        this.queueSize = Math.max(queueSize, 1);
+        this.orderByInstance = orderByInstance;
+        this.connector = connector;
+
+        for (int i = 0; i < threadCount; i++)
+        {
+            final String dispatcherThreadName = threadName + i;
+
+            dispatcherThreads[i] = new ThreadPoolExecutor(1,
+                                                          1,
+                                                          0L,
+                                                          TimeUnit.MILLISECONDS,
+                                                          new LinkedBlockingQueue<>(),
+                                                          runnable ->
+                                                          {
+                                                              Thread thread = new Thread(runnable, dispatcherThreadName);
+
+                                                              thread.setDaemon(true);
+
+                                                              return thread;
+                                                          });
+        }
+    }
+
+
+    /**
+     * Queue an event for delivery to the topic listeners.  This does not wait, even if the queue already
+     * holds the configured number of events.
+     *
+     * @param partition partition that the event was received from
+     * @param event event to deliver
+     * @throws RejectedExecutionException the dispatcher has been shut down
+     */
+    void dispatch(int                partition,
+                  KafkaIncomingEvent event) throws RejectedExecutionException
+    {
+        ThreadPoolExecutor dispatcherThread = dispatcherThreads[getDispatcherThreadIndex(partition, event)];
+
+        pendingEventCount.incrementAndGet();
+
+        try
+        {
+            dispatcherThread.execute(() -> deliver(event));
+        }
+        catch (RejectedExecutionException error)
+        {
+            pendingEventCount.decrementAndGet();
+            throw error;
+        }
+    }
+
+
+    /**
+     * Return the number of events that have been dispatched but not yet delivered to the topic listeners.
+     *
+     * @return count
+     */
+    int getNumberOfPendingEvents()
+    {
+        return pendingEventCount.get();
+    }
+
+
+    /**
+     * Return whether any of the dispatcher threads holds the configured number of events waiting for delivery.
+     * The consumer should stop reading events until this is false again.
+     *
+     * @return boolean
+     */
+    boolean isBackedUp()
+    {
+        for (ThreadPoolExecutor dispatcherThread : dispatcherThreads)
+        {
+            if (dispatcherThread.getQueue().size() >= queueSize)
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Stop accepting new events and give the dispatcher threads a chance to deliver the events they
+     * already hold, so their offsets can be committed before the consumer closes.  Events that are
+     * not delivered in time are received again when the consumer restarts.
+     */
+    void shutdown()
+    {
+        for (ThreadPoolExecutor dispatcherThread : dispatcherThreads)
+        {
+            dispatcherThread.shutdown();
+        }
+
+        try
+        {
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(SHUTDOWN_WAIT_SEC);
+
+            for (ThreadPoolExecutor dispatcherThread : dispatcherThreads)
+            {
+                dispatcherThread.awaitTermination(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            }
+        }
+        catch (InterruptedException error)
+        {
+            log.debug("Interrupted while waiting for the dispatcher threads to finish", error);
+            Thread.currentThread().interrupt();
+        }
+
+        for (ThreadPoolExecutor dispatcherThread : dispatcherThreads)
+        {
+            dispatcherThread.shutdownNow();
+        }
+    }
+
+
+    /**
+     * Deliver an event to the topic listeners.  This runs on a dispatcher thread.
+     *
+     * @param event event to deliver
+     */
+    private void deliver(KafkaIncomingEvent event)
+    {
+        try
+        {
+            connector.deliverToListeners(event);
+        }
+        catch (Exception error)
+        {
+            log.error(String.format("Error delivering inbound event: %s", error.getMessage()), error);
+        }
+        finally
+        {
+            pendingEventCount.decrementAndGet();
+        }
+    }
+
+
+    /**
+     * Choose the dispatcher thread for an event from its ordering key.
+     *
+     * @param partition partition that the event was received from
+     * @param event event to deliver
+     * @return index of dispatcher thread
+     */
+    private int getDispatcherThreadIndex(int                partition,
+                                         KafkaIncomingEvent event)
+    {
+        if (orderByInstance)
+        {
+            String guid = getInstanceGUID(event.getJson());
+
+            if (guid != null)
+            {
+                return Math.floorMod(guid.hashCode(), dispatcherThreads.length);
+            }
+        }
+
+        return Math.floorMod(partition, dispatcherThreads.length);
+    }
+
+
+    /**
+     * Extract the guid of the instance or type that an event describes.  The event is scanned with a
+     * streaming parser (rather than being mapped to an event bean) and the guid property nearest to the top
+     * of the event is returned.  For example, the guid of the entity in an instance event is chosen over
+     * the guids of its supertypes and classifications.
+     *
+     * @param json event content
+     * @return guid or null if the event does not contain one
+     */
+    private static String getInstanceGUID(String json)
+    {
+        if (json == null)
+        {
+            return null;
+        }
+
+        String guid      = null;
+        int    guidDepth = Integer.MAX_VALUE;
+        int    depth     = 0;
+
+        try (JsonParser parser = jsonFactory.createParser(json))
+        {
+            JsonToken token;
+
+            while ((token = parser.nextToken()) != null)
+            {
+                if ((token == JsonToken.START_OBJECT) || (token == JsonToken.START_ARRAY))
+                {
+                    depth++;
+                }
+                else if ((token == JsonToken.END_OBJECT) || (token == JsonToken.END_ARRAY))
+                {
+                    depth--;
+                }
+                else if ((token == JsonToken.FIELD_NAME) && (depth < guidDepth) && (GUID_PROPERTY_NAME.equals(parser.getCurrentName())))
+                {
+                    if (parser.nextToken() == JsonToken.VALUE_STRING)
+                    {
+                        guid = parser.getText();
+                        guidDepth = depth;
+                    }
+                    else
+                    {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        }
+        catch (IOException error)
+        {
+            log.debug("Unable to scan event for an instance guid", error);
+
+            return null;
+        }
+
+        return guid;
+    }
+}
@@ -291,16 +291,18 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
     {
         List<IncomingEvent> newEvents = null;
 
-        // This method is called periodically from a independent thread managed by OpenMetadataTopic
+        // This method is called from an independent thread managed by OpenMetadataTopic
         // (superclass) so it should not block.
 
         if ((incomingEventsList != null) && (!incomingEventsList.isEmpty()))
         {
-            log.debug("Checking for events.  Number of found events: {0}", incomingEventsList.size());
-            newEvents = new ArrayList<>(incomingEventsList);
-
-            // empty incomingEventsList otherwise same events will be sent again
-            incomingEventsList.removeAll(newEvents);
+            // take the whole backlog in one step, emptying incomingEventsList so the same events are not sent again
+            synchronized (incomingEventsList)
+            {
+                log.debug("Checking for events.  Number of found events: {0}", incomingEventsList.size());
+                newEvents = new ArrayList<>(incomingEventsList);
+                incomingEventsList.clear();
+            }
         }
 
         return newEvents;
@@ -315,6 +317,20 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
     {
         log.debug("distribute event to listeners" + event);
         incomingEventsList.add(event);
+        super.signalIncomingEvents();
+    }
+
+
+    /**
+     * Deliver an event to the listeners on the calling thread.  This is used by the consumer's
+     * dispatcher threads in place of the topic listener thread.
+     *
+     * @param event object containing the event properties.
+     */
+    void deliverToListeners(IncomingEvent event)
+    {
+        log.debug("deliver event to listeners" + event);
+        super.distributeEvent(event);
     }
 
 
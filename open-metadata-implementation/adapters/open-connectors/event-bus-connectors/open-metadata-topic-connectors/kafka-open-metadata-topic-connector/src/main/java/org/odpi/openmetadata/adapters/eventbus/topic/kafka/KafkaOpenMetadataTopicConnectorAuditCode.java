@@ -122,7 +122,13 @@ public enum KafkaOpenMetadataTopicConnectorAuditCode implements AuditLogMessageS
             OMRSAuditLogRecordSeverity.SHUTDOWN,
             "An unexpected error was encountered while commitimg consumed messages",
             "Check Egeria and Kafka Error Logs",
-            "Ensure the server has shutdown cleanly")
+            "Ensure the server has shutdown cleanly"),
+
+    KAFKA_CONSUMER_PARALLEL_DISPATCH("OCF-KAFKA-TOPIC-CONNECTOR-0018",
+             OMRSAuditLogRecordSeverity.STARTUP,
+             "The Apache Kafka consumer for topic {0} is delivering events to listeners on {1} dispatch threads in {2} order",
+             "The local server is processing the events from the topic in parallel.",
+             "No action is required.  This is part of the normal operation of the server.")
     ;
 
     private AuditLogMessageDefinition messageDefinition;
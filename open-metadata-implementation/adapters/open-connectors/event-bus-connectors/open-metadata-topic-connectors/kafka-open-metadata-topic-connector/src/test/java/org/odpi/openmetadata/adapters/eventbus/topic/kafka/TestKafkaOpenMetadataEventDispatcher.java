@@ -0,0 +1,242 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
+
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.IncomingEvent;
+import org.testng.annotations.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test that the KafkaOpenMetadataEventDispatcher keeps the events with the same ordering key in sequence and
+ * reports when the dispatcher threads can not keep up.
+ */
+public class TestKafkaOpenMetadataEventDispatcher
+{
+    private static final int EVENTS_PER_KEY = 50;
+
+
+    @Test
+    public void testEventsOrderedByPartition() throws Exception
+    {
+        RecordingConnector               connector  = new RecordingConnector(true);
+        KafkaOpenMetadataEventDispatcher dispatcher = new KafkaOpenMetadataEventDispatcher("test-", 3, 10, false, connector);
+
+        for (int offset = 0; offset < EVENTS_PER_KEY; offset++)
+        {
+            for (int partition = 0; partition < 5; partition++)
+            {
+                dispatcher.dispatch(partition, new KafkaIncomingEvent(partition + ":" + offset, offset));
+            }
+        }
+
+        dispatcher.shutdown();
+
+        assertEquals(dispatcher.getNumberOfPendingEvents(), 0);
+        assertInSequence(connector.getDeliveredEvents(), 5);
+    }
+
+
+    @Test
+    public void testEventsOrderedByInstance() throws Exception
+    {
+        RecordingConnector               connector  = new RecordingConnector(true);
+        KafkaOpenMetadataEventDispatcher dispatcher = new KafkaOpenMetadataEventDispatcher("test-", 4, 10, true, connector);
+
+        for (int offset = 0; offset < EVENTS_PER_KEY; offset++)
+        {
+            for (int instance = 0; instance < 6; instance++)
+            {
+                /*
+                 * All of the events are on the same partition, and the guid of the entity is chosen over
+                 * the guid of its classification.
+                 */
+                String json = "{\"entity\":{\"classifications\":[{\"guid\":\"c" + offset + "\"}],\"guid\":\"" + instance + "\"}," +
+                               "\"sequence\":\"" + instance + ":" + offset + "\"}";
+
+                dispatcher.dispatch(0, new KafkaIncomingEvent(json, offset));
+            }
+        }
+
+        dispatcher.shutdown();
+
+        List<String> sequences = new ArrayList<>();
+        for (String json : connector.getDeliveredEvents())
+        {
+            sequences.add(json.substring(json.indexOf("\"sequence\":\"") + 12, json.lastIndexOf('"')));
+        }
+
+        assertInSequence(sequences, 6);
+    }
+
+
+    @Test
+    public void testBackedUpWhenQueueIsFull() throws Exception
+    {
+        CountDownLatch                   release    = new CountDownLatch(1);
+        BlockingConnector                connector  = new BlockingConnector(release);
+        KafkaOpenMetadataEventDispatcher dispatcher = new KafkaOpenMetadataEventDispatcher("test-", 1, 2, false, connector);
+
+        /*
+         * The first event is held by the dispatcher thread and the next two fill the queue.  Dispatch
+         * does not wait, so the consumer can carry on polling, but it is told to stop reading events.
+         */
+        dispatcher.dispatch(0, new KafkaIncomingEvent("0:0", 0));
+        connector.awaitFirstDelivery();
+        dispatcher.dispatch(0, new KafkaIncomingEvent("0:1", 1));
+        assertFalse(dispatcher.isBackedUp());
+
+        dispatcher.dispatch(0, new KafkaIncomingEvent("0:2", 2));
+        assertTrue(dispatcher.isBackedUp());
+
+        dispatcher.dispatch(0, new KafkaIncomingEvent("0:3", 3));
+        assertTrue(dispatcher.isBackedUp());
+        assertEquals(dispatcher.getNumberOfPendingEvents(), 4);
+
+        release.countDown();
+        dispatcher.shutdown();
+
+        assertFalse(dispatcher.isBackedUp());
+        assertEquals(dispatcher.getNumberOfPendingEvents(), 0);
+        assertEquals(connector.getDeliveredEvents(), Arrays.asList("0:0", "0:1", "0:2", "0:3"));
+    }
+
+
+    @Test
+    public void testDispatchAfterShutdownIsRejected()
+    {
+        KafkaOpenMetadataEventDispatcher dispatcher = new KafkaOpenMetadataEventDispatcher("test-", 2, 10, false, new RecordingConnector(false));
+
+        dispatcher.shutdown();
+
+        try
+        {
+            dispatcher.dispatch(0, new KafkaIncomingEvent("0:0", 0));
+            fail("dispatch should be rejected after shutdown");
+        }
+        catch (RejectedExecutionException expected)
+        {
+            assertEquals(dispatcher.getNumberOfPendingEvents(), 0);
+        }
+    }
+
+
+    /**
+     * Check that, for each key, the events were delivered in offset order.
+     *
+     * @param events delivered events in the form key:offset
+     * @param keyCount number of keys
+     */
+    private void assertInSequence(List<String> events,
+                                  int          keyCount)
+    {
+        Map<String, Integer> lastOffsets = new HashMap<>();
+
+        for (String event : events)
+        {
+            String[] parts  = event.split(":");
+            int      offset = Integer.parseInt(parts[1]);
+
+            assertEquals(offset, lastOffsets.getOrDefault(parts[0], -1) + 1, "event " + event + " out of sequence");
+            lastOffsets.put(parts[0], offset);
+        }
+
+        assertEquals(lastOffsets.size(), keyCount);
+        for (int lastOffset : lastOffsets.values())
+        {
+            assertEquals(lastOffset, EVENTS_PER_KEY - 1);
+        }
+    }
+
+
+    /**
+     * Record the events delivered by the dispatcher threads.  Delivery can be slowed down by a random
+     * amount so the dispatcher threads interleave.
+     */
+    private static class RecordingConnector extends KafkaOpenMetadataTopicConnector
+    {
+        private final List<String> deliveredEvents = Collections.synchronizedList(new ArrayList<>());
+        private final boolean      randomDelay;
+        private final Random       random          = new Random(42);
+
+
+        RecordingConnector(boolean randomDelay)
+        {
+            this.randomDelay = randomDelay;
+        }
+
+
+        @Override
+        void deliverToListeners(IncomingEvent event)
+        {
+            if (randomDelay && (random.nextInt(4) == 0))
+            {
+                try
+                {
+                    Thread.sleep(1);
+                }
+                catch (InterruptedException error)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            deliveredEvents.add(event.getJson());
+        }
+
+
+        List<String> getDeliveredEvents()
+        {
+            return new ArrayList<>(deliveredEvents);
+        }
+    }
+
+
+    /**
+     * Hold every delivery until the latch is released.
+     */
+    private static class BlockingConnector extends RecordingConnector
+    {
+        private final CountDownLatch release;
+        private final CountDownLatch started = new CountDownLatch(1);
+
+
+        BlockingConnector(CountDownLatch release)
+        {
+            super(false);
+            this.release = release;
+        }
+
+
+        /**
+         * Wait until the dispatcher thread has taken the first event off its queue.
+         *
+         * @throws InterruptedException interrupted while waiting
+         */
+        void awaitFirstDelivery() throws InterruptedException
+        {
+            started.await(5, TimeUnit.SECONDS);
+        }
+
+
+        @Override
+        void deliverToListeners(IncomingEvent event)
+        {
+            started.countDown();
+
+            try
+            {
+                release.await();
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            super.deliverToListeners(event);
+        }
+    }
+}
@@ -2,6 +2,7 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.buffergraph;
 
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.structure.Edge;
@@ -14,27 +15,56 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedExceptio
 import org.odpi.openmetadata.governanceservers.openlineage.buffergraph.BufferGraphConnectorBase;
 import org.odpi.openmetadata.governanceservers.openlineage.ffdc.OpenLineageException;
 import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.factory.GraphFactory;
+import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.maingraph.LineageCache;
 import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.model.JanusConnectorErrorCode;
 import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.model.ffdc.JanusConnectorException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.*;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.*;
 
+/**
+ * The processes of the bufferGraph are mapped to the mainGraph incrementally. The processes touched by addEntity and
+ * deleteEntity are remembered and only those are processed, in small batches that are committed separately. The
+ * processing runs when the scheduler fires or as soon as a full batch of processes is waiting.
+ */
 public class BufferGraphConnector extends BufferGraphConnectorBase {
 
     private static final Logger log = LoggerFactory.getLogger(BufferGraphConnector.class);
+    private static final String PROCESSING_BATCH_SIZE = "processingBatchSize";
+    private static final int DEFAULT_PROCESSING_BATCH_SIZE = 50;
+    private static final int MAX_PROCESS_ATTEMPTS = 3;
+
     private JanusGraph bufferGraph;
     private GraphVertexMapper graphVertexMapper = new GraphVertexMapper();
     private JanusGraph mainGraph;
 
+    private final DirtyProcesses dirtyProcesses = new DirtyProcesses(MAX_PROCESS_ATTEMPTS);
+    private final ReentrantLock processingLock = new ReentrantLock();
+    private final AtomicBoolean initialScanDone = new AtomicBoolean(false);
+    private ThreadPoolExecutor processingExecutor;
+    private int processingBatchSize = DEFAULT_PROCESSING_BATCH_SIZE;
+
+    private final AtomicLong processedProcessCount = new AtomicLong();
+    private final AtomicLong failedProcessCount = new AtomicLong();
+    private final AtomicLong processedBatchCount = new AtomicLong();
+    private volatile long lastProcessingDuration;
+
     /**
      * Instantiates the graph based on the configuration passed.
      *
@@ -43,6 +73,8 @@ public class BufferGraphConnector extends BufferGraphConnectorBase {
         GraphFactory graphFactory = new GraphFactory();
         try {
             this.bufferGraph = graphFactory.openGraph(connectionProperties);
+            this.processingBatchSize = getIntegerConfigurationProperty(PROCESSING_BATCH_SIZE, DEFAULT_PROCESSING_BATCH_SIZE);
+            this.processingExecutor = createProcessingExecutor();
         } catch (JanusConnectorException error) {
             log.error("The Buffer graph could not be initialized due to an error", error);
             throw new OpenLineageException(500,
@@ -65,21 +97,198 @@ public class BufferGraphConnector extends BufferGraphConnectorBase {
     }
 
 
+    /**
+     * Maps the processes that changed since the last run from bufferGraph to the mainGraph. The first run processes
+     * all the processes in bufferGraph since it may hold content stored before a restart. A run that starts while
+     * another one is in progress returns immediately.
+     */
     @Override
     public void schedulerTask(){
+        if (!processingLock.tryLock()) {
+            log.debug("The processes of bufferGraph are already being processed");
+            return;
+        }
+
+        try {
+            if (!initialScanDone.get()) {
+                markAllProcesses();
+            }
+            processDirtyProcesses();
+        } finally {
+            processingLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of processes waiting to be mapped to the mainGraph.
+     * @return number of processes
+     */
+    public int getPendingProcessCount() {
+        return dirtyProcesses.size();
+    }
+
+    /**
+     * Returns the number of processes mapped to the mainGraph since the connector started.
+     * @return number of processes
+     */
+    public long getProcessedProcessCount() {
+        return processedProcessCount.get();
+    }
+
+    /**
+     * Returns the number of times a process could not be mapped to the mainGraph since the connector started.
+     * @return number of failures
+     */
+    public long getFailedProcessCount() {
+        return failedProcessCount.get();
+    }
+
+    /**
+     * Returns the number of batches committed since the connector started.
+     * @return number of batches
+     */
+    public long getProcessedBatchCount() {
+        return processedBatchCount.get();
+    }
+
+    /**
+     * Returns the duration of the last run that processed at least one batch.
+     * @return duration in milliseconds
+     */
+    public long getLastProcessingDuration() {
+        return lastProcessingDuration;
+    }
+
+    /**
+     * Marks all the processes in bufferGraph for processing.
+     */
+    private void markAllProcesses() {
         GraphTraversalSource g = bufferGraph.traversal();
         try {
-            List<Vertex> vertices = g.V().has(PROPERTY_KEY_LABEL, "Process").toList();
-            List<String> guidList = vertices.stream().map(v -> (String) v.property(PROPERTY_KEY_ENTITY_GUID).value()).collect(Collectors.toList());
+            dirtyProcesses.mark(g.V().has(PROPERTY_KEY_LABEL, PROCESS).<String>values(PROPERTY_KEY_ENTITY_GUID).toList());
+            g.tx().rollback();
+            initialScanDone.set(true);
+        } catch (Exception e) {
+            log.error("Something went wrong when trying to find the processes in bufferGraph. The error is {}", e.getMessage());
+            g.tx().rollback();
+        }
+    }
+
+    /**
+     * Maps the marked processes to the mainGraph in batches. Each batch is committed on its own. When a batch fails,
+     * its processes are mapped again one by one so that a single failing process does not hold back the others.
+     * A failing process is retried in the next runs, up to MAX_PROCESS_ATTEMPTS times in a row.
+     */
+    private void processDirtyProcesses() {
+        long start = System.currentTimeMillis();
+        int processed = 0;
+        int batches = 0;
+        List<String> retries = new ArrayList<>();
+
+        while (!dirtyProcesses.isEmpty()) {
+            List<String> batch = dirtyProcesses.nextBatch(processingBatchSize);
+            batches++;
+            if (processBatch(batch)) {
+                batch.forEach(dirtyProcesses::processed);
+                processed += batch.size();
+                continue;
+            }
+
+            for (String process : batch) {
+                if (processBatch(Collections.singletonList(process))) {
+                    dirtyProcesses.processed(process);
+                    processed++;
+                } else {
+                    failedProcessCount.incrementAndGet();
+                    if (dirtyProcesses.failed(process)) {
+                        retries.add(process);
+                    } else {
+                        log.error("The process {} could not be mapped from bufferGraph to the mainGraph in {} attempts and is skipped until it changes",
+                                process, MAX_PROCESS_ATTEMPTS);
+                    }
+                }
+            }
+        }
+        dirtyProcesses.retry(retries);
+
+        if (batches > 0) {
+            lastProcessingDuration = System.currentTimeMillis() - start;
+            log.info("Processed {} processes from bufferGraph in {} batches in {} ms, {} processes pending",
+                    processed, batches, lastProcessingDuration, dirtyProcesses.size());
+        }
+    }
 
-            guidList.forEach(process -> findInputColumns(g,process));
+    /**
+     * Maps the processes to the mainGraph and commits them together.
+     * @param batch - The guids of the processes
+     * @return true if the processes were committed, false if they were rolled back
+     */
+    private boolean processBatch(List<String> batch) {
+        GraphTraversalSource g = bufferGraph.traversal();
+        try {
+            for (String process : batch) {
+                if (checkIfVertexExist(g, process)) {
+                    findInputColumns(g, process);
+                }
+            }
             g.tx().commit();
-        }catch (Exception e){
-            log.error("Something went wrong when trying to map a process from bufferGraph to the mainGraph. The error is {}",e.getMessage());
+        } catch (Exception e) {
+            log.error("Something went wrong when trying to map a process from bufferGraph to the mainGraph. The error is {}", e.getMessage());
             g.tx().rollback();
+            return false;
+        } finally {
+            LineageCache.invalidate(mainGraph);
+        }
+
+        processedProcessCount.addAndGet(batch.size());
+        processedBatchCount.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Marks the processes for processing and starts the processing in the background once a full batch is waiting.
+     * @param processes - The guids of the processes
+     */
+    private void markDirtyProcesses(Collection<String> processes) {
+        dirtyProcesses.mark(processes);
+
+        if (dirtyProcesses.size() >= processingBatchSize && processingExecutor != null && !processingLock.isLocked()) {
+            processingExecutor.execute(this::schedulerTask);
         }
     }
 
+    /**
+     * Returns the processes whose input or output may change when the vertices change. These are the processes
+     * connected through their ports to the vertices or to the schema elements mapped to the vertices.
+     * @param g - Graph traversal object
+     * @param guids - The unique identifiers of the vertices
+     * @return guids of the processes
+     */
+    private List<String> findAffectedProcesses(GraphTraversalSource g, Collection<String> guids) {
+        return g.V().has(PROPERTY_KEY_ENTITY_GUID, P.within(guids))
+                .union(__.identity(), __.both(LINEAGE_MAPPING))
+                .union(__.identity(), __.both(ATTRIBUTE_FOR_SCHEMA))
+                .union(__.identity(), __.in(PORT_SCHEMA))
+                .union(__.identity(), __.in(PORT_DELEGATION))
+                .in(PROCESS_PORT).has(PROPERTY_KEY_LABEL, PROCESS)
+                .dedup().<String>values(PROPERTY_KEY_ENTITY_GUID).toList();
+    }
+
+    /**
+     * Creates the executor that processes the marked processes once a full batch is waiting. It has a single thread
+     * and a queue of one so requests made while a run is pending are merged into that run.
+     * @return executor
+     */
+    private ThreadPoolExecutor createProcessingExecutor() {
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "BufferGraphProcessor");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
     /**
      * Finds the paths to the input columns from all the processes in the graph.
      * @param g - Graph traversal object
@@ -187,6 +396,45 @@ public class BufferGraphConnector extends BufferGraphConnectorBase {
                 log.error("An exception happened when trying to create vertices and relationships in BufferGraph. The error is", e);
             }
         });
+
+        markChangedProcesses(g, verticesToBeAdded);
+    }
+
+    /**
+     * Marks the processes in the event and the processes connected to the other entities of the event.
+     * @param g - Graph traversal object
+     * @param graphContexts - The relationships of the event
+     */
+    private void markChangedProcesses(GraphTraversalSource g, Set<GraphContext> graphContexts) {
+        Set<String> processes = new HashSet<>();
+        Set<String> otherEntities = new HashSet<>();
+
+        for (GraphContext graphContext : graphContexts) {
+            for (LineageEntity lineageEntity : new LineageEntity[]{graphContext.getFromVertex(), graphContext.getToVertex()}) {
+                if (lineageEntity == null || lineageEntity.getGuid() == null) {
+                    continue;
+                }
+                if (PROCESS.equals(lineageEntity.getTypeDefName())) {
+                    processes.add(lineageEntity.getGuid());
+                } else {
+                    otherEntities.add(lineageEntity.getGuid());
+                }
+            }
+        }
+
+        if (!otherEntities.isEmpty()) {
+            try {
+                processes.addAll(findAffectedProcesses(g, otherEntities));
+                g.tx().rollback();
+            } catch (Exception e) {
+                log.error("Something went wrong when trying to find the processes affected by an event. The error is {}", e.getMessage());
+                g.tx().rollback();
+            }
+        }
+
+        if (!processes.isEmpty()) {
+            markDirtyProcesses(processes);
+        }
     }
 
 
@@ -282,13 +530,25 @@ public class BufferGraphConnector extends BufferGraphConnectorBase {
         GraphTraversalSource g = bufferGraph.traversal();
 
         //TODO add check when we will have classifications to delete classifications first
-        if(checkIfVertexExist(g,guid)){
-            g.V().has(PROPERTY_KEY_ENTITY_GUID,guid).drop();
-            g.tx().commit();
-            log.debug("Vertex with guid {} deleted",guid);
+        try {
+            if (checkIfVertexExist(g, guid)) {
+                List<String> processes = findAffectedProcesses(g, Collections.singleton(guid));
+                processes.remove(guid);
+                dirtyProcesses.remove(guid);
+                if (!processes.isEmpty()) {
+                    markDirtyProcesses(processes);
+                }
+                g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).drop();
+                g.tx().commit();
+                log.debug("Vertex with guid {} deleted", guid);
+                return;
+            }
+            g.tx().rollback();
+            log.debug("Vertex with guid did not delete {}", guid);
+        } catch (Exception e) {
+            log.error("Something went wrong when trying to delete the vertex with guid {}. The error is {}", guid, e.getMessage());
+            g.tx().rollback();
         }
-        g.tx().rollback();
-        log.debug("Vertex with guid did not delete {}",guid);
 
     }
 
@@ -351,6 +611,14 @@ public class BufferGraphConnector extends BufferGraphConnectorBase {
 
     @Override
     public void disconnect() throws ConnectorCheckedException {
+        if (processingExecutor != null) {
+            processingExecutor.shutdown();
+            try {
+                processingExecutor.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
         this.bufferGraph.close();
         super.disconnect();
     }
@@ -0,0 +1,102 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.buffergraph;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The processes of the bufferGraph that have to be mapped to the mainGraph. A process that fails is retried in the
+ * following runs until it has failed maxAttempts times in a row; it is then dropped until it is marked again by a
+ * new change.
+ */
+class DirtyProcesses {
+
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Map<String, Integer> failedAttempts = new ConcurrentHashMap<>();
+    private final int maxAttempts;
+
+    /**
+     * @param maxAttempts number of times in a row a process can fail before it is dropped
+     */
+    DirtyProcesses(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Marks processes that changed. Their previous failures are forgotten since the change may correct them.
+     * @param processes - The guids of the processes
+     */
+    void mark(Collection<String> processes) {
+        processes.forEach(failedAttempts::remove);
+        pending.addAll(processes);
+    }
+
+    /**
+     * Forgets a process, for example because it was deleted.
+     * @param process - The guid of the process
+     */
+    void remove(String process) {
+        pending.remove(process);
+        failedAttempts.remove(process);
+    }
+
+    /**
+     * Removes the next batch of processes from the marked processes.
+     * @param batchSize - The maximum number of processes in the batch
+     * @return guids of the processes in the batch
+     */
+    List<String> nextBatch(int batchSize) {
+        List<String> batch = new ArrayList<>(batchSize);
+        Iterator<String> iterator = pending.iterator();
+        while (iterator.hasNext() && batch.size() < batchSize) {
+            batch.add(iterator.next());
+            iterator.remove();
+        }
+        return batch;
+    }
+
+    /**
+     * Records that a process has been mapped to the mainGraph.
+     * @param process - The guid of the process
+     */
+    void processed(String process) {
+        failedAttempts.remove(process);
+    }
+
+    /**
+     * Records that a process failed. The process is not marked again by this call, so a run can not loop on it;
+     * the caller passes the processes to retry to {@link #retry(Collection)} once the run is finished.
+     * @param process - The guid of the process
+     * @return true if the process should be retried, false if it failed too many times and is dropped
+     */
+    boolean failed(String process) {
+        int attempts = failedAttempts.merge(process, 1, Integer::sum);
+        if (attempts < maxAttempts) {
+            return true;
+        }
+        failedAttempts.remove(process);
+        return false;
+    }
+
+    /**
+     * Marks again the processes that failed, keeping the count of their failures.
+     * @param processes - The guids of the processes
+     */
+    void retry(Collection<String> processes) {
+        pending.addAll(processes);
+    }
+
+    int size() {
+        return pending.size();
+    }
+
+    boolean isEmpty() {
+        return pending.isEmpty();
+    }
+}
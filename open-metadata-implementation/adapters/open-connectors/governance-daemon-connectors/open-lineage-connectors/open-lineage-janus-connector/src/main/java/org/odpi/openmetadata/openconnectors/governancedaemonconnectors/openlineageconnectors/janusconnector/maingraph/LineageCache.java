@@ -0,0 +1,139 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.maingraph;
+
+import org.janusgraph.core.JanusGraph;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVerticesAndEdges;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Least recently used cache of the lineage computed from a mainGraph. Each MainGraphConnector has its own cache, sized
+ * from its own configuration. The caches are registered by mainGraph so the BufferGraphConnector, which writes to the
+ * mainGraph, can invalidate all of them after every change.
+ *
+ * Each invalidation starts a new generation of the cache. A lineage computed while the mainGraph was changing is not
+ * stored since it belongs to an older generation.
+ */
+public class LineageCache {
+
+    private static final Map<JanusGraph, Set<LineageCache>> caches = new WeakHashMap<>();
+
+    private final Map<String, LineageVerticesAndEdges> entries;
+    private long generation;
+
+    LineageCache(int maxEntries) {
+        this.entries = new LinkedHashMap<String, LineageVerticesAndEdges>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LineageVerticesAndEdges> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Registers the cache of a connector so it is invalidated when the mainGraph changes. The caches are weakly
+     * referenced, so the cache of a connector that is not disconnected is dropped with the connector.
+     *
+     * @param mainGraph The graph the lineage is computed from.
+     * @param cache     The cache of the connector.
+     */
+    static void register(JanusGraph mainGraph, LineageCache cache) {
+        synchronized (caches) {
+            caches.computeIfAbsent(mainGraph, graph -> Collections.newSetFromMap(new WeakHashMap<>())).add(cache);
+        }
+    }
+
+    /**
+     * Stops invalidating the cache of a connector that is disconnected.
+     *
+     * @param mainGraph The graph the lineage is computed from.
+     * @param cache     The cache of the connector.
+     */
+    static void unregister(JanusGraph mainGraph, LineageCache cache) {
+        synchronized (caches) {
+            Set<LineageCache> graphCaches = caches.get(mainGraph);
+            if (graphCaches != null) {
+                graphCaches.remove(cache);
+                if (graphCaches.isEmpty()) {
+                    caches.remove(mainGraph);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all the cached lineage of the mainGraph. It is called once changes to the mainGraph are committed.
+     *
+     * @param mainGraph The graph that changed.
+     */
+    public static void invalidate(JanusGraph mainGraph) {
+        Set<LineageCache> graphCaches;
+        synchronized (caches) {
+            graphCaches = caches.get(mainGraph);
+            if (graphCaches == null) {
+                return;
+            }
+            graphCaches = new HashSet<>(graphCaches);
+        }
+        graphCaches.forEach(LineageCache::clear);
+    }
+
+    /**
+     * Returns the current generation, to be passed to put when the lineage has been computed.
+     *
+     * @return the generation
+     */
+    synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Returns a copy of the cached lineage.
+     *
+     * @param key The query the lineage was computed for.
+     * @return the lineage or null if it is not cached
+     */
+    synchronized LineageVerticesAndEdges get(String key) {
+        return copy(entries.get(key));
+    }
+
+    /**
+     * Stores a copy of the lineage unless the cache was invalidated since the computation started.
+     *
+     * @param key                     The query the lineage was computed for.
+     * @param lineageVerticesAndEdges The lineage.
+     * @param startGeneration         The generation when the computation started.
+     */
+    synchronized void put(String key, LineageVerticesAndEdges lineageVerticesAndEdges, long startGeneration) {
+        if (lineageVerticesAndEdges != null && startGeneration == generation) {
+            entries.put(key, copy(lineageVerticesAndEdges));
+        }
+    }
+
+    private synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    /**
+     * The sets of vertices and edges are copied since the response is filtered in place.
+     *
+     * @param lineageVerticesAndEdges The lineage to copy.
+     * @return the copy
+     */
+    private LineageVerticesAndEdges copy(LineageVerticesAndEdges lineageVerticesAndEdges) {
+        if (lineageVerticesAndEdges == null) {
+            return null;
+        }
+        LineageVerticesAndEdges copy = new LineageVerticesAndEdges(new HashSet<>(lineageVerticesAndEdges.getLineageVertices()),
+                new HashSet<>(lineageVerticesAndEdges.getLineageEdges()));
+        copy.setTruncated(lineageVerticesAndEdges.isTruncated());
+        return copy;
+    }
+}
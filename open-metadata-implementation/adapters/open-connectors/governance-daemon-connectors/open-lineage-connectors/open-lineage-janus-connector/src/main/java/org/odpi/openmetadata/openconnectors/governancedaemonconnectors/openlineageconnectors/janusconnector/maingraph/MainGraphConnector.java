@@ -35,9 +35,16 @@ import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.op
 public class MainGraphConnector extends MainGraphConnectorBase {
 
     private static final Logger log = LoggerFactory.getLogger(MainGraphConnector.class);
+    private static final String LINEAGE_MAX_DEPTH = "lineageMaxDepth";
+    private static final String LINEAGE_MAX_FAN_OUT = "lineageMaxFanOut";
+    private static final String LINEAGE_CACHE_SIZE = "lineageCacheSize";
+    private static final int DEFAULT_LINEAGE_MAX_DEPTH = 50;
+    private static final int DEFAULT_LINEAGE_MAX_FAN_OUT = 500;
+    private static final int DEFAULT_LINEAGE_CACHE_SIZE = 100;
 
     private JanusGraph mainGraph;
     private MainGraphConnectorHelper helper;
+    private LineageCache lineageCache;
 
     /**
      * {@inheritDoc}
@@ -56,7 +63,11 @@ public class MainGraphConnector extends MainGraphConnectorBase {
                     error.getReportedUserAction()
             );
         }
-        this.helper = new MainGraphConnectorHelper(mainGraph);
+        this.helper = new MainGraphConnectorHelper(mainGraph,
+                getIntegerConfigurationProperty(LINEAGE_MAX_DEPTH, DEFAULT_LINEAGE_MAX_DEPTH),
+                getIntegerConfigurationProperty(LINEAGE_MAX_FAN_OUT, DEFAULT_LINEAGE_MAX_FAN_OUT));
+        this.lineageCache = new LineageCache(getIntegerConfigurationProperty(LINEAGE_CACHE_SIZE, DEFAULT_LINEAGE_CACHE_SIZE));
+        LineageCache.register(mainGraph, lineageCache);
     }
 
     /**
@@ -84,6 +95,30 @@ public class MainGraphConnector extends MainGraphConnectorBase {
         edgeLabels.add(EDGE_LABEL_SEMANTIC);
         edgeLabels.add(includeProcesses ? EDGE_LABEL_DATAFLOW_WITH_PROCESS : EDGE_LABEL_DATAFLOW_WITHOUT_PROCESS);
 
+        String cacheKey = scope + ":" + String.join(",", edgeLabels) + ":" + guid;
+        LineageVerticesAndEdges lineageVerticesAndEdges = lineageCache.get(cacheKey);
+        if (lineageVerticesAndEdges == null) {
+            long generation = lineageCache.getGeneration();
+            lineageVerticesAndEdges = queryLineage(scope, guid, edgeLabels);
+            lineageCache.put(cacheKey, lineageVerticesAndEdges, generation);
+            if (lineageVerticesAndEdges != null && lineageVerticesAndEdges.isTruncated())
+                log.debug("The {} lineage of {} was truncated by the lineageMaxDepth or lineageMaxFanOut limit", scope, guid);
+        }
+
+        if (!displayNameMustContain.isEmpty())
+            helper.filterDisplayName(lineageVerticesAndEdges, displayNameMustContain);
+        return new LineageResponse(lineageVerticesAndEdges);
+    }
+
+    /**
+     * Runs the lineage query of the scope on the mainGraph.
+     *
+     * @param scope      The specific lineage query.
+     * @param guid       The guid of the node of which the lineage is queried from.
+     * @param edgeLabels Traversed edges
+     * @return the lineage
+     */
+    private LineageVerticesAndEdges queryLineage(Scope scope, String guid, List<String> edgeLabels) throws OpenLineageException {
         LineageVerticesAndEdges lineageVerticesAndEdges = null;
 
         switch (scope) {
@@ -103,9 +138,7 @@ public class MainGraphConnector extends MainGraphConnectorBase {
                 lineageVerticesAndEdges = helper.glossary(guid);
                 break;
         }
-        if (!displayNameMustContain.isEmpty())
-            helper.filterDisplayName(lineageVerticesAndEdges, displayNameMustContain);
-        return new LineageResponse(lineageVerticesAndEdges);
+        return lineageVerticesAndEdges;
     }
 
     /**
@@ -145,6 +178,7 @@ public class MainGraphConnector extends MainGraphConnectorBase {
 
     @Override
     public void disconnect() throws ConnectorCheckedException {
+        LineageCache.unregister(mainGraph, lineageCache);
         mainGraph.close();
         super.disconnect();
     }
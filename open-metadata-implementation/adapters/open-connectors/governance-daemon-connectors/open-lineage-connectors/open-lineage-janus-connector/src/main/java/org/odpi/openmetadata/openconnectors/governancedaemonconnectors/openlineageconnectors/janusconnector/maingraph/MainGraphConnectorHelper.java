@@ -2,8 +2,8 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.maingraph;
 
-import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Property;
@@ -16,17 +16,17 @@ import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVertex;
 import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVerticesAndEdges;
 import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.bothE;
-import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.inE;
-import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.outE;
-import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.until;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.CONDENSED_NODE_DISPLAY_NAME;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.EDGE_LABEL_CONDENSED;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.EDGE_LABEL_GLOSSARYTERM_TO_GLOSSARYTERM;
@@ -45,9 +45,18 @@ import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.op
 public class MainGraphConnectorHelper {
 
     private JanusGraph mainGraph;
+    private int maxDepth;
+    private int maxFanOut;
 
-    public MainGraphConnectorHelper(JanusGraph mainGraph) {
+    /**
+     * @param mainGraph The graph the lineage is queried from.
+     * @param maxDepth  The number of edges followed from the queried node before the traversal stops.
+     * @param maxFanOut The number of edges of a single node that are followed.
+     */
+    public MainGraphConnectorHelper(JanusGraph mainGraph, int maxDepth, int maxFanOut) {
         this.mainGraph = mainGraph;
+        this.maxDepth = maxDepth;
+        this.maxFanOut = maxFanOut;
     }
 
     /**
@@ -62,14 +71,12 @@ public class MainGraphConnectorHelper {
         String methodName = "MainGraphConnector.ultimateSource";
         GraphTraversalSource g = mainGraph.traversal();
 
-        List<Vertex> sourcesList = g.V().has(GraphConstants.PROPERTY_KEY_ENTITY_NODE_ID, guid).
-                until(inE(edgeLabels).count().is(0)).
-                repeat(inE(edgeLabels).outV().simplePath()).
-                dedup().toList();
+        Vertex originalQueriedVertex = g.V().has(GraphConstants.PROPERTY_KEY_ENTITY_NODE_ID, guid).next();
 
-        detectProblematicCycle(methodName, sourcesList);
+        LineageTraversal sources = traverse(originalQueriedVertex, Direction.IN, edgeLabels);
+        List<Vertex> sourcesList = new ArrayList<>(sources.ends);
 
-        Vertex originalQueriedVertex = g.V().has(GraphConstants.PROPERTY_KEY_ENTITY_NODE_ID, guid).next();
+        detectProblematicCycle(methodName, sourcesList);
 
         Set<LineageVertex> lineageVertices = new HashSet<>();
 
@@ -80,6 +87,7 @@ public class MainGraphConnectorHelper {
 
         addSourceCondensation(sourcesList, lineageVertices, lineageEdges, originalQueriedVertex, queriedVertex);
         LineageVerticesAndEdges lineageVerticesAndEdges = new LineageVerticesAndEdges(lineageVertices, lineageEdges);
+        lineageVerticesAndEdges.setTruncated(sources.truncated);
         return lineageVerticesAndEdges;
     }
 
@@ -95,14 +103,13 @@ public class MainGraphConnectorHelper {
         String methodName = "MainGraphConnector.ultimateDestination";
         GraphTraversalSource g = mainGraph.traversal();
 
-        List<Vertex> destinationsList = g.V().has(GraphConstants.PROPERTY_KEY_ENTITY_NODE_ID, guid).
-                until(outE(edgeLabels).count().is(0)).
-                repeat(outE(edgeLabels).inV().simplePath()).
-                dedup().toList();
+        Vertex originalQueriedVertex = g.V().has(GraphConstants.PROPERTY_KEY_ENTITY_NODE_ID, guid).next();
+
+        LineageTraversal destinations = traverse(originalQueriedVertex, Direction.OUT, edgeLabels);
+        List<Vertex> destinationsList = new ArrayList<>(destinations.ends);
 
         detectProblematicCycle(methodName, destinationsList);
 
-        Vertex originalQueriedVertex = g.V().has(GraphConstants.PROPERTY_KEY_ENTITY_NODE_ID, guid).next();
         LineageVertex queriedVertex = abstractVertex(originalQueriedVertex);
 
         Set<LineageVertex> lineageVertices = new HashSet<>();
@@ -112,6 +119,7 @@ public class MainGraphConnectorHelper {
 
         addDestinationCondensation(destinationsList, lineageVertices, lineageEdges, originalQueriedVertex, queriedVertex);
         LineageVerticesAndEdges lineageVerticesAndEdges = new LineageVerticesAndEdges(lineageVertices, lineageEdges);
+        lineageVerticesAndEdges.setTruncated(destinations.truncated);
         return lineageVerticesAndEdges;
     }
 
@@ -126,16 +134,22 @@ public class MainGraphConnectorHelper {
     LineageVerticesAndEdges endToEnd(String guid, String... edgeLabels) {
         GraphTraversalSource g = mainGraph.traversal();
 
-        Graph endToEndGraph = (Graph)
-                g.V().has(PROPERTY_KEY_ENTITY_NODE_ID, guid).
-                        union(
-                                until(inE(edgeLabels).count().is(0)).
-                                        repeat((Traversal) inE(edgeLabels).subgraph("subGraph").outV().simplePath()),
-                                until(outE(edgeLabels).count().is(0)).
-                                        repeat((Traversal) outE(edgeLabels).subgraph("subGraph").inV().simplePath())
-                        ).cap("subGraph").next();
+        Vertex originalQueriedVertex = g.V().has(PROPERTY_KEY_ENTITY_NODE_ID, guid).next();
+
+        LineageTraversal sources = traverse(originalQueriedVertex, Direction.IN, edgeLabels);
+        LineageTraversal destinations = traverse(originalQueriedVertex, Direction.OUT, edgeLabels);
 
-        LineageVerticesAndEdges lineageVerticesAndEdges = getLineageVerticesAndEdges(endToEndGraph);
+        Set<Edge> edges = new LinkedHashSet<>(sources.edges);
+        edges.addAll(destinations.edges);
+
+        Set<Vertex> vertices = new LinkedHashSet<>();
+        for (Edge edge : edges) {
+            vertices.add(edge.outVertex());
+            vertices.add(edge.inVertex());
+        }
+
+        LineageVerticesAndEdges lineageVerticesAndEdges = getLineageVerticesAndEdges(vertices.iterator(), edges.iterator());
+        lineageVerticesAndEdges.setTruncated(sources.truncated || destinations.truncated);
         return lineageVerticesAndEdges;
     }
 
@@ -151,21 +165,16 @@ public class MainGraphConnectorHelper {
         String methodName = "MainGraphConnector.sourceAndDestination";
         GraphTraversalSource g = mainGraph.traversal();
 
-        List<Vertex> sourcesList = g.V().has(GraphConstants.PROPERTY_KEY_ENTITY_NODE_ID, guid).
-                until(inE(edgeLabels).count().is(0)).
-                repeat(inE(edgeLabels).outV().simplePath()).
-                dedup().toList();
+        Vertex originalQueriedVertex = g.V().has(GraphConstants.PROPERTY_KEY_ENTITY_NODE_ID, guid).next();
 
-        List<Vertex> destinationsList = g.V().has(GraphConstants.PROPERTY_KEY_ENTITY_NODE_ID, guid).
-                until(outE(edgeLabels).count().is(0)).
-                repeat(outE(edgeLabels).inV().simplePath()).
-                dedup().toList();
+        LineageTraversal sources = traverse(originalQueriedVertex, Direction.IN, edgeLabels);
+        LineageTraversal destinations = traverse(originalQueriedVertex, Direction.OUT, edgeLabels);
+        List<Vertex> sourcesList = new ArrayList<>(sources.ends);
+        List<Vertex> destinationsList = new ArrayList<>(destinations.ends);
 
         detectProblematicCycle(methodName, sourcesList);
         detectProblematicCycle(methodName, destinationsList);
 
-
-        Vertex originalQueriedVertex = g.V().has(GraphConstants.PROPERTY_KEY_ENTITY_NODE_ID, guid).next();
         LineageVertex queriedVertex = abstractVertex(originalQueriedVertex);
 
         Set<LineageVertex> lineageVertices = new HashSet<>();
@@ -176,6 +185,7 @@ public class MainGraphConnectorHelper {
         addDestinationCondensation(destinationsList, lineageVertices, lineageEdges, originalQueriedVertex, queriedVertex);
 
         LineageVerticesAndEdges lineageVerticesAndEdges = new LineageVerticesAndEdges(lineageVertices, lineageEdges);
+        lineageVerticesAndEdges.setTruncated(sources.truncated || destinations.truncated);
 
         return lineageVerticesAndEdges;
     }
@@ -230,6 +240,56 @@ public class MainGraphConnectorHelper {
         lineageVerticesAndEdges.setLineageEdges(lineageEdges);
     }
 
+    /**
+     * Walk the lineage of the queried vertex in one direction, breadth first. Every vertex is visited once, so the
+     * cost depends on the size of the lineage rather than on the number of paths through it, and cycles end the walk.
+     * No more than maxFanOut edges of a vertex are followed. A vertex that is maxDepth edges away from the queried
+     * vertex is treated as the end of its path. The traversal is marked as truncated when either limit leaves edges
+     * that are not followed.
+     *
+     * @param start      The queried vertex.
+     * @param direction  IN to walk towards the sources, OUT to walk towards the destinations.
+     * @param edgeLabels Traversed edges
+     * @return the vertices at the end of the paths, the edges that were followed and whether a limit was reached.
+     */
+    private LineageTraversal traverse(Vertex start, Direction direction, String... edgeLabels) {
+        LineageTraversal lineageTraversal = new LineageTraversal();
+        Set<Object> visited = new HashSet<>();
+        visited.add(start.id());
+
+        List<Vertex> frontier = Collections.singletonList(start);
+        for (int depth = 0; !frontier.isEmpty(); depth++) {
+            List<Vertex> nextFrontier = new ArrayList<>();
+            for (Vertex vertex : frontier) {
+                Iterator<Edge> edges = vertex.edges(direction, edgeLabels);
+                if (!edges.hasNext()) {
+                    lineageTraversal.ends.add(vertex);
+                    continue;
+                }
+                if (depth == maxDepth) {
+                    lineageTraversal.ends.add(vertex);
+                    lineageTraversal.truncated = true;
+                    continue;
+                }
+
+                for (int fanOut = 0; edges.hasNext() && fanOut < maxFanOut; fanOut++) {
+                    Edge edge = edges.next();
+                    lineageTraversal.edges.add(edge);
+
+                    Vertex nextVertex = direction == Direction.IN ? edge.outVertex() : edge.inVertex();
+                    if (visited.add(nextVertex.id())) {
+                        nextFrontier.add(nextVertex);
+                    }
+                }
+                if (edges.hasNext()) {
+                    lineageTraversal.truncated = true;
+                }
+            }
+            frontier = nextFrontier;
+        }
+        return lineageTraversal;
+    }
+
     /**
      * Map a Tinkerpop vertex to the Open Lineage format.
      *
@@ -408,9 +468,17 @@ public class MainGraphConnectorHelper {
      * @return The graph in in an Open Lineage specific format.
      */
     private LineageVerticesAndEdges getLineageVerticesAndEdges(Graph subGraph) {
-        Iterator<Vertex> originalVertices = subGraph.vertices();
-        Iterator<Edge> originalEdges = subGraph.edges();
+        return getLineageVerticesAndEdges(subGraph.vertices(), subGraph.edges());
+    }
 
+    /**
+     * Map tinkerpop vertices and edges to an Open Lineage specific format.
+     *
+     * @param originalVertices The vertices to be mapped.
+     * @param originalEdges    The edges to be mapped.
+     * @return The graph in in an Open Lineage specific format.
+     */
+    private LineageVerticesAndEdges getLineageVerticesAndEdges(Iterator<Vertex> originalVertices, Iterator<Edge> originalEdges) {
         Set<LineageVertex> lineageVertices = new HashSet<>();
         Set<LineageEdge> lineageEdges = new HashSet<>();
 
@@ -426,4 +494,13 @@ public class MainGraphConnectorHelper {
         return lineageVerticesAndEdges;
     }
 
+    /**
+     * The result of walking the lineage in one direction.
+     */
+    private static class LineageTraversal {
+        private final Set<Vertex> ends = new LinkedHashSet<>();
+        private final Set<Edge> edges = new LinkedHashSet<>();
+        private boolean truncated;
+    }
+
 }
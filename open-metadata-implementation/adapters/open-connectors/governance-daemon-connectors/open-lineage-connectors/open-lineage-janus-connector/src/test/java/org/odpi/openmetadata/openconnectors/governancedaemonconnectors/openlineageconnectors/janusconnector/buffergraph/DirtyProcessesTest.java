@@ -0,0 +1,121 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.buffergraph;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DirtyProcessesTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final DirtyProcesses dirtyProcesses = new DirtyProcesses(MAX_ATTEMPTS);
+
+    @Test
+    public void nextBatchRemovesAtMostTheBatchSize() {
+        dirtyProcesses.mark(Arrays.asList("p1", "p2", "p3", "p4", "p5"));
+
+        Set<String> seen = new HashSet<>();
+        List<String> batch = dirtyProcesses.nextBatch(2);
+        assertEquals(2, batch.size());
+        seen.addAll(batch);
+        assertEquals(3, dirtyProcesses.size());
+
+        batch = dirtyProcesses.nextBatch(2);
+        assertEquals(2, batch.size());
+        seen.addAll(batch);
+
+        batch = dirtyProcesses.nextBatch(2);
+        assertEquals(1, batch.size());
+        seen.addAll(batch);
+
+        assertTrue(dirtyProcesses.isEmpty());
+        assertEquals(new HashSet<>(Arrays.asList("p1", "p2", "p3", "p4", "p5")), seen);
+    }
+
+    @Test
+    public void markingTheSameProcessTwiceKeepsOneEntry() {
+        dirtyProcesses.mark(Arrays.asList("p1", "p2"));
+        dirtyProcesses.mark(Arrays.asList("p2", "p3"));
+
+        assertEquals(3, dirtyProcesses.size());
+    }
+
+    @Test
+    public void removedProcessIsNotProcessed() {
+        dirtyProcesses.mark(Arrays.asList("p1", "p2"));
+        dirtyProcesses.remove("p1");
+
+        assertEquals(Collections.singletonList("p2"), dirtyProcesses.nextBatch(10));
+    }
+
+    @Test
+    public void failingProcessIsDroppedAfterMaxAttempts() {
+        dirtyProcesses.mark(Collections.singletonList("p1"));
+
+        for (int attempt = 1; attempt < MAX_ATTEMPTS; attempt++) {
+            assertEquals(Collections.singletonList("p1"), dirtyProcesses.nextBatch(10));
+            assertTrue(dirtyProcesses.failed("p1"));
+            assertTrue(dirtyProcesses.isEmpty());
+            dirtyProcesses.retry(Collections.singletonList("p1"));
+        }
+
+        assertEquals(Collections.singletonList("p1"), dirtyProcesses.nextBatch(10));
+        assertFalse(dirtyProcesses.failed("p1"));
+        assertTrue(dirtyProcesses.isEmpty());
+    }
+
+    @Test
+    public void failingProcessDoesNotHoldBackTheOthers() {
+        dirtyProcesses.mark(Arrays.asList("p1", "p2", "p3"));
+
+        List<String> batch = dirtyProcesses.nextBatch(3);
+        for (String process : batch) {
+            if ("p2".equals(process)) {
+                assertTrue(dirtyProcesses.failed(process));
+            } else {
+                dirtyProcesses.processed(process);
+            }
+        }
+
+        assertTrue(dirtyProcesses.isEmpty());
+        dirtyProcesses.retry(Collections.singletonList("p2"));
+        assertEquals(Collections.singletonList("p2"), dirtyProcesses.nextBatch(3));
+    }
+
+    @Test
+    public void newChangeResetsTheFailures() {
+        dirtyProcesses.mark(Collections.singletonList("p1"));
+
+        for (int attempt = 1; attempt < MAX_ATTEMPTS; attempt++) {
+            dirtyProcesses.nextBatch(10);
+            assertTrue(dirtyProcesses.failed("p1"));
+        }
+
+        dirtyProcesses.mark(Collections.singletonList("p1"));
+        dirtyProcesses.nextBatch(10);
+        assertTrue(dirtyProcesses.failed("p1"));
+    }
+
+    @Test
+    public void successResetsTheFailures() {
+        dirtyProcesses.mark(Collections.singletonList("p1"));
+
+        for (int attempt = 1; attempt < MAX_ATTEMPTS; attempt++) {
+            dirtyProcesses.nextBatch(10);
+            assertTrue(dirtyProcesses.failed("p1"));
+        }
+        dirtyProcesses.processed("p1");
+
+        assertTrue(dirtyProcesses.failed("p1"));
+    }
+}
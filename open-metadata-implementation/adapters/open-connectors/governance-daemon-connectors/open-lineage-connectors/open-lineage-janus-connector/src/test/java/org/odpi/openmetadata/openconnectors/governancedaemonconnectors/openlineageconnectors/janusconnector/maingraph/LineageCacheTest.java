@@ -0,0 +1,119 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.maingraph;
+
+import org.janusgraph.core.JanusGraph;
+import org.junit.Test;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageEdge;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVertex;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVerticesAndEdges;
+
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class LineageCacheTest {
+
+    private final JanusGraph mainGraph = mock(JanusGraph.class);
+
+    @Test
+    public void eachConnectorCacheHasItsOwnSize() {
+        LineageCache small = new LineageCache(1);
+        LineageCache large = new LineageCache(3);
+        LineageCache.register(mainGraph, small);
+        LineageCache.register(mainGraph, large);
+
+        for (String key : new String[]{"k1", "k2", "k3"}) {
+            small.put(key, lineage(false), small.getGeneration());
+            large.put(key, lineage(false), large.getGeneration());
+        }
+
+        assertNull(small.get("k1"));
+        assertNull(small.get("k2"));
+        assertNotNull(small.get("k3"));
+        assertNotNull(large.get("k1"));
+        assertNotNull(large.get("k2"));
+        assertNotNull(large.get("k3"));
+
+        LineageCache.unregister(mainGraph, small);
+        LineageCache.unregister(mainGraph, large);
+    }
+
+    @Test
+    public void invalidateClearsTheCachesOfAllConnectorsOfTheGraph() {
+        LineageCache first = new LineageCache(10);
+        LineageCache second = new LineageCache(10);
+        LineageCache otherGraph = new LineageCache(10);
+        JanusGraph otherMainGraph = mock(JanusGraph.class);
+        LineageCache.register(mainGraph, first);
+        LineageCache.register(mainGraph, second);
+        LineageCache.register(otherMainGraph, otherGraph);
+
+        first.put("k", lineage(false), first.getGeneration());
+        second.put("k", lineage(false), second.getGeneration());
+        otherGraph.put("k", lineage(false), otherGraph.getGeneration());
+
+        LineageCache.invalidate(mainGraph);
+
+        assertNull(first.get("k"));
+        assertNull(second.get("k"));
+        assertNotNull(otherGraph.get("k"));
+
+        LineageCache.unregister(mainGraph, first);
+        LineageCache.unregister(mainGraph, second);
+        LineageCache.unregister(otherMainGraph, otherGraph);
+    }
+
+    @Test
+    public void unregisteredCacheIsNotInvalidated() {
+        LineageCache cache = new LineageCache(10);
+        LineageCache.register(mainGraph, cache);
+        LineageCache.unregister(mainGraph, cache);
+
+        cache.put("k", lineage(false), cache.getGeneration());
+        LineageCache.invalidate(mainGraph);
+
+        assertNotNull(cache.get("k"));
+    }
+
+    @Test
+    public void lineageComputedBeforeAnInvalidationIsNotStored() {
+        LineageCache cache = new LineageCache(10);
+        LineageCache.register(mainGraph, cache);
+
+        long generation = cache.getGeneration();
+        LineageCache.invalidate(mainGraph);
+        cache.put("k", lineage(false), generation);
+
+        assertNull(cache.get("k"));
+
+        LineageCache.unregister(mainGraph, cache);
+    }
+
+    @Test
+    public void cachedLineageIsCopiedWithItsTruncatedFlag() {
+        LineageCache cache = new LineageCache(10);
+        LineageVerticesAndEdges lineage = lineage(true);
+
+        cache.put("k", lineage, cache.getGeneration());
+        lineage.getLineageVertices().clear();
+
+        LineageVerticesAndEdges cached = cache.get("k");
+        assertTrue(cached.isTruncated());
+        assertEquals(1, cached.getLineageVertices().size());
+        assertEquals(1, cached.getLineageEdges().size());
+    }
+
+    private LineageVerticesAndEdges lineage(boolean truncated) {
+        LineageVerticesAndEdges lineage = new LineageVerticesAndEdges(
+                new HashSet<>(Collections.singleton(new LineageVertex("n1", "Column"))),
+                new HashSet<>(Collections.singleton(new LineageEdge("edge", "n1", "n2"))));
+        lineage.setTruncated(truncated);
+        return lineage;
+    }
+}
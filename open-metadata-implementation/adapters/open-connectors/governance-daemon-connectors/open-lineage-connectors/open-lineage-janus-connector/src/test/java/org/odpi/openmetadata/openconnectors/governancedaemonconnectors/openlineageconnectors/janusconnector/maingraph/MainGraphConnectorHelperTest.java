@@ -0,0 +1,151 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.maingraph;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.janusgraph.core.JanusGraph;
+import org.janusgraph.core.JanusGraphFactory;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVertex;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVerticesAndEdges;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.EDGE_LABEL_DATAFLOW_WITHOUT_PROCESS;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.NODE_LABEL_COLUMN;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.NODE_LABEL_CONDENSED;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_KEY_ENTITY_NODE_ID;
+
+/**
+ * The lineage of the test graph:
+ *
+ *   a -> b -> c -> queried -> d
+ *             s1 -> queried
+ *             s2 -> queried
+ */
+public class MainGraphConnectorHelperTest {
+
+    private static File graphDirectory;
+    private static JanusGraph mainGraph;
+
+    @BeforeClass
+    public static void beforeClass() throws IOException {
+        graphDirectory = Files.createTempDirectory("main-graph-test").toFile();
+        mainGraph = JanusGraphFactory.build()
+                .set("storage.backend", "berkeleyje")
+                .set("storage.directory", graphDirectory.getAbsolutePath())
+                .open();
+
+        GraphTraversalSource g = mainGraph.traversal();
+        Vertex a = column(g, "a");
+        Vertex b = column(g, "b");
+        Vertex c = column(g, "c");
+        Vertex s1 = column(g, "s1");
+        Vertex s2 = column(g, "s2");
+        Vertex queried = column(g, "queried");
+        Vertex d = column(g, "d");
+
+        dataFlow(g, a, b);
+        dataFlow(g, b, c);
+        dataFlow(g, c, queried);
+        dataFlow(g, s1, queried);
+        dataFlow(g, s2, queried);
+        dataFlow(g, queried, d);
+        g.tx().commit();
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        mainGraph.close();
+        deleteRecursively(graphDirectory);
+    }
+
+    @Test
+    public void lineageWithinTheLimitsIsNotTruncated() throws Exception {
+        MainGraphConnectorHelper helper = new MainGraphConnectorHelper(mainGraph, 50, 500);
+
+        LineageVerticesAndEdges lineage = helper.ultimateSource("queried", EDGE_LABEL_DATAFLOW_WITHOUT_PROCESS);
+
+        assertFalse(lineage.isTruncated());
+        assertEquals(new HashSet<>(Arrays.asList("a", "s1", "s2", "queried")), nodeIDs(lineage));
+    }
+
+    @Test
+    public void lineageCutByTheFanOutIsTruncated() throws Exception {
+        MainGraphConnectorHelper helper = new MainGraphConnectorHelper(mainGraph, 50, 2);
+
+        LineageVerticesAndEdges lineage = helper.ultimateSource("queried", EDGE_LABEL_DATAFLOW_WITHOUT_PROCESS);
+
+        assertTrue(lineage.isTruncated());
+        assertEquals(3, nodeIDs(lineage).size());
+    }
+
+    @Test
+    public void lineageCutByTheDepthIsTruncated() throws Exception {
+        MainGraphConnectorHelper helper = new MainGraphConnectorHelper(mainGraph, 2, 500);
+
+        LineageVerticesAndEdges lineage = helper.ultimateSource("queried", EDGE_LABEL_DATAFLOW_WITHOUT_PROCESS);
+
+        assertTrue(lineage.isTruncated());
+        assertEquals(new HashSet<>(Arrays.asList("b", "s1", "s2", "queried")), nodeIDs(lineage));
+    }
+
+    @Test
+    public void lineageEndingAtTheDepthLimitIsNotTruncated() throws Exception {
+        MainGraphConnectorHelper helper = new MainGraphConnectorHelper(mainGraph, 1, 500);
+
+        LineageVerticesAndEdges lineage = helper.ultimateDestination("queried", EDGE_LABEL_DATAFLOW_WITHOUT_PROCESS);
+
+        assertFalse(lineage.isTruncated());
+        assertEquals(new HashSet<>(Arrays.asList("d", "queried")), nodeIDs(lineage));
+    }
+
+    @Test
+    public void truncationOfEitherDirectionIsReported() throws Exception {
+        MainGraphConnectorHelper helper = new MainGraphConnectorHelper(mainGraph, 50, 2);
+
+        assertTrue(helper.endToEnd("queried", EDGE_LABEL_DATAFLOW_WITHOUT_PROCESS).isTruncated());
+        assertTrue(helper.sourceAndDestination("queried", EDGE_LABEL_DATAFLOW_WITHOUT_PROCESS).isTruncated());
+        assertFalse(helper.ultimateDestination("queried", EDGE_LABEL_DATAFLOW_WITHOUT_PROCESS).isTruncated());
+    }
+
+    private static Vertex column(GraphTraversalSource g, String nodeID) {
+        return g.addV(NODE_LABEL_COLUMN).property(PROPERTY_KEY_ENTITY_NODE_ID, nodeID).next();
+    }
+
+    private static void dataFlow(GraphTraversalSource g, Vertex from, Vertex to) {
+        g.addE(EDGE_LABEL_DATAFLOW_WITHOUT_PROCESS).from(from).to(to).next();
+    }
+
+    /**
+     * @return the node ids of the lineage without the condensed nodes
+     */
+    private Set<String> nodeIDs(LineageVerticesAndEdges lineage) {
+        return lineage.getLineageVertices().stream()
+                .filter(vertex -> !NODE_LABEL_CONDENSED.equals(vertex.getNodeType()))
+                .map(LineageVertex::getNodeID)
+                .collect(Collectors.toSet());
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,523 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * AuditLogSegment describes one segment file of the file based audit log.  Each segment holds a sequence of
+ * audit log records, one JSON record per line, in the order they were written.
+ *
+ * The segment also keeps a summary of its contents: the range of record timestamps, the number of records
+ * for each severity and each reporting component, and a sparse list of checkpoints that record the byte offset
+ * of every CHECKPOINT_INTERVAL-th record together with the latest timestamp of the records before it.  The
+ * summary lets a query skip segments (or the start of a segment) that can not contain matching records.
+ * Once the segment is sealed, the summary is saved in an index file next to the segment so it does not need
+ * to be rebuilt when the server restarts.
+ */
+class AuditLogSegment
+{
+    private static final Logger log = LoggerFactory.getLogger(AuditLogSegment.class);
+
+    private static final String SEGMENT_FILE_PREFIX = "audit-log-";
+    private static final String SEGMENT_FILE_SUFFIX = ".log";
+    private static final String INDEX_FILE_SUFFIX   = ".idx";
+    private static final int    CHECKPOINT_INTERVAL = 256;
+
+    private final long                 segmentNumber;
+    private final File                 segmentFile;
+    private final File                 indexFile;
+    private final long                 createTime          = System.currentTimeMillis();
+    private final Map<String, Integer> severityCounts      = new HashMap<>();
+    private final Map<String, Integer> componentCounts     = new HashMap<>();
+    private final List<long[]>         checkpoints         = new ArrayList<>();
+
+    private long                       size                = 0;
+    private int                        recordCount         = 0;
+    private int                        timeStampCount      = 0;
+    private long                       earliestTimeStamp   = Long.MAX_VALUE;
+    private long                       latestTimeStamp     = Long.MIN_VALUE;
+    private boolean                    sealed              = false;
+
+
+    /**
+     * Constructor for a segment.
+     *
+     * @param directory directory holding the audit log
+     * @param segmentNumber sequence number of the segment
+     */
+    private AuditLogSegment(File directory,
+                            long segmentNumber)
+    {
+        String fileName = String.format("%s%010d", SEGMENT_FILE_PREFIX, segmentNumber);
+
+        this.segmentNumber = segmentNumber;
+        this.segmentFile = new File(directory, fileName + SEGMENT_FILE_SUFFIX);
+        this.indexFile = new File(directory, fileName + INDEX_FILE_SUFFIX);
+    }
+
+
+    /**
+     * Create a new, empty segment.
+     *
+     * @param directory directory holding the audit log
+     * @param segmentNumber sequence number of the segment
+     * @return new segment
+     */
+    static AuditLogSegment createSegment(File directory,
+                                         long segmentNumber)
+    {
+        return new AuditLogSegment(directory, segmentNumber);
+    }
+
+
+    /**
+     * Open the existing segments in the audit log directory.  The summary of each segment is loaded from its
+     * index file, or rebuilt from the segment itself if the index is missing or out of date.  The existing
+     * segments are sealed since new records are always written to a new segment.
+     *
+     * @param directory directory holding the audit log
+     * @param objectMapper mapper for the audit log records and index files
+     * @return list of segments in the order they were written
+     */
+    static List<AuditLogSegment> openSegments(File         directory,
+                                              ObjectMapper objectMapper)
+    {
+        List<AuditLogSegment> segments = new ArrayList<>();
+        File[]                files    = directory.listFiles();
+
+        if (files != null)
+        {
+            for (File file : files)
+            {
+                String fileName = file.getName();
+
+                if ((fileName.startsWith(SEGMENT_FILE_PREFIX)) && (fileName.endsWith(SEGMENT_FILE_SUFFIX)))
+                {
+                    try
+                    {
+                        long segmentNumber = Long.parseLong(fileName.substring(SEGMENT_FILE_PREFIX.length(),
+                                                                               fileName.length() - SEGMENT_FILE_SUFFIX.length()));
+
+                        AuditLogSegment segment = new AuditLogSegment(directory, segmentNumber);
+
+                        segment.openSegment(objectMapper);
+                        segments.add(segment);
+                    }
+                    catch (NumberFormatException error)
+                    {
+                        log.debug("Ignoring file {} in the audit log directory", fileName);
+                    }
+                }
+            }
+        }
+
+        segments.sort(Comparator.comparingLong(AuditLogSegment::getSegmentNumber));
+
+        return segments;
+    }
+
+
+    /**
+     * Load the summary of an existing segment and seal it.
+     *
+     * @param objectMapper mapper for the audit log records and index files
+     */
+    private synchronized void openSegment(ObjectMapper objectMapper)
+    {
+        if ((indexFile.exists()) && (loadIndex(objectMapper)))
+        {
+            sealed = true;
+            return;
+        }
+
+        /*
+         * The index is missing (typically because the server stopped without closing the segment) so the
+         * summary is rebuilt from the records.  A partly written record at the end of the segment is ignored.
+         */
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(segmentFile), StandardCharsets.UTF_8)))
+        {
+            long   offset = 0;
+            String line;
+
+            while ((line = reader.readLine()) != null)
+            {
+                int length = line.getBytes(StandardCharsets.UTF_8).length + 1;
+
+                try
+                {
+                    recordAdded(objectMapper.readValue(line, OMRSAuditLogRecord.class), length);
+                }
+                catch (IOException error)
+                {
+                    log.debug("Ignoring unreadable audit log record at offset {} of {}", offset, segmentFile.getName());
+                    size += length;
+                }
+
+                offset += length;
+            }
+
+            /*
+             * Each line is counted with its newline, but the last line has none if the server stopped part
+             * way through writing it.  The size must match the length of the file for the index to be used
+             * the next time the segment is opened.
+             */
+            if (offset > segmentFile.length())
+            {
+                size -= offset - segmentFile.length();
+            }
+        }
+        catch (IOException error)
+        {
+            log.error("Unable to read audit log segment " + segmentFile.getName(), error);
+        }
+
+        sealed = true;
+        writeIndex(objectMapper);
+    }
+
+
+    /**
+     * Load the segment summary from the index file.
+     *
+     * @param objectMapper mapper for the index file
+     * @return true if the index matches the segment
+     */
+    private boolean loadIndex(ObjectMapper objectMapper)
+    {
+        try
+        {
+            JsonNode index = objectMapper.readTree(indexFile);
+
+            if (index.path("size").asLong(-1) != segmentFile.length())
+            {
+                return false;
+            }
+
+            size = index.path("size").asLong();
+            recordCount = index.path("recordCount").asInt();
+            timeStampCount = index.path("timeStampCount").asInt();
+            earliestTimeStamp = index.path("earliestTimeStamp").asLong(Long.MAX_VALUE);
+            latestTimeStamp = index.path("latestTimeStamp").asLong(Long.MIN_VALUE);
+
+            Iterator<Map.Entry<String, JsonNode>> severities = index.path("severityCounts").fields();
+            while (severities.hasNext())
+            {
+                Map.Entry<String, JsonNode> severity = severities.next();
+                severityCounts.put(severity.getKey(), severity.getValue().asInt());
+            }
+
+            Iterator<Map.Entry<String, JsonNode>> components = index.path("componentCounts").fields();
+            while (components.hasNext())
+            {
+                Map.Entry<String, JsonNode> component = components.next();
+                componentCounts.put(component.getKey(), component.getValue().asInt());
+            }
+
+            for (JsonNode checkpoint : index.path("checkpoints"))
+            {
+                checkpoints.add(new long[]{ checkpoint.path(0).asLong(), checkpoint.path(1).asLong() });
+            }
+
+            return true;
+        }
+        catch (IOException error)
+        {
+            log.debug("Unable to read audit log index " + indexFile.getName(), error);
+
+            severityCounts.clear();
+            componentCounts.clear();
+            checkpoints.clear();
+            size = 0;
+            recordCount = 0;
+            timeStampCount = 0;
+            earliestTimeStamp = Long.MAX_VALUE;
+            latestTimeStamp = Long.MIN_VALUE;
+
+            return false;
+        }
+    }
+
+
+    /**
+     * Save the segment summary in the index file.  If this fails, the summary is rebuilt the next time
+     * the segment is opened.
+     *
+     * @param objectMapper mapper for the index file
+     */
+    private void writeIndex(ObjectMapper objectMapper)
+    {
+        ObjectNode index = objectMapper.createObjectNode();
+
+        index.put("size", size);
+        index.put("recordCount", recordCount);
+        index.put("timeStampCount", timeStampCount);
+        index.put("earliestTimeStamp", earliestTimeStamp);
+        index.put("latestTimeStamp", latestTimeStamp);
+
+        ObjectNode severities = index.putObject("severityCounts");
+        for (Map.Entry<String, Integer> severity : severityCounts.entrySet())
+        {
+            severities.put(severity.getKey(), severity.getValue());
+        }
+
+        ObjectNode components = index.putObject("componentCounts");
+        for (Map.Entry<String, Integer> component : componentCounts.entrySet())
+        {
+            components.put(component.getKey(), component.getValue());
+        }
+
+        ArrayNode checkpointArray = index.putArray("checkpoints");
+        for (long[] checkpoint : checkpoints)
+        {
+            checkpointArray.addArray().add(checkpoint[0]).add(checkpoint[1]);
+        }
+
+        try
+        {
+            objectMapper.writeValue(indexFile, index);
+        }
+        catch (IOException error)
+        {
+            log.error("Unable to write audit log index " + indexFile.getName(), error);
+        }
+    }
+
+
+    /**
+     * Update the summary with a record that has been appended to the segment.
+     *
+     * @param logRecord record that has been written
+     * @param length number of bytes written for the record, including the line separator
+     */
+    synchronized void recordAdded(OMRSAuditLogRecord logRecord,
+                                  int                length)
+    {
+        if (recordCount % CHECKPOINT_INTERVAL == 0)
+        {
+            checkpoints.add(new long[]{ size, latestTimeStamp });
+        }
+
+        size += length;
+        recordCount++;
+
+        if (logRecord.getTimeStamp() != null)
+        {
+            long timeStamp = logRecord.getTimeStamp().getTime();
+
+            timeStampCount++;
+            earliestTimeStamp = Math.min(earliestTimeStamp, timeStamp);
+            latestTimeStamp = Math.max(latestTimeStamp, timeStamp);
+        }
+
+        if (logRecord.getSeverity() != null)
+        {
+            severityCounts.merge(logRecord.getSeverity(), 1, Integer::sum);
+        }
+
+        String componentName = getComponentName(logRecord);
+        if (componentName != null)
+        {
+            componentCounts.merge(componentName, 1, Integer::sum);
+        }
+    }
+
+
+    /**
+     * Mark the segment as complete and save its summary.  No more records are written to a sealed segment.
+     *
+     * @param objectMapper mapper for the index file
+     */
+    synchronized void seal(ObjectMapper objectMapper)
+    {
+        sealed = true;
+        writeIndex(objectMapper);
+    }
+
+
+    /**
+     * Return the name of the component that reported a log record.
+     *
+     * @param logRecord log record
+     * @return component name or null
+     */
+    static String getComponentName(OMRSAuditLogRecord logRecord)
+    {
+        if (logRecord.getReportingComponent() != null)
+        {
+            return logRecord.getReportingComponent().getComponentName();
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the sequence number of the segment.
+     *
+     * @return number
+     */
+    long getSegmentNumber()
+    {
+        return segmentNumber;
+    }
+
+
+    /**
+     * Return the file holding the segment's records.
+     *
+     * @return file
+     */
+    File getSegmentFile()
+    {
+        return segmentFile;
+    }
+
+
+    /**
+     * Return the time that this segment was created.
+     *
+     * @return milliseconds since the epoch
+     */
+    long getCreateTime()
+    {
+        return createTime;
+    }
+
+
+    /**
+     * Return the number of bytes of complete records in the segment.
+     *
+     * @return byte count
+     */
+    synchronized long getSize()
+    {
+        return size;
+    }
+
+
+    /**
+     * Return whether the segment is complete.
+     *
+     * @return boolean
+     */
+    synchronized boolean isSealed()
+    {
+        return sealed;
+    }
+
+
+    /**
+     * Return the number of records in the segment that match a query.  The count is only returned when every
+     * record in the segment falls inside the time period, since otherwise the matching records need to be read.
+     *
+     * @param startTime start of the time period or null
+     * @param endTime end of the time period or null
+     * @param severity severity of the requested records or null
+     * @param componentName reporting component of the requested records or null
+     * @return count or -1 if the segment needs to be read
+     */
+    synchronized int getMatchingRecordCount(Long   startTime,
+                                            Long   endTime,
+                                            String severity,
+                                            String componentName)
+    {
+        if ((startTime != null) || (endTime != null))
+        {
+            if ((timeStampCount != recordCount) ||
+                ((startTime != null) && (earliestTimeStamp < startTime)) ||
+                ((endTime != null) && (latestTimeStamp > endTime)))
+            {
+                return -1;
+            }
+        }
+
+        if (severity != null)
+        {
+            return severityCounts.getOrDefault(severity, 0);
+        }
+
+        if (componentName != null)
+        {
+            return componentCounts.getOrDefault(componentName, 0);
+        }
+
+        return recordCount;
+    }
+
+
+    /**
+     * Return whether the segment may contain records that match a query.
+     *
+     * @param startTime start of the time period or null
+     * @param endTime end of the time period or null
+     * @param severity severity of the requested records or null
+     * @param componentName reporting component of the requested records or null
+     * @return boolean
+     */
+    synchronized boolean mayContain(Long   startTime,
+                                    Long   endTime,
+                                    String severity,
+                                    String componentName)
+    {
+        if (recordCount == 0)
+        {
+            return false;
+        }
+
+        if (((startTime != null) && (latestTimeStamp < startTime)) ||
+            ((endTime != null) && (earliestTimeStamp > endTime)))
+        {
+            return false;
+        }
+
+        if ((severity != null) && (! severityCounts.containsKey(severity)))
+        {
+            return false;
+        }
+
+        return (componentName == null) || (componentCounts.containsKey(componentName));
+    }
+
+
+    /**
+     * Return the offset to start reading from to find records written at or after the start time.  This is
+     * the last checkpoint where all of the earlier records are before the start time.
+     *
+     * @param startTime start of the time period or null
+     * @return byte offset
+     */
+    synchronized long getStartOffset(Long startTime)
+    {
+        long startOffset = 0;
+
+        if (startTime != null)
+        {
+            for (long[] checkpoint : checkpoints)
+            {
+                if (checkpoint[1] >= startTime)
+                {
+                    break;
+                }
+
+                startOffset = checkpoint[0];
+            }
+        }
+
+        return startOffset;
+    }
+}
@@ -3,34 +3,106 @@
 package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.deser.std.StdDelegatingDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.util.StdConverter;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogReportingComponent;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.input.BoundedInputStream;
 import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.PagingErrorException;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogReportingComponent;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogStoreConnectorBase;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.util.Date;
-import java.util.List;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 
 /**
  * FileBasedAuditLogStoreConnector provides a connector implementation for a file based audit log.
- * The audit log is stored in a directory and each audit log record is stored as a file with a filename build
- * from the record's unique identifier (guid).
+ * The audit log is stored in a directory as a sequence of append-only segment files.  Each audit log
+ * record is written to the current segment as a single line of JSON.  A new segment is started when the current
+ * one reaches its maximum size or age (configured with the maxSegmentSize and maxSegmentAge configuration
+ * properties), and when the connector restarts.
+ *
+ * Records are flushed to the operating system as they are written.  If the syncInterval configuration
+ * property is set, the current segment is also forced to disk every syncInterval milliseconds, so that all of
+ * the records written in the interval share one disk write.
+ *
+ * The connector keeps a summary of each segment (see AuditLogSegment) so that the query methods only read
+ * the segments, and the parts of segments, that may contain matching records.
  */
 public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorBase
 {
     private static final String defaultDirectoryTemplate = "omag.server.auditlog";
+    private static final long   defaultMaxSegmentSize    = 10 * 1024 * 1024;
+    private static final long   defaultMaxSegmentAge     = 24 * 60;
+    private static final long   defaultSyncInterval      = 0;
 
     private static final Logger log = LoggerFactory.getLogger(FileBasedAuditLogStoreConnector.class);
 
-    private String configStoreTemplateName  = null;
+    private static final ObjectMapper objectMapper = getObjectMapper();
+    private static final ObjectWriter recordWriter = objectMapper.writerFor(OMRSAuditLogRecord.class);
+    private static final ObjectReader recordReader = objectMapper.readerFor(OMRSAuditLogRecord.class);
+
+    private String                   configStoreTemplateName = null;
+    private File                     auditLogDirectory       = null;
+    private long                     maxSegmentSize          = defaultMaxSegmentSize;
+    private long                     maxSegmentAge           = TimeUnit.MINUTES.toMillis(defaultMaxSegmentAge);
+    private long                     syncInterval            = defaultSyncInterval;
+    private List<AuditLogSegment>    segments                = new CopyOnWriteArrayList<>();
+    private AuditLogSegment          activeSegment           = null;
+    private OutputStream             activeSegmentStream     = null;
+    private FileChannel              activeSegmentChannel    = null;
+    private long                     nextSegmentNumber       = 1;
+    private volatile boolean         unsyncedRecords         = false;
+    private ScheduledExecutorService syncThread              = null;
+
+
+    /**
+     * Return the mapper used to read and write the audit log records.  OMRSAuditLogReportingComponent has no
+     * default constructor, so the reporting component is read as an AuditLogReportingComponent and copied.
+     *
+     * @return object mapper
+     */
+    private static ObjectMapper getObjectMapper()
+    {
+        SimpleModule module = new SimpleModule();
+
+        module.addDeserializer(OMRSAuditLogReportingComponent.class,
+                               new StdDelegatingDeserializer<>(new StdConverter<AuditLogReportingComponent, OMRSAuditLogReportingComponent>()
+                               {
+                                   @Override
+                                   public OMRSAuditLogReportingComponent convert(AuditLogReportingComponent reportingComponent)
+                                   {
+                                       return new OMRSAuditLogReportingComponent(reportingComponent);
+                                   }
+                               }));
+
+        return new ObjectMapper().registerModule(module);
+    }
 
 
     /**
@@ -63,16 +135,84 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
             configStoreTemplateName = defaultDirectoryTemplate;
         }
 
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+        if (configurationProperties != null)
+        {
+            maxSegmentSize = getLongProperty(configurationProperties, FileBasedAuditLogStoreProvider.maxSegmentSizeProperty, defaultMaxSegmentSize);
+            maxSegmentAge = TimeUnit.MINUTES.toMillis(getLongProperty(configurationProperties, FileBasedAuditLogStoreProvider.maxSegmentAgeProperty, defaultMaxSegmentAge));
+            syncInterval = getLongProperty(configurationProperties, FileBasedAuditLogStoreProvider.syncIntervalProperty, defaultSyncInterval);
+        }
+
         try
         {
             File         configStoreDirectory = new File(configStoreTemplateName);
 
             FileUtils.forceMkdir(configStoreDirectory);
+
+            synchronized (this)
+            {
+                segments.addAll(AuditLogSegment.openSegments(configStoreDirectory, objectMapper));
+
+                if (! segments.isEmpty())
+                {
+                    nextSegmentNumber = segments.get(segments.size() - 1).getSegmentNumber() + 1;
+                }
+
+                auditLogDirectory = configStoreDirectory;
+            }
         }
         catch (IOException ioException)
         {
             log.error("Unusable Server Audit Log Store :(", ioException);
         }
+
+        if (syncInterval > 0)
+        {
+            syncThread = Executors.newSingleThreadScheduledExecutor(runnable ->
+                                                                    {
+                                                                        Thread thread = new Thread(runnable, "AuditLogSync-" + configStoreTemplateName);
+
+                                                                        thread.setDaemon(true);
+
+                                                                        return thread;
+                                                                    });
+            syncThread.scheduleWithFixedDelay(this::syncActiveSegment, syncInterval, syncInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+
+    /**
+     * Return the value of a numeric configuration property.
+     *
+     * @param configurationProperties configuration properties from the connection
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is not set or is not valid
+     * @return property value
+     */
+    private long getLongProperty(Map<String, Object> configurationProperties,
+                                 String              propertyName,
+                                 long                defaultValue)
+    {
+        Object propertyValue = configurationProperties.get(propertyName);
+
+        if (propertyValue instanceof Number)
+        {
+            return ((Number)propertyValue).longValue();
+        }
+        else if (propertyValue != null)
+        {
+            try
+            {
+                return Long.parseLong(propertyValue.toString());
+            }
+            catch (NumberFormatException error)
+            {
+                log.error("Ignoring invalid value {} for audit log property {}", propertyValue, propertyName);
+            }
+        }
+
+        return defaultValue;
     }
 
 
@@ -93,12 +233,10 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
         {
             try
             {
-                File configStoreFile =
-                        new File(configStoreTemplateName + "/log-record-" + logRecord.getGUID());
-                ObjectMapper objectMapper    = new ObjectMapper();
-
-                String configStoreFileContents = objectMapper.writeValueAsString(logRecord);
-                FileUtils.writeStringToFile(configStoreFile, configStoreFileContents, (String)null, false);
+                /*
+                 * The record is converted to JSON before taking the lock so that only the file write is serialized.
+                 */
+                appendLogRecord(logRecord, recordWriter.writeValueAsBytes(logRecord));
             }
             catch (IOException ioException)
             {
@@ -110,6 +248,119 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     }
 
 
+    /**
+     * Append a log record to the active segment, starting a new segment if necessary.
+     *
+     * @param logRecord log record to store
+     * @param jsonRecord JSON version of the log record
+     * @throws IOException the segment could not be written
+     */
+    private synchronized void appendLogRecord(OMRSAuditLogRecord logRecord,
+                                              byte[]             jsonRecord) throws IOException
+    {
+        if (auditLogDirectory == null)
+        {
+            throw new IOException("Audit log directory " + configStoreTemplateName + " is not available");
+        }
+
+        if ((activeSegment != null) &&
+            ((activeSegment.getSize() >= maxSegmentSize) ||
+             ((maxSegmentAge > 0) && (System.currentTimeMillis() - activeSegment.getCreateTime() >= maxSegmentAge))))
+        {
+            closeActiveSegment();
+        }
+
+        if (activeSegment == null)
+        {
+            AuditLogSegment  segment          = AuditLogSegment.createSegment(auditLogDirectory, nextSegmentNumber);
+            FileOutputStream fileOutputStream = new FileOutputStream(segment.getSegmentFile(), true);
+
+            nextSegmentNumber++;
+            activeSegment = segment;
+            activeSegmentChannel = fileOutputStream.getChannel();
+            activeSegmentStream = new BufferedOutputStream(fileOutputStream);
+            segments.add(segment);
+        }
+
+        activeSegmentStream.write(jsonRecord);
+        activeSegmentStream.write('\n');
+        activeSegmentStream.flush();
+
+        /*
+         * The summary is only updated once the record is complete in the file, so queries that read up to
+         * the size of the segment never see part of a record.
+         */
+        activeSegment.recordAdded(logRecord, jsonRecord.length + 1);
+        unsyncedRecords = true;
+    }
+
+
+    /**
+     * Force the records written to the active segment since the last sync out to disk.  This runs on the sync
+     * thread and does not hold the connector lock while waiting for the disk, so records can continue to be
+     * appended.
+     */
+    private void syncActiveSegment()
+    {
+        FileChannel channel;
+
+        synchronized (this)
+        {
+            if (! unsyncedRecords)
+            {
+                return;
+            }
+
+            unsyncedRecords = false;
+            channel = activeSegmentChannel;
+        }
+
+        if (channel != null)
+        {
+            try
+            {
+                channel.force(false);
+            }
+            catch (IOException error)
+            {
+                /*
+                 * The segment may have been closed by a rollover, in which case it has already been forced to disk.
+                 */
+                log.debug("Unable to sync audit log segment", error);
+            }
+        }
+    }
+
+
+    /**
+     * Complete the active segment.  It is forced to disk, closed and its summary is saved.
+     *
+     * @throws IOException the segment could not be closed cleanly
+     */
+    private synchronized void closeActiveSegment() throws IOException
+    {
+        if (activeSegment != null)
+        {
+            AuditLogSegment segment = activeSegment;
+
+            activeSegment = null;
+
+            try
+            {
+                activeSegmentStream.flush();
+                activeSegmentChannel.force(false);
+                activeSegmentStream.close();
+            }
+            finally
+            {
+                activeSegmentStream = null;
+                activeSegmentChannel = null;
+                segment.seal(objectMapper);
+            }
+        }
+    }
+
+
     /**
      * Retrieve a specific audit log record.
      *
@@ -122,6 +373,29 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
                                                                            RepositoryErrorException
     {
         final String methodName = "getAuditLogRecord";
+        final String parameterName = "logRecordId";
+
+        validateQueryParameter(logRecordId, parameterName, methodName);
+
+        String                jsonFilter     = getJSONFilter("guid", logRecordId, methodName);
+        List<AuditLogSegment> searchSegments = new ArrayList<>(segments);
+
+        /*
+         * Records are most often retrieved soon after they are written so the newest segments are searched first.
+         */
+        Collections.reverse(searchSegments);
+
+        for (AuditLogSegment segment : searchSegments)
+        {
+            LogRecordPage page = new LogRecordPage(0, 1);
+
+            readSegment(segment, 0, jsonFilter, logRecord -> logRecordId.equals(logRecord.getGUID()), page, methodName);
+
+            if (page.isFull())
+            {
+                return page.getResults().get(0);
+            }
+        }
 
         return null;
     }
@@ -149,7 +423,7 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     {
         final String methodName = "getAuditLogRecordsByTimeStamp";
 
-        return null;
+        return findLogRecords(startDate, endDate, null, null, offset, maximumRecords, methodName);
     }
 
 
@@ -176,8 +450,11 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
                                                                                             RepositoryErrorException
     {
         final String methodName = "getAuditLogRecordsBySeverity";
+        final String parameterName = "severity";
 
-        return null;
+        validateQueryParameter(severity, parameterName, methodName);
+
+        return findLogRecords(startDate, endDate, severity, null, offset, maximumRecords, methodName);
     }
 
 
@@ -204,8 +481,267 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
                                                                                                 RepositoryErrorException
     {
         final String methodName = "getAuditLogRecordsByComponent";
+        final String parameterName = "component";
 
-        return null;
+        validateQueryParameter(component, parameterName, methodName);
+
+        return findLogRecords(startDate, endDate, null, component, offset, maximumRecords, methodName);
+    }
+
+
+    /**
+     * Return the log records that match a query, in the order that they were written.
+     *
+     * @param startDate start of time period (null means from the first record)
+     * @param endDate end of time period (null means up to the latest record)
+     * @param severity severity of the requested records or null
+     * @param component reporting component of the requested records or null
+     * @param offset number of matching records to skip
+     * @param maximumRecords maximum number of log records to return (0 means no limit)
+     * @param methodName calling method
+     * @return list of log records or null if none match
+     * @throws InvalidParameterException the time period is invalid
+     * @throws PagingErrorException the offset or maximumRecords are invalid
+     * @throws RepositoryErrorException the audit log can not be read
+     */
+    private List<OMRSAuditLogRecord> findLogRecords(Date   startDate,
+                                                    Date   endDate,
+                                                    String severity,
+                                                    String component,
+                                                    int    offset,
+                                                    int    maximumRecords,
+                                                    String methodName) throws InvalidParameterException,
+                                                                              PagingErrorException,
+                                                                              RepositoryErrorException
+    {
+        final String startDateParameterName = "startDate";
+
+        if ((startDate != null) && (endDate != null) && (startDate.after(endDate)))
+        {
+            throw new InvalidParameterException(OMRSErrorCode.INVALID_AUDIT_LOG_QUERY_PERIOD.getMessageDefinition(startDate.toString(),
+                                                                                                                methodName,
+                                                                                                                getDestinationName(),
+                                                                                                                endDate.toString()),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                startDateParameterName);
+        }
+
+        if ((offset < 0) || (maximumRecords < 0))
+        {
+            throw new PagingErrorException(OMRSErrorCode.INVALID_AUDIT_LOG_PAGING.getMessageDefinition(Integer.toString(offset),
+                                                                                                     Integer.toString(maximumRecords),
+                                                                                                     methodName,
+                                                                                                     getDestinationName()),
+                                           this.getClass().getName(),
+                                           methodName);
+        }
+
+        Long   startTime  = (startDate == null) ? null : startDate.getTime();
+        Long   endTime    = (endDate == null) ? null : endDate.getTime();
+        String jsonFilter = null;
+
+        if (severity != null)
+        {
+            jsonFilter = getJSONFilter("severity", severity, methodName);
+        }
+        else if (component != null)
+        {
+            jsonFilter = getJSONFilter("componentName", component, methodName);
+        }
+
+        LogRecordPage page = new LogRecordPage(offset, maximumRecords);
+
+        for (AuditLogSegment segment : segments)
+        {
+            if (page.isFull())
+            {
+                break;
+            }
+
+            if (! segment.mayContain(startTime, endTime, severity, component))
+            {
+                continue;
+            }
+
+            /*
+             * A sealed segment that lies inside the time period can be skipped using its counts
+             * if all of its matching records come before the requested page.
+             */
+            if (segment.isSealed())
+            {
+                int matchingRecordCount = segment.getMatchingRecordCount(startTime, endTime, severity, component);
+
+                if ((matchingRecordCount >= 0) && (page.skip(matchingRecordCount)))
+                {
+                    continue;
+                }
+            }
+
+            readSegment(segment,
+                        segment.getStartOffset(startTime),
+                        jsonFilter,
+                        logRecord -> isMatchingRecord(logRecord, startTime, endTime, severity, component),
+                        page,
+                        methodName);
+        }
+
+        if (page.getResults().isEmpty())
+        {
+            return null;
+        }
+
+        return page.getResults();
+    }
+
+
+    /**
+     * Test whether a log record matches a query.
+     *
+     * @param logRecord log record
+     * @param startTime start of the time period or null
+     * @param endTime end of the time period or null
+     * @param severity severity of the requested records or null
+     * @param component reporting component of the requested records or null
+     * @return boolean
+     */
+    private boolean isMatchingRecord(OMRSAuditLogRecord logRecord,
+                                     Long               startTime,
+                                     Long               endTime,
+                                     String             severity,
+                                     String             component)
+    {
+        if ((startTime != null) || (endTime != null))
+        {
+            if (logRecord.getTimeStamp() == null)
+            {
+                return false;
+            }
+
+            long timeStamp = logRecord.getTimeStamp().getTime();
+
+            if (((startTime != null) && (timeStamp < startTime)) || ((endTime != null) && (timeStamp > endTime)))
+            {
+                return false;
+            }
+        }
+
+        if ((severity != null) && (! severity.equals(logRecord.getSeverity())))
+        {
+            return false;
+        }
+
+        return (component == null) || (component.equals(AuditLogSegment.getComponentName(logRecord)));
+    }
+
+
+    /**
+     * Read the complete records in a segment from the start offset, adding the matching ones to the page.
+     * The JSON filter is a string that must appear in a record for it to match, and is used to avoid parsing
+     * records that can not match.
+     *
+     * @param segment segment to read
+     * @param startOffset byte offset of the first record to read
+     * @param jsonFilter string that a matching record must contain or null
+     * @param matcher test for a matching record
+     * @param page page of results
+     * @param methodName calling method
+     * @throws RepositoryErrorException the segment can not be read
+     */
+    private void readSegment(AuditLogSegment                segment,
+                             long                           startOffset,
+                             String                         jsonFilter,
+                             Predicate<OMRSAuditLogRecord>  matcher,
+                             LogRecordPage                  page,
+                             String                         methodName) throws RepositoryErrorException
+    {
+        long endOffset = segment.getSize();
+
+        try (FileInputStream fileInputStream = new FileInputStream(segment.getSegmentFile()))
+        {
+            fileInputStream.getChannel().position(startOffset);
+
+            BufferedReader reader = new BufferedReader(new InputStreamReader(new BoundedInputStream(fileInputStream, endOffset - startOffset),
+                                                                             StandardCharsets.UTF_8));
+            String         line;
+
+            while ((! page.isFull()) && ((line = reader.readLine()) != null))
+            {
+                if ((jsonFilter == null) || (line.contains(jsonFilter)))
+                {
+                    try
+                    {
+                        OMRSAuditLogRecord logRecord = recordReader.readValue(line);
+
+                        if (matcher.test(logRecord))
+                        {
+                            page.add(logRecord);
+                        }
+                    }
+                    catch (IOException error)
+                    {
+                        log.debug("Ignoring unreadable audit log record in " + segment.getSegmentFile().getName(), error);
+                    }
+                }
+            }
+        }
+        catch (IOException error)
+        {
+            throw new RepositoryErrorException(OMRSErrorCode.AUDIT_LOG_STORE_NOT_AVAILABLE.getMessageDefinition(getDestinationName(),
+                                                                                                               error.getMessage()),
+                                               this.getClass().getName(),
+                                               methodName,
+                                               error);
+        }
+    }
+
+
+    /**
+     * Return the string that appears in the JSON version of a log record with the requested property value.
+     *
+     * @param propertyName name of the JSON property
+     * @param propertyValue value of the property
+     * @param methodName calling method
+     * @return JSON fragment or null if it can not be produced
+     */
+    private String getJSONFilter(String propertyName,
+                                 String propertyValue,
+                                 String methodName)
+    {
+        try
+        {
+            return "\"" + propertyName + "\":" + objectMapper.writeValueAsString(propertyValue);
+        }
+        catch (IOException error)
+        {
+            log.debug("Unable to build the JSON filter for " + methodName, error);
+
+            return null;
+        }
+    }
+
+
+    /**
+     * Validate that a query parameter is not null.
+     *
+     * @param parameterValue value of the parameter
+     * @param parameterName name of the parameter
+     * @param methodName calling method
+     * @throws InvalidParameterException the parameter is null
+     */
+    private void validateQueryParameter(String parameterValue,
+                                        String parameterName,
+                                        String methodName) throws InvalidParameterException
+    {
+        if (parameterValue == null)
+        {
+            throw new InvalidParameterException(OMRSErrorCode.NULL_AUDIT_LOG_QUERY_PARAMETER.getMessageDefinition(parameterName,
+                                                                                                                methodName,
+                                                                                                                getDestinationName()),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                parameterName);
+        }
     }
 
 
@@ -216,6 +752,105 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
      */
     public  void disconnect() throws ConnectorCheckedException
     {
+        if (syncThread != null)
+        {
+            syncThread.shutdownNow();
+            syncThread = null;
+        }
+
+        try
+        {
+            closeActiveSegment();
+        }
+        catch (IOException ioException)
+        {
+            log.error("Unable to close Server Audit Log Store segment", ioException);
+        }
+
         super.disconnect();
     }
+
+
+    /**
+     * LogRecordPage collects the matching log records for a query, skipping the records before the requested
+     * offset and stopping once the maximum number of records has been found.
+     */
+    private static class LogRecordPage
+    {
+        private final List<OMRSAuditLogRecord> results = new ArrayList<>();
+        private final int                      maximumRecords;
+        private int                            recordsToSkip;
+
+
+        /**
+         * Constructor for a page.
+         *
+         * @param offset number of matching records to skip
+         * @param maximumRecords maximum number of records to return (0 means no limit)
+         */
+        LogRecordPage(int offset,
+                      int maximumRecords)
+        {
+            this.recordsToSkip = offset;
+            this.maximumRecords = maximumRecords;
+        }
+
+
+        /**
+         * Skip a block of matching records if they all come before the requested page.
+         *
+         * @param recordCount number of matching records
+         * @return true if the records were skipped
+         */
+        boolean skip(int recordCount)
+        {
+            if (recordCount <= recordsToSkip)
+            {
+                recordsToSkip = recordsToSkip - recordCount;
+                return true;
+            }
+
+            return false;
+        }
+
+
+        /**
+         * Add a matching record.
+         *
+         * @param logRecord matching record
+         */
+        void add(OMRSAuditLogRecord logRecord)
+        {
+            if (recordsToSkip > 0)
+            {
+                recordsToSkip--;
+            }
+            else if (! isFull())
+            {
+                results.add(logRecord);
+            }
+        }
+
+
+        /**
+         * Return whether the page has been filled.
+         *
+         * @return boolean
+         */
+        boolean isFull()
+        {
+            return (maximumRecords > 0) && (results.size() >= maximumRecords);
+        }
+
+
+        /**
+         * Return the matching records.
+         *
+         * @return list of log records
+         */
+        List<OMRSAuditLogRecord> getResults()
+        {
+            return results;
+        }
+    }
 }
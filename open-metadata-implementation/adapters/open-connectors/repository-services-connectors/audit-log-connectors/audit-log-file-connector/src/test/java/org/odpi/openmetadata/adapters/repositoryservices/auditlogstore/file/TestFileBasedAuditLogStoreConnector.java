@@ -0,0 +1,214 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.io.FileUtils;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogReportingComponent;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogReportingComponent;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.PagingErrorException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test that the FileBasedAuditLogStoreConnector returns the records it has written, with paging, both while
+ * it is writing to a segment and after it has been restarted.
+ */
+public class TestFileBasedAuditLogStoreConnector
+{
+    private static final int  recordCount   = 100;
+    private static final long baseTimeStamp = 1600000000000L;
+
+    private File directory = null;
+
+
+    @BeforeMethod
+    public void createDirectory() throws Exception
+    {
+        directory = Files.createTempDirectory("auditlog").toFile();
+    }
+
+
+    @AfterMethod
+    public void deleteDirectory() throws Exception
+    {
+        FileUtils.deleteDirectory(directory);
+    }
+
+
+    @Test
+    public void testQueries() throws Exception
+    {
+        FileBasedAuditLogStoreConnector connector = getConnector();
+        List<String>                    guids     = new ArrayList<>();
+
+        for (int i = 0; i < recordCount; i++)
+        {
+            guids.add(connector.storeLogRecord(getLogRecord(i)));
+        }
+
+        validateQueries(connector, guids);
+        connector.disconnect();
+
+        assertTrue(Objects.requireNonNull(directory.list((dir, name) -> name.endsWith(".log"))).length > 1);
+
+        /*
+         * The restarted connector loads the segment summaries from the index files.
+         */
+        connector = getConnector();
+        validateQueries(connector, guids);
+
+        connector.storeLogRecord(getLogRecord(recordCount));
+        assertEquals(connector.getAuditLogRecordsByTimeStamp(null, null, recordCount, 0).size(), 1);
+        connector.disconnect();
+    }
+
+
+    @Test
+    public void testPartialRecord() throws Exception
+    {
+        FileBasedAuditLogStoreConnector connector = getConnector();
+        List<String>                    guids     = new ArrayList<>();
+
+        for (int i = 0; i < recordCount; i++)
+        {
+            guids.add(connector.storeLogRecord(getLogRecord(i)));
+        }
+
+        connector.disconnect();
+
+        /*
+         * The server stopped part way through writing a record, before the last segment was closed.
+         */
+        File[] segmentFiles = Objects.requireNonNull(directory.listFiles((dir, name) -> name.endsWith(".log")));
+        Arrays.sort(segmentFiles);
+
+        File segmentFile = segmentFiles[segmentFiles.length - 1];
+        File indexFile   = new File(directory, segmentFile.getName().replace(".log", ".idx"));
+
+        assertTrue(indexFile.delete());
+        Files.write(segmentFile.toPath(), "{\"guid\":\"partial".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        /*
+         * The rebuilt summary ignores the partial record and matches the segment so the index is used
+         * when the connector is next restarted.
+         */
+        connector = getConnector();
+        validateQueries(connector, guids);
+        connector.disconnect();
+
+        assertEquals(new ObjectMapper().readTree(indexFile).path("size").asLong(), segmentFile.length());
+    }
+
+
+    @Test(expectedExceptions = PagingErrorException.class)
+    public void testNegativeOffset() throws Exception
+    {
+        FileBasedAuditLogStoreConnector connector = getConnector();
+
+        try
+        {
+            connector.getAuditLogRecordsByTimeStamp(null, null, -1, 10);
+        }
+        finally
+        {
+            connector.disconnect();
+        }
+    }
+
+
+    private void validateQueries(FileBasedAuditLogStoreConnector connector,
+                                 List<String>                    guids) throws Exception
+    {
+        assertEquals(connector.getAuditLogRecord(guids.get(42)).getGUID(), guids.get(42));
+        assertNull(connector.getAuditLogRecord(UUID.randomUUID().toString()));
+
+        List<OMRSAuditLogRecord> all = connector.getAuditLogRecordsByTimeStamp(null, null, 0, 0);
+        assertEquals(all.size(), recordCount);
+        for (int i = 0; i < recordCount; i++)
+        {
+            assertEquals(all.get(i).getGUID(), guids.get(i));
+        }
+
+        List<OMRSAuditLogRecord> page = connector.getAuditLogRecordsByTimeStamp(new Date(baseTimeStamp + 10),
+                                                                              new Date(baseTimeStamp + 89),
+                                                                              35,
+                                                                              20);
+        assertEquals(page.size(), 20);
+        assertEquals(page.get(0).getGUID(), guids.get(45));
+        assertEquals(page.get(19).getGUID(), guids.get(64));
+
+        page = connector.getAuditLogRecordsBySeverity("Error", null, null, 30, 100);
+        assertEquals(page.size(), 20);
+        assertEquals(page.get(0).getGUID(), guids.get(61));
+        for (OMRSAuditLogRecord logRecord : page)
+        {
+            assertEquals(logRecord.getSeverity(), "Error");
+        }
+
+        page = connector.getAuditLogRecordsByComponent("Component1", new Date(baseTimeStamp + 50), null, 0, 5);
+        assertEquals(page.size(), 5);
+        assertEquals(page.get(0).getGUID(), guids.get(53));
+        assertEquals(page.get(4).getGUID(), guids.get(69));
+
+        assertNull(connector.getAuditLogRecordsBySeverity("Unknown", null, null, 0, 10));
+        assertNull(connector.getAuditLogRecordsByTimeStamp(null, null, recordCount, 10));
+    }
+
+
+    private FileBasedAuditLogStoreConnector getConnector() throws Exception
+    {
+        Endpoint endpoint = new Endpoint();
+        endpoint.setAddress(directory.getAbsolutePath());
+
+        Map<String, Object> configurationProperties = new HashMap<>();
+        configurationProperties.put(FileBasedAuditLogStoreProvider.maxSegmentSizeProperty, 4096);
+        configurationProperties.put(FileBasedAuditLogStoreProvider.syncIntervalProperty, 10);
+
+        Connection connection = new Connection();
+        connection.setEndpoint(endpoint);
+        connection.setConfigurationProperties(configurationProperties);
+
+        FileBasedAuditLogStoreConnector connector = new FileBasedAuditLogStoreConnector();
+
+        connector.initialize(UUID.randomUUID().toString(), new ConnectionProperties(connection));
+        connector.start();
+
+        return connector;
+    }
+
+
+    /**
+     * Records alternate between the Information and Error severities, and cycle through four components.
+     *
+     * @param index sequence number of the record
+     * @return log record
+     */
+    private OMRSAuditLogRecord getLogRecord(int index)
+    {
+        OMRSAuditLogRecord logRecord = new OMRSAuditLogRecord();
+
+        logRecord.setGUID(UUID.randomUUID().toString());
+        logRecord.setTimeStamp(new Date(baseTimeStamp + index));
+        logRecord.setSeverity((index % 2 == 0) ? "Information" : "Error");
+        logRecord.setMessageText("Test message " + index);
+        logRecord.setOriginatorProperties(new HashMap<>());
+        logRecord.setOriginatorComponent(new AuditLogReportingComponent(index % 4, "Component" + (index % 4), null, null));
+        logRecord.setReportingComponent(new OMRSAuditLogReportingComponent(index % 4, "Component" + (index % 4), null, null));
+
+        return logRecord;
+    }
+}
@@ -6,13 +6,24 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
 import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
-import org.apache.commons.io.FileUtils;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveElementProcessor;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStoreConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveInstanceStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSConnectorErrorException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 
 public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArchiveStoreConnector
@@ -22,6 +33,8 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
      */
     private static final String defaultFilename = "open.metadata.archive";
 
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
     /*
      * Variables used in writing to the file.
      */
@@ -72,21 +85,17 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
 
         try
         {
-            log.debug("Retrieving server configuration properties");
-
-            String configStoreFileContents = FileUtils.readFileToString(archiveStoreFile, "UTF-8");
+            log.debug("Retrieving open metadata archive");
 
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            newOpenMetadataArchive = objectMapper.readValue(configStoreFileContents, OpenMetadataArchive.class);
+            newOpenMetadataArchive = objectMapper.readValue(archiveStoreFile, OpenMetadataArchive.class);
         }
         catch (IOException ioException)
         {
             /*
-             * The config file is not found, create a new one ...
+             * The archive file is not found, create a new one ...
              */
 
-            log.debug("New server config Store", ioException);
+            log.debug("New open metadata archive", ioException);
 
             newOpenMetadataArchive = new OpenMetadataArchive();
         }
@@ -95,6 +104,52 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
     }
 
 
+    /**
+     * Pass the contents of the archive to the processor one element at a time.  The file is read with a
+     * streaming parser so the instances in the archive are never all held in memory.
+     *
+     * @param processor receiver of the archive's contents
+     * @return false if the archive is empty or the file does not exist
+     * @throws OMRSConnectorErrorException the file could not be read to the end
+     */
+    @Override
+    public boolean processArchiveContents(OpenMetadataArchiveElementProcessor processor)
+    {
+        final String methodName = "processArchiveContents";
+
+        OpenMetadataArchiveStreamReader archiveReader = new OpenMetadataArchiveStreamReader(new File(archiveStoreName),
+                                                                                            objectMapper);
+
+        try
+        {
+            log.debug("Processing open metadata archive");
+
+            return archiveReader.processArchiveContents(processor);
+        }
+        catch (FileNotFoundException notFound)
+        {
+            /*
+             * As with getArchiveContents, a missing file is treated as an empty archive.
+             */
+            log.debug("Open metadata archive not found", notFound);
+
+            return false;
+        }
+        catch (IOException ioException)
+        {
+            /*
+             * Any content passed to the processor before the error was found has already been processed,
+             * so the caller must know that the archive is only partly loaded.
+             */
+            throw new OMRSConnectorErrorException(OMRSErrorCode.UNREADABLE_ARCHIVE.getMessageDefinition(archiveStoreName,
+                                                                                                        ioException.getMessage()),
+                                                  this.getClass().getName(),
+                                                  methodName,
+                                                  ioException);
+        }
+    }
+
+
     /**
      * Set new contents into the archive.  This overrides any content previously stored.
      *
@@ -114,16 +169,85 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
             }
             else
             {
-                ObjectMapper objectMapper = new ObjectMapper();
+                try (OpenMetadataArchiveStreamWriter archiveWriter = new OpenMetadataArchiveStreamWriter(archiveStoreName,
+                                                                                                         archiveContents.getArchiveProperties()))
+                {
+                    writeArchiveContents(archiveContents, archiveWriter);
+                }
+            }
+        }
+        catch (IOException   ioException)
+        {
+            log.debug("Unusable open metadata archive store :(", ioException);
+        }
+    }
+
+
+    /**
+     * Write the type store and instance store of an archive held in memory to the archive writer.
+     *
+     * @param archiveContents archive to write
+     * @param archiveWriter writer for the archive file
+     * @throws IOException unable to write to the file
+     */
+    private void writeArchiveContents(OpenMetadataArchive             archiveContents,
+                                      OpenMetadataArchiveStreamWriter archiveWriter) throws IOException
+    {
+        OpenMetadataArchiveTypeStore     typeStore     = archiveContents.getArchiveTypeStore();
+        OpenMetadataArchiveInstanceStore instanceStore = archiveContents.getArchiveInstanceStore();
+
+        if (typeStore != null)
+        {
+            if (typeStore.getAttributeTypeDefs() != null)
+            {
+                for (AttributeTypeDef attributeTypeDef : typeStore.getAttributeTypeDefs())
+                {
+                    archiveWriter.addAttributeTypeDef(attributeTypeDef);
+                }
+            }
 
-                String archiveStoreFileContents = objectMapper.writeValueAsString(archiveContents);
+            if (typeStore.getNewTypeDefs() != null)
+            {
+                for (TypeDef typeDef : typeStore.getNewTypeDefs())
+                {
+                    archiveWriter.addNewTypeDef(typeDef);
+                }
+            }
 
-                FileUtils.writeStringToFile(archiveStoreFile, archiveStoreFileContents, (String)null,false);
+            if (typeStore.getTypeDefPatches() != null)
+            {
+                for (TypeDefPatch typeDefPatch : typeStore.getTypeDefPatches())
+                {
+                    archiveWriter.addTypeDefPatch(typeDefPatch);
+                }
             }
         }
-        catch (IOException   ioException)
+
+        if (instanceStore != null)
         {
-            log.debug("Unusable Server config Store :(", ioException);
+            if (instanceStore.getEntities() != null)
+            {
+                for (EntityDetail entity : instanceStore.getEntities())
+                {
+                    archiveWriter.addEntity(entity);
+                }
+            }
+
+            if (instanceStore.getRelationships() != null)
+            {
+                for (Relationship relationship : instanceStore.getRelationships())
+                {
+                    archiveWriter.addRelationship(relationship);
+                }
+            }
+
+            if (instanceStore.getClassifications() != null)
+            {
+                for (ClassificationEntityExtension classification : instanceStore.getClassifications())
+                {
+                    archiveWriter.addClassification(classification);
+                }
+            }
         }
     }
 
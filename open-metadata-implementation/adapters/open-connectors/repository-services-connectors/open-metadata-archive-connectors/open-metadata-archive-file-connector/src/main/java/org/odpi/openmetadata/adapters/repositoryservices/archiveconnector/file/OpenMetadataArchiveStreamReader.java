@@ -0,0 +1,428 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.archiveconnector.file;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveElementProcessor;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * OpenMetadataArchiveStreamReader reads an open metadata archive file with the Jackson streaming parser and passes
+ * its contents to an OpenMetadataArchiveElementProcessor.  The archive properties and the type store are small and
+ * are read as a unit.  The entities, relationships and classifications are read and passed to the processor one
+ * at a time so the memory needed is independent of the number of instances in the archive.
+ *
+ * The processor expects the sections of the archive in a fixed order.  This is the order used when the archive
+ * is written by the OpenMetadataArchiveStreamWriter or the Jackson ObjectMapper, so the file is normally read in
+ * a single pass.  If a section appears in the file before a section it depends on, it is skipped and picked up
+ * by a later pass over the file.
+ */
+class OpenMetadataArchiveStreamReader
+{
+    private static final String archivePropertiesField    = "archiveProperties";
+    private static final String archiveTypeStoreField     = "archiveTypeStore";
+    private static final String archiveInstanceStoreField = "archiveInstanceStore";
+    private static final String entitiesField             = "entities";
+    private static final String relationshipsField        = "relationships";
+    private static final String classificationsField      = "classifications";
+
+    /*
+     * The sections of the archive in the order that they are passed to the processor.
+     */
+    private static final int propertiesSection      = 0;
+    private static final int typeStoreSection       = 1;
+    private static final int entitiesSection        = 2;
+    private static final int relationshipsSection   = 3;
+    private static final int classificationsSection = 4;
+    private static final int sectionCount           = 5;
+
+    private final File         archiveFile;
+    private final ObjectMapper objectMapper;
+
+    private final boolean[]                     completedSections = new boolean[sectionCount];
+    private       OpenMetadataArchiveProperties archiveProperties = null;
+
+
+    /**
+     * Constructor for a single read of the archive.
+     *
+     * @param archiveFile file containing the archive
+     * @param objectMapper mapper used to convert the JSON elements into beans
+     */
+    OpenMetadataArchiveStreamReader(File         archiveFile,
+                                    ObjectMapper objectMapper)
+    {
+        this.archiveFile = archiveFile;
+        this.objectMapper = objectMapper;
+    }
+
+
+    /**
+     * Pass the contents of the archive to the processor.
+     *
+     * @param processor receiver of the archive's contents
+     * @return false if the file is empty or does not contain a JSON object
+     * @throws IOException unable to read the file or it contains invalid JSON
+     */
+    boolean processArchiveContents(OpenMetadataArchiveElementProcessor processor) throws IOException
+    {
+        while (! allSectionsComplete())
+        {
+            int completedBefore = countCompletedSections();
+
+            try (JsonParser parser = objectMapper.getFactory().createParser(archiveFile))
+            {
+                if (parser.nextToken() != JsonToken.START_OBJECT)
+                {
+                    return false;
+                }
+
+                processArchive(parser, processor);
+            }
+
+            if (completedSections[propertiesSection] && (archiveProperties == null))
+            {
+                /*
+                 * Without the archive properties, none of the content is passed to the processor.
+                 */
+                return true;
+            }
+
+            if (countCompletedSections() == completedBefore)
+            {
+                /*
+                 * Every pass completes at least the earliest outstanding section, so this is only reached
+                 * if the file changed between passes.
+                 */
+                throw new IOException("No progress reading open metadata archive " + archiveFile.getPath());
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Determine whether every section of the archive has been passed to the processor.  Sections that are
+     * missing from the archive are complete once the end of the archive has been reached.
+     *
+     * @return boolean flag
+     */
+    private boolean allSectionsComplete()
+    {
+        return countCompletedSections() == sectionCount;
+    }
+
+
+    /**
+     * Return the number of sections that have been passed to the processor.
+     *
+     * @return count of complete sections
+     */
+    private int countCompletedSections()
+    {
+        int count = 0;
+
+        for (boolean completedSection : completedSections)
+        {
+            if (completedSection)
+            {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Step through the fields of the archive object.  Sections that are not found in the archive are complete
+     * at the end of the object.
+     *
+     * @param parser parser positioned at the start of the archive object
+     * @param processor receiver of the archive's contents
+     * @throws IOException unable to read the file or it contains invalid JSON
+     */
+    private void processArchive(JsonParser                          parser,
+                                OpenMetadataArchiveElementProcessor processor) throws IOException
+    {
+        boolean[] foundSections = new boolean[sectionCount];
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME)
+        {
+            String fieldName = parser.getCurrentName();
+
+            parser.nextToken();
+
+            if (archivePropertiesField.equals(fieldName))
+            {
+                foundSections[propertiesSection] = true;
+            }
+            else if (archiveTypeStoreField.equals(fieldName))
+            {
+                foundSections[typeStoreSection] = true;
+            }
+
+            if (archivePropertiesField.equals(fieldName) && isReady(propertiesSection))
+            {
+                if (parser.currentToken() != JsonToken.VALUE_NULL)
+                {
+                    archiveProperties = objectMapper.readValue(parser, OpenMetadataArchiveProperties.class);
+
+                    if (archiveProperties != null)
+                    {
+                        processor.processArchiveProperties(archiveProperties);
+                    }
+                }
+
+                completedSections[propertiesSection] = true;
+            }
+            else if (archiveTypeStoreField.equals(fieldName) && isReady(typeStoreSection))
+            {
+                if (parser.currentToken() != JsonToken.VALUE_NULL)
+                {
+                    processTypeStore(objectMapper.readValue(parser, OpenMetadataArchiveTypeStore.class), processor);
+                }
+
+                completedSections[typeStoreSection] = true;
+            }
+            else if (archiveInstanceStoreField.equals(fieldName))
+            {
+                foundSections[entitiesSection] = true;
+
+                if (parser.currentToken() == JsonToken.START_OBJECT)
+                {
+                    processInstanceStore(parser, processor);
+                }
+                else
+                {
+                    completeSections(entitiesSection, classificationsSection);
+                }
+            }
+            else
+            {
+                parser.skipChildren();
+            }
+        }
+
+        if (! foundSections[propertiesSection])
+        {
+            completeSections(propertiesSection, propertiesSection);
+        }
+
+        if (! foundSections[typeStoreSection])
+        {
+            completeSections(typeStoreSection, typeStoreSection);
+        }
+
+        if (! foundSections[entitiesSection])
+        {
+            /*
+             * There is no instance store.
+             */
+            completeSections(entitiesSection, classificationsSection);
+        }
+    }
+
+
+    /**
+     * Pass the contents of the type store to the processor.
+     *
+     * @param typeStore type store from the archive
+     * @param processor receiver of the archive's contents
+     */
+    private void processTypeStore(OpenMetadataArchiveTypeStore        typeStore,
+                                  OpenMetadataArchiveElementProcessor processor)
+    {
+        if ((typeStore == null) || (archiveProperties == null))
+        {
+            return;
+        }
+
+        if (typeStore.getAttributeTypeDefs() != null)
+        {
+            for (AttributeTypeDef attributeTypeDef : typeStore.getAttributeTypeDefs())
+            {
+                if (attributeTypeDef != null)
+                {
+                    processor.processAttributeTypeDef(attributeTypeDef);
+                }
+            }
+        }
+
+        if (typeStore.getNewTypeDefs() != null)
+        {
+            for (TypeDef typeDef : typeStore.getNewTypeDefs())
+            {
+                if (typeDef != null)
+                {
+                    processor.processNewTypeDef(typeDef);
+                }
+            }
+        }
+
+        if (typeStore.getTypeDefPatches() != null)
+        {
+            for (TypeDefPatch typeDefPatch : typeStore.getTypeDefPatches())
+            {
+                if (typeDefPatch != null)
+                {
+                    processor.processTypeDefPatch(typeDefPatch);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Step through the fields of the instance store, passing the instances to the processor one at a time.
+     *
+     * @param parser parser positioned at the start of the instance store object
+     * @param processor receiver of the archive's contents
+     * @throws IOException unable to read the file or it contains invalid JSON
+     */
+    private void processInstanceStore(JsonParser                          parser,
+                                      OpenMetadataArchiveElementProcessor processor) throws IOException
+    {
+        boolean[] foundSections = new boolean[sectionCount];
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME)
+        {
+            String fieldName = parser.getCurrentName();
+            int    section;
+
+            parser.nextToken();
+
+            if (entitiesField.equals(fieldName))
+            {
+                section = entitiesSection;
+            }
+            else if (relationshipsField.equals(fieldName))
+            {
+                section = relationshipsSection;
+            }
+            else if (classificationsField.equals(fieldName))
+            {
+                section = classificationsSection;
+            }
+            else
+            {
+                parser.skipChildren();
+                continue;
+            }
+
+            foundSections[section] = true;
+
+            if (isReady(section) && (parser.currentToken() == JsonToken.START_ARRAY))
+            {
+                while (parser.nextToken() != JsonToken.END_ARRAY)
+                {
+                    processInstance(parser, section, processor);
+                }
+
+                completedSections[section] = true;
+            }
+            else if (isReady(section))
+            {
+                parser.skipChildren();
+                completedSections[section] = true;
+            }
+            else
+            {
+                parser.skipChildren();
+            }
+        }
+
+        for (int section = entitiesSection; section <= classificationsSection; section++)
+        {
+            if (! foundSections[section])
+            {
+                completedSections[section] = true;
+            }
+        }
+    }
+
+
+    /**
+     * Convert a single instance from the archive and pass it to the processor.
+     *
+     * @param parser parser positioned at the start of the instance
+     * @param section section of the instance store that the instance comes from
+     * @param processor receiver of the archive's contents
+     * @throws IOException unable to read the file or it contains invalid JSON
+     */
+    private void processInstance(JsonParser                          parser,
+                                 int                                 section,
+                                 OpenMetadataArchiveElementProcessor processor) throws IOException
+    {
+        if ((parser.currentToken() == JsonToken.VALUE_NULL) || (archiveProperties == null))
+        {
+            parser.skipChildren();
+        }
+        else if (section == entitiesSection)
+        {
+            processor.processEntity(objectMapper.readValue(parser, EntityDetail.class));
+        }
+        else if (section == relationshipsSection)
+        {
+            processor.processRelationship(objectMapper.readValue(parser, Relationship.class));
+        }
+        else
+        {
+            processor.processClassification(objectMapper.readValue(parser, ClassificationEntityExtension.class));
+        }
+    }
+
+
+    /**
+     * Determine whether all of the sections before the requested section have been passed to the processor.
+     *
+     * @param section section to test
+     * @return boolean flag
+     */
+    private boolean isReady(int section)
+    {
+        if (completedSections[section])
+        {
+            return false;
+        }
+
+        for (int previousSection = 0; previousSection < section; previousSection++)
+        {
+            if (! completedSections[previousSection])
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Mark a range of sections as complete.
+     *
+     * @param firstSection first section in the range
+     * @param lastSection last section in the range
+     */
+    private void completeSections(int firstSection,
+                                  int lastSection)
+    {
+        for (int section = firstSection; section <= lastSection; section++)
+        {
+            completedSections[section] = true;
+        }
+    }
+}
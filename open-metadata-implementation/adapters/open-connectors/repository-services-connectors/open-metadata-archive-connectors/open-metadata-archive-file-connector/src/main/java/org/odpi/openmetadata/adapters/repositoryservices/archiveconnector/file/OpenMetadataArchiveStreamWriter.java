@@ -0,0 +1,295 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.archiveconnector.file;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * OpenMetadataArchiveStreamWriter writes an open metadata archive file one element at a time using the Jackson
+ * streaming generator.  This means the content of a large archive does not need to be assembled in memory
+ * before it is written.  The file has the same format as an OpenMetadataArchive written by the Jackson
+ * ObjectMapper and can be read by the FileBasedOpenMetadataArchiveStoreConnector.
+ *
+ * The content must be added in the order that it is processed: attribute type definitions, new type definitions,
+ * type definition patches, entities, relationships and then classifications.  Any of these sections may be
+ * empty.  The archive is complete when the writer is closed.
+ */
+public class OpenMetadataArchiveStreamWriter implements AutoCloseable
+{
+    private static final String archiveClassName       = "OpenMetadataArchive";
+    private static final String typeStoreClassName     = "OpenMetadataArchiveTypeStore";
+    private static final String instanceStoreClassName = "OpenMetadataArchiveInstanceStore";
+
+    /*
+     * The sections of the archive in the order that they are written.  The names are the names of the
+     * JSON fields.
+     */
+    private static final int propertiesSection        = 0;
+    private static final int attributeTypeDefsSection = 1;
+    private static final int newTypeDefsSection       = 2;
+    private static final int typeDefPatchesSection    = 3;
+    private static final int entitiesSection          = 4;
+    private static final int relationshipsSection     = 5;
+    private static final int classificationsSection   = 6;
+    private static final int closedSection            = 7;
+
+    private static final String[] sectionNames = { "archiveProperties",
+                                                   "attributeTypeDefs",
+                                                   "newTypeDefs",
+                                                   "typeDefPatches",
+                                                   "entities",
+                                                   "relationships",
+                                                   "classifications",
+                                                   "all sections" };
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final ObjectWriter objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    private final String        archiveName;
+    private final JsonGenerator generator;
+    private       int           currentSection = propertiesSection;
+
+
+    /**
+     * Create the archive file and write the archive properties.
+     *
+     * @param fileName name of the archive file - it is replaced if it already exists
+     * @param archiveProperties properties of the archive
+     * @throws IOException unable to write to the file
+     */
+    public OpenMetadataArchiveStreamWriter(String                        fileName,
+                                           OpenMetadataArchiveProperties archiveProperties) throws IOException
+    {
+        this.archiveName = (archiveProperties == null) ? fileName : archiveProperties.getArchiveName();
+        this.generator = objectMapper.getFactory().createGenerator(new File(fileName), JsonEncoding.UTF8);
+
+        generator.writeStartObject();
+        generator.writeStringField("class", archiveClassName);
+
+        if (archiveProperties != null)
+        {
+            generator.writeFieldName(sectionNames[propertiesSection]);
+            objectWriter.writeValue(generator, archiveProperties);
+        }
+    }
+
+
+    /**
+     * Write an attribute type definition to the type store.
+     *
+     * @param attributeTypeDef attribute type definition
+     * @throws IOException unable to write to the file
+     */
+    public void addAttributeTypeDef(AttributeTypeDef attributeTypeDef) throws IOException
+    {
+        final String methodName = "addAttributeTypeDef";
+
+        writeElement(attributeTypeDefsSection, attributeTypeDef, methodName);
+    }
+
+
+    /**
+     * Write a new type definition to the type store.
+     *
+     * @param typeDef type definition
+     * @throws IOException unable to write to the file
+     */
+    public void addNewTypeDef(TypeDef typeDef) throws IOException
+    {
+        final String methodName = "addNewTypeDef";
+
+        writeElement(newTypeDefsSection, typeDef, methodName);
+    }
+
+
+    /**
+     * Write a type definition patch to the type store.
+     *
+     * @param typeDefPatch type definition patch
+     * @throws IOException unable to write to the file
+     */
+    public void addTypeDefPatch(TypeDefPatch typeDefPatch) throws IOException
+    {
+        final String methodName = "addTypeDefPatch";
+
+        writeElement(typeDefPatchesSection, typeDefPatch, methodName);
+    }
+
+
+    /**
+     * Write an entity to the instance store.
+     *
+     * @param entity entity
+     * @throws IOException unable to write to the file
+     */
+    public void addEntity(EntityDetail entity) throws IOException
+    {
+        final String methodName = "addEntity";
+
+        writeElement(entitiesSection, entity, methodName);
+    }
+
+
+    /**
+     * Write a relationship to the instance store.
+     *
+     * @param relationship relationship
+     * @throws IOException unable to write to the file
+     */
+    public void addRelationship(Relationship relationship) throws IOException
+    {
+        final String methodName = "addRelationship";
+
+        writeElement(relationshipsSection, relationship, methodName);
+    }
+
+
+    /**
+     * Write a classification to the instance store.
+     *
+     * @param classification classification and the entity it is attached to
+     * @throws IOException unable to write to the file
+     */
+    public void addClassification(ClassificationEntityExtension classification) throws IOException
+    {
+        final String methodName = "addClassification";
+
+        writeElement(classificationsSection, classification, methodName);
+    }
+
+
+    /**
+     * Complete the archive and close the file.
+     *
+     * @throws IOException unable to write to the file
+     */
+    @Override
+    public void close() throws IOException
+    {
+        if (currentSection != closedSection)
+        {
+            moveToSection(closedSection, "close");
+
+            generator.writeEndObject();
+            generator.close();
+        }
+    }
+
+
+    /**
+     * Write an element to the requested section of the archive.  Null elements are ignored.
+     *
+     * @param section section of the archive
+     * @param element element to write
+     * @param methodName calling method
+     * @throws IOException unable to write to the file
+     */
+    private void writeElement(int    section,
+                              Object element,
+                              String methodName) throws IOException
+    {
+        if (element != null)
+        {
+            moveToSection(section, methodName);
+            objectWriter.writeValue(generator, element);
+        }
+    }
+
+
+    /**
+     * Close the current section and open the requested one, along with the type store or instance store
+     * object that contains it.
+     *
+     * @param section section to move to
+     * @param methodName calling method
+     * @throws IOException unable to write to the file
+     */
+    private void moveToSection(int    section,
+                               String methodName) throws IOException
+    {
+        if (section == currentSection)
+        {
+            return;
+        }
+
+        if (section < currentSection)
+        {
+            throw new OMRSLogicErrorException(OMRSErrorCode.ARCHIVE_CONTENT_OUT_OF_ORDER.getMessageDefinition(sectionNames[section],
+                                                                                                              archiveName,
+                                                                                                              sectionNames[currentSection]),
+                                              this.getClass().getName(),
+                                              methodName);
+        }
+
+        boolean typeStoreOpen     = isTypeStoreSection(currentSection);
+        boolean instanceStoreOpen = isInstanceStoreSection(currentSection);
+
+        if (typeStoreOpen || instanceStoreOpen)
+        {
+            generator.writeEndArray();
+        }
+
+        if ((typeStoreOpen && (! isTypeStoreSection(section))) || (instanceStoreOpen && (! isInstanceStoreSection(section))))
+        {
+            generator.writeEndObject();
+        }
+
+        if ((! typeStoreOpen) && isTypeStoreSection(section))
+        {
+            generator.writeObjectFieldStart("archiveTypeStore");
+            generator.writeStringField("class", typeStoreClassName);
+        }
+        else if ((! instanceStoreOpen) && isInstanceStoreSection(section))
+        {
+            generator.writeObjectFieldStart("archiveInstanceStore");
+            generator.writeStringField("class", instanceStoreClassName);
+        }
+
+        if (section != closedSection)
+        {
+            generator.writeArrayFieldStart(sectionNames[section]);
+        }
+
+        currentSection = section;
+    }
+
+
+    /**
+     * Return whether the section is part of the type store.
+     *
+     * @param section section of the archive
+     * @return boolean flag
+     */
+    private boolean isTypeStoreSection(int section)
+    {
+        return (section >= attributeTypeDefsSection) && (section <= typeDefPatchesSection);
+    }
+
+
+    /**
+     * Return whether the section is part of the instance store.
+     *
+     * @param section section of the archive
+     * @return boolean flag
+     */
+    private boolean isInstanceStoreSection(int section)
+    {
+        return (section >= entitiesSection) && (section <= classificationsSection);
+    }
+}
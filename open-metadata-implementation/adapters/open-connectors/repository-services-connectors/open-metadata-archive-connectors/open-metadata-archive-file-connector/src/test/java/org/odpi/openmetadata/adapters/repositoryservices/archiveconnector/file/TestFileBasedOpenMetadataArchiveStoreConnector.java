@@ -0,0 +1,301 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.archiveconnector.file;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveElementProcessor;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveInstanceStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSConnectorErrorException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test that the FileBasedOpenMetadataArchiveStoreConnector streams the contents of an archive file to an
+ * element processor in the documented order, whatever the order of the sections in the file.
+ */
+public class TestFileBasedOpenMetadataArchiveStoreConnector
+{
+    private static final List<String> expectedElements = Arrays.asList("properties:TestArchive",
+                                                                        "attributeTypeDef:string",
+                                                                        "typeDef:Asset",
+                                                                        "typeDefPatch:Asset",
+                                                                        "entity:entity1",
+                                                                        "entity:entity2",
+                                                                        "relationship:relationship1",
+                                                                        "classification:Confidentiality");
+
+    private File archiveFile = null;
+
+
+    @BeforeMethod
+    public void createFile() throws Exception
+    {
+        archiveFile = File.createTempFile("archive", ".json");
+    }
+
+
+    @AfterMethod
+    public void deleteFile()
+    {
+        archiveFile.delete();
+    }
+
+
+    @Test
+    public void testRoundTrip()
+    {
+        FileBasedOpenMetadataArchiveStoreConnector connector = getConnector();
+
+        connector.setArchiveContents(getArchive());
+
+        assertEquals(getProcessedElements(connector), expectedElements);
+
+        OpenMetadataArchive archive = connector.getArchiveContents();
+
+        assertEquals(archive.getArchiveProperties().getArchiveName(), "TestArchive");
+        assertEquals(archive.getArchiveTypeStore().getNewTypeDefs().get(0).getName(), "Asset");
+        assertEquals(archive.getArchiveInstanceStore().getEntities().size(), 2);
+    }
+
+
+    @Test
+    public void testSectionsOutOfOrder() throws Exception
+    {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode   archiveNode  = objectMapper.valueToTree(getArchive());
+        ObjectNode   reordered    = objectMapper.createObjectNode();
+        ObjectNode   instances    = objectMapper.createObjectNode();
+
+        instances.set("classifications", archiveNode.get("archiveInstanceStore").get("classifications"));
+        instances.set("relationships", archiveNode.get("archiveInstanceStore").get("relationships"));
+        instances.set("entities", archiveNode.get("archiveInstanceStore").get("entities"));
+
+        reordered.set("archiveInstanceStore", instances);
+        reordered.set("archiveTypeStore", archiveNode.get("archiveTypeStore"));
+        reordered.set("archiveProperties", archiveNode.get("archiveProperties"));
+
+        objectMapper.writeValue(archiveFile, reordered);
+
+        assertEquals(getProcessedElements(getConnector()), expectedElements);
+    }
+
+
+    @Test
+    public void testEmptyArchive()
+    {
+        FileBasedOpenMetadataArchiveStoreConnector connector = getConnector();
+
+        assertFalse(connector.processArchiveContents(new RecordingProcessor()));
+
+        connector.setArchiveContents(new OpenMetadataArchive());
+
+        assertTrue(connector.processArchiveContents(new RecordingProcessor()));
+        assertTrue(getProcessedElements(connector).isEmpty());
+    }
+
+
+    @Test
+    public void testMissingArchive()
+    {
+        FileBasedOpenMetadataArchiveStoreConnector connector = getConnector();
+
+        archiveFile.delete();
+
+        assertFalse(connector.processArchiveContents(new RecordingProcessor()));
+    }
+
+
+    @Test
+    public void testTruncatedArchive() throws Exception
+    {
+        FileBasedOpenMetadataArchiveStoreConnector connector = getConnector();
+        RecordingProcessor                         processor = new RecordingProcessor();
+
+        connector.setArchiveContents(getArchive());
+
+        byte[] content = Files.readAllBytes(archiveFile.toPath());
+        Files.write(archiveFile.toPath(), Arrays.copyOf(content, content.length - 20));
+
+        try
+        {
+            connector.processArchiveContents(processor);
+            fail("A truncated archive must not be reported as loaded");
+        }
+        catch (OMRSConnectorErrorException error)
+        {
+            assertTrue(error.getReportedErrorMessage().contains(archiveFile.getAbsolutePath()));
+        }
+
+        assertTrue(processor.elements.contains("typeDef:Asset"));
+    }
+
+
+    @Test(expectedExceptions = OMRSLogicErrorException.class)
+    public void testWriterOutOfOrder() throws Exception
+    {
+        try (OpenMetadataArchiveStreamWriter writer = new OpenMetadataArchiveStreamWriter(archiveFile.getAbsolutePath(),
+                                                                                          getArchive().getArchiveProperties()))
+        {
+            writer.addEntity(getEntity("entity1"));
+            writer.addNewTypeDef(new EntityDef());
+        }
+    }
+
+
+    private List<String> getProcessedElements(FileBasedOpenMetadataArchiveStoreConnector connector)
+    {
+        RecordingProcessor processor = new RecordingProcessor();
+
+        assertTrue(connector.processArchiveContents(processor));
+
+        return processor.elements;
+    }
+
+
+    private FileBasedOpenMetadataArchiveStoreConnector getConnector()
+    {
+        Endpoint endpoint = new Endpoint();
+        endpoint.setAddress(archiveFile.getAbsolutePath());
+
+        Connection connection = new Connection();
+        connection.setEndpoint(endpoint);
+
+        FileBasedOpenMetadataArchiveStoreConnector connector = new FileBasedOpenMetadataArchiveStoreConnector();
+
+        connector.initialize(UUID.randomUUID().toString(), new ConnectionProperties(connection));
+
+        return connector;
+    }
+
+
+    private OpenMetadataArchive getArchive()
+    {
+        OpenMetadataArchiveProperties archiveProperties = new OpenMetadataArchiveProperties();
+        archiveProperties.setArchiveGUID(UUID.randomUUID().toString());
+        archiveProperties.setArchiveName("TestArchive");
+
+        PrimitiveDef primitiveDef = new PrimitiveDef(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+        primitiveDef.setName("string");
+
+        EntityDef entityDef = new EntityDef();
+        entityDef.setName("Asset");
+
+        TypeDefPatch typeDefPatch = new TypeDefPatch();
+        typeDefPatch.setTypeDefName("Asset");
+
+        OpenMetadataArchiveTypeStore typeStore = new OpenMetadataArchiveTypeStore();
+        typeStore.setAttributeTypeDefs(Collections.singletonList(primitiveDef));
+        typeStore.setNewTypeDefs(Collections.singletonList(entityDef));
+        typeStore.setTypeDefPatches(Collections.singletonList(typeDefPatch));
+
+        Relationship relationship = new Relationship();
+        relationship.setGUID("relationship1");
+
+        ClassificationEntityExtension classification = new ClassificationEntityExtension();
+        classification.setClassification(new Classification("Confidentiality", null, null, null));
+
+        OpenMetadataArchiveInstanceStore instanceStore = new OpenMetadataArchiveInstanceStore();
+        instanceStore.setEntities(Arrays.asList(getEntity("entity1"), getEntity("entity2")));
+        instanceStore.setRelationships(Collections.singletonList(relationship));
+        instanceStore.setClassifications(Collections.singletonList(classification));
+
+        OpenMetadataArchive archive = new OpenMetadataArchive();
+        archive.setArchiveProperties(archiveProperties);
+        archive.setArchiveTypeStore(typeStore);
+        archive.setArchiveInstanceStore(instanceStore);
+
+        return archive;
+    }
+
+
+    private EntityDetail getEntity(String guid)
+    {
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID(guid);
+
+        return entity;
+    }
+
+
+    /**
+     * Record the elements passed by the connector.
+     */
+    private static class RecordingProcessor implements OpenMetadataArchiveElementProcessor
+    {
+        private List<String> elements = new ArrayList<>();
+
+
+        @Override
+        public void processArchiveProperties(OpenMetadataArchiveProperties archiveProperties)
+        {
+            elements.add("properties:" + archiveProperties.getArchiveName());
+        }
+
+
+        @Override
+        public void processAttributeTypeDef(AttributeTypeDef attributeTypeDef)
+        {
+            elements.add("attributeTypeDef:" + attributeTypeDef.getName());
+        }
+
+
+        @Override
+        public void processNewTypeDef(TypeDef typeDef)
+        {
+            elements.add("typeDef:" + typeDef.getName());
+        }
+
+
+        @Override
+        public void processTypeDefPatch(TypeDefPatch typeDefPatch)
+        {
+            elements.add("typeDefPatch:" + typeDefPatch.getTypeDefName());
+        }
+
+
+        @Override
+        public void processEntity(EntityDetail entity)
+        {
+            elements.add("entity:" + entity.getGUID());
+        }
+
+
+        @Override
+        public void processRelationship(Relationship relationship)
+        {
+            elements.add("relationship:" + relationship.getGUID());
+        }
+
+
+        @Override
+        public void processClassification(ClassificationEntityExtension classification)
+        {
+            elements.add("classification:" + classification.getClassification().getName());
+        }
+    }
+}
@@ -0,0 +1,246 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.archiveconnector.file;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveElementProcessor;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveInstanceStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test that the OpenMetadataArchiveStreamReader passes every section of an archive to the processor, in the
+ * documented order, whichever sections are present and whatever their order in the file.
+ */
+public class TestOpenMetadataArchiveStreamReader
+{
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private File archiveFile = null;
+
+
+    @BeforeMethod
+    public void createFile() throws Exception
+    {
+        archiveFile = File.createTempFile("archive", ".json");
+    }
+
+
+    @AfterMethod
+    public void deleteFile()
+    {
+        archiveFile.delete();
+    }
+
+
+    @Test
+    public void testNoInstanceStore() throws Exception
+    {
+        ObjectNode archiveNode = objectMapper.createObjectNode();
+
+        archiveNode.set("archiveProperties", objectMapper.valueToTree(getArchiveProperties()));
+        archiveNode.set("archiveTypeStore", objectMapper.valueToTree(getTypeStore()));
+
+        assertEquals(readArchive(archiveNode), Arrays.asList("properties:TestArchive", "typeDef:Asset"));
+    }
+
+
+    @Test
+    public void testTypeStoreBeforePropertiesWithNoInstanceStore() throws Exception
+    {
+        ObjectNode archiveNode = objectMapper.createObjectNode();
+
+        archiveNode.set("archiveTypeStore", objectMapper.valueToTree(getTypeStore()));
+        archiveNode.set("archiveProperties", objectMapper.valueToTree(getArchiveProperties()));
+
+        assertEquals(readArchive(archiveNode), Arrays.asList("properties:TestArchive", "typeDef:Asset"));
+    }
+
+
+    @Test
+    public void testNullInstanceStoreFirst() throws Exception
+    {
+        ObjectNode archiveNode = objectMapper.createObjectNode();
+
+        archiveNode.putNull("archiveInstanceStore");
+        archiveNode.set("archiveTypeStore", objectMapper.valueToTree(getTypeStore()));
+        archiveNode.set("archiveProperties", objectMapper.valueToTree(getArchiveProperties()));
+
+        assertEquals(readArchive(archiveNode), Arrays.asList("properties:TestArchive", "typeDef:Asset"));
+    }
+
+
+    @Test
+    public void testReorderedSections() throws Exception
+    {
+        ObjectNode instanceStore = objectMapper.valueToTree(getInstanceStore());
+        ObjectNode instanceNode  = objectMapper.createObjectNode();
+        ObjectNode archiveNode   = objectMapper.createObjectNode();
+
+        instanceNode.set("relationships", instanceStore.get("relationships"));
+        instanceNode.set("entities", instanceStore.get("entities"));
+
+        archiveNode.set("archiveTypeStore", objectMapper.valueToTree(getTypeStore()));
+        archiveNode.set("archiveInstanceStore", instanceNode);
+        archiveNode.set("archiveProperties", objectMapper.valueToTree(getArchiveProperties()));
+
+        assertEquals(readArchive(archiveNode), Arrays.asList("properties:TestArchive",
+                                                             "typeDef:Asset",
+                                                             "entity:entity1",
+                                                             "relationship:relationship1"));
+    }
+
+
+    @Test
+    public void testInOrderSections() throws Exception
+    {
+        OpenMetadataArchive archive = new OpenMetadataArchive();
+
+        archive.setArchiveProperties(getArchiveProperties());
+        archive.setArchiveTypeStore(getTypeStore());
+        archive.setArchiveInstanceStore(getInstanceStore());
+
+        assertEquals(readArchive(objectMapper.valueToTree(archive)), Arrays.asList("properties:TestArchive",
+                                                                                   "typeDef:Asset",
+                                                                                   "entity:entity1",
+                                                                                   "relationship:relationship1"));
+    }
+
+
+    @Test
+    public void testNoArchiveProperties() throws Exception
+    {
+        ObjectNode archiveNode = objectMapper.createObjectNode();
+
+        archiveNode.set("archiveTypeStore", objectMapper.valueToTree(getTypeStore()));
+        archiveNode.set("archiveInstanceStore", objectMapper.valueToTree(getInstanceStore()));
+
+        assertTrue(readArchive(archiveNode).isEmpty());
+    }
+
+
+    private List<String> readArchive(ObjectNode archiveNode) throws Exception
+    {
+        objectMapper.writeValue(archiveFile, archiveNode);
+
+        RecordingProcessor              processor = new RecordingProcessor();
+        OpenMetadataArchiveStreamReader reader    = new OpenMetadataArchiveStreamReader(archiveFile, objectMapper);
+
+        assertTrue(reader.processArchiveContents(processor));
+
+        return processor.elements;
+    }
+
+
+    private OpenMetadataArchiveProperties getArchiveProperties()
+    {
+        OpenMetadataArchiveProperties archiveProperties = new OpenMetadataArchiveProperties();
+        archiveProperties.setArchiveGUID(UUID.randomUUID().toString());
+        archiveProperties.setArchiveName("TestArchive");
+
+        return archiveProperties;
+    }
+
+
+    private OpenMetadataArchiveTypeStore getTypeStore()
+    {
+        EntityDef entityDef = new EntityDef();
+        entityDef.setName("Asset");
+
+        OpenMetadataArchiveTypeStore typeStore = new OpenMetadataArchiveTypeStore();
+        typeStore.setNewTypeDefs(Collections.singletonList(entityDef));
+
+        return typeStore;
+    }
+
+
+    private OpenMetadataArchiveInstanceStore getInstanceStore()
+    {
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID("entity1");
+
+        Relationship relationship = new Relationship();
+        relationship.setGUID("relationship1");
+
+        OpenMetadataArchiveInstanceStore instanceStore = new OpenMetadataArchiveInstanceStore();
+        instanceStore.setEntities(Collections.singletonList(entity));
+        instanceStore.setRelationships(Collections.singletonList(relationship));
+
+        return instanceStore;
+    }
+
+
+    /**
+     * Record the elements passed by the reader.
+     */
+    private static class RecordingProcessor implements OpenMetadataArchiveElementProcessor
+    {
+        private List<String> elements = new ArrayList<>();
+
+
+        @Override
+        public void processArchiveProperties(OpenMetadataArchiveProperties archiveProperties)
+        {
+            elements.add("properties:" + archiveProperties.getArchiveName());
+        }
+
+
+        @Override
+        public void processAttributeTypeDef(AttributeTypeDef attributeTypeDef)
+        {
+            elements.add("attributeTypeDef:" + attributeTypeDef.getName());
+        }
+
+
+        @Override
+        public void processNewTypeDef(TypeDef typeDef)
+        {
+            elements.add("typeDef:" + typeDef.getName());
+        }
+
+
+        @Override
+        public void processTypeDefPatch(TypeDefPatch typeDefPatch)
+        {
+            elements.add("typeDefPatch:" + typeDefPatch.getTypeDefName());
+        }
+
+
+        @Override
+        public void processEntity(EntityDetail entity)
+        {
+            elements.add("entity:" + entity.getGUID());
+        }
+
+
+        @Override
+        public void processRelationship(Relationship relationship)
+        {
+            elements.add("relationship:" + relationship.getGUID());
+        }
+
+
+        @Override
+        public void processClassification(ClassificationEntityExtension classification)
+        {
+            elements.add("classification:" + classification.getClassification().getName());
+        }
+    }
+}
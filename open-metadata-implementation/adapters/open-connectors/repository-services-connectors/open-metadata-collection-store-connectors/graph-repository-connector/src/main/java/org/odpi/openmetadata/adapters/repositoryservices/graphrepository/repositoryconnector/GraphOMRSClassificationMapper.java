@@ -3,8 +3,6 @@
 
 package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
@@ -103,10 +101,9 @@ public class GraphOMRSClassificationMapper {
         if (classificationProperties != null) {
 
             // First write properties as json - useful for handling collections and possibly for full text/string matching???
-            ObjectMapper objectMapper = new ObjectMapper();
             String jsonString;
             try {
-                jsonString = objectMapper.writeValueAsString(classificationProperties);
+                jsonString = GraphOMRSMapperUtils.propertiesWriter.writeValueAsString(classificationProperties);
                 log.debug("{} classification has serialized properties {}", methodName, jsonString);
                 vertex.property("classificationProperties", jsonString);
             } catch (Throwable exc) {
@@ -299,10 +296,9 @@ public class GraphOMRSClassificationMapper {
 
         List<String> maintainedByList = classification.getMaintainedBy();
         if (maintainedByList != null && !maintainedByList.isEmpty()) {
-            ObjectMapper objectMapper = new ObjectMapper();
             String jsonString;
             try {
-                jsonString = objectMapper.writeValueAsString(maintainedByList);
+                jsonString = GraphOMRSMapperUtils.propertiesWriter.writeValueAsString(maintainedByList);
                 vertex.property(PROPERTY_KEY_CLASSIFICATION_MAINTAINED_BY, jsonString);
 
             } catch (Throwable exc) {
@@ -330,10 +326,9 @@ public class GraphOMRSClassificationMapper {
 
         Map<String, Serializable> mappingProperties = classification.getMappingProperties();
         if (mappingProperties != null && !mappingProperties.isEmpty()) {
-            ObjectMapper objectMapper = new ObjectMapper();
             String jsonString;
             try {
-                jsonString = objectMapper.writeValueAsString(mappingProperties);
+                jsonString = GraphOMRSMapperUtils.propertiesWriter.writeValueAsString(mappingProperties);
                 vertex.property(PROPERTY_KEY_CLASSIFICATION_MAPPING_PROPERTIES, jsonString);
 
             } catch (Throwable exc) {
@@ -369,9 +364,8 @@ public class GraphOMRSClassificationMapper {
         String stringProps = (String) getVertexProperty(vertex, "classificationProperties");
 
         if (stringProps != null) {
-            ObjectMapper objectMapper = new ObjectMapper();
             try {
-                InstanceProperties instanceProperties = objectMapper.readValue(stringProps, InstanceProperties.class);
+                InstanceProperties instanceProperties = GraphOMRSMapperUtils.instancePropertiesReader.readValue(stringProps);
                 log.debug("{} classification has deserialized properties {}", methodName, instanceProperties);
                 classification.setProperties(instanceProperties);
             } catch (Throwable exc) {
@@ -445,9 +439,8 @@ public class GraphOMRSClassificationMapper {
         // maintainedBy
         String maintainedByString = (String) getVertexProperty(vertex, PROPERTY_KEY_CLASSIFICATION_MAINTAINED_BY);
         if (maintainedByString != null) {
-            ObjectMapper objectMapper = new ObjectMapper();
             try {
-                List<String> maintainedByList = (List<String>) objectMapper.readValue(maintainedByString, List.class);
+                List<String> maintainedByList = GraphOMRSMapperUtils.maintainedByReader.readValue(maintainedByString);
                 log.debug("{} vertex has deserialized maintainedBy list {}", methodName, maintainedByList);
                 classification.setMaintainedBy(maintainedByList);
 
@@ -466,10 +459,8 @@ public class GraphOMRSClassificationMapper {
         // mappingProperties
         String mappingPropertiesString = (String) getVertexProperty(vertex, PROPERTY_KEY_CLASSIFICATION_MAPPING_PROPERTIES);
         if (mappingPropertiesString != null) {
-            ObjectMapper objectMapper = new ObjectMapper();
             try {
-                TypeReference<Map<String, Serializable>> typeReference = new TypeReference<Map<String, Serializable>>() {};
-                Map<String, Serializable> mappingPropertiesMap = objectMapper.readValue(mappingPropertiesString, typeReference);
+                Map<String, Serializable> mappingPropertiesMap = GraphOMRSMapperUtils.mappingPropertiesReader.readValue(mappingPropertiesString);
                 log.debug("{} vertex has deserialized mappingProperties {}", methodName, mappingPropertiesMap);
                 classification.setMappingProperties(mappingPropertiesMap);
 
@@ -4,7 +4,12 @@ package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.reposi
 
 
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationOrigin;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProvenanceType;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
 
@@ -15,6 +20,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,6 +30,19 @@ public class GraphOMRSMapperUtils {
 
     private static final Logger log = LoggerFactory.getLogger(GraphOMRSMapperUtils.class);
 
+    /*
+     * The serialized property values stored on vertices and edges are read and written using shared Jackson
+     * readers and writers rather than a new ObjectMapper per value.  ObjectReader and ObjectWriter are immutable
+     * and thread-safe, and each reader is specialised for the type it produces so that the deserializer lookup
+     * is done once rather than on every call.
+     */
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    static final ObjectWriter propertiesWriter          = objectMapper.writer();
+    static final ObjectReader instancePropertiesReader  = objectMapper.readerFor(InstanceProperties.class);
+    static final ObjectReader maintainedByReader        = objectMapper.readerFor(new TypeReference<List<String>>() {});
+    static final ObjectReader mappingPropertiesReader   = objectMapper.readerFor(new TypeReference<Map<String, Serializable>>() {});
+
     /*
      * Default CTOR
      */
@@ -10,6 +10,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSo
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.janusgraph.core.JanusGraph;
 import org.janusgraph.core.attribute.Text;
@@ -48,6 +49,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.P.within;
 import static org.apache.tinkerpop.gremlin.process.traversal.P.without;
@@ -80,6 +83,10 @@ import static org.odpi.openmetadata.repositoryservices.connectors.stores.metadat
  * GraphOMRSMetadataStore provides the graph store for the GraphRepositoryConnector
  * The Graph Store is implemented using JanusGraph and is used to store instances.
  * There is no type graph because the RCM is used to get any information about TypeDefs and AttributeTypeDefs.
+ *
+ * Each calling thread works in its own JanusGraph transaction, so reads run concurrently.  Writes are serialized
+ * per GUID using a fixed set of lock stripes - a write takes the stripes for the instance it changes and, for a
+ * relationship, the entities at either end, so that updates to unrelated instances can proceed in parallel.
  */
 class GraphOMRSMetadataStore {
 
@@ -99,6 +106,12 @@ class GraphOMRSMetadataStore {
     private GraphOMRSEntityMapper entityMapper;
     private GraphOMRSClassificationMapper classificationMapper;
 
+    // Lock stripes used to serialize writes to the same GUID.
+
+    private static final int GUID_LOCK_STRIPES = 256;
+
+    private final ReentrantLock[] guidLocks = new ReentrantLock[GUID_LOCK_STRIPES];
+
 
 
     /**
@@ -143,6 +156,120 @@ class GraphOMRSMetadataStore {
         this.entityMapper = new GraphOMRSEntityMapper(metadataCollectionId, repositoryName, repositoryHelper);
         this.classificationMapper = new GraphOMRSClassificationMapper(metadataCollectionId, repositoryName, repositoryHelper);
 
+        for (int i = 0; i < GUID_LOCK_STRIPES; i++) {
+            guidLocks[i] = new ReentrantLock();
+        }
+
+    }
+
+
+    /*
+     * Acquire the lock stripes for the supplied GUIDs. The stripes are always taken in ascending order so
+     * that writes that span several GUIDs (such as a relationship and its end entities) cannot deadlock.
+     * Null GUIDs are ignored.
+     */
+    private List<ReentrantLock> lockGUIDs(String... guids)
+    {
+        Set<Integer> stripes = new TreeSet<>();
+        for (String guid : guids) {
+            if (guid != null) {
+                stripes.add(Math.floorMod(guid.hashCode(), GUID_LOCK_STRIPES));
+            }
+        }
+
+        List<ReentrantLock> locks = new ArrayList<>();
+        for (Integer stripe : stripes) {
+            ReentrantLock lock = guidLocks[stripe];
+            lock.lock();
+            locks.add(lock);
+        }
+        return locks;
+    }
+
+
+    /*
+     * Release the lock stripes acquired by lockGUIDs.
+     */
+    private void unlockGUIDs(List<ReentrantLock> locks)
+    {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+
+
+    /*
+     * Acquire the lock stripes for an entity that is about to be removed, together with the stripes of the
+     * relationships attached to it. Removing the entity vertex also removes its relationship edges, so those
+     * relationships must be locked as they would be by a relationship write. All of the stripes are taken in
+     * one ascending pass by lockGUIDs; the relationship GUIDs are therefore read before the locks are taken and
+     * read again under the locks. No relationship can be attached to the entity once its stripe is held, so if
+     * the second read finds a relationship that was not locked the locks are released and the read is repeated.
+     */
+    private List<ReentrantLock> lockEntityAndRelationships(String entityGUID)
+    {
+        Set<String> relationshipGUIDs = getRelationshipGUIDsForEntity(entityGUID);
+
+        while (true) {
+            List<String> guids = new ArrayList<>(relationshipGUIDs);
+            guids.add(entityGUID);
+            List<ReentrantLock> locks = lockGUIDs(guids.toArray(new String[0]));
+
+            Set<String> lockedRelationshipGUIDs = getRelationshipGUIDsForEntity(entityGUID);
+            if (relationshipGUIDs.containsAll(lockedRelationshipGUIDs)) {
+                return locks;
+            }
+
+            unlockGUIDs(locks);
+            relationshipGUIDs.addAll(lockedRelationshipGUIDs);
+        }
+    }
+
+
+    /*
+     * Return the GUIDs of the relationships attached to the entity vertex (proxy or not). The read-only
+     * transaction is rolled back so that the vertex is read again by the caller's own transaction.
+     */
+    private Set<String> getRelationshipGUIDsForEntity(String entityGUID)
+    {
+        Set<String> relationshipGUIDs = new HashSet<>();
+
+        GraphTraversalSource g = instanceGraph.traversal();
+        try {
+            Iterator<Vertex> vi = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityGUID);
+            while (vi.hasNext()) {
+                Iterator<Edge> edges = vi.next().edges(Direction.BOTH, "Relationship");
+                while (edges.hasNext()) {
+                    Property<Object> guidProperty = edges.next().property(PROPERTY_KEY_RELATIONSHIP_GUID);
+                    if (guidProperty.isPresent()) {
+                        relationshipGUIDs.add((String) guidProperty.value());
+                    }
+                }
+            }
+        } finally {
+            g.tx().rollback();
+        }
+        return relationshipGUIDs;
+    }
+
+
+    /*
+     * Return the GUID of the entity at end one of the relationship (or null if there is no proxy).
+     */
+    private String getEntityOneGUID(Relationship relationship)
+    {
+        EntityProxy entityProxy = relationship.getEntityOneProxy();
+        return entityProxy == null ? null : entityProxy.getGUID();
+    }
+
+
+    /*
+     * Return the GUID of the entity at end two of the relationship (or null if there is no proxy).
+     */
+    private String getEntityTwoGUID(Relationship relationship)
+    {
+        EntityProxy entityProxy = relationship.getEntityTwoProxy();
+        return entityProxy == null ? null : entityProxy.getGUID();
     }
 
 
@@ -152,7 +279,22 @@ class GraphOMRSMetadataStore {
     // so we COULD re-spin it, we should NOT do that here - it should be in the MDC layer and RepoHelper layer.
     // Therefore if we get a GUID clash here we throw an exception.
     //
-    synchronized EntityDetail createEntityInStore(EntityDetail entity)
+    EntityDetail createEntityInStore(EntityDetail entity)
+            throws
+            RepositoryErrorException,
+            InvalidParameterException
+    {
+        List<ReentrantLock> guidLocks = lockGUIDs(entity.getGUID());
+
+        try {
+            return createEntityInStoreLocked(entity);
+        } finally {
+            unlockGUIDs(guidLocks);
+        }
+    }
+
+    // Called with the GUID locks for createEntityInStore held
+    private EntityDetail createEntityInStoreLocked(EntityDetail entity)
             throws
             RepositoryErrorException,
             InvalidParameterException
@@ -255,7 +397,22 @@ class GraphOMRSMetadataStore {
     // If the MDC found that an entity (of any description, entity, proxy or reference copy) is present - then it will not have asked you to create the proxy
     // So - if we do find that there is a GUID clash then throw exception.
     //
-    synchronized void createEntityProxyInStore(EntityProxy entityProxy)
+    void createEntityProxyInStore(EntityProxy entityProxy)
+            throws
+            RepositoryErrorException,
+            InvalidParameterException
+    {
+        List<ReentrantLock> guidLocks = lockGUIDs(entityProxy.getGUID());
+
+        try {
+            createEntityProxyInStoreLocked(entityProxy);
+        } finally {
+            unlockGUIDs(guidLocks);
+        }
+    }
+
+    // Called with the GUID locks for createEntityProxyInStore held
+    private void createEntityProxyInStoreLocked(EntityProxy entityProxy)
             throws
             RepositoryErrorException,
             InvalidParameterException
@@ -347,7 +504,23 @@ class GraphOMRSMetadataStore {
      *         else
      *             error
      */
-    synchronized void saveEntityReferenceCopyToStore(EntityDetail entity)
+    void saveEntityReferenceCopyToStore(EntityDetail entity)
+        throws
+            InvalidParameterException,
+            RepositoryErrorException
+
+    {
+        List<ReentrantLock> guidLocks = lockGUIDs(entity.getGUID());
+
+        try {
+            saveEntityReferenceCopyToStoreLocked(entity);
+        } finally {
+            unlockGUIDs(guidLocks);
+        }
+    }
+
+    // Called with the GUID locks for saveEntityReferenceCopyToStore held
+    private void saveEntityReferenceCopyToStoreLocked(EntityDetail entity)
         throws
             InvalidParameterException,
             RepositoryErrorException
@@ -438,7 +611,7 @@ class GraphOMRSMetadataStore {
 
 
 
-    synchronized EntityDetail getEntityDetailFromStore(String guid)
+    EntityDetail getEntityDetailFromStore(String guid)
             throws
             EntityNotKnownException,
             EntityProxyOnlyException,
@@ -521,7 +694,7 @@ class GraphOMRSMetadataStore {
         return entity;
     }
 
-    synchronized EntitySummary getEntitySummaryFromStore(String guid)
+    EntitySummary getEntitySummaryFromStore(String guid)
             throws
             EntityNotKnownException,
             RepositoryErrorException
@@ -581,7 +754,7 @@ class GraphOMRSMetadataStore {
     }
 
 
-    synchronized EntityProxy getEntityProxyFromStore(String guid)
+    EntityProxy getEntityProxyFromStore(String guid)
             throws
             RepositoryErrorException
     {
@@ -633,7 +806,23 @@ class GraphOMRSMetadataStore {
     // This method needs to locate the vertices so that the edge can be created in the graph.
     // If either of these fails then throw exception
     //
-    synchronized void createRelationshipInStore(Relationship relationship)
+    void createRelationshipInStore(Relationship relationship)
+            throws
+            RepositoryErrorException,
+            InvalidParameterException
+
+    {
+        List<ReentrantLock> guidLocks = lockGUIDs(relationship.getGUID(), getEntityOneGUID(relationship), getEntityTwoGUID(relationship));
+
+        try {
+            createRelationshipInStoreLocked(relationship);
+        } finally {
+            unlockGUIDs(guidLocks);
+        }
+    }
+
+    // Called with the GUID locks for createRelationshipInStore held
+    private void createRelationshipInStoreLocked(Relationship relationship)
             throws
             RepositoryErrorException,
             InvalidParameterException
@@ -762,7 +951,23 @@ class GraphOMRSMetadataStore {
      *       - else metadataCollectionId is not local and values match
      *             update existing edge by mapping relationship
      */
-    synchronized void saveRelationshipReferenceCopyToStore(Relationship relationship)
+    void saveRelationshipReferenceCopyToStore(Relationship relationship)
+            throws
+            InvalidParameterException,
+            RepositoryErrorException
+
+    {
+        List<ReentrantLock> guidLocks = lockGUIDs(relationship.getGUID(), getEntityOneGUID(relationship), getEntityTwoGUID(relationship));
+
+        try {
+            saveRelationshipReferenceCopyToStoreLocked(relationship);
+        } finally {
+            unlockGUIDs(guidLocks);
+        }
+    }
+
+    // Called with the GUID locks for saveRelationshipReferenceCopyToStore held
+    private void saveRelationshipReferenceCopyToStoreLocked(Relationship relationship)
             throws
             InvalidParameterException,
             RepositoryErrorException
@@ -929,7 +1134,7 @@ class GraphOMRSMetadataStore {
 
 
 
-    synchronized Relationship getRelationshipFromStore(String guid)
+    Relationship getRelationshipFromStore(String guid)
             throws RepositoryErrorException
     {
         String methodName = "getRelationshipFromStore";
@@ -994,7 +1199,21 @@ class GraphOMRSMetadataStore {
     }
 
 
-    synchronized void updateEntityInStore(EntityDetail entity)
+    void updateEntityInStore(EntityDetail entity)
+            throws
+            RepositoryErrorException
+    {
+        List<ReentrantLock> guidLocks = lockGUIDs(entity.getGUID());
+
+        try {
+            updateEntityInStoreLocked(entity);
+        } finally {
+            unlockGUIDs(guidLocks);
+        }
+    }
+
+    // Called with the GUID locks for updateEntityInStore held
+    private void updateEntityInStoreLocked(EntityDetail entity)
             throws
             RepositoryErrorException
     {
@@ -1043,7 +1262,21 @@ class GraphOMRSMetadataStore {
 
     }
 
-    synchronized void updateEntityProxyInStore(EntityProxy entityProxy)
+    void updateEntityProxyInStore(EntityProxy entityProxy)
+            throws
+            RepositoryErrorException
+    {
+        List<ReentrantLock> guidLocks = lockGUIDs(entityProxy.getGUID());
+
+        try {
+            updateEntityProxyInStoreLocked(entityProxy);
+        } finally {
+            unlockGUIDs(guidLocks);
+        }
+    }
+
+    // Called with the GUID locks for updateEntityProxyInStore held
+    private void updateEntityProxyInStoreLocked(EntityProxy entityProxy)
             throws
             RepositoryErrorException
     {
@@ -1174,7 +1407,21 @@ class GraphOMRSMetadataStore {
 
 
     // updateRelationshipInStore
-    synchronized void updateRelationshipInStore(Relationship relationship)
+    void updateRelationshipInStore(Relationship relationship)
+            throws
+            RepositoryErrorException
+    {
+        List<ReentrantLock> guidLocks = lockGUIDs(relationship.getGUID(), getEntityOneGUID(relationship), getEntityTwoGUID(relationship));
+
+        try {
+            updateRelationshipInStoreLocked(relationship);
+        } finally {
+            unlockGUIDs(guidLocks);
+        }
+    }
+
+    // Called with the GUID locks for updateRelationshipInStore held
+    private void updateRelationshipInStoreLocked(Relationship relationship)
             throws
             RepositoryErrorException
     {
@@ -1211,9 +1458,22 @@ class GraphOMRSMetadataStore {
 
     // removeEntityFromStore
     //
-    // This method will remove the entity vertex and any classifier edges and classification vertices linked off it
+    // This method will remove the entity vertex and any classifier edges and classification vertices linked off it.
+    // The relationship edges of the entity are removed with the vertex, so their GUIDs are locked as well.
 
-    synchronized void removeEntityFromStore(String entityGUID)
+    void removeEntityFromStore(String entityGUID)
+    {
+        List<ReentrantLock> guidLocks = lockEntityAndRelationships(entityGUID);
+
+        try {
+            removeEntityFromStoreLocked(entityGUID);
+        } finally {
+            unlockGUIDs(guidLocks);
+        }
+    }
+
+    // Called with the GUID locks for removeEntityFromStore held, including those of the entity's relationships
+    private void removeEntityFromStoreLocked(String entityGUID)
     {
         final String methodName = "removeEntityFromStore";
 
@@ -1263,7 +1523,19 @@ class GraphOMRSMetadataStore {
     }
 
     // removeEntityProxyFromStore
-    synchronized void removeEntityProxyFromStore(String entityGUID)
+    void removeEntityProxyFromStore(String entityGUID)
+    {
+        List<ReentrantLock> guidLocks = lockEntityAndRelationships(entityGUID);
+
+        try {
+            removeEntityProxyFromStoreLocked(entityGUID);
+        } finally {
+            unlockGUIDs(guidLocks);
+        }
+    }
+
+    // Called with the GUID locks for removeEntityProxyFromStore held, including those of the proxy's relationships
+    private void removeEntityProxyFromStoreLocked(String entityGUID)
     {
         final String methodName = "removeEntityProxyFromStore";
         // TODO - could capture existing entity and move it to 'history'
@@ -1315,7 +1587,19 @@ class GraphOMRSMetadataStore {
     }
 
     // removeRelationshipFromStore
-    synchronized void removeRelationshipFromStore(String relationshipGUID)
+    void removeRelationshipFromStore(String relationshipGUID)
+    {
+        List<ReentrantLock> guidLocks = lockGUIDs(relationshipGUID);
+
+        try {
+            removeRelationshipFromStoreLocked(relationshipGUID);
+        } finally {
+            unlockGUIDs(guidLocks);
+        }
+    }
+
+    // Called with the GUID locks for removeRelationshipFromStore held
+    private void removeRelationshipFromStoreLocked(String relationshipGUID)
     {
         final String methodName = "removeRelationshipFromStore";
         // TODO - could capture existing relationship and move it to 'history'
@@ -1335,7 +1619,7 @@ class GraphOMRSMetadataStore {
     }
 
     // getRelationshipsForEntity
-    synchronized List<Relationship> getRelationshipsForEntity(String entityGUID)
+    List<Relationship> getRelationshipsForEntity(String entityGUID)
 
             throws
             TypeErrorException,
@@ -0,0 +1,351 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.RelationshipDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Verify that entities can be removed from the GraphOMRSMetadataStore while relationships attached to them are
+ * being created and removed on other threads, and that reads from the store run in parallel.
+ */
+public class TestGraphOMRSMetadataStore
+{
+    private static final String METADATA_COLLECTION_ID = "graph-test-collection";
+    private static final String REPOSITORY_NAME        = "graph-test";
+    private static final String ENTITY_TYPE_NAME       = "TestEntity";
+    private static final String RELATIONSHIP_TYPE_NAME = "TestRelationship";
+    private static final int    ENTITIES               = 20;
+    private static final int    THREADS                = 8;
+    private static final int    OPERATIONS_PER_THREAD  = 100;
+    private static final int    READ_ENTITIES          = 100;
+    private static final int    READ_THREADS           = 8;
+    private static final int    READS                  = 20000;
+    private static final int    READ_RUNS              = 3;
+
+    private File                   graphDirectory;
+    private GraphOMRSMetadataStore store;
+
+
+    @BeforeClass
+    public void openStore() throws Exception
+    {
+        graphDirectory = Files.createTempDirectory("graph-test").toFile();
+
+        Map<String, Object> storageProperties = new HashMap<>();
+        storageProperties.put("storage.backend", "berkeleyje");
+        storageProperties.put("storage.directory", new File(graphDirectory, "berkeley").getAbsolutePath());
+        storageProperties.put("index.search.backend", "lucene");
+        storageProperties.put("index.search.directory", new File(graphDirectory, "searchindex").getAbsolutePath());
+
+        /*
+         * The helper is only asked for the instance types of the vertices and edges that are read back.
+         * It does not record its calls, since the read test makes a great many of them.
+         */
+        EntityDef            entityDef       = new EntityDef();
+        RelationshipDef      relationshipDef = new RelationshipDef();
+        OMRSRepositoryHelper helper          = mock(OMRSRepositoryHelper.class, withSettings().stubOnly());
+
+        entityDef.setName(ENTITY_TYPE_NAME);
+        relationshipDef.setName(RELATIONSHIP_TYPE_NAME);
+        when(helper.getTypeDefByName(anyString(), eq(ENTITY_TYPE_NAME))).thenReturn(entityDef);
+        when(helper.getTypeDefByName(anyString(), eq(RELATIONSHIP_TYPE_NAME))).thenReturn(relationshipDef);
+        when(helper.getNewInstanceType(anyString(), any(TypeDef.class)))
+                .thenAnswer(invocation -> getType(invocation.<TypeDef>getArgument(1).getName()));
+
+        store = new GraphOMRSMetadataStore(METADATA_COLLECTION_ID,
+                                           REPOSITORY_NAME,
+                                           helper,
+                                           mock(AuditLog.class),
+                                           storageProperties);
+    }
+
+
+    @AfterClass
+    public void removeGraphDirectory()
+    {
+        deleteRecursively(graphDirectory);
+    }
+
+
+    @Test
+    public void testConcurrentEntityAndRelationshipRemoval() throws Exception
+    {
+        for (int i = 0; i < ENTITIES; i++)
+        {
+            store.createEntityInStore(getEntity("e" + i));
+        }
+
+        List<String>     relationshipGUIDs = Collections.synchronizedList(new ArrayList<>());
+        List<Throwable>  failures          = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger    nextRelationship  = new AtomicInteger();
+        ExecutorService  executor          = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch   start             = new CountDownLatch(1);
+
+        for (int t = 0; t < THREADS; t++)
+        {
+            final long seed = t;
+
+            executor.execute(() ->
+            {
+                Random random = new Random(seed);
+
+                try
+                {
+                    start.await();
+
+                    for (int op = 0; op < OPERATIONS_PER_THREAD; op++)
+                    {
+                        String entityGUID = "e" + random.nextInt(ENTITIES);
+
+                        switch (random.nextInt(4))
+                        {
+                            case 0:
+                            case 1:
+                                String relationshipGUID = "r" + nextRelationship.incrementAndGet();
+                                try
+                                {
+                                    store.createRelationshipInStore(getRelationship(relationshipGUID,
+                                                                                    entityGUID,
+                                                                                    "e" + random.nextInt(ENTITIES)));
+                                    relationshipGUIDs.add(relationshipGUID);
+                                }
+                                catch (RepositoryErrorException endRemoved)
+                                {
+                                    // one of the ends has been removed by another thread
+                                }
+                                break;
+
+                            case 2:
+                                store.removeEntityFromStore(entityGUID);
+                                try
+                                {
+                                    store.createEntityInStore(getEntity(entityGUID));
+                                }
+                                catch (InvalidParameterException recreated)
+                                {
+                                    // another thread recreated the entity first
+                                }
+                                break;
+
+                            default:
+                                if (!relationshipGUIDs.isEmpty())
+                                {
+                                    store.removeRelationshipFromStore(relationshipGUIDs.get(random.nextInt(relationshipGUIDs.size())));
+                                }
+                                break;
+                        }
+                    }
+                }
+                catch (Throwable error)
+                {
+                    failures.add(error);
+                }
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES), "the store operations did not finish");
+        assertTrue(failures.isEmpty(), "store operations failed: " + failures);
+
+        /*
+         * Every relationship left in the store must still have both of its ends.
+         */
+        for (String relationshipGUID : new ArrayList<>(relationshipGUIDs))
+        {
+            Relationship relationship = store.getRelationshipFromStore(relationshipGUID);
+            if (relationship != null)
+            {
+                assertNotNull(store.getEntityProxyFromStore(relationship.getEntityOneProxy().getGUID()));
+                assertNotNull(store.getEntityProxyFromStore(relationship.getEntityTwoProxy().getGUID()));
+            }
+        }
+    }
+
+
+    @Test
+    public void testReadThroughputScalesWithThreads() throws Exception
+    {
+        if (Runtime.getRuntime().availableProcessors() < 2)
+        {
+            throw new SkipException("Read scaling can only be measured with more than one processor");
+        }
+
+        for (int i = 0; i < READ_ENTITIES; i++)
+        {
+            store.createEntityInStore(getEntity("read" + i));
+        }
+
+        /*
+         * The first run warms up the caches of the graph and the JIT.  The best of several runs is kept for
+         * each thread count so a pause on the test machine does not decide the result.
+         */
+        readEntities(1);
+
+        long singleThreadTime = Long.MAX_VALUE;
+        long multiThreadTime  = Long.MAX_VALUE;
+
+        for (int run = 0; run < READ_RUNS; run++)
+        {
+            singleThreadTime = Math.min(singleThreadTime, readEntities(1));
+            multiThreadTime  = Math.min(multiThreadTime, readEntities(READ_THREADS));
+        }
+
+        assertTrue(multiThreadTime < singleThreadTime,
+                   READS + " reads took " + TimeUnit.NANOSECONDS.toMillis(multiThreadTime) + "ms on " + READ_THREADS +
+                           " threads and " + TimeUnit.NANOSECONDS.toMillis(singleThreadTime) + "ms on one thread");
+    }
+
+
+    /**
+     * Read the entities created by the read test, sharing the reads between a number of threads.
+     *
+     * @param threads number of threads
+     * @return elapsed time in nanoseconds
+     * @throws Exception the reads did not finish or one of them failed
+     */
+    private long readEntities(int threads) throws Exception
+    {
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch  start    = new CountDownLatch(1);
+
+        for (int t = 0; t < threads; t++)
+        {
+            final int firstRead = t;
+
+            executor.execute(() ->
+            {
+                try
+                {
+                    start.await();
+
+                    for (int read = firstRead; read < READS; read += threads)
+                    {
+                        assertNotNull(store.getEntityDetailFromStore("read" + (read % READ_ENTITIES)));
+                    }
+                }
+                catch (Throwable error)
+                {
+                    failures.add(error);
+                }
+            });
+        }
+
+        long startTime = System.nanoTime();
+
+        start.countDown();
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES), "the reads did not finish");
+
+        long elapsedTime = System.nanoTime() - startTime;
+
+        assertTrue(failures.isEmpty(), "reads failed: " + failures);
+
+        return elapsedTime;
+    }
+
+
+    private EntityDetail getEntity(String guid)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setType(getType(ENTITY_TYPE_NAME));
+        entity.setMetadataCollectionId(METADATA_COLLECTION_ID);
+        entity.setStatus(InstanceStatus.ACTIVE);
+        entity.setVersion(1L);
+        entity.setCreatedBy("test");
+        entity.setCreateTime(new Date());
+
+        return entity;
+    }
+
+
+    private Relationship getRelationship(String guid, String entityOneGUID, String entityTwoGUID)
+    {
+        Relationship relationship = new Relationship();
+
+        relationship.setGUID(guid);
+        relationship.setType(getType(RELATIONSHIP_TYPE_NAME));
+        relationship.setMetadataCollectionId(METADATA_COLLECTION_ID);
+        relationship.setStatus(InstanceStatus.ACTIVE);
+        relationship.setVersion(1L);
+        relationship.setCreatedBy("test");
+        relationship.setCreateTime(new Date());
+        relationship.setEntityOneProxy(getProxy(entityOneGUID));
+        relationship.setEntityTwoProxy(getProxy(entityTwoGUID));
+
+        return relationship;
+    }
+
+
+    private EntityProxy getProxy(String guid)
+    {
+        EntityProxy proxy = new EntityProxy();
+
+        proxy.setGUID(guid);
+        proxy.setType(getType(ENTITY_TYPE_NAME));
+        proxy.setMetadataCollectionId(METADATA_COLLECTION_ID);
+
+        return proxy;
+    }
+
+
+    private InstanceType getType(String typeName)
+    {
+        InstanceType type = new InstanceType();
+
+        type.setTypeDefGUID(typeName + "-guid");
+        type.setTypeDefName(typeName);
+
+        return type;
+    }
+
+
+    private void deleteRecursively(File file)
+    {
+        File[] children = file.listFiles();
+        if (children != null)
+        {
+            for (File child : children)
+            {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -212,7 +212,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          */
-        EntityDetail  entity = repositoryStore.timeWarpEntityStore(asOfTime).get(guid);
+        EntityDetail  entity = repositoryStore.getEntity(guid, asOfTime);
         if (entity == null)
         {
             EntityProxy  entityProxy = repositoryStore.getEntityProxy(guid);
@@ -300,9 +300,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
 
         List<Relationship> entityRelationships = new ArrayList<>();
 
-        Map<String, Relationship>   relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
-
-        for (Relationship  storedRelationship : relationshipStore.values())
+        for (Relationship  storedRelationship : repositoryStore.getRelationshipsForEntity(entityGUID, asOfTime))
         {
             if (storedRelationship != null)
             {
@@ -410,13 +408,12 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all of
-         * the stored entities.
+         * The type index narrows the search to the entities of the requested type (or its subtypes).
+         * Each candidate is then checked against the remaining criteria.
          */
         List<EntityDetail>         foundEntities = new ArrayList<>();
-        Map<String, EntityDetail>  entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
 
-        for (EntityDetail  entity : entityStore.values())
+        for (EntityDetail  entity : repositoryStore.getEntitiesByType(entityTypeGUID, null, asOfTime))
         {
             if (entity != null)
             {
@@ -478,13 +475,12 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all of
-         * the stored entities.
+         * The type index narrows the search to the entities of the requested type or subtypes.
+         * Each candidate is then checked against the remaining criteria.
          */
         List<EntityDetail>         foundEntities = new ArrayList<>();
-        Map<String, EntityDetail>  entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
 
-        for (EntityDetail  entity : entityStore.values())
+        for (EntityDetail  entity : repositoryStore.getEntitiesByType(entityTypeGUID, entitySubtypeGUIDs, asOfTime))
         {
             if (entity != null)
             {
@@ -580,16 +576,15 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all of
-         * the stored entities.
+         * The classification index narrows the search to the entities carrying the requested classification.
+         * Each candidate is then checked against the remaining criteria.
          */
-        Map<String, EntityDetail>   entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
         List<EntityDetail>          foundEntities = new ArrayList<>();
 
         List<String>                classificationList = new ArrayList<>();
         classificationList.add(classificationName);
 
-        for (EntityDetail  entity : entityStore.values())
+        for (EntityDetail  entity : repositoryStore.getEntitiesByClassification(classificationName, asOfTime))
         {
             if (entity != null)
             {
@@ -705,12 +700,12 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Process operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all of
-         * the stored entities.
+         * The type index narrows the search to the entities of the requested type (or its subtypes).
+         * Each candidate is then checked against the search criteria.
          */
         List<EntityDetail>   foundEntities = new ArrayList<>();
 
-        for (EntityDetail  entity : repositoryStore.timeWarpEntityStore(asOfTime).values())
+        for (EntityDetail  entity : repositoryStore.getEntitiesByType(entityTypeGUID, null, asOfTime))
         {
             if (entity != null)
             {
@@ -832,7 +827,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          */
-        Relationship  relationship = repositoryStore.timeWarpRelationshipStore(asOfTime).get(guid);
+        Relationship  relationship = repositoryStore.getRelationship(guid, asOfTime);
 
         repositoryValidator.validateRelationshipFromStore(repositoryName, guid, relationship, methodName);
         repositoryValidator.validateRelationshipIsNotDeleted(repositoryName, relationship, methodName);
@@ -880,13 +875,12 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating a relationship since it iterates through all of
-         * the stored entities.
+         * The type index narrows the search to the relationships of the requested type or subtypes.
+         * Each candidate is then checked against the remaining criteria.
          */
         List<Relationship>         foundRelationships = new ArrayList<>();
-        Map<String, Relationship>  relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
 
-        for (Relationship  relationship : relationshipStore.values())
+        for (Relationship  relationship : repositoryStore.getRelationshipsByType(relationshipTypeGUID, relationshipSubtypeGUIDs, asOfTime))
         {
             if (relationship != null)
             {
@@ -985,13 +979,12 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating a relationship since it iterates through all of
-         * the stored entities.
+         * The type index narrows the search to the relationships of the requested type (or its subtypes).
+         * Each candidate is then checked against the remaining criteria.
          */
         List<Relationship>         foundRelationships = new ArrayList<>();
-        Map<String, Relationship>  relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
 
-        for (Relationship  relationship : relationshipStore.values())
+        for (Relationship  relationship : repositoryStore.getRelationshipsByType(relationshipTypeGUID, null, asOfTime))
         {
             if (relationship != null)
             {
@@ -1084,12 +1077,12 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating a relationship since it iterates through all of
-         * the stored relationships.
+         * The type index narrows the search to the relationships of the requested type (or its subtypes).
+         * Each candidate is then checked against the search criteria.
          */
         List<Relationship>  foundRelationships = new ArrayList<>();
 
-        for (Relationship  relationship : repositoryStore.timeWarpRelationshipStore(asOfTime).values())
+        for (Relationship  relationship : repositoryStore.getRelationshipsByType(relationshipTypeGUID, null, asOfTime))
         {
             if (relationship != null)
             {
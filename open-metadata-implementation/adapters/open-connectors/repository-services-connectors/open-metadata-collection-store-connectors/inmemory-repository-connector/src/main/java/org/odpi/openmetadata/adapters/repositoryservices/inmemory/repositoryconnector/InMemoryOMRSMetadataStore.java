@@ -3,25 +3,49 @@
 package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
 
 
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceAuditHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
- * InMemoryOMRSMetadataStore provides the in memory stores for the InMemoryRepositoryConnector
+ * InMemoryOMRSMetadataStore provides the in memory stores for the InMemoryRepositoryConnector.
+ * Alongside the instance stores it maintains secondary indexes (type GUID, including supertypes,
+ * to instance; classification name to entity; and entity GUID to its relationships) so that queries
+ * on the current state of the repository only need to visit the candidate instances.
+ * The indexes only cover the current store - historical (asOfTime) queries fall back to scanning
+ * the time-warped store.
+ *
+ * The current stores and indexes are concurrent maps.  Queries on the current state read them directly
+ * without taking a lock or copying the store, so they run in parallel with each other and with updates.
+ * Updates are serialized on the store's monitor so that a store and its indexes change together.
+ *
+ * The history is held as a version chain for each instance GUID.  Each chain lists the superseded versions
+ * of the instance in the order they were replaced (and hence in update time order) so the version that was
+ * current at a point in time can be located with a binary search, and the previous version needed to undo
+ * an update is the last one in the chain.
  */
 class InMemoryOMRSMetadataStore
 {
     private String                                 repositoryName           = null;
-    private volatile Map<String, EntityDetail>     entityStore              = new HashMap<>();
-    private volatile Map<String, EntityProxy>      entityProxyStore         = new HashMap<>();
-    private volatile List<EntityDetail>            entityHistoryStore       = new ArrayList<>();
-    private volatile Map<String, Relationship>     relationshipStore        = new HashMap<>();
-    private volatile List<Relationship>            relationshipHistoryStore = new ArrayList<>();
+    private final Map<String, EntityDetail>        entityStore              = new ConcurrentHashMap<>();
+    private final Map<String, EntityProxy>         entityProxyStore         = new ConcurrentHashMap<>();
+    private final Map<String, List<EntityDetail>>  entityHistoryStore       = new ConcurrentHashMap<>();
+    private final Map<String, Relationship>        relationshipStore        = new ConcurrentHashMap<>();
+    private final Map<String, List<Relationship>>  relationshipHistoryStore = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<String>>         entityTypeIndex           = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>>         entityClassificationIndex = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>>         relationshipTypeIndex     = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>>         entityRelationshipIndex   = new ConcurrentHashMap<>();
 
 
     /**
@@ -48,7 +72,7 @@ class InMemoryOMRSMetadataStore
      *
      * @return list of EntityDetail objects
      */
-    synchronized List<EntityDetail>   getEntities()
+    List<EntityDetail>   getEntities()
     {
         return new ArrayList<>(entityStore.values());
     }
@@ -60,105 +84,175 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier for the entity
      * @return entity object
      */
-    synchronized EntityDetail  getEntity(String   guid)
+    EntityDetail  getEntity(String   guid)
     {
+        if (guid == null)
+        {
+            return null;
+        }
+
         return entityStore.get(guid);
     }
 
 
+    /**
+     * Return the version of the entity identified by the guid that was current at the supplied time.
+     *
+     * @param guid - unique identifier for the entity
+     * @param asOfTime - time for the version (or null means now)
+     * @return entity object or null if the entity did not exist at that time
+     */
+    EntityDetail  getEntity(String   guid,
+                            Date     asOfTime)
+    {
+        if (asOfTime == null)
+        {
+            return getEntity(guid);
+        }
+
+        if (guid == null)
+        {
+            return null;
+        }
+
+        return getVersionAsOf(entityStore.get(guid), entityHistoryStore.get(guid), asOfTime);
+    }
+
+
     /**
      * Return the entity proxy identified by the guid.
      *
      * @param guid - unique identifier
      * @return entity proxy object
      */
-    synchronized EntityProxy  getEntityProxy(String   guid)
+    EntityProxy  getEntityProxy(String   guid)
     {
+        if (guid == null)
+        {
+            return null;
+        }
+
         return entityProxyStore.get(guid);
     }
 
 
     /**
-     * Return an entity store that contains entities as they were at the time supplied in the asOfTime
-     * parameter
+     * Return the entities that are candidates for a query on the supplied type.  When asOfTime is null the
+     * type index is used, otherwise all of the entities from the time-warped store are returned.
      *
+     * @param typeGUID - unique identifier of the entity type (or null for all types)
+     * @param subtypeGUIDs - optional list of subtypes of typeGUID to restrict the candidates to
      * @param asOfTime - time for the store (or null means now)
-     * @return entity store for the requested time
+     * @return collection of candidate entities
      */
-    synchronized Map<String, EntityDetail>  timeWarpEntityStore(Date         asOfTime)
+    Collection<EntityDetail> getEntitiesByType(String        typeGUID,
+                                               List<String>  subtypeGUIDs,
+                                               Date          asOfTime)
     {
-        if (asOfTime == null)
+        if (asOfTime != null)
+        {
+            return timeWarpEntityStore(asOfTime).values();
+        }
+
+        if ((subtypeGUIDs != null) && (! subtypeGUIDs.isEmpty()))
+        {
+            return getIndexedInstances(entityTypeIndex, subtypeGUIDs, entityStore);
+        }
+        else if (typeGUID != null)
         {
-            return new HashMap<>(entityStore);
+            return getIndexedInstances(entityTypeIndex, Collections.singletonList(typeGUID), entityStore);
         }
 
-        Map<String, EntityDetail>  timeWarpedEntityStore = new HashMap<>();
+        return Collections.unmodifiableCollection(entityStore.values());
+    }
 
-        /*
-         * First step through the current relationship store and extract all of the relationships that were
-         * last updated before the asOfTime.
-         */
-        for (EntityDetail  entity : entityStore.values())
+
+    /**
+     * Return the entities that are candidates for a query on the named classification.  When asOfTime is null
+     * the classification index is used, otherwise all of the entities from the time-warped store are returned.
+     *
+     * @param classificationName - name of the classification
+     * @param asOfTime - time for the store (or null means now)
+     * @return collection of candidate entities
+     */
+    Collection<EntityDetail> getEntitiesByClassification(String   classificationName,
+                                                         Date     asOfTime)
+    {
+        if (asOfTime != null)
         {
-            if (entity != null)
-            {
-                if (entity.getUpdateTime() != null)
-                {
-                    String entityGUID = entity.getGUID();
+            return timeWarpEntityStore(asOfTime).values();
+        }
 
-                    if (entityGUID != null)
-                    {
-                        if (! entity.getUpdateTime().after(asOfTime))
-                        {
-                            timeWarpedEntityStore.put(entityGUID, entity);
-                        }
-                    }
-                }
-                else if (entity.getCreateTime() != null)
-                {
-                    if (! entity.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedEntityStore.put(entity.getGUID(), entity);
-                    }
-                }
-            }
+        return getIndexedInstances(entityClassificationIndex, Collections.singletonList(classificationName), entityStore);
+    }
+
+
+    /**
+     * Return the relationships that are candidates for a query on the supplied type.  When asOfTime is null the
+     * type index is used, otherwise all of the relationships from the time-warped store are returned.
+     *
+     * @param typeGUID - unique identifier of the relationship type (or null for all types)
+     * @param subtypeGUIDs - optional list of subtypes of typeGUID to restrict the candidates to
+     * @param asOfTime - time for the store (or null means now)
+     * @return collection of candidate relationships
+     */
+    Collection<Relationship> getRelationshipsByType(String        typeGUID,
+                                                    List<String>  subtypeGUIDs,
+                                                    Date          asOfTime)
+    {
+        if (asOfTime != null)
+        {
+            return timeWarpRelationshipStore(asOfTime).values();
         }
 
-        /*
-         * Now step through the history store picking up the versions of other entities that were active
-         * at the time of the asOfTime.
-         */
-        for (EntityDetail oldEntity : entityHistoryStore)
+        if ((subtypeGUIDs != null) && (! subtypeGUIDs.isEmpty()))
         {
-            if (oldEntity != null)
-            {
-                String entityGUID = oldEntity.getGUID();
+            return getIndexedInstances(relationshipTypeIndex, subtypeGUIDs, relationshipStore);
+        }
+        else if (typeGUID != null)
+        {
+            return getIndexedInstances(relationshipTypeIndex, Collections.singletonList(typeGUID), relationshipStore);
+        }
 
-                if (oldEntity.getUpdateTime() != null)
-                {
-                    if (! oldEntity.getUpdateTime().after(asOfTime))
-                    {
-                        EntityDetail newerEntity = timeWarpedEntityStore.put(entityGUID, oldEntity);
+        return Collections.unmodifiableCollection(relationshipStore.values());
+    }
 
-                        if (newerEntity != null)
-                        {
-                            timeWarpedEntityStore.put(entityGUID, newerEntity);
-                        }
-                        break;
-                    }
-                }
-                else if (oldEntity.getCreateTime() != null)
-                {
-                    if (! oldEntity.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedEntityStore.put(entityGUID, oldEntity);
-                        break;
-                    }
-                }
-            }
+
+    /**
+     * Return the relationships that are candidates for being linked to the requested entity.  When asOfTime is null the
+     * relationship adjacency index is used, otherwise all of the relationships from the time-warped store are returned.
+     *
+     * @param entityGUID - unique identifier of the entity
+     * @param asOfTime - time for the store (or null means now)
+     * @return collection of candidate relationships
+     */
+    Collection<Relationship> getRelationshipsForEntity(String   entityGUID,
+                                                       Date     asOfTime)
+    {
+        if (asOfTime != null)
+        {
+            return timeWarpRelationshipStore(asOfTime).values();
+        }
+
+        return getIndexedInstances(entityRelationshipIndex, Collections.singletonList(entityGUID), relationshipStore);
+    }
+
+
+    /**
+     * Return an entity store that contains entities as they were at the time supplied in the asOfTime
+     * parameter
+     *
+     * @param asOfTime - time for the store (or null means now)
+     * @return entity store for the requested time - a read only view of the live store when asOfTime is null
+     */
+    Map<String, EntityDetail>  timeWarpEntityStore(Date         asOfTime)
+    {
+        if (asOfTime == null)
+        {
+            return Collections.unmodifiableMap(entityStore);
         }
 
-        return timeWarpedEntityStore;
+        return timeWarpStore(entityStore, entityHistoryStore, asOfTime);
     }
 
 
@@ -167,7 +261,7 @@ class InMemoryOMRSMetadataStore
      *
      * @return list of relationships
      */
-    synchronized List<Relationship>   getRelationships()
+    List<Relationship>   getRelationships()
     {
         return new ArrayList<>(relationshipStore.values());
     }
@@ -179,95 +273,58 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier for the relationship
      * @return relationship object
      */
-    protected synchronized Relationship  getRelationship(String   guid)
+    protected Relationship  getRelationship(String   guid)
     {
+        if (guid == null)
+        {
+            return null;
+        }
+
         return relationshipStore.get(guid);
     }
 
+
     /**
-     * Return a relationship store that contains relationships as they were at the time supplied in the asOfTime
-     * parameter
+     * Return the version of the relationship identified by the guid that was current at the supplied time.
      *
-     * @param asOfTime - time for the store (or null means now)
-     * @return relationship store for the requested time
+     * @param guid - unique identifier for the relationship
+     * @param asOfTime - time for the version (or null means now)
+     * @return relationship object or null if the relationship did not exist at that time
      */
-    synchronized Map<String, Relationship>  timeWarpRelationshipStore(Date         asOfTime)
+    Relationship  getRelationship(String   guid,
+                                  Date     asOfTime)
     {
         if (asOfTime == null)
         {
-            return new HashMap<>(relationshipStore);
+            return getRelationship(guid);
         }
 
-        Map<String, Relationship>  timeWarpedRelationshipStore = new HashMap<>();
-
-
-        /*
-         * First step through the current relationship store and extract all of the relationships that were
-         * last updated before the asOfTime.
-         */
-        for (Relationship  relationship : relationshipStore.values())
+        if (guid == null)
         {
-            if (relationship != null)
-            {
-                if (relationship.getUpdateTime() != null)
-                {
-                    String relationshipGUID = relationship.getGUID();
-
-                    if (relationshipGUID != null)
-                    {
-                        if (! relationship.getUpdateTime().after(asOfTime))
-                        {
-                            timeWarpedRelationshipStore.put(relationshipGUID, relationship);
-                        }
-                    }
-                }
-                else if (relationship.getCreateTime() != null)
-                {
-                    if (! relationship.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedRelationshipStore.put(relationship.getGUID(), relationship);
-                    }
-                }
-            }
+            return null;
         }
 
-        /*
-         * Now step through the history store picking up the versions of other relationships that were active
-         * at the time of the asOfTime.
-         */
-        for (Relationship oldRelationship : relationshipHistoryStore)
-        {
-            if (oldRelationship != null)
-            {
-                String relationshipGUID = oldRelationship.getGUID();
-
-                if (oldRelationship.getUpdateTime() != null)
-                {
-                    if (! oldRelationship.getUpdateTime().after(asOfTime))
-                    {
-                        Relationship newerRelationship = timeWarpedRelationshipStore.put(relationshipGUID, oldRelationship);
+        return getVersionAsOf(relationshipStore.get(guid), relationshipHistoryStore.get(guid), asOfTime);
+    }
 
-                        if (newerRelationship != null)
-                        {
-                            timeWarpedRelationshipStore.put(relationshipGUID, newerRelationship);
-                        }
-                        break;
-                    }
-                }
-                else if (oldRelationship.getCreateTime() != null)
-                {
-                    if (! oldRelationship.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedRelationshipStore.put(relationshipGUID, oldRelationship);
-                        break;
-                    }
-                }
-            }
+    /**
+     * Return a relationship store that contains relationships as they were at the time supplied in the asOfTime
+     * parameter
+     *
+     * @param asOfTime - time for the store (or null means now)
+     * @return relationship store for the requested time - a read only view of the live store when asOfTime is null
+     */
+    Map<String, Relationship>  timeWarpRelationshipStore(Date         asOfTime)
+    {
+        if (asOfTime == null)
+        {
+            return Collections.unmodifiableMap(relationshipStore);
         }
 
-        return timeWarpedRelationshipStore;
+        return timeWarpStore(relationshipStore, relationshipHistoryStore, asOfTime);
     }
 
+
     /**
      * Create a new entity in the entity store.
      *
@@ -280,14 +337,16 @@ class InMemoryOMRSMetadataStore
          * There is a small chance the randomly generated GUID will clash with an existing relationship.
          * If this happens a new GUID is generated for the relationship and the process repeats.
          */
-        EntityDetail existingEntity = entityStore.put(entity.getGUID(), entity);
+        EntityDetail existingEntity = entityStore.putIfAbsent(entity.getGUID(), entity);
 
         while (existingEntity != null)
         {
             entity.setGUID(UUID.randomUUID().toString());
-            existingEntity = entityStore.put(entity.getGUID(), entity);
+            existingEntity = entityStore.putIfAbsent(entity.getGUID(), entity);
         }
 
+        indexEntity(null, entity);
+
         return entity;
     }
 
@@ -304,14 +363,16 @@ class InMemoryOMRSMetadataStore
          * There is a small chance the randomly generated GUID will clash with an existing relationship.
          * If this happens a new GUID is generated for the relationship and the process repeats.
          */
-        Relationship existingRelationship = relationshipStore.put(relationship.getGUID(), relationship);
+        Relationship existingRelationship = relationshipStore.putIfAbsent(relationship.getGUID(), relationship);
 
         while (existingRelationship != null)
         {
             relationship.setGUID(UUID.randomUUID().toString());
-            existingRelationship = relationshipStore.put(relationship.getGUID(), relationship);
+            existingRelationship = relationshipStore.putIfAbsent(relationship.getGUID(), relationship);
         }
 
+        indexRelationship(null, relationship);
+
         return relationship;
     }
 
@@ -329,7 +390,7 @@ class InMemoryOMRSMetadataStore
 
     /**
      * Maintain a history of entities as they are stored into the entity store to ensure old version can be restored.
-     * The history is maintained with the latest changes first in the list.
+     * The replaced version is appended to the end of the entity's version chain, so the latest change is last.
      *
      * @param entity - new version of the entity
      */
@@ -337,10 +398,9 @@ class InMemoryOMRSMetadataStore
     {
         EntityDetail    oldEntity = entityStore.put(entity.getGUID(), entity);
 
-        if (oldEntity != null)
-        {
-            entityHistoryStore.add(0, oldEntity);
-        }
+        indexEntity(oldEntity, entity);
+
+        addToHistory(entityHistoryStore, oldEntity);
     }
 
 
@@ -357,7 +417,8 @@ class InMemoryOMRSMetadataStore
 
     /**
      * Maintain a history of relationships as they are stored into the relationship store to ensure old version
-     * can be restored.  The history is maintained with the latest changes first in the list.
+     * can be restored.  The replaced version is appended to the end of the relationship's version chain, so the
+     * latest change is last.
      *
      * @param relationship - new version of the relationship
      */
@@ -366,10 +427,9 @@ class InMemoryOMRSMetadataStore
 
         Relationship    oldRelationship = relationshipStore.put(relationship.getGUID(), relationship);
 
-        if (oldRelationship != null)
-        {
-            relationshipHistoryStore.add(0, oldRelationship);
-        }
+        indexRelationship(oldRelationship, relationship);
+
+        addToHistory(relationshipHistoryStore, oldRelationship);
     }
 
 
@@ -381,7 +441,9 @@ class InMemoryOMRSMetadataStore
      */
     synchronized void saveReferenceEntityToStore(EntityDetail    entity)
     {
-        entityStore.put(entity.getGUID(), entity);
+        EntityDetail    oldEntity = entityStore.put(entity.getGUID(), entity);
+
+        indexEntity(oldEntity, entity);
     }
 
 
@@ -393,13 +455,15 @@ class InMemoryOMRSMetadataStore
      */
     synchronized void saveReferenceRelationshipToStore(Relationship    relationship)
     {
-        relationshipStore.put(relationship.getGUID(), relationship);
+        Relationship    oldRelationship = relationshipStore.put(relationship.getGUID(), relationship);
+
+        indexRelationship(oldRelationship, relationship);
     }
 
 
     /**
-     * Retrieve the previous version of a Relationship.  This is the first instance of this element that
-     * appears in the history.
+     * Retrieve the previous version of a Relationship.  This is the last version of this element that
+     * was added to its version chain in the history.
      *
      * @param guid - unique identifier for the required element
      * @return - previous version of this relationship - or null if not found
@@ -409,42 +473,36 @@ class InMemoryOMRSMetadataStore
         if (guid != null)
         {
             Relationship  currentVersionOfRelationship = relationshipStore.get(guid);
+            Relationship  previousVersionOfRelationship = getPreviousVersion(relationshipHistoryStore.get(guid));
 
-            long versionNumber = 0;
-
-            if (currentVersionOfRelationship != null)
+            if (previousVersionOfRelationship != null)
             {
-                versionNumber = currentVersionOfRelationship.getVersion() + 1;
-            }
-
+                long versionNumber;
 
-            for (Relationship relationship : relationshipHistoryStore)
-            {
-                if (relationship != null)
+                if (currentVersionOfRelationship != null)
                 {
-                    if (guid.equals(relationship.getGUID()))
-                    {
-                        if (versionNumber == 0)
-                        {
-                            versionNumber = relationship.getVersion() + 1;
-                        }
-                        /*
-                         * Clone the head (most recent) version in the history, set its version number to the next version
-                         * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
-                         * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
-                         * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
-                         * updated longer ago than was really the case.
-                         */
-                        Relationship newRelationship = new Relationship(relationship);
-                        newRelationship.setVersion(versionNumber);
-                        Date restoreTime = new Date();
-                        newRelationship.setUpdateTime(restoreTime);
-                        relationshipStore.put(guid, newRelationship);
-                        relationshipHistoryStore.add(0, currentVersionOfRelationship);
-                        return newRelationship;
-
-                    }
+                    versionNumber = currentVersionOfRelationship.getVersion() + 1;
                 }
+                else
+                {
+                    versionNumber = previousVersionOfRelationship.getVersion() + 1;
+                }
+
+                /*
+                 * Clone the last (most recent) version in the history, set its version number to the next version
+                 * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
+                 * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
+                 * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
+                 * updated longer ago than was really the case.
+                 */
+                Relationship newRelationship = new Relationship(previousVersionOfRelationship);
+                newRelationship.setVersion(versionNumber);
+                Date restoreTime = new Date();
+                newRelationship.setUpdateTime(restoreTime);
+                relationshipStore.put(guid, newRelationship);
+                indexRelationship(currentVersionOfRelationship, newRelationship);
+                addToHistory(relationshipHistoryStore, currentVersionOfRelationship);
+                return newRelationship;
             }
         }
 
@@ -454,7 +512,7 @@ class InMemoryOMRSMetadataStore
 
     /**
      * Retrieve the previous version of an Entity from the history store and restore it in the entity store.
-     * This is the first instance of this element that appears in the history.
+     * This is the last version of this element that was added to its version chain in the history.
      *
      * @param guid - unique identifier for the required element
      * @return - previous version of this Entity - or null if not found
@@ -464,43 +522,36 @@ class InMemoryOMRSMetadataStore
         if (guid != null)
         {
             EntityDetail  currentVersionOfEntity = entityStore.get(guid);
+            EntityDetail  previousVersionOfEntity = getPreviousVersion(entityHistoryStore.get(guid));
 
-            long versionNumber = 0;
-
-            if (currentVersionOfEntity != null)
+            if (previousVersionOfEntity != null)
             {
-                versionNumber = currentVersionOfEntity.getVersion() + 1;
-            }
+                long versionNumber;
 
-            for (EntityDetail entity : entityHistoryStore)
-            {
-                if (entity != null)
+                if (currentVersionOfEntity != null)
                 {
-                    if (guid.equals(entity.getGUID()))
-                    {
-                        if (versionNumber == 0)
-                        {
-                            versionNumber = entity.getVersion() + 1;
-                        }
-
-                        /*
-                         * Clone the head (most recent) version in the history, set its version number to the next version
-                         * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
-                         * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
-                         * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
-                         * updated longer ago than was really the case.
-                         *
-                         */
-                        EntityDetail newEntity = new EntityDetail(entity);
-                        newEntity.setVersion(versionNumber);
-                        Date restoreTime = new Date();
-                        newEntity.setUpdateTime(restoreTime);
-                        entityStore.put(guid, newEntity);
-                        entityHistoryStore.add(0, currentVersionOfEntity);
-                        return newEntity;
-
-                    }
+                    versionNumber = currentVersionOfEntity.getVersion() + 1;
+                }
+                else
+                {
+                    versionNumber = previousVersionOfEntity.getVersion() + 1;
                 }
+
+                /*
+                 * Clone the last (most recent) version in the history, set its version number to the next version
+                 * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
+                 * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
+                 * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
+                 * updated longer ago than was really the case.
+                 */
+                EntityDetail newEntity = new EntityDetail(previousVersionOfEntity);
+                newEntity.setVersion(versionNumber);
+                Date restoreTime = new Date();
+                newEntity.setUpdateTime(restoreTime);
+                entityStore.put(guid, newEntity);
+                indexEntity(currentVersionOfEntity, newEntity);
+                addToHistory(entityHistoryStore, currentVersionOfEntity);
+                return newEntity;
             }
         }
 
@@ -515,8 +566,10 @@ class InMemoryOMRSMetadataStore
      */
     synchronized void removeEntityFromStore(EntityDetail     entity)
     {
-        entityStore.remove(entity.getGUID());
-        entityHistoryStore.add(0, entity);
+        EntityDetail    oldEntity = entityStore.remove(entity.getGUID());
+
+        indexEntity(oldEntity, null);
+        addToHistory(entityHistoryStore, entity);
     }
 
 
@@ -527,11 +580,17 @@ class InMemoryOMRSMetadataStore
      */
     synchronized void removeReferenceEntityFromStore(String     guid)
     {
+        if (guid == null)
+        {
+            return;
+        }
+
         EntityDetail entity = entityStore.remove(guid);
 
         if (entity != null)
         {
-            entityHistoryStore.add(0, entity);
+            indexEntity(entity, null);
+            addToHistory(entityHistoryStore, entity);
         }
     }
 
@@ -543,7 +602,10 @@ class InMemoryOMRSMetadataStore
      */
     synchronized void removeEntityProxyFromStore(String     guid)
     {
-        entityProxyStore.remove(guid);
+        if (guid != null)
+        {
+            entityProxyStore.remove(guid);
+        }
     }
 
 
@@ -554,8 +616,10 @@ class InMemoryOMRSMetadataStore
      */
     synchronized void removeRelationshipFromStore(Relationship     relationship)
     {
-        relationshipStore.remove(relationship.getGUID());
-        relationshipHistoryStore.add(0, relationship);
+        Relationship    oldRelationship = relationshipStore.remove(relationship.getGUID());
+
+        indexRelationship(oldRelationship, null);
+        addToHistory(relationshipHistoryStore, relationship);
     }
 
 
@@ -566,12 +630,424 @@ class InMemoryOMRSMetadataStore
      */
     synchronized void removeReferenceRelationshipFromStore(String     guid)
     {
+        if (guid == null)
+        {
+            return;
+        }
+
         Relationship  relationship = relationshipStore.remove(guid);
 
         if (relationship != null)
         {
-            relationshipHistoryStore.add(0, relationship);
+            indexRelationship(relationship, null);
+            addToHistory(relationshipHistoryStore, relationship);
+        }
+    }
+
+
+    /**
+     * Add a superseded version of an instance to the end of its version chain.  The chains are only ever
+     * appended to, so a copy-on-write list lets queries walk them without a lock.
+     *
+     * @param historyStore - history store to update
+     * @param instance - superseded version of the instance (may be null)
+     * @param <T> - type of instance
+     */
+    private <T extends InstanceHeader> void addToHistory(Map<String, List<T>>   historyStore,
+                                                         T                      instance)
+    {
+        if ((instance != null) && (instance.getGUID() != null))
+        {
+            historyStore.computeIfAbsent(instance.getGUID(), k -> new CopyOnWriteArrayList<>()).add(instance);
+        }
+    }
+
+
+    /**
+     * Return the most recently superseded version from a version chain.
+     *
+     * @param versions - version chain (may be null)
+     * @param <T> - type of instance
+     * @return previous version or null if there is no history
+     */
+    private <T extends InstanceHeader> T getPreviousVersion(List<T>   versions)
+    {
+        if (versions != null)
+        {
+            int size = versions.size();
+
+            if (size > 0)
+            {
+                return versions.get(size - 1);
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Build a store that contains the instances as they were at the time supplied in the asOfTime parameter.
+     *
+     * @param currentStore - store of current versions
+     * @param historyStore - version chains for the instances
+     * @param asOfTime - time for the store
+     * @param <T> - type of instance
+     * @return store for the requested time
+     */
+    private <T extends InstanceHeader> Map<String, T> timeWarpStore(Map<String, T>         currentStore,
+                                                                    Map<String, List<T>>   historyStore,
+                                                                    Date                   asOfTime)
+    {
+        Map<String, T>  timeWarpedStore = new HashMap<>();
+
+        /*
+         * First step through the current store and extract all of the instances that were
+         * last updated before the asOfTime.
+         */
+        for (T instance : currentStore.values())
+        {
+            if ((instance != null) && (instance.getGUID() != null) && (isCurrentAsOf(instance, asOfTime)))
+            {
+                timeWarpedStore.put(instance.getGUID(), instance);
+            }
+        }
+
+        /*
+         * Now look in the version chains of the other instances for the versions that were active
+         * at the time of the asOfTime.
+         */
+        for (Map.Entry<String, List<T>> versionChain : historyStore.entrySet())
+        {
+            if (! timeWarpedStore.containsKey(versionChain.getKey()))
+            {
+                T oldInstance = getVersionAsOf(null, versionChain.getValue(), asOfTime);
+
+                if (oldInstance != null)
+                {
+                    timeWarpedStore.put(versionChain.getKey(), oldInstance);
+                }
+            }
+        }
+
+        return timeWarpedStore;
+    }
+
+
+    /**
+     * Return the version of an instance that was current at the supplied time.  The current version is
+     * used if it was last updated before asOfTime, otherwise the version chain is binary searched for the
+     * latest version updated at or before asOfTime.
+     *
+     * @param currentVersion - version in the current store (may be null)
+     * @param versions - version chain (may be null)
+     * @param asOfTime - time for the version
+     * @param <T> - type of instance
+     * @return matching version or null if the instance did not exist at that time
+     */
+    private <T extends InstanceHeader> T getVersionAsOf(T         currentVersion,
+                                                        List<T>   versions,
+                                                        Date      asOfTime)
+    {
+        if ((currentVersion != null) && (isCurrentAsOf(currentVersion, asOfTime)))
+        {
+            return currentVersion;
+        }
+
+        T  matchingVersion = null;
+
+        if (versions != null)
+        {
+            int low  = 0;
+            int high = versions.size() - 1;
+
+            while (low <= high)
+            {
+                int  middle  = (low + high) >>> 1;
+                T    version = versions.get(middle);
+
+                if (isCurrentAsOf(version, asOfTime))
+                {
+                    matchingVersion = version;
+                    low = middle + 1;
+                }
+                else
+                {
+                    high = middle - 1;
+                }
+            }
+        }
+
+        return matchingVersion;
+    }
+
+
+    /**
+     * Determine whether a version of an instance had been created or updated by the supplied time.
+     *
+     * @param version - version of the instance
+     * @param asOfTime - time to test
+     * @return boolean flag
+     */
+    private boolean isCurrentAsOf(InstanceAuditHeader   version,
+                                  Date                  asOfTime)
+    {
+        Date  versionTime = version.getUpdateTime();
+
+        if (versionTime == null)
+        {
+            versionTime = version.getCreateTime();
+        }
+
+        return (versionTime != null) && (! versionTime.after(asOfTime));
+    }
+
+
+    /**
+     * Move an entity's entries in the type and classification indexes from its old version to its new version.
+     * Either version may be null (for example on create or remove).
+     *
+     * @param oldEntity - version of the entity that is being replaced (or null)
+     * @param newEntity - version of the entity now in the store (or null)
+     */
+    private void indexEntity(EntityDetail   oldEntity,
+                             EntityDetail   newEntity)
+    {
+        if (oldEntity != null)
+        {
+            for (String typeGUID : getTypeKeys(oldEntity))
+            {
+                removeFromIndex(entityTypeIndex, typeGUID, oldEntity.getGUID());
+            }
+
+            for (String classificationName : getClassificationKeys(oldEntity))
+            {
+                removeFromIndex(entityClassificationIndex, classificationName, oldEntity.getGUID());
+            }
+        }
+
+        if (newEntity != null)
+        {
+            for (String typeGUID : getTypeKeys(newEntity))
+            {
+                addToIndex(entityTypeIndex, typeGUID, newEntity.getGUID());
+            }
+
+            for (String classificationName : getClassificationKeys(newEntity))
+            {
+                addToIndex(entityClassificationIndex, classificationName, newEntity.getGUID());
+            }
         }
     }
 
+
+    /**
+     * Move a relationship's entries in the type and entity adjacency indexes from its old version to its new version.
+     * Either version may be null (for example on create or remove).
+     *
+     * @param oldRelationship - version of the relationship that is being replaced (or null)
+     * @param newRelationship - version of the relationship now in the store (or null)
+     */
+    private void indexRelationship(Relationship   oldRelationship,
+                                   Relationship   newRelationship)
+    {
+        if (oldRelationship != null)
+        {
+            for (String typeGUID : getTypeKeys(oldRelationship))
+            {
+                removeFromIndex(relationshipTypeIndex, typeGUID, oldRelationship.getGUID());
+            }
+
+            for (String entityGUID : getEntityKeys(oldRelationship))
+            {
+                removeFromIndex(entityRelationshipIndex, entityGUID, oldRelationship.getGUID());
+            }
+        }
+
+        if (newRelationship != null)
+        {
+            for (String typeGUID : getTypeKeys(newRelationship))
+            {
+                addToIndex(relationshipTypeIndex, typeGUID, newRelationship.getGUID());
+            }
+
+            for (String entityGUID : getEntityKeys(newRelationship))
+            {
+                addToIndex(entityRelationshipIndex, entityGUID, newRelationship.getGUID());
+            }
+        }
+    }
+
+
+    /**
+     * Return the type GUIDs that an instance is indexed under - that is its own type and all of its supertypes.
+     *
+     * @param instance - instance to index
+     * @return list of type GUIDs
+     */
+    private List<String> getTypeKeys(InstanceHeader   instance)
+    {
+        List<String>  typeKeys = new ArrayList<>();
+        InstanceType  type = instance.getType();
+
+        if (type != null)
+        {
+            if (type.getTypeDefGUID() != null)
+            {
+                typeKeys.add(type.getTypeDefGUID());
+            }
+
+            List<TypeDefLink>  superTypes = type.getTypeDefSuperTypes();
+
+            if (superTypes != null)
+            {
+                for (TypeDefLink superType : superTypes)
+                {
+                    if ((superType != null) && (superType.getGUID() != null))
+                    {
+                        typeKeys.add(superType.getGUID());
+                    }
+                }
+            }
+        }
+
+        return typeKeys;
+    }
+
+
+    /**
+     * Return the names of the classifications attached to an entity.
+     *
+     * @param entity - entity to index
+     * @return list of classification names
+     */
+    private List<String> getClassificationKeys(EntityDetail   entity)
+    {
+        List<String>          classificationKeys = new ArrayList<>();
+        List<Classification>  classifications = entity.getClassifications();
+
+        if (classifications != null)
+        {
+            for (Classification classification : classifications)
+            {
+                if ((classification != null) && (classification.getName() != null))
+                {
+                    classificationKeys.add(classification.getName());
+                }
+            }
+        }
+
+        return classificationKeys;
+    }
+
+
+    /**
+     * Return the GUIDs of the entities at either end of a relationship.
+     *
+     * @param relationship - relationship to index
+     * @return list of entity GUIDs
+     */
+    private List<String> getEntityKeys(Relationship   relationship)
+    {
+        List<String>  entityKeys = new ArrayList<>();
+
+        if ((relationship.getEntityOneProxy() != null) && (relationship.getEntityOneProxy().getGUID() != null))
+        {
+            entityKeys.add(relationship.getEntityOneProxy().getGUID());
+        }
+
+        if ((relationship.getEntityTwoProxy() != null) && (relationship.getEntityTwoProxy().getGUID() != null))
+        {
+            entityKeys.add(relationship.getEntityTwoProxy().getGUID());
+        }
+
+        return entityKeys;
+    }
+
+
+    /**
+     * Add an instance GUID to the entry for a key in one of the indexes.
+     *
+     * @param index - index to update
+     * @param key - index key
+     * @param guid - instance GUID
+     */
+    private void addToIndex(Map<String, Set<String>>   index,
+                            String                     key,
+                            String                     guid)
+    {
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(guid);
+    }
+
+
+    /**
+     * Remove an instance GUID from the entry for a key in one of the indexes.
+     *
+     * @param index - index to update
+     * @param key - index key
+     * @param guid - instance GUID
+     */
+    private void removeFromIndex(Map<String, Set<String>>   index,
+                                 String                     key,
+                                 String                     guid)
+    {
+        Set<String>  guids = index.get(key);
+
+        if (guids != null)
+        {
+            guids.remove(guid);
+
+            if (guids.isEmpty())
+            {
+                index.remove(key);
+            }
+        }
+    }
+
+
+    /**
+     * Resolve the instances listed under the requested keys of an index.  Instances listed under more than one
+     * key are only returned once.
+     *
+     * @param index - index to look in
+     * @param keys - index keys
+     * @param store - store holding the instances
+     * @param <T> - type of instance
+     * @return list of instances
+     */
+    private <T> List<T> getIndexedInstances(Map<String, Set<String>>   index,
+                                            List<String>               keys,
+                                            Map<String, T>             store)
+    {
+        Set<String>  guids = new HashSet<>();
+
+        for (String key : keys)
+        {
+            if (key == null)
+            {
+                continue;
+            }
+
+            Set<String>  keyGUIDs = index.get(key);
+
+            if (keyGUIDs != null)
+            {
+                guids.addAll(keyGUIDs);
+            }
+        }
+
+        List<T>  instances = new ArrayList<>();
+
+        for (String guid : guids)
+        {
+            T  instance = store.get(guid);
+
+            if (instance != null)
+            {
+                instances.add(instance);
+            }
+        }
+
+        return instances;
+    }
 }
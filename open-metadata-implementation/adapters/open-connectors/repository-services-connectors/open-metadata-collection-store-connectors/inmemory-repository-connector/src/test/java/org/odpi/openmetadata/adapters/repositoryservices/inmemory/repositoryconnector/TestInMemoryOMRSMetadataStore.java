@@ -0,0 +1,286 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+import org.testng.annotations.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Verify that the secondary indexes maintained by InMemoryOMRSMetadataStore follow the changes made to the store,
+ * that historical versions are located from the version chains, and that queries can run while the store
+ * is being updated.
+ */
+public class TestInMemoryOMRSMetadataStore
+{
+    private static final String ASSET_TYPE_GUID       = "asset-type";
+    private static final String DATA_SET_TYPE_GUID    = "data-set-type";
+    private static final String REFERENCEABLE_GUID    = "referenceable-type";
+    private static final String RELATIONSHIP_TYPE_GUID = "relationship-type";
+    private static final String CONFIDENTIALITY       = "Confidentiality";
+
+
+    @Test
+    void testEntityTypeIndex()
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        store.createEntityInStore(getEntity("1111", ASSET_TYPE_GUID));
+        store.createEntityInStore(getEntity("2222", DATA_SET_TYPE_GUID, ASSET_TYPE_GUID));
+        store.createEntityInStore(getEntity("3333", REFERENCEABLE_GUID));
+
+        assertEquals(getGUIDs(store.getEntitiesByType(ASSET_TYPE_GUID, null, null)), toSet("1111", "2222"));
+        assertEquals(getGUIDs(store.getEntitiesByType(DATA_SET_TYPE_GUID, null, null)), toSet("2222"));
+        assertEquals(getGUIDs(store.getEntitiesByType(ASSET_TYPE_GUID,
+                                                      Collections.singletonList(DATA_SET_TYPE_GUID),
+                                                      null)), toSet("2222"));
+        assertEquals(getGUIDs(store.getEntitiesByType(null, null, null)), toSet("1111", "2222", "3333"));
+        assertTrue(store.getEntitiesByType("unknown-type", null, null).isEmpty());
+
+        store.removeEntityFromStore(store.getEntity("2222"));
+
+        assertEquals(getGUIDs(store.getEntitiesByType(ASSET_TYPE_GUID, null, null)), toSet("1111"));
+        assertTrue(store.getEntitiesByType(DATA_SET_TYPE_GUID, null, null).isEmpty());
+    }
+
+
+    @Test
+    void testEntityClassificationIndex()
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        EntityDetail entity = getEntity("1111", ASSET_TYPE_GUID);
+
+        store.createEntityInStore(entity);
+        assertTrue(store.getEntitiesByClassification(CONFIDENTIALITY, null).isEmpty());
+
+        EntityDetail classifiedEntity = new EntityDetail(entity);
+        Classification classification = new Classification();
+        classification.setName(CONFIDENTIALITY);
+        classifiedEntity.setClassifications(Collections.singletonList(classification));
+
+        store.updateEntityInStore(classifiedEntity);
+        assertEquals(getGUIDs(store.getEntitiesByClassification(CONFIDENTIALITY, null)), toSet("1111"));
+
+        store.retrievePreviousVersionOfEntity("1111");
+        assertTrue(store.getEntitiesByClassification(CONFIDENTIALITY, null).isEmpty());
+    }
+
+
+    @Test
+    void testRelationshipIndexes()
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        store.createRelationshipInStore(getRelationship("4444", "1111", "2222"));
+        store.createRelationshipInStore(getRelationship("5555", "2222", "3333"));
+
+        assertEquals(getGUIDs(store.getRelationshipsForEntity("1111", null)), toSet("4444"));
+        assertEquals(getGUIDs(store.getRelationshipsForEntity("2222", null)), toSet("4444", "5555"));
+        assertEquals(getGUIDs(store.getRelationshipsByType(RELATIONSHIP_TYPE_GUID, null, null)), toSet("4444", "5555"));
+
+        store.removeRelationshipFromStore(store.getRelationship("4444"));
+
+        assertTrue(store.getRelationshipsForEntity("1111", null).isEmpty());
+        assertEquals(getGUIDs(store.getRelationshipsForEntity("2222", null)), toSet("5555"));
+    }
+
+
+    @Test
+    void testVersionChains()
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        EntityDetail version1 = getEntity("1111", ASSET_TYPE_GUID);
+        version1.setVersion(1);
+        version1.setCreateTime(new Date(1000));
+        store.createEntityInStore(version1);
+
+        EntityDetail version2 = new EntityDetail(version1);
+        version2.setVersion(2);
+        version2.setUpdateTime(new Date(2000));
+        store.updateEntityInStore(version2);
+
+        EntityDetail version3 = new EntityDetail(version2);
+        version3.setVersion(3);
+        version3.setUpdateTime(new Date(3000));
+        store.updateEntityInStore(version3);
+
+        EntityDetail otherEntity = getEntity("2222", ASSET_TYPE_GUID);
+        otherEntity.setCreateTime(new Date(1500));
+        store.createEntityInStore(otherEntity);
+
+        assertNull(store.getEntity("1111", new Date(500)));
+        assertEquals(store.getEntity("1111", new Date(1000)).getVersion(), 1);
+        assertEquals(store.getEntity("1111", new Date(2500)).getVersion(), 2);
+        assertEquals(store.getEntity("1111", new Date(5000)).getVersion(), 3);
+
+        Map<String, EntityDetail> timeWarpedStore = store.timeWarpEntityStore(new Date(1700));
+        assertEquals(timeWarpedStore.keySet(), toSet("1111", "2222"));
+        assertEquals(timeWarpedStore.get("1111").getVersion(), 1);
+
+        EntityDetail restoredEntity = store.retrievePreviousVersionOfEntity("1111");
+        assertEquals(restoredEntity.getVersion(), 4);
+        assertEquals(store.getEntity("1111").getUpdateTime(), restoredEntity.getUpdateTime());
+        assertEquals(store.getEntity("1111", new Date(3500)).getVersion(), 3);
+
+        store.removeEntityFromStore(store.getEntity("1111"));
+        assertNull(store.getEntity("1111"));
+        assertEquals(store.getEntity("1111", new Date(2500)).getVersion(), 2);
+    }
+
+
+    @Test
+    void testConcurrentReadsAndWrites() throws Exception
+    {
+        final int writerCount = 4;
+        final int readerCount = 4;
+        final int entitiesPerWriter = 2000;
+
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+        ExecutorService executor = Executors.newFixedThreadPool(writerCount + readerCount);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Future<?>> writers = new ArrayList<>();
+        List<Future<?>> readers = new ArrayList<>();
+
+        for (int writer = 0; writer < writerCount; writer++)
+        {
+            final int writerNumber = writer;
+
+            writers.add(executor.submit(() ->
+            {
+                for (int i = 0; i < entitiesPerWriter; i++)
+                {
+                    String guid = writerNumber + "-" + i;
+
+                    store.createEntityInStore(getEntity(guid, DATA_SET_TYPE_GUID, ASSET_TYPE_GUID));
+                    store.createRelationshipInStore(getRelationship("r-" + guid, guid, "hub"));
+
+                    if (i % 2 == 0)
+                    {
+                        store.removeEntityFromStore(store.getEntity(guid));
+                    }
+                }
+            }));
+        }
+
+        for (int reader = 0; reader < readerCount; reader++)
+        {
+            readers.add(executor.submit(() ->
+            {
+                while (writing.get())
+                {
+                    for (EntityDetail entity : store.getEntitiesByType(ASSET_TYPE_GUID, null, null))
+                    {
+                        assertNotNull(entity.getGUID());
+                    }
+
+                    for (Relationship relationship : store.getRelationshipsForEntity("hub", null))
+                    {
+                        assertNotNull(relationship.getGUID());
+                    }
+
+                    assertFalse(store.timeWarpEntityStore(null).containsKey("unknown"));
+                }
+            }));
+        }
+
+        for (Future<?> writer : writers)
+        {
+            writer.get(60, TimeUnit.SECONDS);
+        }
+        writing.set(false);
+
+        for (Future<?> reader : readers)
+        {
+            reader.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        int expectedEntities = writerCount * entitiesPerWriter / 2;
+
+        assertEquals(store.getEntitiesByType(ASSET_TYPE_GUID, null, null).size(), expectedEntities);
+        assertEquals(store.getEntitiesByType(null, null, null).size(), expectedEntities);
+        assertEquals(store.getRelationshipsForEntity("hub", null).size(), writerCount * entitiesPerWriter);
+    }
+
+
+    private EntityDetail getEntity(String guid, String typeGUID, String... superTypeGUIDs)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setType(getType(typeGUID, superTypeGUIDs));
+        entity.setStatus(InstanceStatus.ACTIVE);
+
+        return entity;
+    }
+
+
+    private Relationship getRelationship(String guid, String entityOneGUID, String entityTwoGUID)
+    {
+        Relationship relationship = new Relationship();
+
+        relationship.setGUID(guid);
+        relationship.setType(getType(RELATIONSHIP_TYPE_GUID));
+        relationship.setStatus(InstanceStatus.ACTIVE);
+
+        EntityProxy entityOneProxy = new EntityProxy();
+        entityOneProxy.setGUID(entityOneGUID);
+        relationship.setEntityOneProxy(entityOneProxy);
+
+        EntityProxy entityTwoProxy = new EntityProxy();
+        entityTwoProxy.setGUID(entityTwoGUID);
+        relationship.setEntityTwoProxy(entityTwoProxy);
+
+        return relationship;
+    }
+
+
+    private InstanceType getType(String typeGUID, String... superTypeGUIDs)
+    {
+        InstanceType type = new InstanceType();
+        type.setTypeDefGUID(typeGUID);
+
+        List<TypeDefLink> superTypes = new ArrayList<>();
+        for (String superTypeGUID : superTypeGUIDs)
+        {
+            TypeDefLink superType = new TypeDefLink();
+            superType.setGUID(superTypeGUID);
+            superTypes.add(superType);
+        }
+        type.setTypeDefSuperTypes(superTypes);
+
+        return type;
+    }
+
+
+    private Set<String> getGUIDs(Collection<? extends InstanceHeader> instances)
+    {
+        Set<String> guids = new HashSet<>();
+
+        for (InstanceHeader instance : instances)
+        {
+            guids.add(instance.getGUID());
+        }
+
+        return guids;
+    }
+
+
+    private Set<String> toSet(String... guids)
+    {
+        return new HashSet<>(Arrays.asList(guids));
+    }
+}
@@ -0,0 +1,655 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.restclients.spring;
+
+import org.apache.http.HttpHost;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * RESTClientConnectionPool is the per-JVM registry of the HTTP clients used by the SpringRESTClientConnectors.
+ * A server that creates many connectors for the same platform reuses the same keep-alive connections rather
+ * than opening a new set for each connector.
+ *
+ * There is one HTTP client for each combination of platform URL root and SSL configuration, and one pool of
+ * connections for each SSL configuration.  The clients do not manage cookies so no conversation state is
+ * shared between the callers of a platform; the credentials are passed with each request.
+ *
+ * The limits of the pools are platform-wide settings, rather than properties of the connection of a
+ * connector, since the pools are shared by all of the servers on the platform.  They are read from the
+ * JVM system properties egeria.rest.client.maxConnectionsTotal (default 200) and
+ * egeria.rest.client.maxConnectionsPerRoute (default 20) when a pool is created.
+ *
+ * A background thread closes the connections that have been idle for a minute, and the HTTP clients that
+ * have not been used for ten minutes.  A client is created again when its platform is next called.
+ * A client is also closed as soon as the last connector using it is disconnected.
+ *
+ * The HTTP client is looked up on every REST call, so the lookup of an open client takes no lock.  The
+ * registry is only locked to create, release or close a client.  The statistics of the connection pools
+ * are available through the static methods of this class.
+ */
+public class RESTClientConnectionPool
+{
+    static final String maxConnectionsTotalProperty    = "egeria.rest.client.maxConnectionsTotal";
+    static final String maxConnectionsPerRouteProperty = "egeria.rest.client.maxConnectionsPerRoute";
+
+    private static final int  defaultMaxConnectionsTotal    = 200;
+    private static final int  defaultMaxConnectionsPerRoute = 20;
+    private static final int  validateAfterInactivity       = 2000;
+    private static final long maxIdleConnectionTime        = TimeUnit.SECONDS.toMillis(60);
+    private static final long maxIdleClientTime            = TimeUnit.MINUTES.toMillis(10);
+    private static final long maintenanceInterval          = TimeUnit.SECONDS.toMillis(30);
+
+    private static final Logger log = LoggerFactory.getLogger(RESTClientConnectionPool.class);
+
+    private static Map<SSLConnectionSocketFactory, PoolingHttpClientConnectionManager> connectionManagers = new ConcurrentHashMap<>();
+    private static Map<ClientKey, PooledClient>                                        httpClients        = new ConcurrentHashMap<>();
+    private static ScheduledExecutorService                                            maintenanceThread  = null;
+
+
+    /**
+     * Register a connector that calls a platform.  The HTTP client of the platform is closed once all of the
+     * connectors registered for it are released.
+     *
+     * @param platformURLRoot URL root of the server platform
+     * @param sslSocketFactory socket factory for HTTPS connections
+     * @return HTTP client using the connection pool of the SSL configuration
+     */
+    static synchronized CloseableHttpClient acquireHttpClient(String                     platformURLRoot,
+                                                              SSLConnectionSocketFactory sslSocketFactory)
+    {
+        PooledClient pooledClient = getPooledClient(new ClientKey(platformURLRoot, sslSocketFactory));
+
+        pooledClient.connectorCount++;
+
+        return pooledClient.getHttpClient();
+    }
+
+
+    /**
+     * Return the HTTP client for a call to a platform.  This is called for every REST call so an open
+     * client is returned without locking the registry.  The client is created again if it has been closed
+     * because it was idle.
+     *
+     * @param platformURLRoot URL root of the server platform
+     * @param sslSocketFactory socket factory for HTTPS connections
+     * @return HTTP client using the connection pool of the SSL configuration
+     */
+    static CloseableHttpClient getHttpClient(String                     platformURLRoot,
+                                             SSLConnectionSocketFactory sslSocketFactory)
+    {
+        ClientKey    clientKey    = new ClientKey(platformURLRoot, sslSocketFactory);
+        PooledClient pooledClient = httpClients.get(clientKey);
+
+        if (pooledClient != null)
+        {
+            pooledClient.lastUseTime = System.currentTimeMillis();
+
+            CloseableHttpClient httpClient = pooledClient.httpClient;
+
+            if (httpClient != null)
+            {
+                return httpClient;
+            }
+        }
+
+        return reopenHttpClient(clientKey);
+    }
+
+
+    /**
+     * Return the HTTP client of a platform, creating it if it has been closed.
+     *
+     * @param clientKey platform and SSL configuration
+     * @return HTTP client using the connection pool of the SSL configuration
+     */
+    private static synchronized CloseableHttpClient reopenHttpClient(ClientKey clientKey)
+    {
+        return getPooledClient(clientKey).getHttpClient();
+    }
+
+
+    /**
+     * Release a connector registered by acquireHttpClient.  The HTTP client is closed if no other connector
+     * uses it.
+     *
+     * @param platformURLRoot URL root of the server platform
+     * @param sslSocketFactory socket factory for HTTPS connections
+     */
+    static synchronized void releaseHttpClient(String                     platformURLRoot,
+                                               SSLConnectionSocketFactory sslSocketFactory)
+    {
+        ClientKey    clientKey    = new ClientKey(platformURLRoot, sslSocketFactory);
+        PooledClient pooledClient = httpClients.get(clientKey);
+
+        if (pooledClient == null)
+        {
+            return;
+        }
+
+        pooledClient.connectorCount--;
+
+        if (pooledClient.connectorCount <= 0)
+        {
+            httpClients.remove(clientKey);
+            pooledClient.close();
+            closeUnusedConnectionManager(sslSocketFactory);
+        }
+    }
+
+
+    /**
+     * Close the HTTP clients that have not been used since a time, and the connection pools that no longer
+     * have a client.
+     *
+     * @param lastUseTime time in milliseconds since the epoch
+     */
+    static synchronized void closeIdleHttpClients(long lastUseTime)
+    {
+        Iterator<Map.Entry<ClientKey, PooledClient>> iterator = httpClients.entrySet().iterator();
+
+        while (iterator.hasNext())
+        {
+            Map.Entry<ClientKey, PooledClient> entry        = iterator.next();
+            PooledClient                       pooledClient = entry.getValue();
+
+            if ((pooledClient.httpClient != null) && (pooledClient.lastUseTime < lastUseTime))
+            {
+                log.debug("Closing idle HTTP client for calls to platform " + entry.getKey().platformURLRoot + ".");
+
+                pooledClient.close();
+            }
+
+            if ((pooledClient.httpClient == null) && (pooledClient.connectorCount <= 0))
+            {
+                iterator.remove();
+            }
+        }
+
+        Iterator<SSLConnectionSocketFactory> sslSocketFactories = connectionManagers.keySet().iterator();
+
+        while (sslSocketFactories.hasNext())
+        {
+            SSLConnectionSocketFactory sslSocketFactory = sslSocketFactories.next();
+
+            if (!hasOpenHttpClient(sslSocketFactory))
+            {
+                connectionManagers.get(sslSocketFactory).shutdown();
+                sslSocketFactories.remove();
+            }
+        }
+
+        if (connectionManagers.isEmpty() && (maintenanceThread != null))
+        {
+            maintenanceThread.shutdown();
+            maintenanceThread = null;
+        }
+    }
+
+
+    /**
+     * Return the number of open HTTP clients.
+     *
+     * @return client count
+     */
+    static synchronized int getHttpClientCount()
+    {
+        int count = 0;
+
+        for (PooledClient pooledClient : httpClients.values())
+        {
+            if (pooledClient.httpClient != null)
+            {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Return the connection pool of an SSL configuration.
+     *
+     * @param sslSocketFactory socket factory for HTTPS connections
+     * @return connection manager or null if there is no open client using this configuration
+     */
+    static PoolingHttpClientConnectionManager getConnectionManager(SSLConnectionSocketFactory sslSocketFactory)
+    {
+        return connectionManagers.get(sslSocketFactory);
+    }
+
+
+    /**
+     * Return the number of connections that are currently in use by a REST call.
+     *
+     * @return connection count
+     */
+    public static int getLeasedConnectionCount()
+    {
+        return getTotalStats().getLeased();
+    }
+
+
+    /**
+     * Return the number of open connections that are waiting in the pools for their next REST call.
+     *
+     * @return connection count
+     */
+    public static int getIdleConnectionCount()
+    {
+        return getTotalStats().getAvailable();
+    }
+
+
+    /**
+     * Return the number of REST calls that are waiting for a connection because a pool is at its limit.
+     *
+     * @return request count
+     */
+    public static int getPendingRequestCount()
+    {
+        return getTotalStats().getPending();
+    }
+
+
+    /**
+     * Return the maximum number of connections in the pools.  If no pool is open, this is the limit that
+     * the next pool will be created with.
+     *
+     * @return connection count
+     */
+    public static int getMaxConnectionCount()
+    {
+        if (connectionManagers.isEmpty())
+        {
+            return Integer.getInteger(maxConnectionsTotalProperty, defaultMaxConnectionsTotal);
+        }
+
+        return getTotalStats().getMax();
+    }
+
+
+    /**
+     * Return the number of connections to a platform that are currently in use by a REST call.
+     *
+     * @param platformURLRoot URL root of the server platform
+     * @return connection count
+     */
+    public static int getLeasedConnectionCount(String platformURLRoot)
+    {
+        return getRouteStats(platformURLRoot).getLeased();
+    }
+
+
+    /**
+     * Return the number of open connections to a platform that are waiting in the pools for their next REST call.
+     *
+     * @param platformURLRoot URL root of the server platform
+     * @return connection count
+     */
+    public static int getIdleConnectionCount(String platformURLRoot)
+    {
+        return getRouteStats(platformURLRoot).getAvailable();
+    }
+
+
+    /**
+     * Return the number of REST calls to a platform that are waiting for a connection.
+     *
+     * @param platformURLRoot URL root of the server platform
+     * @return request count
+     */
+    public static int getPendingRequestCount(String platformURLRoot)
+    {
+        return getRouteStats(platformURLRoot).getPending();
+    }
+
+
+    /**
+     * Return the statistics of all of the connection pools added together.
+     *
+     * @return statistics
+     */
+    private static PoolStats getTotalStats()
+    {
+        int leased    = 0;
+        int pending   = 0;
+        int available = 0;
+        int max       = 0;
+
+        for (PoolingHttpClientConnectionManager connectionManager : connectionManagers.values())
+        {
+            PoolStats poolStats = connectionManager.getTotalStats();
+
+            leased    += poolStats.getLeased();
+            pending   += poolStats.getPending();
+            available += poolStats.getAvailable();
+            max       += poolStats.getMax();
+        }
+
+        return new PoolStats(leased, pending, available, max);
+    }
+
+
+    /**
+     * Return the statistics of the connections to a platform, added together across the connection pools.
+     *
+     * @param platformURLRoot URL root of the server platform
+     * @return statistics (all zero if the URL is not valid)
+     */
+    private static PoolStats getRouteStats(String platformURLRoot)
+    {
+        HttpRoute route     = getRoute(platformURLRoot);
+        int       leased    = 0;
+        int       pending   = 0;
+        int       available = 0;
+        int       max       = 0;
+
+        if (route != null)
+        {
+            for (PoolingHttpClientConnectionManager connectionManager : connectionManagers.values())
+            {
+                PoolStats poolStats = connectionManager.getStats(route);
+
+                leased    += poolStats.getLeased();
+                pending   += poolStats.getPending();
+                available += poolStats.getAvailable();
+                max       += poolStats.getMax();
+            }
+        }
+
+        return new PoolStats(leased, pending, available, max);
+    }
+
+
+    /**
+     * Return the route that the connection pools use for the connections to a platform.
+     *
+     * @param platformURLRoot URL root of the server platform
+     * @return route or null if the URL is not valid
+     */
+    private static HttpRoute getRoute(String platformURLRoot)
+    {
+        if (platformURLRoot == null)
+        {
+            return null;
+        }
+
+        try
+        {
+            URI     uri    = new URI(platformURLRoot);
+            String  scheme = (uri.getScheme() == null) ? "http" : uri.getScheme().toLowerCase();
+            boolean secure = "https".equals(scheme);
+            int     port   = uri.getPort();
+
+            if (uri.getHost() == null)
+            {
+                return null;
+            }
+
+            if (port < 0)
+            {
+                port = secure ? 443 : 80;
+            }
+
+            return new HttpRoute(new HttpHost(uri.getHost(), port, scheme), null, secure);
+        }
+        catch (Throwable error)
+        {
+            log.debug("Unable to determine the route for platform " + platformURLRoot + ": " + error.getMessage());
+
+            return null;
+        }
+    }
+
+
+    /**
+     * Return the registry entry of a platform, creating it if needed.
+     *
+     * @param clientKey platform and SSL configuration
+     * @return registry entry
+     */
+    private static PooledClient getPooledClient(ClientKey clientKey)
+    {
+        PooledClient pooledClient = httpClients.get(clientKey);
+
+        if (pooledClient == null)
+        {
+            pooledClient = new PooledClient(clientKey);
+            httpClients.put(clientKey, pooledClient);
+        }
+
+        return pooledClient;
+    }
+
+
+    /**
+     * Return the connection pool of an SSL configuration, creating it if needed.
+     *
+     * @param sslSocketFactory socket factory for HTTPS connections
+     * @return connection manager
+     */
+    private static PoolingHttpClientConnectionManager getOrCreateConnectionManager(SSLConnectionSocketFactory sslSocketFactory)
+    {
+        PoolingHttpClientConnectionManager connectionManager = connectionManagers.get(sslSocketFactory);
+
+        if (connectionManager == null)
+        {
+            Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
+                    .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                    .register("https", sslSocketFactory)
+                    .build();
+
+            connectionManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+
+            connectionManager.setMaxTotal(Integer.getInteger(maxConnectionsTotalProperty, defaultMaxConnectionsTotal));
+            connectionManager.setDefaultMaxPerRoute(Integer.getInteger(maxConnectionsPerRouteProperty, defaultMaxConnectionsPerRoute));
+            connectionManager.setValidateAfterInactivity(validateAfterInactivity);
+
+            connectionManagers.put(sslSocketFactory, connectionManager);
+
+            startMaintenanceThread();
+        }
+
+        return connectionManager;
+    }
+
+
+    /**
+     * Shut down the connection pool of an SSL configuration if none of its clients is open.
+     *
+     * @param sslSocketFactory socket factory for HTTPS connections
+     */
+    private static void closeUnusedConnectionManager(SSLConnectionSocketFactory sslSocketFactory)
+    {
+        if (!hasOpenHttpClient(sslSocketFactory))
+        {
+            PoolingHttpClientConnectionManager connectionManager = connectionManagers.remove(sslSocketFactory);
+
+            if (connectionManager != null)
+            {
+                connectionManager.shutdown();
+            }
+        }
+    }
+
+
+    /**
+     * Return whether a client using an SSL configuration is open.
+     *
+     * @param sslSocketFactory socket factory for HTTPS connections
+     * @return boolean
+     */
+    private static boolean hasOpenHttpClient(SSLConnectionSocketFactory sslSocketFactory)
+    {
+        for (Map.Entry<ClientKey, PooledClient> entry : httpClients.entrySet())
+        {
+            if ((entry.getKey().sslSocketFactory == sslSocketFactory) && (entry.getValue().httpClient != null))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Start the daemon thread that closes the idle connections and clients.
+     */
+    private static void startMaintenanceThread()
+    {
+        if (maintenanceThread != null)
+        {
+            return;
+        }
+
+        maintenanceThread = Executors.newSingleThreadScheduledExecutor(runnable ->
+                                                                       {
+                                                                           Thread thread = new Thread(runnable, "RESTClientConnectionPool-maintenance");
+                                                                           thread.setDaemon(true);
+                                                                           return thread;
+                                                                       });
+
+        maintenanceThread.scheduleWithFixedDelay(RESTClientConnectionPool::closeIdleConnections,
+                                                 maintenanceInterval,
+                                                 maintenanceInterval,
+                                                 TimeUnit.MILLISECONDS);
+    }
+
+
+    /**
+     * Close the connections and clients that have been idle for too long.
+     */
+    private static synchronized void closeIdleConnections()
+    {
+        for (PoolingHttpClientConnectionManager connectionManager : connectionManagers.values())
+        {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(maxIdleConnectionTime, TimeUnit.MILLISECONDS);
+        }
+
+        closeIdleHttpClients(System.currentTimeMillis() - maxIdleClientTime);
+    }
+
+
+    /**
+     * The registry entry of a platform.
+     */
+    private static class PooledClient
+    {
+        private final    ClientKey           clientKey;
+        private volatile CloseableHttpClient httpClient     = null;
+        private volatile long                lastUseTime    = 0;
+        private          int                 connectorCount = 0;
+
+
+        PooledClient(ClientKey clientKey)
+        {
+            this.clientKey = clientKey;
+        }
+
+
+        CloseableHttpClient getHttpClient()
+        {
+            if (httpClient == null)
+            {
+                log.debug("Creating HTTP client for calls to platform " + clientKey.platformURLRoot + ".");
+
+                httpClient = HttpClientBuilder.create()
+                                              .setConnectionManager(getOrCreateConnectionManager(clientKey.sslSocketFactory))
+                                              .setConnectionManagerShared(true)
+                                              .disableCookieManagement()
+                                              .build();
+            }
+
+            lastUseTime = System.currentTimeMillis();
+
+            return httpClient;
+        }
+
+
+        void close()
+        {
+            if (httpClient == null)
+            {
+                return;
+            }
+
+            try
+            {
+                httpClient.close();
+            }
+            catch (IOException error)
+            {
+                log.debug("Exception " + error.getClass().getName() + " with message " + error.getMessage() + " occurred closing the HTTP client.");
+            }
+
+            httpClient = null;
+        }
+    }
+
+
+    /**
+     * The platform and SSL configuration of an HTTP client.  SSL configurations are compared by identity.
+     */
+    private static class ClientKey
+    {
+        private final String                     platformURLRoot;
+        private final SSLConnectionSocketFactory sslSocketFactory;
+
+
+        ClientKey(String                     platformURLRoot,
+                  SSLConnectionSocketFactory sslSocketFactory)
+        {
+            this.platformURLRoot = platformURLRoot;
+            this.sslSocketFactory = sslSocketFactory;
+        }
+
+
+        @Override
+        public boolean equals(Object objectToCompare)
+        {
+            if (this == objectToCompare)
+            {
+                return true;
+            }
+            if (!(objectToCompare instanceof ClientKey))
+            {
+                return false;
+            }
+            ClientKey that = (ClientKey) objectToCompare;
+            return Objects.equals(platformURLRoot, that.platformURLRoot) &&
+                           (sslSocketFactory == that.sslSocketFactory);
+        }
+
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(platformURLRoot, System.identityHashCode(sslSocketFactory));
+        }
+    }
+}
@@ -2,10 +2,13 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.adapters.connectors.restclients.spring;
 
+import org.apache.http.client.HttpClient;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.codehaus.plexus.util.Base64;
 import org.odpi.openmetadata.adapters.connectors.restclients.RESTClientConnector;
 import org.odpi.openmetadata.adapters.connectors.restclients.ffdc.RESTClientConnectorErrorCode;
 import org.odpi.openmetadata.adapters.connectors.restclients.ffdc.exceptions.RESTServerException;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
 import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
 import org.slf4j.Logger;
@@ -15,6 +18,7 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
@@ -28,6 +32,7 @@ import java.security.NoSuchAlgorithmException;
 import java.security.cert.X509Certificate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -35,10 +40,25 @@ import java.util.List;
  */
 public class SpringRESTClientConnector extends RESTClientConnector
 {
-    private RestTemplate restTemplate;
-    private String       serverName               = null;
-    private String       serverPlatformURLRoot    = null;
-    private HttpHeaders  basicAuthorizationHeader = null;
+    /*
+     * Names of the configuration properties of the connection that tune the HTTP transport.
+     * The timeouts are in milliseconds.
+     */
+    private static final String connectTimeoutProperty = "connectTimeout";
+    private static final String readTimeoutProperty    = "readTimeout";
+
+    private static final int defaultConnectTimeout = 30000;
+    private static final int defaultReadTimeout    = 300000;
+
+    private RestTemplate               restTemplate;
+    private SSLConnectionSocketFactory sslSocketFactory;
+    private boolean                    httpClientAcquired       = false;
+    private String                     serverName               = null;
+    private String                     serverPlatformURLRoot    = null;
+    private HttpHeaders                basicAuthorizationHeader = null;
+
+    private static SSLContext                 insecureSSLContext       = null;
+    private static SSLConnectionSocketFactory insecureSSLSocketFactory = null;
 
     private static final Logger log = LoggerFactory.getLogger(SpringRESTClientConnector.class);
 
@@ -63,11 +83,12 @@ public class SpringRESTClientConnector extends RESTClientConnector
 
 
         /* TODO: Disable SSL cert verification -- for now */
-        HttpsURLConnection.setDefaultHostnameVerifier(bypassVerifier);
-        SSLContext sc = SSLContext.getInstance("SSL");
-        sc.init(null, INSECURE_MANAGER, null);
-        HttpsURLConnection.setDefaultSSLSocketFactory(sc.getSocketFactory());
+        sslSocketFactory = getInsecureSSLSocketFactory();
 
+        /*
+         * The HTTP transport is set up when the connector is initialized since it depends on the
+         * platform that is called.
+         */
         restTemplate = new RestTemplate();
 
         restTemplate.setUriTemplateHandler(builderFactory);
@@ -78,6 +99,31 @@ public class SpringRESTClientConnector extends RESTClientConnector
         converters.add(0, new StringHttpMessageConverter(StandardCharsets.UTF_8));
     }
 
+    /**
+     * Return the socket factory for HTTPS connections that do not verify the certificates.  The same
+     * factory is used by all of the connectors so that they share the connection pool of each platform.
+     *
+     * @return socket factory
+     * @throws NoSuchAlgorithmException the SSL protocol is not available
+     * @throws KeyManagementException the SSL context could not be initialized
+     */
+    private static synchronized SSLConnectionSocketFactory getInsecureSSLSocketFactory() throws NoSuchAlgorithmException,
+                                                                                                KeyManagementException
+    {
+        if (insecureSSLSocketFactory == null)
+        {
+            insecureSSLContext = SSLContext.getInstance("SSL");
+            insecureSSLContext.init(null, INSECURE_MANAGER, null);
+
+            insecureSSLSocketFactory = new SSLConnectionSocketFactory(insecureSSLContext, bypassVerifier);
+        }
+
+        HttpsURLConnection.setDefaultHostnameVerifier(bypassVerifier);
+        HttpsURLConnection.setDefaultSSLSocketFactory(insecureSSLContext.getSocketFactory());
+
+        return insecureSSLSocketFactory;
+    }
+
     /**
      * Dummy TrustManager that is happy with any cert
      *
@@ -165,6 +211,101 @@ public class SpringRESTClientConnector extends RESTClientConnector
             log.debug("Using no authentication to call server " + this.serverName + " on platform " + this.serverPlatformURLRoot + ".");
 
         }
+
+        /*
+         * The calls are made through the pool of keep-alive connections that is shared by all of the REST
+         * clients in the JVM, so that repeated calls to the same platform do not pay for a new connection
+         * (and TLS handshake) each time.  The HTTP client negotiates gzip compression of the responses.
+         * The HTTP client is looked up for each call since the pool closes the clients that are idle.
+         * The timeouts may be overridden by the configuration properties of the connection.
+         */
+        final String                     platformURLRoot          = serverPlatformURLRoot;
+        final SSLConnectionSocketFactory platformSSLSocketFactory = sslSocketFactory;
+
+        HttpComponentsClientHttpRequestFactory requestFactory
+                = new HttpComponentsClientHttpRequestFactory(RESTClientConnectionPool.acquireHttpClient(platformURLRoot,
+                                                                                                        platformSSLSocketFactory))
+        {
+            @Override
+            public HttpClient getHttpClient()
+            {
+                return RESTClientConnectionPool.getHttpClient(platformURLRoot, platformSSLSocketFactory);
+            }
+        };
+
+        httpClientAcquired = true;
+
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+        int connectTimeout = getIntegerProperty(configurationProperties, connectTimeoutProperty, defaultConnectTimeout);
+
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setConnectionRequestTimeout(connectTimeout);
+        requestFactory.setReadTimeout(getIntegerProperty(configurationProperties, readTimeoutProperty, defaultReadTimeout));
+
+        restTemplate.setRequestFactory(requestFactory);
+    }
+
+
+    /**
+     * Release the connector's use of the shared HTTP client.  The client is closed if no other connector
+     * calls the same platform.
+     *
+     * @throws ConnectorCheckedException there is a problem within the connector.
+     */
+    @Override
+    public void disconnect() throws ConnectorCheckedException
+    {
+        if (httpClientAcquired)
+        {
+            RESTClientConnectionPool.releaseHttpClient(serverPlatformURLRoot, sslSocketFactory);
+            httpClientAcquired = false;
+        }
+
+        super.disconnect();
+    }
+
+
+    /**
+     * Return the value of an integer configuration property.  The default is returned if the property is not set
+     * or is not a positive integer.  A timeout of 0 would mean waiting forever, so it is not accepted.
+     *
+     * @param configurationProperties configuration properties of the connection
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is not set
+     * @return property value
+     */
+    static int getIntegerProperty(Map<String, Object> configurationProperties,
+                                  String              propertyName,
+                                  int                 defaultValue)
+    {
+        if (configurationProperties == null)
+        {
+            return defaultValue;
+        }
+
+        Object propertyValue = configurationProperties.get(propertyName);
+
+        if (propertyValue != null)
+        {
+            try
+            {
+                int value = Integer.parseInt(propertyValue.toString());
+
+                if (value > 0)
+                {
+                    return value;
+                }
+
+                log.debug("Ignoring value " + propertyValue + " for configuration property " + propertyName + " since it is not positive.");
+            }
+            catch (NumberFormatException error)
+            {
+                log.debug("Ignoring invalid value " + propertyValue + " for configuration property " + propertyName + ".");
+            }
+        }
+
+        return defaultValue;
     }
 
 
@@ -0,0 +1,225 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.restclients.spring;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+import org.apache.http.ssl.SSLContexts;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test that the RESTClientConnectionPool shares the HTTP clients by platform and SSL configuration, takes its
+ * limits from the system properties, reports the statistics of its pools and closes the clients that are
+ * no longer used.
+ */
+public class TestRESTClientConnectionPool
+{
+    private static final String platformOne = "https://localhost:9443";
+    private static final String platformTwo = "https://localhost:9444";
+
+
+    @BeforeMethod
+    public void closeClients()
+    {
+        RESTClientConnectionPool.closeIdleHttpClients(Long.MAX_VALUE);
+    }
+
+
+    @Test
+    public void testClientSharedByPlatform()
+    {
+        SSLConnectionSocketFactory sslSocketFactory = newSSLSocketFactory();
+
+        CloseableHttpClient first  = RESTClientConnectionPool.acquireHttpClient(platformOne, sslSocketFactory);
+        CloseableHttpClient second = RESTClientConnectionPool.acquireHttpClient(platformOne, sslSocketFactory);
+        CloseableHttpClient third  = RESTClientConnectionPool.acquireHttpClient(platformTwo, sslSocketFactory);
+
+        assertSame(first, second);
+        assertNotSame(first, third);
+        assertEquals(RESTClientConnectionPool.getHttpClientCount(), 2);
+    }
+
+
+    @Test
+    public void testSSLConfigurationsNotShared()
+    {
+        SSLConnectionSocketFactory sslSocketFactoryOne = newSSLSocketFactory();
+        SSLConnectionSocketFactory sslSocketFactoryTwo = newSSLSocketFactory();
+
+        CloseableHttpClient first  = RESTClientConnectionPool.acquireHttpClient(platformOne, sslSocketFactoryOne);
+        CloseableHttpClient second = RESTClientConnectionPool.acquireHttpClient(platformOne, sslSocketFactoryTwo);
+
+        assertNotSame(first, second);
+        assertNotNull(RESTClientConnectionPool.getConnectionManager(sslSocketFactoryOne));
+        assertNotSame(RESTClientConnectionPool.getConnectionManager(sslSocketFactoryOne),
+                      RESTClientConnectionPool.getConnectionManager(sslSocketFactoryTwo));
+    }
+
+
+    @Test
+    public void testLimitsFromSystemProperties()
+    {
+        SSLConnectionSocketFactory sslSocketFactory = newSSLSocketFactory();
+
+        System.setProperty(RESTClientConnectionPool.maxConnectionsTotalProperty, "7");
+        System.setProperty(RESTClientConnectionPool.maxConnectionsPerRouteProperty, "3");
+
+        try
+        {
+            RESTClientConnectionPool.acquireHttpClient(platformOne, sslSocketFactory);
+        }
+        finally
+        {
+            System.clearProperty(RESTClientConnectionPool.maxConnectionsTotalProperty);
+            System.clearProperty(RESTClientConnectionPool.maxConnectionsPerRouteProperty);
+        }
+
+        assertEquals(RESTClientConnectionPool.getConnectionManager(sslSocketFactory).getMaxTotal(), 7);
+        assertEquals(RESTClientConnectionPool.getConnectionManager(sslSocketFactory).getDefaultMaxPerRoute(), 3);
+    }
+
+
+    @Test
+    public void testPoolStatistics() throws Exception
+    {
+        SSLConnectionSocketFactory sslSocketFactory = newSSLSocketFactory();
+        HttpServer                 server           = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+
+        server.createContext("/", exchange ->
+        {
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        try
+        {
+            String platformURLRoot = "http://localhost:" + server.getAddress().getPort();
+
+            assertEquals(RESTClientConnectionPool.getMaxConnectionCount(), 200);
+
+            CloseableHttpClient httpClient = RESTClientConnectionPool.acquireHttpClient(platformURLRoot, sslSocketFactory);
+
+            assertEquals(RESTClientConnectionPool.getLeasedConnectionCount(), 0);
+            assertEquals(RESTClientConnectionPool.getIdleConnectionCount(), 0);
+            assertEquals(RESTClientConnectionPool.getMaxConnectionCount(), 200);
+
+            try (CloseableHttpResponse response = httpClient.execute(new HttpGet(platformURLRoot + "/test")))
+            {
+                assertEquals(RESTClientConnectionPool.getLeasedConnectionCount(), 1);
+                assertEquals(RESTClientConnectionPool.getLeasedConnectionCount(platformURLRoot), 1);
+                assertEquals(RESTClientConnectionPool.getLeasedConnectionCount(platformTwo), 0);
+
+                EntityUtils.consume(response.getEntity());
+            }
+
+            assertEquals(RESTClientConnectionPool.getLeasedConnectionCount(), 0);
+            assertEquals(RESTClientConnectionPool.getIdleConnectionCount(), 1);
+            assertEquals(RESTClientConnectionPool.getIdleConnectionCount(platformURLRoot), 1);
+            assertEquals(RESTClientConnectionPool.getIdleConnectionCount(platformTwo), 0);
+            assertEquals(RESTClientConnectionPool.getPendingRequestCount(), 0);
+            assertEquals(RESTClientConnectionPool.getPendingRequestCount(platformURLRoot), 0);
+            assertEquals(RESTClientConnectionPool.getIdleConnectionCount("not a URL"), 0);
+
+            RESTClientConnectionPool.releaseHttpClient(platformURLRoot, sslSocketFactory);
+            assertEquals(RESTClientConnectionPool.getIdleConnectionCount(), 0);
+        }
+        finally
+        {
+            server.stop(0);
+        }
+    }
+
+
+    @Test
+    public void testIdleClientClosedAndCreatedAgain()
+    {
+        SSLConnectionSocketFactory sslSocketFactory = newSSLSocketFactory();
+
+        CloseableHttpClient first = RESTClientConnectionPool.acquireHttpClient(platformOne, sslSocketFactory);
+
+        RESTClientConnectionPool.closeIdleHttpClients(System.currentTimeMillis() - 60000);
+        assertSame(RESTClientConnectionPool.getHttpClient(platformOne, sslSocketFactory), first);
+
+        RESTClientConnectionPool.closeIdleHttpClients(Long.MAX_VALUE);
+        assertEquals(RESTClientConnectionPool.getHttpClientCount(), 0);
+        assertNull(RESTClientConnectionPool.getConnectionManager(sslSocketFactory));
+
+        CloseableHttpClient second = RESTClientConnectionPool.getHttpClient(platformOne, sslSocketFactory);
+        assertNotSame(second, first);
+        assertNotNull(RESTClientConnectionPool.getConnectionManager(sslSocketFactory));
+    }
+
+
+    @Test
+    public void testClientClosedWhenLastConnectorReleased()
+    {
+        SSLConnectionSocketFactory sslSocketFactory = newSSLSocketFactory();
+
+        RESTClientConnectionPool.acquireHttpClient(platformOne, sslSocketFactory);
+        RESTClientConnectionPool.acquireHttpClient(platformOne, sslSocketFactory);
+
+        RESTClientConnectionPool.releaseHttpClient(platformOne, sslSocketFactory);
+        assertEquals(RESTClientConnectionPool.getHttpClientCount(), 1);
+
+        RESTClientConnectionPool.releaseHttpClient(platformOne, sslSocketFactory);
+        assertEquals(RESTClientConnectionPool.getHttpClientCount(), 0);
+        assertNull(RESTClientConnectionPool.getConnectionManager(sslSocketFactory));
+    }
+
+
+    @Test
+    public void testConnectorsShareClientWhateverTheUser() throws Exception
+    {
+        SpringRESTClientConnector first  = newConnector("user1");
+        SpringRESTClientConnector second = newConnector("user2");
+
+        assertEquals(RESTClientConnectionPool.getHttpClientCount(), 1);
+
+        first.disconnect();
+        assertEquals(RESTClientConnectionPool.getHttpClientCount(), 1);
+
+        second.disconnect();
+        assertEquals(RESTClientConnectionPool.getHttpClientCount(), 0);
+    }
+
+
+    private SpringRESTClientConnector newConnector(String userId) throws Exception
+    {
+        Endpoint endpoint = new Endpoint();
+        endpoint.setAddress(platformOne);
+        endpoint.setDisplayName("testServer");
+
+        Connection connection = new Connection();
+        connection.setEndpoint(endpoint);
+        connection.setUserId(userId);
+        connection.setClearPassword("secret");
+
+        SpringRESTClientConnector connector = new SpringRESTClientConnector();
+        connector.initialize("test", new ConnectionProperties(connection));
+
+        return connector;
+    }
+
+
+    private SSLConnectionSocketFactory newSSLSocketFactory()
+    {
+        return new SSLConnectionSocketFactory(SSLContexts.createDefault());
+    }
+}
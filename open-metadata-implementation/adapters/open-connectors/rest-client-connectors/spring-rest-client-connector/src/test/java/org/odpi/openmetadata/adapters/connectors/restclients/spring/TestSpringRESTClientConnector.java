@@ -0,0 +1,64 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.restclients.spring;
+
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test the parsing of the configuration properties that tune the HTTP transport of the SpringRESTClientConnector.
+ */
+public class TestSpringRESTClientConnector
+{
+    private static final String propertyName = "readTimeout";
+    private static final int    defaultValue = 300000;
+
+
+    @Test
+    public void testPositiveValues()
+    {
+        assertEquals(SpringRESTClientConnector.getIntegerProperty(getProperties(1000), propertyName, defaultValue), 1000);
+        assertEquals(SpringRESTClientConnector.getIntegerProperty(getProperties("2000"), propertyName, defaultValue), 2000);
+        assertEquals(SpringRESTClientConnector.getIntegerProperty(getProperties(1L), propertyName, defaultValue), 1);
+    }
+
+
+    @Test
+    public void testZeroAndNegativeValuesUseDefault()
+    {
+        assertEquals(SpringRESTClientConnector.getIntegerProperty(getProperties(0), propertyName, defaultValue), defaultValue);
+        assertEquals(SpringRESTClientConnector.getIntegerProperty(getProperties("0"), propertyName, defaultValue), defaultValue);
+        assertEquals(SpringRESTClientConnector.getIntegerProperty(getProperties(-5), propertyName, defaultValue), defaultValue);
+    }
+
+
+    @Test
+    public void testInvalidValuesUseDefault()
+    {
+        assertEquals(SpringRESTClientConnector.getIntegerProperty(getProperties("soon"), propertyName, defaultValue), defaultValue);
+        assertEquals(SpringRESTClientConnector.getIntegerProperty(getProperties(1.5), propertyName, defaultValue), defaultValue);
+        assertEquals(SpringRESTClientConnector.getIntegerProperty(getProperties("99999999999"), propertyName, defaultValue), defaultValue);
+    }
+
+
+    @Test
+    public void testMissingValuesUseDefault()
+    {
+        assertEquals(SpringRESTClientConnector.getIntegerProperty(null, propertyName, defaultValue), defaultValue);
+        assertEquals(SpringRESTClientConnector.getIntegerProperty(new HashMap<>(), propertyName, defaultValue), defaultValue);
+    }
+
+
+    private Map<String, Object> getProperties(Object value)
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        configurationProperties.put(propertyName, value);
+
+        return configurationProperties;
+    }
+}
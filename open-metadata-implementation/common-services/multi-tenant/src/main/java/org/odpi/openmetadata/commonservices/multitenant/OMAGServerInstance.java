@@ -12,16 +12,20 @@ import org.odpi.openmetadata.metadatasecurity.server.OpenMetadataServerSecurityV
 import org.odpi.openmetadata.platformservices.properties.OMAGServerInstanceHistory;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * OMAGServerInstance represents an instance of a service in an OMAG Server.
  * It is also responsible for registering itself in the instance map.
+ *
+ * The registered services and the security verifier are looked up on every inbound request, so these
+ * lookups do not take the instance lock.  The changes to the server's state are synchronized.
  */
 class OMAGServerInstance
 {
     private String                                 serverName;
     private List<OMAGServerInstanceHistory>        serverHistory      = new ArrayList<>();
-    private Map<String, OMAGServerServiceInstance> serviceInstanceMap = new HashMap<>();
+    private Map<String, OMAGServerServiceInstance> serviceInstanceMap = new ConcurrentHashMap<>();
     private Date                                   serverStartTime    = new Date();
     private OpenMetadataServerSecurityVerifier     securityVerifier   = new OpenMetadataServerSecurityVerifier();
 
@@ -158,7 +162,7 @@ class OMAGServerInstance
      *
      * @return connector
      */
-    synchronized OpenMetadataServerSecurityVerifier  getSecurityVerifier()
+    OpenMetadataServerSecurityVerifier  getSecurityVerifier()
     {
         return securityVerifier;
     }
@@ -192,10 +196,10 @@ class OMAGServerInstance
      * @throws UserNotAuthorizedException calling user not authorized to call the request
      * @throws PropertyServerException service is not running in this server
      */
-    synchronized OMAGServerServiceInstance getRegisteredService(String    userId,
-                                                                String    serviceName,
-                                                                String    serviceOperationName) throws UserNotAuthorizedException,
-                                                                                                       PropertyServerException
+    OMAGServerServiceInstance getRegisteredService(String    userId,
+                                                   String    serviceName,
+                                                   String    serviceOperationName) throws UserNotAuthorizedException,
+                                                                                          PropertyServerException
     {
         try
         {
@@ -246,9 +250,11 @@ class OMAGServerInstance
 
         if (!serviceInstanceMap.isEmpty())
         {
-            this.serviceInstanceMap = new HashMap<>();
+            String residualServices = serviceInstanceMap.keySet().toString();
+
+            this.serviceInstanceMap.clear();
             throw new PropertyServerException(OMAGServerInstanceErrorCode.SERVICES_NOT_SHUTDOWN.getMessageDefinition(serverName,
-                                                                                                                     serviceInstanceMap.keySet().toString()),
+                                                                                                                     residualServices),
                                               this.getClass().getName(),
                                               methodName);
         }
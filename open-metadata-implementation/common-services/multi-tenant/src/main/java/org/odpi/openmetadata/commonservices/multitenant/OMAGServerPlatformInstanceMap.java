@@ -17,18 +17,22 @@ import org.odpi.openmetadata.metadatasecurity.server.OpenMetadataServerSecurityV
 import org.odpi.openmetadata.platformservices.properties.OMAGServerInstanceHistory;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * OMAGServerPlatformInstanceMap provides part of the mapping for inbound REST requests to the appropriate
  * service instances for the requested server.  It manages the server name to server instance mapping.
  * The map is maintained in a static so it is scoped to the class loader.
  *
- * Instances of this class call the synchronized static methods to work with the map.
+ * Instances of this class call the static methods to work with the map.  The map is read on every inbound
+ * REST request so the lookups do not take a lock.  The methods that start and stop servers are synchronized
+ * so that a server moves between the active and inactive maps as a single step.  During the move, a
+ * server is always in at least one of the maps.
  */
 public class OMAGServerPlatformInstanceMap
 {
-    private static Map<String, OMAGServerInstance> activeServerInstanceMap   = new HashMap<>();
-    private static Map<String, OMAGServerInstance> inActiveServerInstanceMap = new HashMap<>();
+    private static Map<String, OMAGServerInstance> activeServerInstanceMap   = new ConcurrentHashMap<>();
+    private static Map<String, OMAGServerInstance> inActiveServerInstanceMap = new ConcurrentHashMap<>();
 
 
     /**
@@ -397,8 +401,8 @@ public class OMAGServerPlatformInstanceMap
      * @return boolean
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized boolean isServerInstanceActive(String  userId,
-                                                               String  serverName) throws UserNotAuthorizedException
+    private static boolean isServerInstanceActive(String  userId,
+                                                  String  serverName) throws UserNotAuthorizedException
     {
         validateUserAsInvestigatorForPlatform(userId);
 
@@ -417,8 +421,8 @@ public class OMAGServerPlatformInstanceMap
      * @return boolean
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized boolean isServerInstanceKnown(String  userId,
-                                                              String  serverName) throws UserNotAuthorizedException
+    private static boolean isServerInstanceKnown(String  userId,
+                                                 String  serverName) throws UserNotAuthorizedException
     {
         validateUserAsInvestigatorForPlatform(userId);
 
@@ -440,12 +444,12 @@ public class OMAGServerPlatformInstanceMap
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      * @throws PropertyServerException the service name is not know - indicating a logic error
      */
-    private static synchronized OMAGServerServiceInstance getInstanceForPlatform(String  userId,
-                                                                                 String  serverName,
-                                                                                 String  serviceName,
-                                                                                 String  serviceOperationName) throws InvalidParameterException,
-                                                                                                                      UserNotAuthorizedException,
-                                                                                                                      PropertyServerException
+    private static OMAGServerServiceInstance getInstanceForPlatform(String  userId,
+                                                                    String  serverName,
+                                                                    String  serviceName,
+                                                                    String  serviceOperationName) throws InvalidParameterException,
+                                                                                                         UserNotAuthorizedException,
+                                                                                                         PropertyServerException
     {
         OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
 
@@ -485,7 +489,7 @@ public class OMAGServerPlatformInstanceMap
      * @return list of OMAG server names
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized List<String> getActiveServerListForPlatform(String userId) throws UserNotAuthorizedException
+    private static List<String> getActiveServerListForPlatform(String userId) throws UserNotAuthorizedException
     {
         try
         {
@@ -516,7 +520,7 @@ public class OMAGServerPlatformInstanceMap
      * @return list of OMAG server names
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized List<String> getKnownServerListForPlatform(String userId) throws UserNotAuthorizedException
+    private static List<String> getKnownServerListForPlatform(String userId) throws UserNotAuthorizedException
     {
         try
         {
@@ -548,8 +552,8 @@ public class OMAGServerPlatformInstanceMap
      * @param serverInstance instance for the server
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized void validateUserAsServerInvestigator(String              userId,
-                                                                      OMAGServerInstance  serverInstance) throws UserNotAuthorizedException
+    private static void validateUserAsServerInvestigator(String              userId,
+                                                         OMAGServerInstance  serverInstance) throws UserNotAuthorizedException
     {
         if (serverInstance != null)
         {
@@ -577,9 +581,9 @@ public class OMAGServerPlatformInstanceMap
      * @throws InvalidParameterException the serverName is not known.
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized  Date getServerStartTimeFromPlatform(String  userId,
-                                                                     String  serverName) throws InvalidParameterException,
-                                                                                                UserNotAuthorizedException
+    private static Date getServerStartTimeFromPlatform(String  userId,
+                                                       String  serverName) throws InvalidParameterException,
+                                                                                  UserNotAuthorizedException
     {
         final String  methodName = "getServerStartTimeFromPlatform";
 
@@ -614,9 +618,9 @@ public class OMAGServerPlatformInstanceMap
      * @throws InvalidParameterException the serverName is not known.
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized  Date getServerEndTimeFromPlatform(String  userId,
-                                                                   String  serverName) throws InvalidParameterException,
-                                                                                              UserNotAuthorizedException
+    private static Date getServerEndTimeFromPlatform(String  userId,
+                                                     String  serverName) throws InvalidParameterException,
+                                                                                UserNotAuthorizedException
     {
         final String  methodName = "getServerEndTimeFromPlatform";
 
@@ -651,9 +655,9 @@ public class OMAGServerPlatformInstanceMap
      * @throws InvalidParameterException the serverName is not known.
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized  List<OMAGServerInstanceHistory> getServerHistoryFromPlatform(String  userId,
-                                                                                              String  serverName) throws InvalidParameterException,
-                                                                                                                         UserNotAuthorizedException
+    private static List<OMAGServerInstanceHistory> getServerHistoryFromPlatform(String  userId,
+                                                                                String  serverName) throws InvalidParameterException,
+                                                                                                           UserNotAuthorizedException
     {
         final String  methodName = "getServerHistoryFromPlatform";
 
@@ -687,9 +691,9 @@ public class OMAGServerPlatformInstanceMap
      * @throws InvalidParameterException the server name is not known
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized List<String>   getActiveServiceListForServerOnPlatform(String userId,
-                                                                                       String serverName) throws InvalidParameterException,
-                                                                                                                 UserNotAuthorizedException
+    private static List<String>   getActiveServiceListForServerOnPlatform(String userId,
+                                                                          String serverName) throws InvalidParameterException,
+                                                                                                    UserNotAuthorizedException
     {
         final String  methodName = "getActiveServiceListForServerOnPlatform";
 
@@ -725,8 +729,8 @@ public class OMAGServerPlatformInstanceMap
      * @param serverName name of the server
      * @param serviceName name of the service running on the server
      */
-    private static synchronized void removeInstanceForPlatform(String   serverName,
-                                                               String   serviceName)
+    private static void removeInstanceForPlatform(String   serverName,
+                                                  String   serviceName)
     {
         OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
 
@@ -775,8 +779,8 @@ public class OMAGServerPlatformInstanceMap
      * @return OpenMetadataServerSecurityVerifier object - never null
      * @throws InvalidParameterException the server name is not known
      */
-    private static synchronized OpenMetadataServerSecurityVerifier getServerSecurityVerifierForPlatform(String    userId,
-                                                                                                        String    serverName) throws InvalidParameterException
+    private static OpenMetadataServerSecurityVerifier getServerSecurityVerifierForPlatform(String    userId,
+                                                                                           String    serverName) throws InvalidParameterException
     {
         final String  methodName = "getServerSecurityVerifierForPlatform";
 
@@ -33,6 +33,13 @@ public interface BufferGraph extends OpenLineageGraphConnector {
      */
     void schedulerTask();
 
+    /**
+     * Returns the interval in seconds between the runs of the scheduler task
+     *
+     * @return interval in seconds
+     */
+    int getSchedulerInterval();
+
     void setMainGraph(Object mainGraph);
 
 }
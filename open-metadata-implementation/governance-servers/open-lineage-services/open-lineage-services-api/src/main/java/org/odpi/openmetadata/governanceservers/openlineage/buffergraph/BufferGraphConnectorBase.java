@@ -6,8 +6,13 @@ import org.odpi.openmetadata.accessservices.assetlineage.event.LineageEvent;
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBase;
 import org.odpi.openmetadata.governanceservers.openlineage.ffdc.OpenLineageException;
 
+import java.util.Map;
+
 public abstract class BufferGraphConnectorBase extends ConnectorBase implements BufferGraph {
 
+    private static final String SCHEDULER_INTERVAL = "schedulerInterval";
+    public static final int DEFAULT_SCHEDULER_INTERVAL = 60;
+
     @Override
     public abstract void initializeGraphDB() throws OpenLineageException;
 
@@ -27,7 +32,43 @@ public abstract class BufferGraphConnectorBase extends ConnectorBase implements
     @Override
     public abstract void schedulerTask();
 
+    /**
+     * Returns the interval of the scheduler from the configuration property schedulerInterval of the connection.
+     * Only the processes that changed since the last run are processed so the default interval is short.
+     *
+     * @return interval in seconds
+     */
+    @Override
+    public int getSchedulerInterval() {
+        return getIntegerConfigurationProperty(SCHEDULER_INTERVAL, DEFAULT_SCHEDULER_INTERVAL);
+    }
+
     @Override
     public abstract void setMainGraph(Object mainGraph);
 
+    /**
+     * Returns a positive integer configuration property of the connection.
+     *
+     * @param propertyName  name of the configuration property
+     * @param defaultValue  value returned if the property is not set or not a positive integer
+     * @return value of the property
+     */
+    protected int getIntegerConfigurationProperty(String propertyName, int defaultValue) {
+        if (connectionProperties == null) {
+            return defaultValue;
+        }
+
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+        if (configurationProperties == null || configurationProperties.get(propertyName) == null) {
+            return defaultValue;
+        }
+
+        try {
+            int value = Integer.parseInt(configurationProperties.get(propertyName).toString());
+            return value > 0 ? value : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
 }
@@ -7,6 +7,8 @@ import org.odpi.openmetadata.governanceservers.openlineage.ffdc.OpenLineageExcep
 import org.odpi.openmetadata.governanceservers.openlineage.model.Scope;
 import org.odpi.openmetadata.governanceservers.openlineage.responses.LineageResponse;
 
+import java.util.Map;
+
 public abstract class MainGraphConnectorBase extends ConnectorBase implements MainGraph {
 
 
@@ -39,4 +41,29 @@ public abstract class MainGraphConnectorBase extends ConnectorBase implements Ma
      */
     @Override
     public abstract String exportMainGraph();
+
+    /**
+     * Returns a positive integer configuration property of the connection.
+     *
+     * @param propertyName  name of the configuration property
+     * @param defaultValue  value returned if the property is not set or not a positive integer
+     * @return value of the property
+     */
+    protected int getIntegerConfigurationProperty(String propertyName, int defaultValue) {
+        if (connectionProperties == null) {
+            return defaultValue;
+        }
+
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+        if (configurationProperties == null || configurationProperties.get(propertyName) == null) {
+            return defaultValue;
+        }
+
+        try {
+            int value = Integer.parseInt(configurationProperties.get(propertyName).toString());
+            return value > 0 ? value : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
 }
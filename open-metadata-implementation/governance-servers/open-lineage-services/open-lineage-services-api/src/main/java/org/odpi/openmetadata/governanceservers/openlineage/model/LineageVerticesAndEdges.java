@@ -24,6 +24,7 @@ public class LineageVerticesAndEdges  {
 
     private Set<LineageVertex> lineageVertices;
     private Set<LineageEdge> lineageEdges;
+    private boolean truncated;
 
     public LineageVerticesAndEdges(){}
 
@@ -47,4 +48,16 @@ public class LineageVerticesAndEdges  {
     public Set<LineageEdge> getLineageEdges() {
         return lineageEdges;
     }
+
+    /**
+     * @return true if the lineage was cut short because a node had more edges, or was further away from the queried
+     * node, than the connector follows
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
 }
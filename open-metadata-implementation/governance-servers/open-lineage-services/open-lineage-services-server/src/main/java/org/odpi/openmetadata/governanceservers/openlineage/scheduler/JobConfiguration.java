@@ -3,6 +3,7 @@
 package org.odpi.openmetadata.governanceservers.openlineage.scheduler;
 
 import org.odpi.openmetadata.governanceservers.openlineage.buffergraph.BufferGraph;
+import org.odpi.openmetadata.governanceservers.openlineage.buffergraph.BufferGraphConnectorBase;
 import org.quartz.*;
 import org.quartz.impl.StdSchedulerFactory;
 import org.slf4j.Logger;
@@ -56,11 +57,12 @@ public class JobConfiguration {
 
     private static Trigger buildSimpleSchedulerTrigger() {
 
-        int INTERVAL_SECONDS = 600;
+        int intervalSeconds = bufferGraph != null ? bufferGraph.getSchedulerInterval() : BufferGraphConnectorBase.DEFAULT_SCHEDULER_INTERVAL;
+        log.debug("The job for bufferGraph runs every {} seconds", intervalSeconds);
 
         return TriggerBuilder.newTrigger().withIdentity("BufferGraphJob", GROUP)
                 .withSchedule(
-                        SimpleScheduleBuilder.simpleSchedule().withIntervalInSeconds(INTERVAL_SECONDS).repeatForever())
+                        SimpleScheduleBuilder.simpleSchedule().withIntervalInSeconds(intervalSeconds).repeatForever())
                 .build();
     }
 
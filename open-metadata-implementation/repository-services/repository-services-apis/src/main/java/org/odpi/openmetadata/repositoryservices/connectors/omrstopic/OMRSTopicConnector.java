@@ -3,6 +3,8 @@
 package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLoggingComponent;
 import org.odpi.openmetadata.frameworks.connectors.Connector;
@@ -61,6 +63,13 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
 {
     private static final Logger       log      = LoggerFactory.getLogger(OMRSTopicConnector.class);
 
+    /*
+     * Jackson readers and writers are thread-safe and expensive to create, so they are shared by all instances.
+     */
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final ObjectWriter eventWriter  = objectMapper.writer();
+    private static final ObjectReader eventReader  = objectMapper.readerFor(OMRSEventBean.class);
+
     private List<Connector> embeddedConnectors = null;
 
     private List<OMRSTopicListener>          internalTopicListeners = new ArrayList<>();
@@ -346,6 +355,7 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
 
     /**
      * Sends the supplied event outbound to the OMRSTopicListeners using the event bus connectors.
+     * The event is serialized once and the same JSON string is passed to each of the event bus connectors.
      *
      * @param event OMRSEvent object containing the event properties.
      * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
@@ -358,13 +368,13 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
         {
             try
             {
-                ObjectMapper objectMapper = new ObjectMapper();
+                String eventString = eventWriter.writeValueAsString(event);
 
                 for (OpenMetadataTopicConnector eventBusConnector : eventBusConnectors)
                 {
                     if (eventBusConnector != null)
                     {
-                        eventBusConnector.sendEvent(objectMapper.writeValueAsString(event));
+                        eventBusConnector.sendEvent(eventString);
                     }
                 }
             }
@@ -417,9 +427,7 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
              */
             try
             {
-                ObjectMapper objectMapper = new ObjectMapper();
-
-                eventBean = objectMapper.readValue(event, OMRSEventBean.class);
+                eventBean = eventReader.readValue(event);
             }
             catch (Throwable   exception)
             {
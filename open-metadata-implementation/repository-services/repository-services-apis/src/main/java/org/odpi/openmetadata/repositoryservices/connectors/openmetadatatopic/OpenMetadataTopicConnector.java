@@ -25,7 +25,10 @@ import org.slf4j.LoggerFactory;
  * extend this class to include the interaction with the eventing/messaging layer.
  * <ul>
  *     <li>
- *         For inbound events it should call the protected distributeEvents() method.
+ *         For inbound events it should override checkForIncomingEvents() and call the protected
+ *         signalIncomingEvents() method when new events arrive.  The listener thread then collects and
+ *         distributes them straight away.  If the implementation does not signal new events, the listener
+ *         thread checks for them every sleepTime milliseconds.
  *     </li>
  *     <li>
  *         For outbound events, callers will invoke the sendEvent() method.
@@ -51,6 +54,9 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
     private String                          topicName          = defaultTopicName;
     private int                             sleepTime          = 100;
 
+    private final Object                    incomingEventsSignal = new Object();
+    private boolean                         incomingEventsPending = false;
+
     protected AuditLog auditLog = null;
 
     /**
@@ -86,12 +92,16 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
         {
             try
             {
+                boolean eventsReceived = false;
+
                 try
                 {
                     List<IncomingEvent> receivedEvents = checkForIncomingEvents();
 
                     if ((receivedEvents != null) && (!receivedEvents.isEmpty()))
                     {
+                        eventsReceived = true;
+
                         for (IncomingEvent event : receivedEvents)
                         {
                             if (event != null)
@@ -106,7 +116,14 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
                     log.error("Bad exception from checkForEvents", error);
                 }
 
-                Thread.sleep(sleepTime);
+                /*
+                 * While there is a backlog, the events are collected again straight away.  Otherwise the
+                 * thread waits for new events to be signalled.
+                 */
+                if (! eventsReceived)
+                {
+                    this.waitForIncomingEvents();
+                }
             }
             catch (InterruptedException   wakeUp)
             {
@@ -121,11 +138,47 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
 
 
     /**
-     * Pass an event that has been received on the topic to each of the registered listeners.
+     * Wake up the listener thread because new events have arrived.  Implementations call this after
+     * adding events to the list returned by checkForIncomingEvents().
+     */
+    protected void signalIncomingEvents()
+    {
+        synchronized (incomingEventsSignal)
+        {
+            incomingEventsPending = true;
+            incomingEventsSignal.notifyAll();
+        }
+    }
+
+
+    /**
+     * Wait until new events are signalled, the connector is disconnected or sleepTime has passed.
+     * The pending flag means a signal that arrives while the events are being distributed is not lost.
+     *
+     * @throws InterruptedException the thread was interrupted
+     */
+    private void waitForIncomingEvents() throws InterruptedException
+    {
+        synchronized (incomingEventsSignal)
+        {
+            if ((! incomingEventsPending) && (keepRunning))
+            {
+                incomingEventsSignal.wait(sleepTime);
+            }
+
+            incomingEventsPending = false;
+        }
+    }
+
+
+    /**
+     * Pass an event that has been received on the topic to each of the registered listeners.  This is
+     * normally called on the listener thread.  Implementations that deliver events on threads of their
+     * own may call it directly, as long as the listeners can handle events concurrently.
      *
      * @param event OMRSEvent to distribute
      */
-    private void distributeEvent(IncomingEvent event)
+    protected void distributeEvent(IncomingEvent event)
     {
         //Initially clear the async event processing context to ensure that it will only
         //have results from processing this event
@@ -271,5 +324,7 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
         super.disconnect();
 
         keepRunning = false;
+
+        this.signalIncomingEvents();
     }
 }
@@ -0,0 +1,86 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
+
+/**
+ * OpenMetadataArchiveElementProcessor receives the contents of an open metadata archive one element at a time.
+ * It is passed to OpenMetadataArchiveStoreConnector.processArchiveContents() so that an archive can be processed
+ * without holding all of its content in memory.
+ *
+ * The elements are always passed in the following order, which resolves the dependencies between them:
+ * <ul>
+ *     <li>The archive properties</li>
+ *     <li>The attribute type definitions</li>
+ *     <li>The new type definitions</li>
+ *     <li>The type definition patches</li>
+ *     <li>The entities</li>
+ *     <li>The relationships</li>
+ *     <li>The classifications</li>
+ * </ul>
+ * If the archive has no properties, none of its content is passed to the processor.
+ */
+public interface OpenMetadataArchiveElementProcessor
+{
+    /**
+     * Receive the properties that describe the archive.
+     *
+     * @param archiveProperties properties of the archive
+     */
+    void processArchiveProperties(OpenMetadataArchiveProperties archiveProperties);
+
+
+    /**
+     * Receive an attribute type definition from the archive's type store.
+     *
+     * @param attributeTypeDef attribute type definition
+     */
+    void processAttributeTypeDef(AttributeTypeDef attributeTypeDef);
+
+
+    /**
+     * Receive a new type definition from the archive's type store.
+     *
+     * @param typeDef type definition
+     */
+    void processNewTypeDef(TypeDef typeDef);
+
+
+    /**
+     * Receive a patch to an existing type definition from the archive's type store.
+     *
+     * @param typeDefPatch type definition patch
+     */
+    void processTypeDefPatch(TypeDefPatch typeDefPatch);
+
+
+    /**
+     * Receive an entity from the archive's instance store.
+     *
+     * @param entity entity
+     */
+    void processEntity(EntityDetail entity);
+
+
+    /**
+     * Receive a relationship from the archive's instance store.
+     *
+     * @param relationship relationship
+     */
+    void processRelationship(Relationship relationship);
+
+
+    /**
+     * Receive a classification from the archive's instance store.
+     *
+     * @param classification classification and the entity it is attached to
+     */
+    void processClassification(ClassificationEntityExtension classification);
+}
@@ -5,6 +5,16 @@ package org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLoggingComponent;
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveInstanceStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
 
 
 /**
@@ -26,4 +36,122 @@ public abstract class OpenMetadataArchiveStoreConnector extends ConnectorBase im
     {
         this.auditLog = auditLog;
     }
+
+
+    /**
+     * Pass the contents of the archive to the processor one element at a time (see OpenMetadataArchiveElementProcessor
+     * for the order of the elements).  This implementation retrieves the complete archive with getArchiveContents().
+     * Connectors that are able to read their archive incrementally override this method so that large archives
+     * can be processed without loading them into memory.
+     *
+     * @param processor receiver of the archive's contents
+     * @return false if the archive is empty
+     */
+    public boolean processArchiveContents(OpenMetadataArchiveElementProcessor processor)
+    {
+        return processArchiveContents(this.getArchiveContents(), processor);
+    }
+
+
+    /**
+     * Pass the contents of an archive that is held in memory to the processor one element at a time.
+     * Null elements are skipped.
+     *
+     * @param archiveContents archive to process
+     * @param processor receiver of the archive's contents
+     * @return false if the archive is empty
+     */
+    public static boolean processArchiveContents(OpenMetadataArchive                 archiveContents,
+                                                 OpenMetadataArchiveElementProcessor processor)
+    {
+        if (archiveContents == null)
+        {
+            return false;
+        }
+
+        OpenMetadataArchiveProperties archiveProperties = archiveContents.getArchiveProperties();
+
+        if (archiveProperties != null)
+        {
+            processor.processArchiveProperties(archiveProperties);
+
+            OpenMetadataArchiveTypeStore typeStore = archiveContents.getArchiveTypeStore();
+
+            if (typeStore != null)
+            {
+                if (typeStore.getAttributeTypeDefs() != null)
+                {
+                    for (AttributeTypeDef attributeTypeDef : typeStore.getAttributeTypeDefs())
+                    {
+                        if (attributeTypeDef != null)
+                        {
+                            processor.processAttributeTypeDef(attributeTypeDef);
+                        }
+                    }
+                }
+
+                if (typeStore.getNewTypeDefs() != null)
+                {
+                    for (TypeDef typeDef : typeStore.getNewTypeDefs())
+                    {
+                        if (typeDef != null)
+                        {
+                            processor.processNewTypeDef(typeDef);
+                        }
+                    }
+                }
+
+                if (typeStore.getTypeDefPatches() != null)
+                {
+                    for (TypeDefPatch typeDefPatch : typeStore.getTypeDefPatches())
+                    {
+                        if (typeDefPatch != null)
+                        {
+                            processor.processTypeDefPatch(typeDefPatch);
+                        }
+                    }
+                }
+            }
+
+            OpenMetadataArchiveInstanceStore instanceStore = archiveContents.getArchiveInstanceStore();
+
+            if (instanceStore != null)
+            {
+                if (instanceStore.getEntities() != null)
+                {
+                    for (EntityDetail entity : instanceStore.getEntities())
+                    {
+                        if (entity != null)
+                        {
+                            processor.processEntity(entity);
+                        }
+                    }
+                }
+
+                if (instanceStore.getRelationships() != null)
+                {
+                    for (Relationship relationship : instanceStore.getRelationships())
+                    {
+                        if (relationship != null)
+                        {
+                            processor.processRelationship(relationship);
+                        }
+                    }
+                }
+
+                if (instanceStore.getClassifications() != null)
+                {
+                    for (ClassificationEntityExtension classification : instanceStore.getClassifications())
+                    {
+                        if (classification != null)
+                        {
+                            processor.processClassification(classification);
+                        }
+                    }
+                }
+            }
+        }
+
+        return true;
+    }
 }
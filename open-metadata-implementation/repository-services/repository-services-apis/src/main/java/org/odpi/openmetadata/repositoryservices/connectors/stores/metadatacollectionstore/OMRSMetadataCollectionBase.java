@@ -11,6 +11,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.utilities.OMRSRegexMatcher;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
@@ -514,7 +515,7 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
                 {
                     if (typeDef != null)
                     {
-                        if (typeDef.getName().matches(typeDefName))
+                        if (OMRSRegexMatcher.matches(typeDef.getName(), typeDefName))
                         {
                             matchedTypeDefs.add(typeDef);
                         }
@@ -530,7 +531,7 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
                 {
                     if (attributeTypeDef != null)
                     {
-                        if (attributeTypeDef.getName().matches(typeDefName))
+                        if (OMRSRegexMatcher.matches(attributeTypeDef.getName(), typeDefName))
                         {
                             matchedAttributeTypeDefs.add(attributeTypeDef);
                         }
@@ -973,7 +974,7 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
             {
                 if (typeDef != null)
                 {
-                    if (typeDef.getName().matches(searchCriteria))
+                    if (OMRSRegexMatcher.matches(typeDef.getName(), searchCriteria))
                     {
                         matchedTypeDefs.add(typeDef);
                     }
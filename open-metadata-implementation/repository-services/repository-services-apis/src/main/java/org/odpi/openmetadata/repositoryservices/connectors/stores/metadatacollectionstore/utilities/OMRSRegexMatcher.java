@@ -0,0 +1,376 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.utilities;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * OMRSRegexMatcher tests string values against the regular expressions used in searches.  It gives the same
+ * result as String.matches() but avoids compiling the regular expression for every value tested.
+ * <ul>
+ *     <li>
+ *         The regular expressions built by the repository helper's getExactMatchRegex(), getStartsWithRegex(),
+ *         getEndsWithRegex() and getContainsRegex() methods (with or without case insensitivity), and
+ *         regular expressions that contain no special characters, are evaluated with plain string operations.
+ *     </li>
+ *     <li>
+ *         Other regular expressions are compiled once and the Pattern is reused.
+ *     </li>
+ * </ul>
+ * The parsed regular expressions are held in a bounded cache that is shared by all callers in the JVM.
+ * This class may be called simultaneously from many different threads so it must be thread-safe.
+ */
+public class OMRSRegexMatcher
+{
+    private static final int    MAX_CACHED_EXPRESSIONS  = 1000;
+
+    private static final String CASE_INSENSITIVE_PREFIX = "(?i)";
+    private static final String QUOTE_START             = "\\Q";
+    private static final String QUOTE_END               = "\\E";
+    private static final String ANY_CHARACTERS          = ".*";
+    private static final String SPECIAL_CHARACTERS      = "\\.[]{}()<>*+-=!?^$|&";
+
+    private static final Map<String, CompiledRegex> cache = new ConcurrentHashMap<>();
+
+
+    /**
+     * Private constructor because all methods are static.
+     */
+    private OMRSRegexMatcher()
+    {
+    }
+
+
+    /**
+     * Test whether the complete value matches the regular expression.
+     *
+     * @param value value to test
+     * @param regex regular expression
+     * @return boolean result
+     * @throws PatternSyntaxException the regular expression is not valid
+     */
+    public static boolean matches(String value,
+                                  String regex) throws PatternSyntaxException
+    {
+        return getCompiledRegex(regex).matches(value);
+    }
+
+
+    /**
+     * Return the parsed version of a regular expression, from the cache if possible.
+     *
+     * @param regex regular expression
+     * @return parsed regular expression
+     * @throws PatternSyntaxException the regular expression is not valid
+     */
+    private static CompiledRegex getCompiledRegex(String regex) throws PatternSyntaxException
+    {
+        CompiledRegex compiledRegex = cache.get(regex);
+
+        if (compiledRegex == null)
+        {
+            compiledRegex = new CompiledRegex(regex);
+
+            /*
+             * The cache is emptied rather than trimmed when it fills up.  This keeps the lookup lock-free
+             * and the regular expressions that are still in use are quickly added back.
+             */
+            if (cache.size() >= MAX_CACHED_EXPRESSIONS)
+            {
+                cache.clear();
+            }
+
+            cache.put(regex, compiledRegex);
+        }
+
+        return compiledRegex;
+    }
+
+
+    /**
+     * The kinds of regular expression that are evaluated without the regular expression engine.
+     */
+    private enum MatchType
+    {
+        EXACT,
+        STARTS_WITH,
+        ENDS_WITH,
+        CONTAINS,
+        REGEX
+    }
+
+
+    /**
+     * CompiledRegex holds either the literal string and match type for a simple regular expression or the
+     * compiled Pattern for any other regular expression.
+     */
+    private static class CompiledRegex
+    {
+        private final String    regex;
+        private final MatchType matchType;
+        private final String    literal;
+        private final boolean   caseInsensitive;
+        private volatile Pattern pattern = null;
+
+
+        /**
+         * Parse the regular expression.
+         *
+         * @param regex regular expression
+         * @throws PatternSyntaxException the regular expression is not valid
+         */
+        CompiledRegex(String regex) throws PatternSyntaxException
+        {
+            this.regex = regex;
+
+            boolean insensitive = regex.startsWith(CASE_INSENSITIVE_PREFIX);
+            String  unqualified = insensitive ? regex.substring(CASE_INSENSITIVE_PREFIX.length()) : regex;
+
+            boolean   anyStart = unqualified.startsWith(ANY_CHARACTERS);
+            boolean   anyEnd   = unqualified.endsWith(ANY_CHARACTERS) && (unqualified.length() >= ANY_CHARACTERS.length() * 2);
+            String    quoted   = unqualified.substring(anyStart ? ANY_CHARACTERS.length() : 0,
+                                                       unqualified.length() - (anyEnd ? ANY_CHARACTERS.length() : 0));
+            String    literalValue = getQuotedLiteral(quoted);
+            MatchType type;
+
+            if (literalValue == null)
+            {
+                /*
+                 * A regular expression without special characters matches only itself.
+                 */
+                if (isPlainLiteral(unqualified))
+                {
+                    literalValue = unqualified;
+                    type = MatchType.EXACT;
+                }
+                else
+                {
+                    type = MatchType.REGEX;
+                }
+            }
+            else if (anyStart && anyEnd)
+            {
+                type = MatchType.CONTAINS;
+            }
+            else if (anyStart)
+            {
+                type = MatchType.ENDS_WITH;
+            }
+            else if (anyEnd)
+            {
+                type = MatchType.STARTS_WITH;
+            }
+            else
+            {
+                type = MatchType.EXACT;
+            }
+
+            /*
+             * "(?i)" only folds the case of ASCII characters so other literals are left to the
+             * regular expression engine.
+             */
+            if ((insensitive) && (literalValue != null) && (! isASCII(literalValue)))
+            {
+                type = MatchType.REGEX;
+            }
+
+            this.matchType = type;
+            this.literal = literalValue;
+            this.caseInsensitive = insensitive;
+
+            if (type == MatchType.REGEX)
+            {
+                this.pattern = Pattern.compile(regex);
+            }
+        }
+
+
+        /**
+         * Test whether the complete value matches the regular expression.
+         *
+         * @param value value to test
+         * @return boolean result
+         */
+        boolean matches(String value)
+        {
+            if (value == null)
+            {
+                return false;
+            }
+
+            /*
+             * The "." in ".*" does not match line terminators.
+             */
+            if ((matchType == MatchType.REGEX) || ((matchType != MatchType.EXACT) && (hasLineTerminator(value))))
+            {
+                return getPattern().matcher(value).matches();
+            }
+
+            switch (matchType)
+            {
+                case EXACT:
+                    return (value.length() == literal.length()) && (regionMatches(value, 0));
+
+                case STARTS_WITH:
+                    return (value.length() >= literal.length()) && (regionMatches(value, 0));
+
+                case ENDS_WITH:
+                    return (value.length() >= literal.length()) && (regionMatches(value, value.length() - literal.length()));
+
+                case CONTAINS:
+                    if (! caseInsensitive)
+                    {
+                        return value.contains(literal);
+                    }
+
+                    for (int offset = 0; offset <= value.length() - literal.length(); offset++)
+                    {
+                        if (regionMatches(value, offset))
+                        {
+                            return true;
+                        }
+                    }
+                    return false;
+
+                default:
+                    return getPattern().matcher(value).matches();
+            }
+        }
+
+
+        /**
+         * Test whether the literal appears in the value at the requested offset.
+         *
+         * @param value value to test
+         * @param offset starting position in the value
+         * @return boolean result
+         */
+        private boolean regionMatches(String value,
+                                      int    offset)
+        {
+            if (! caseInsensitive)
+            {
+                return value.startsWith(literal, offset);
+            }
+
+            for (int i = 0; i < literal.length(); i++)
+            {
+                char valueChar   = value.charAt(offset + i);
+                char literalChar = literal.charAt(i);
+
+                if ((valueChar != literalChar) &&
+                    ((valueChar >= 128) || (Character.toLowerCase(valueChar) != Character.toLowerCase(literalChar))))
+                {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+
+        /**
+         * Return the compiled regular expression, compiling it if it has not been needed before.
+         *
+         * @return pattern
+         */
+        private Pattern getPattern()
+        {
+            Pattern compiledPattern = pattern;
+
+            if (compiledPattern == null)
+            {
+                compiledPattern = Pattern.compile(regex);
+                pattern = compiledPattern;
+            }
+
+            return compiledPattern;
+        }
+
+
+        /**
+         * Return the literal from a string quoted with "\Q" and "\E", as produced by Pattern.quote().
+         *
+         * @param quoted quoted string
+         * @return literal or null if the string is not a simple quoted literal
+         */
+        private static String getQuotedLiteral(String quoted)
+        {
+            if ((quoted.startsWith(QUOTE_START)) &&
+                (quoted.endsWith(QUOTE_END)) &&
+                (quoted.indexOf(QUOTE_END) == quoted.length() - QUOTE_END.length()) &&
+                (quoted.length() >= QUOTE_START.length() + QUOTE_END.length()))
+            {
+                return quoted.substring(QUOTE_START.length(), quoted.length() - QUOTE_END.length());
+            }
+
+            return null;
+        }
+
+
+        /**
+         * Test whether a regular expression contains no characters with a special meaning.
+         *
+         * @param regex regular expression
+         * @return boolean result
+         */
+        private static boolean isPlainLiteral(String regex)
+        {
+            for (int i = 0; i < regex.length(); i++)
+            {
+                if (SPECIAL_CHARACTERS.indexOf(regex.charAt(i)) >= 0)
+                {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+
+        /**
+         * Test whether a string only contains ASCII characters.
+         *
+         * @param value string to test
+         * @return boolean result
+         */
+        private static boolean isASCII(String value)
+        {
+            for (int i = 0; i < value.length(); i++)
+            {
+                if (value.charAt(i) >= 128)
+                {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+
+        /**
+         * Test whether a string contains any of the characters that "." does not match.
+         *
+         * @param value string to test
+         * @return boolean result
+         */
+        private static boolean hasLineTerminator(String value)
+        {
+            for (int i = 0; i < value.length(); i++)
+            {
+                char character = value.charAt(i);
+
+                if ((character == '\n') || (character == '\r') || (character == '\u0085') ||
+                    (character == '\u2028') || (character == '\u2029'))
+                {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+}
@@ -370,6 +370,14 @@ public enum OMRSAuditCode implements AuditLogMessageSet
                        "The local server has completed the processing of the open metadata archive.",
                        "Verify that the expected content has loaded into the local repository."),
 
+    ARCHIVE_LOAD_PROGRESS("OMRS-AUDIT-0054",
+                       OMRSAuditLogRecordSeverity.INFO,
+                       "The Open Metadata Repository Services (OMRS) has stored {0} instances from open metadata archive {1} in " +
+                               "the local repository in {2} seconds ({3} instances per second)",
+                       "The local server is loading the instances from the open metadata archive in batches.  Entities are " +
+                               "loaded before the relationships that connect them.",
+                       "Use the rate of progress to estimate how long the archive will take to load."),
+
     REGISTERED_WITH_COHORT("OMRS-AUDIT-0060",
                            OMRSAuditLogRecordSeverity.COHORT,
                            "Registering with open metadata repository cohort {0} using metadata collection id {1}",
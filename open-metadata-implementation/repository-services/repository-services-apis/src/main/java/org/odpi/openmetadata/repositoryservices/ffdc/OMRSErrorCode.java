@@ -446,6 +446,12 @@ public enum OMRSErrorCode implements ExceptionMessageSet
                                "Other services may fail if they were dependent on this open metadata archive.",
              "Correct the configuration for the open metadata archive connection in the server configuration. " +
                                  "Retry the request when the open metadata archive configuration is correct."),
+    UNREADABLE_ARCHIVE(400, "OMRS-ARCHIVE-MANAGER-400-002",
+            "The open metadata archive {0} could not be read to the end: {1}",
+             "The system stopped processing the open metadata archive.  Any content read before the error was found " +
+                               "has already been processed, so the archive is only partly loaded.",
+             "Correct or replace the archive file and load it again.  Content that was already loaded is " +
+                               "recognized as a duplicate and ignored."),
     NULL_EVENT_MAPPER(400, "OMRS-LOCAL-REPOSITORY-400-001",
              "The repository event mapper configured for the local repository for server {0} is not accessible.",
              "The system is unable to create the repository event mapper which means that events from the " +
@@ -517,6 +523,12 @@ public enum OMRSErrorCode implements ExceptionMessageSet
             "Type name {0} is invalid because it contains a blank character.",
             "The build of the archive terminates.",
             "Verify the definition of the types being added to the archive. Once the definitions have been corrected, rerun the request."),
+    ARCHIVE_CONTENT_OUT_OF_ORDER(400, "OMRS-ARCHIVE-BUILDER-400-013",
+            "Unable to add {0} to open metadata archive {1} because {2} have already been written",
+            "The archive writer terminates because the archive content must be written in a fixed order: archive properties, " +
+                                         "attribute type definitions, new type definitions, type definition patches, entities, " +
+                                         "relationships and then classifications.",
+            "Correct the code that is writing the archive so that it supplies the content in the required order."),
     NO_AUDIT_LOG_STORE(400, "OMRS-AUDIT-LOG-400-001",
             "There are no Audit Log destinations configured for server {0}",
             "The system is unable to support diagnostic and audit logging because it has not been configured with any audit log destinations.",
@@ -553,6 +565,18 @@ public enum OMRSErrorCode implements ExceptionMessageSet
             "The system is unable to store the log record to this destination because it is not able to" +
                                               " convert its contents into a suitable format.",
             "Investigate and correct the cause of the conversion failure."),
+    NULL_AUDIT_LOG_QUERY_PARAMETER(400, "OMRS-AUDIT-LOG-400-009",
+            "A null {0} parameter has been passed on the {1} request to audit log destination {2}",
+            "The system is unable to process the query request because it does not know which log records to return.",
+            "Correct the caller's code and retry the request."),
+    INVALID_AUDIT_LOG_QUERY_PERIOD(400, "OMRS-AUDIT-LOG-400-010",
+            "The start date {0} passed on the {1} request to audit log destination {2} is after the end date {3}",
+            "The system is unable to process the query request because the time period does not contain any log records.",
+            "Correct the caller's code and retry the request."),
+    INVALID_AUDIT_LOG_PAGING(400, "OMRS-AUDIT-LOG-400-011",
+            "A negative offset {0} or maximum records {1} has been passed on the {2} request to audit log destination {3}",
+            "The system is unable to process the query request.",
+            "The offset and maximumRecords parameters are supplied by the caller to the API. Correct the caller's code and retry the request."),
     REPOSITORY_NOT_AVAILABLE(404, "OMRS-REPOSITORY-404-001",
             "The open metadata repository connector for server {0} is not active and is unable to service the {1} request",
             "The system is unable to retrieve any metadata properties from this repository.",
@@ -826,6 +850,20 @@ public enum OMRSErrorCode implements ExceptionMessageSet
             "The enterprise repository services has detected a repository connector from cohort {0} for metadata collection identifier {1} that has a null metadata collection API object.",
             "There is an internal error in the OMRS Repository Connector implementation.",
             "Raise a Github issue to get this fixed."),
+    COHORT_MEMBER_TIMEOUT(503, "OMRS-ENTERPRISE-REPOSITORY-503-004",
+            "The open metadata repository with metadata collection identifier {1} did not respond to request {0} within {2} milliseconds.",
+            "The enterprise repository services have stopped waiting for this repository and returned the results from the other members of the cohort.",
+            "Check that the repository is running and reachable.  If it is simply slow, increase the member timeout used for federated queries."),
+    FEDERATION_INTERRUPTED(503, "OMRS-ENTERPRISE-REPOSITORY-503-005",
+            "The enterprise repository services were interrupted while waiting for the members of the cohort to respond to request {0}.",
+            "The request is abandoned and the outstanding calls to the cohort members are cancelled.",
+            "This is usually because the server is shutting down.  Retry the request once the server is running."),
+    ARCHIVE_LOAD_INTERRUPTED(503, "OMRS-ARCHIVE-MANAGER-503-001",
+            "The loading of the open metadata archive {0} was interrupted while its instances were being stored",
+            "The system stopped processing the open metadata archive once the batches of instances that were being " +
+                    "stored had completed.  The archive is only partly loaded.",
+            "This is usually because the server is shutting down.  Load the archive again once the server is running.  " +
+                    "Content that was already loaded is recognized as a duplicate and ignored."),
     NULL_CONTENT_MANAGER(503, "OMRS-LOCAL-REPOSITORY-503-001",
             "A null repository content manager has been passed to one of the local repository's components on method {0}.",
             "There is an internal error in the OMRS Local Repository Connector implementation, or the way it has been initialized.",
@@ -0,0 +1,77 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.utilities;
+
+import org.testng.annotations.Test;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Verify that OMRSRegexMatcher gives the same results as String.matches() for the regular expressions
+ * it evaluates with string operations and for those it passes to the regular expression engine.
+ */
+public class OMRSRegexMatcherTest
+{
+    private static final String[] searchStrings = { "Asset", "asset", "a.b", "a\\Eb", "end\\", "", "\u00D6konomie" };
+
+    private static final String[] values = { "Asset", "ASSET", "asset", "MyAsset", "AssetType", "MyAssetType",
+                                             "a.b", "axb", "a\\Eb", "end\\", "", "\u00D6konomie", "\u00F6konomie",
+                                             "line\nAsset", "Asset\nline", "My\u2028asset", "\u212Asset", "\u017Fsset" };
+
+
+    /**
+     * Validate the regular expressions produced by the repository helper.
+     */
+    @Test public void testHelperRegex()
+    {
+        for (String searchString : searchStrings)
+        {
+            String exact = Pattern.quote(searchString);
+
+            for (String regex : new String[] { exact, exact + ".*", ".*" + exact, ".*" + exact + ".*" })
+            {
+                validateRegex(regex);
+                validateRegex("(?i)" + regex);
+            }
+        }
+    }
+
+
+    /**
+     * Validate literal and other regular expressions.
+     */
+    @Test public void testOtherRegex()
+    {
+        for (String regex : new String[] { "Asset", "(?i)asset", "A.*t", ".*", ".*.*", "[aA]sset", "Asset|axb", "a.b", "\\Qa.b" })
+        {
+            validateRegex(regex);
+        }
+    }
+
+
+    /**
+     * Validate that an invalid regular expression is reported in the same way as String.matches().
+     */
+    @Test(expectedExceptions = PatternSyntaxException.class) public void testInvalidRegex()
+    {
+        OMRSRegexMatcher.matches("Asset", "[Asset");
+    }
+
+
+    /**
+     * Compare the result of the matcher with String.matches() for each of the test values.
+     *
+     * @param regex regular expression to test
+     */
+    private void validateRegex(String regex)
+    {
+        for (String value : values)
+        {
+            assertEquals(OMRSRegexMatcher.matches(value, regex), value.matches(regex), "Value: " + value + " Regex: " + regex);
+        }
+    }
+}
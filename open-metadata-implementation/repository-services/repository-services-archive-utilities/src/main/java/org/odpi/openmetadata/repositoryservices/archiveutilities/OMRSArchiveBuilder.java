@@ -2,6 +2,7 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.repositoryservices.archiveutilities;
 
+import org.odpi.openmetadata.adapters.repositoryservices.archiveconnector.file.OpenMetadataArchiveStreamWriter;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.utilities.OMRSRepositoryPropertiesUtilities;
 import org.slf4j.Logger;
@@ -13,6 +14,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.*;
 
+import java.io.IOException;
 import java.util.*;
 
 /**
@@ -1428,6 +1430,83 @@ public class OMRSArchiveBuilder
 
         return archive;
     }
+
+
+    /**
+     * Write the content of the archive, one element at a time, to an archive file.  The elements are written in the
+     * same order as they are assembled by getOpenMetadataArchive(), followed by the classifications, but without
+     * building the archive object or converting the whole archive into a single string.
+     *
+     * @param fileName name of the archive file - it is replaced if it already exists
+     * @throws IOException unable to write to the archive file
+     */
+    public void writeOpenMetadataArchive(String fileName) throws IOException
+    {
+        log.debug("Writing Open Metadata Archive: " + archiveProperties.getArchiveName());
+
+        try (OpenMetadataArchiveStreamWriter archiveWriter = new OpenMetadataArchiveStreamWriter(fileName, archiveProperties))
+        {
+            writeArchiveContent(archiveWriter);
+        }
+    }
+
+
+    /**
+     * Pass the new content of the archive to the archive writer.
+     *
+     * @param archiveWriter writer for the archive file
+     * @throws IOException unable to write to the archive file
+     */
+    private void writeArchiveContent(OpenMetadataArchiveStreamWriter archiveWriter) throws IOException
+    {
+        /*
+         * The types are written in a strict order to ensure that the dependencies are resolved.
+         */
+        for (PrimitiveDef primitiveDef : primitiveDefList)
+        {
+            archiveWriter.addAttributeTypeDef(primitiveDef);
+        }
+        for (CollectionDef collectionDef : collectionDefList)
+        {
+            archiveWriter.addAttributeTypeDef(collectionDef);
+        }
+        for (EnumDef enumDef : enumDefList)
+        {
+            archiveWriter.addAttributeTypeDef(enumDef);
+        }
+        for (EntityDef entityDef : entityDefList)
+        {
+            archiveWriter.addNewTypeDef(entityDef);
+        }
+        for (ClassificationDef classificationDef : classificationDefList)
+        {
+            archiveWriter.addNewTypeDef(classificationDef);
+        }
+        for (RelationshipDef relationshipDef : relationshipDefList)
+        {
+            archiveWriter.addNewTypeDef(relationshipDef);
+        }
+        for (TypeDefPatch typeDefPatch : typeDefPatchList)
+        {
+            archiveWriter.addTypeDefPatch(typeDefPatch);
+        }
+
+        /*
+         * Finally write the instances
+         */
+        for (EntityDetail entityDetail : entityDetailList)
+        {
+            archiveWriter.addEntity(entityDetail);
+        }
+        for (Relationship relationship : relationshipList)
+        {
+            archiveWriter.addRelationship(relationship);
+        }
+        for (ClassificationEntityExtension classification : classificationList)
+        {
+            archiveWriter.addClassification(classification);
+        }
+    }
     
     
     /**
@@ -13,6 +13,7 @@ import org.odpi.openmetadata.frameworks.connectors.ConnectorBroker;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStore;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
 
+import java.io.IOException;
 import java.util.UUID;
 
 /**
@@ -187,4 +188,25 @@ public class OMRSArchiveWriter
 
         openMetadataArchiveStore.setArchiveContents(openMetadataArchive);
     }
+
+
+    /**
+     * Writes out an open metadata archive one element at a time directly from the archive builder.  This avoids
+     * holding a second copy of the archive content, and its JSON string, in memory while the file is written.
+     *
+     * @param outputFileName name of file to write archive to
+     * @param archiveBuilder builder containing the archive content
+     */
+    protected void writeOpenMetadataArchive(String                   outputFileName,
+                                            OMRSArchiveBuilder       archiveBuilder)
+    {
+        try
+        {
+            archiveBuilder.writeOpenMetadataArchive(outputFileName);
+        }
+        catch (IOException ioException)
+        {
+            log.error("Unable to write open metadata archive " + outputFileName + ": " + ioException.getMessage());
+        }
+    }
 }
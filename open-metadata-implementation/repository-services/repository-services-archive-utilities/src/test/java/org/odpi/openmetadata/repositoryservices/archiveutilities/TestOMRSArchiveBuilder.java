@@ -3,14 +3,27 @@
 
 package org.odpi.openmetadata.repositoryservices.archiveutilities;
 
+import org.odpi.openmetadata.adapters.repositoryservices.archiveconnector.file.FileBasedOpenMetadataArchiveStoreConnector;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveElementProcessor;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.*;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
 import org.testng.annotations.Test;
 
+import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.UUID;
 
+import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertNotNull;
 import static org.testng.AssertJUnit.assertTrue;
 
@@ -308,6 +321,69 @@ public class TestOMRSArchiveBuilder
         relationshipDef.setEndDef2(endDef2);
     }
 
+    @Test
+    public void testWriteOpenMetadataArchiveRoundTrip() throws Exception
+    {
+        OMRSArchiveBuilder oMRSArchiveBuilder = getOMRSArchiveBuilder();
+
+        PrimitiveDef primitiveDef = new PrimitiveDef(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+        primitiveDef.setGUID("0000");
+        primitiveDef.setName("string");
+        oMRSArchiveBuilder.addPrimitiveDef(primitiveDef);
+        oMRSArchiveBuilder.addEntityDef(new EntityDef(TypeDefCategory.ENTITY_DEF, "1111", "EntityDefA", 1L, "1"));
+
+        TypeDefPatch typeDefPatch = new TypeDefPatch();
+        typeDefPatch.setTypeDefName("EntityDefA");
+        oMRSArchiveBuilder.addTypeDefPatch(typeDefPatch);
+
+        EntityDetail entity1 = new EntityDetail();
+        entity1.setGUID("entity1");
+        oMRSArchiveBuilder.addEntity(entity1);
+        EntityDetail entity2 = new EntityDetail();
+        entity2.setGUID("entity2");
+        oMRSArchiveBuilder.addEntity(entity2);
+
+        Relationship relationship = new Relationship();
+        relationship.setGUID("relationship1");
+        oMRSArchiveBuilder.addRelationship(relationship);
+
+        EntityProxy entityToClassify = new EntityProxy();
+        entityToClassify.setGUID("entity1");
+        ClassificationEntityExtension classification = new ClassificationEntityExtension();
+        classification.setEntityToClassify(entityToClassify);
+        classification.setClassification(new Classification("Confidentiality", null, null, null));
+        oMRSArchiveBuilder.addClassification(classification);
+
+        File              archiveFile   = File.createTempFile("archive", ".json");
+        OMRSArchiveWriter archiveWriter = new OMRSArchiveWriter();
+
+        try
+        {
+            archiveWriter.writeOpenMetadataArchive(archiveFile.getAbsolutePath(), oMRSArchiveBuilder);
+
+            FileBasedOpenMetadataArchiveStoreConnector connector = new FileBasedOpenMetadataArchiveStoreConnector();
+            connector.initialize(UUID.randomUUID().toString(),
+                                 new ConnectionProperties(archiveWriter.getOpenMetadataArchiveFileConnection(archiveFile.getAbsolutePath())));
+
+            RecordingProcessor processor = new RecordingProcessor();
+
+            assertTrue(connector.processArchiveContents(processor));
+            assertEquals(Arrays.asList("properties:testArchiveName",
+                                       "attributeTypeDef:string",
+                                       "typeDef:EntityDefA",
+                                       "typeDefPatch:EntityDefA",
+                                       "entity:entity1",
+                                       "entity:entity2",
+                                       "relationship:relationship1",
+                                       "classification:Confidentiality"),
+                         processor.elements);
+        }
+        finally
+        {
+            archiveFile.delete();
+        }
+    }
+
     private OMRSArchiveBuilder getOMRSArchiveBuilder()
     {
         return new OMRSArchiveBuilder("guid",
@@ -319,4 +395,51 @@ public class TestOMRSArchiveBuilder
                                       null);
 
     }
+
+    private static class RecordingProcessor implements OpenMetadataArchiveElementProcessor
+    {
+        private List<String> elements = new ArrayList<>();
+
+        @Override
+        public void processArchiveProperties(OpenMetadataArchiveProperties archiveProperties)
+        {
+            elements.add("properties:" + archiveProperties.getArchiveName());
+        }
+
+        @Override
+        public void processAttributeTypeDef(AttributeTypeDef attributeTypeDef)
+        {
+            elements.add("attributeTypeDef:" + attributeTypeDef.getName());
+        }
+
+        @Override
+        public void processNewTypeDef(TypeDef typeDef)
+        {
+            elements.add("typeDef:" + typeDef.getName());
+        }
+
+        @Override
+        public void processTypeDefPatch(TypeDefPatch typeDefPatch)
+        {
+            elements.add("typeDefPatch:" + typeDefPatch.getTypeDefName());
+        }
+
+        @Override
+        public void processEntity(EntityDetail entity)
+        {
+            elements.add("entity:" + entity.getGUID());
+        }
+
+        @Override
+        public void processRelationship(Relationship relationship)
+        {
+            elements.add("relationship:" + relationship.getGUID());
+        }
+
+        @Override
+        public void processClassification(ClassificationEntityExtension classification)
+        {
+            elements.add("classification:" + classification.getClassification().getName());
+        }
+    }
 }
\ No newline at end of file
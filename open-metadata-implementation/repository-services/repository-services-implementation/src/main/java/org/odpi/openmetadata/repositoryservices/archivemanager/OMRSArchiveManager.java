@@ -6,21 +6,33 @@ import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.opentypes.OpenMetadataTypesArchive;
 
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSRuntimeException;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
 
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
 import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventProcessorInterface;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveElementProcessor;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStoreConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
 import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEventProcessorInterface;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositoryconnector.LocalOMRSInstanceEventProcessor;
 import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentManager;
 
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * OMRSArchiveManager manages the loading and unloading of open metadata archives from the local OMRS repository.
@@ -28,6 +40,15 @@ import java.util.List;
  */
 public class OMRSArchiveManager
 {
+    /*
+     * Instances from an archive are passed to the local repository in batches.  The batches are processed in
+     * parallel by a small pool of threads that is created for each archive.  All of the entities are stored
+     * before any relationships so that the relationships can be linked to their entities.
+     */
+    private static final int archiveBatchSize         = 500;
+    private static final int archiveProgressInterval  = 10000;
+    private static final int archiveLoaderThreadCount = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
     private List<OpenMetadataArchiveStoreConnector> openMetadataArchiveStores   = new ArrayList<>();
     private OMRSRepositoryContentManager            repositoryContentManager    = null;
     private OMRSInstanceEventProcessorInterface     localInstanceEventProcessor = null;
@@ -134,15 +155,26 @@ public class OMRSArchiveManager
     {
         OpenMetadataTypesArchive openMetadataTypesArchive = new OpenMetadataTypesArchive();
         OpenMetadataArchive      openMetadataTypes        = openMetadataTypesArchive.getOpenMetadataArchive();
+        ArchiveLoader            archiveLoader            = new ArchiveLoader(repositoryContentManager, localInstanceEventProcessor);
 
         repositoryContentManager.setOpenMetadataTypesOriginGUID(openMetadataTypesArchive.getArchiveGUID());
-        processOpenMetadataArchive(openMetadataTypes, "Open Metadata Types", repositoryContentManager, localInstanceEventProcessor);
+        try
+        {
+            OpenMetadataArchiveStoreConnector.processArchiveContents(openMetadataTypes, archiveLoader);
+        }
+        finally
+        {
+            archiveLoader.waitForInstances();
+        }
+
+        archiveLoader.logCompletion("Open Metadata Types");
     }
 
 
     /**
      * Unpack and process the contents an open metadata archive , passing its contents to the local
-     * repository (if it exists).
+     * repository (if it exists).  The archive store passes its contents to the archive loader one element
+     * at a time so that the archive does not need to be held in memory.
      *
      * @param archiveStore open metadata archive  to process
      * @param archiveSource source of the archive - such as file name
@@ -160,9 +192,19 @@ public class OMRSArchiveManager
              * Each archive store has a header, a section of new type definitions (TypeDefs) and a section of
              * metadata instances.
              */
-            OpenMetadataArchive archiveContent = archiveStore.getArchiveContents();
+            ArchiveLoader archiveLoader = new ArchiveLoader(typeDefProcessor, instanceProcessor);
+            boolean       archiveFound;
 
-            if (archiveContent == null)
+            try
+            {
+                archiveFound = archiveStore.processArchiveContents(archiveLoader);
+            }
+            finally
+            {
+                archiveLoader.waitForInstances();
+            }
+
+            if (! archiveFound)
             {
                 final String     actionDescription = "Process Open Metadata Archive";
 
@@ -170,300 +212,579 @@ public class OMRSArchiveManager
             }
             else
             {
-                processOpenMetadataArchive(archiveContent, archiveSource, typeDefProcessor, instanceProcessor);
+                archiveLoader.logCompletion(archiveSource);
             }
         }
     }
 
 
     /**
-     * Step through the content of an open metadata archive, passing its contents to the local repository (if it
-     * exists).
+     * ArchiveLoader receives the content of an open metadata archive one element at a time and passes it to the
+     * local repository (if it exists).
      *
-     * @param archiveContent open metadata archive to process
-     * @param archiveSource source of the archive - such as file name
-     * @param typeDefProcessor processor of type definitions found in the archive
-     * @param instanceProcessor processor of instances found in the archive
+     * The type store is in two parts.  First there is an optional list of patches to existing TypeDefs.
+     * Then an optional list of new TypeDefs.  It is possible that this archive has been processed before
+     * and so any duplicates detected are ignored.  However, conflicting TypeDefs are detected.
+     *
+     * The instance store is in three parts: an optional list of entities followed by an optional list
+     * of relationships followed by an optional list of classifications.  Again, it is possible that this
+     * archive has been processed before and so any duplicates detected are ignored.  However, conflicting
+     * instances are detected.
+     *
+     * Any problems found in applying the archive contents are recorded on the audit log.
+     *
+     * When the instances are stored in the local repository, they are passed to the local instance event
+     * processor in batches that are stored in parallel.  This means the types of the instances are validated once
+     * per batch rather than for every instance.  The entities are all stored before the relationships.
+     * Other instance processors receive the instances one at a time.
      */
-    private void processOpenMetadataArchive(OpenMetadataArchive                   archiveContent,
-                                            String                                archiveSource,
-                                            OMRSTypeDefEventProcessorInterface    typeDefProcessor,
-                                            OMRSInstanceEventProcessorInterface   instanceProcessor)
+    private class ArchiveLoader implements OpenMetadataArchiveElementProcessor
     {
-        final String     actionDescription = "Process Open Metadata Archive";
+        private final OMRSTypeDefEventProcessorInterface  typeDefProcessor;
+        private final OMRSInstanceEventProcessorInterface instanceProcessor;
+        private final LocalOMRSInstanceEventProcessor     batchProcessor;
+
+        private List<EntityDetail>  entityBatch       = new ArrayList<>();
+        private List<Relationship>  relationshipBatch = new ArrayList<>();
+        private List<Future<?>>     pendingBatches    = new ArrayList<>();
+        private ExecutorService     batchLoader       = null;
+        private boolean             entitiesStored    = false;
+        private boolean             loadInterrupted   = false;
+        private AtomicInteger       storedCount       = new AtomicInteger(0);
+        private long                loadStartTime     = 0L;
+
+        private OpenMetadataArchiveProperties archiveProperties          = null;
+        private String                        archiveId                  = null;
+        private String                        instanceArchiveId          = null;
+        private String                        homeMetadataCollectionId   = null;
+        private String                        archiveName                = null;
+        private String                        originatorName             = null;
+        private String                        originatorOrganizationName = null;
+        private String                        originatorLicense          = null;
+        private String                        typeOriginatorServerType   = null;
+        private String                        originatorServerType       = OpenMetadataArchiveType.CONTENT_PACK.getName();
+        private InstanceProvenanceType        provenanceType             = InstanceProvenanceType.CONTENT_PACK;
+        private Date                          archiveCreationTime        = null;
+        private int                           typeCount                  = 0;
+        private int                           instanceCount              = 0;
+
+
+        /**
+         * Constructor for the loader of a single archive.
+         *
+         * @param typeDefProcessor processor of type definitions found in the archive
+         * @param instanceProcessor the processor to add the instances to the local repository.  It may be null
+         *                          if there is no local repository configured for this server.
+         */
+        ArchiveLoader(OMRSTypeDefEventProcessorInterface  typeDefProcessor,
+                      OMRSInstanceEventProcessorInterface instanceProcessor)
+        {
+            this.typeDefProcessor = typeDefProcessor;
+            this.instanceProcessor = instanceProcessor;
+
+            if (instanceProcessor instanceof LocalOMRSInstanceEventProcessor)
+            {
+                this.batchProcessor = (LocalOMRSInstanceEventProcessor)instanceProcessor;
+            }
+            else
+            {
+                this.batchProcessor = null;
+            }
+        }
 
-        OpenMetadataArchiveProperties archiveProperties = archiveContent.getArchiveProperties();
 
-        if (archiveProperties != null)
+        /**
+         * Record the archive properties and set up the values used to describe the origin of its content.
+         *
+         * @param archiveProperties properties of the archive
+         */
+        @Override
+        public void processArchiveProperties(OpenMetadataArchiveProperties archiveProperties)
         {
-            auditLog.logMessage(actionDescription, OMRSAuditCode.PROCESSING_ARCHIVE.getMessageDefinition(archiveProperties.getArchiveName()));
+            final String actionDescription = "Process Open Metadata Archive";
+
+            this.archiveProperties = archiveProperties;
 
+            auditLog.logMessage(actionDescription, OMRSAuditCode.PROCESSING_ARCHIVE.getMessageDefinition(archiveProperties.getArchiveName()));
 
-            OpenMetadataArchiveTypeStore     archiveTypeStore     = archiveContent.getArchiveTypeStore();
-            OpenMetadataArchiveInstanceStore archiveInstanceStore = archiveContent.getArchiveInstanceStore();
+            String sourceName     = OMRSAuditingComponent.ARCHIVE_MANAGER.getComponentName();
+            String archiveVersion = archiveProperties.getArchiveVersion();
 
-            int                              typeCount            = 0;
-            int                              instanceCount        = 0;
+            homeMetadataCollectionId = archiveProperties.getArchiveGUID();
+            archiveName = archiveProperties.getArchiveName();
+            archiveCreationTime = archiveProperties.getCreationDate();
+            originatorName = archiveProperties.getOriginatorName();
+            originatorOrganizationName = archiveProperties.getOriginatorOrganization();
+            originatorLicense = archiveProperties.getOriginatorLicense();
 
+            instanceArchiveId = originatorName + " (" + archiveVersion + ")";
 
-            if (archiveTypeStore != null)
+            /*
+             * Originator name can not be null when processing types since it is used as the userId for calls
+             * to the repository
+             */
+            if (originatorName == null)
             {
-                typeCount = this.processTypeDefStore(archiveProperties, archiveTypeStore, typeDefProcessor);
+                archiveId = sourceName + " (" + archiveVersion + ")";
+            }
+            else
+            {
+                archiveId = originatorName + " (" + archiveVersion + ")";
             }
 
-            if (archiveInstanceStore != null)
+            if (archiveProperties.getArchiveType() != null)
             {
-                instanceCount = this.processInstanceStore(archiveProperties, archiveInstanceStore, instanceProcessor);
+                typeOriginatorServerType = archiveProperties.getArchiveType().getName();
             }
 
-            auditLog.logMessage(actionDescription,
-                                OMRSAuditCode.COMPLETED_ARCHIVE.getMessageDefinition(Integer.toString(typeCount),
-                                                                                     Integer.toString(instanceCount),
-                                                                                     archiveProperties.getArchiveName()));
+            if (archiveProperties.getArchiveType() == OpenMetadataArchiveType.METADATA_EXPORT)
+            {
+                provenanceType       = InstanceProvenanceType.EXPORT_ARCHIVE;
+                originatorServerType = OpenMetadataArchiveType.METADATA_EXPORT.getName();
+            }
         }
-        else
+
+
+        /**
+         * Pass an attribute type definition to the TypeDef processor.
+         *
+         * @param attributeTypeDef attribute type definition
+         */
+        @Override
+        public void processAttributeTypeDef(AttributeTypeDef attributeTypeDef)
         {
-            auditLog.logMessage(actionDescription, OMRSAuditCode.NULL_PROPERTIES_IN_ARCHIVE.getMessageDefinition(archiveSource));
+            if ((archiveProperties != null) && (typeDefProcessor != null))
+            {
+                typeDefProcessor.processNewAttributeTypeDefEvent(archiveId,
+                                                                 homeMetadataCollectionId,
+                                                                 archiveName,
+                                                                 typeOriginatorServerType,
+                                                                 originatorOrganizationName,
+                                                                 attributeTypeDef);
+                typeCount ++;
+            }
         }
-    }
-
 
-    /**
-     * The TypeStore is in two parts.  First there is an optional list of patches to existing TypeDefs.
-     * Then an optional list of new TypeDefs.  It is possible that this archive has been processed before
-     * and so any duplicates detected are ignored.  However, conflicting TypeDefs are detected.
-     * Any problems found in applying the archive contents are recorded on the audit log.
-     *
-     * @param archiveProperties properties of the archive used for logging
-     * @param archiveTypeStore TypeStore from the archive
-     * @param typeDefProcessor processor of type definitions found in the archive
-     * @return type count
-     */
-    private int  processTypeDefStore(OpenMetadataArchiveProperties          archiveProperties,
-                                     OpenMetadataArchiveTypeStore           archiveTypeStore,
-                                     OMRSTypeDefEventProcessorInterface     typeDefProcessor)
-    {
-        List<TypeDefPatch>     typeDefPatches       = archiveTypeStore.getTypeDefPatches();
-        List<AttributeTypeDef> newAttributeTypeDefs = archiveTypeStore.getAttributeTypeDefs();
-        List<TypeDef>          newTypeDefs          = archiveTypeStore.getNewTypeDefs();
-        int                    typeCount            = 0;
 
-        if (typeDefProcessor != null)
+        /**
+         * Pass a new type definition to the TypeDef processor.
+         *
+         * @param typeDef type definition
+         */
+        @Override
+        public void processNewTypeDef(TypeDef typeDef)
         {
-            String       sourceName = OMRSAuditingComponent.ARCHIVE_MANAGER.getComponentName();
-            String       originatorMetadataCollectionId = archiveProperties.getArchiveGUID();
-            String       originatorServerName = archiveProperties.getArchiveName();
-            String       originatorServerType = null;
-            String       originatorName = archiveProperties.getOriginatorName();
-            String       archiveVersion = archiveProperties.getArchiveVersion();
-            String       originatorOrganizationName = archiveProperties.getOriginatorOrganization();
-
-            /*
-             * Originator name can not be null since it is used as the userId for calls to the repository
-             */
-            if (originatorName == null)
+            if ((archiveProperties != null) && (typeDefProcessor != null))
             {
-                originatorName = sourceName;
+                typeDefProcessor.processNewTypeDefEvent(archiveId,
+                                                        homeMetadataCollectionId,
+                                                        archiveName,
+                                                        typeOriginatorServerType,
+                                                        originatorOrganizationName,
+                                                        typeDef);
+                typeCount ++;
             }
+        }
 
-            String archiveId = originatorName + " (" + archiveVersion + ")";
 
-            if (archiveProperties.getArchiveType() != null)
+        /**
+         * Pass a type definition patch to the TypeDef processor.
+         *
+         * @param typeDefPatch type definition patch
+         */
+        @Override
+        public void processTypeDefPatch(TypeDefPatch typeDefPatch)
+        {
+            if ((archiveProperties != null) && (typeDefProcessor != null))
             {
-                originatorServerType = archiveProperties.getArchiveType().getName();
+                typeDefProcessor.processUpdatedTypeDefEvent(archiveId,
+                                                            homeMetadataCollectionId,
+                                                            archiveName,
+                                                            typeOriginatorServerType,
+                                                            originatorOrganizationName,
+                                                            typeDefPatch);
+                typeCount ++;
             }
+        }
+
 
-            if (newAttributeTypeDefs != null)
+        /**
+         * Pass an entity to the instance processor.
+         *
+         * @param entity entity
+         */
+        @Override
+        public void processEntity(EntityDetail entity)
+        {
+            if ((archiveProperties != null) && (instanceProcessor != null))
             {
-                for (AttributeTypeDef newAttributeTypeDef : newAttributeTypeDefs)
+                setInstanceAuditHeader(homeMetadataCollectionId,
+                                       archiveName,
+                                       originatorName,
+                                       archiveCreationTime,
+                                       provenanceType,
+                                       originatorLicense,
+                                       entity);
+
+                if (batchProcessor != null)
                 {
-                    if (newAttributeTypeDef != null)
+                    entityBatch.add(entity);
+
+                    if (entityBatch.size() >= archiveBatchSize)
                     {
-                        typeDefProcessor.processNewAttributeTypeDefEvent(archiveId,
-                                                                         originatorMetadataCollectionId,
-                                                                         originatorServerName,
-                                                                         originatorServerType,
-                                                                         originatorOrganizationName,
-                                                                         newAttributeTypeDef);
-
-                        typeCount ++;
+                        submitEntityBatch();
                     }
                 }
+                else
+                {
+                    instanceProcessor.processNewEntityEvent(instanceArchiveId,
+                                                            homeMetadataCollectionId,
+                                                            archiveName,
+                                                            originatorServerType,
+                                                            originatorOrganizationName,
+                                                            entity);
+                }
+
+                instanceCount++;
             }
+        }
 
-            if (newTypeDefs != null)
+
+        /**
+         * Pass a relationship to the instance processor.
+         *
+         * @param relationship relationship
+         */
+        @Override
+        public void processRelationship(Relationship relationship)
+        {
+            if ((archiveProperties != null) && (instanceProcessor != null))
             {
-                for (TypeDef newTypeDef : newTypeDefs)
+                setInstanceAuditHeader(homeMetadataCollectionId,
+                                       archiveName,
+                                       originatorName,
+                                       archiveCreationTime,
+                                       provenanceType,
+                                       originatorLicense,
+                                       relationship);
+
+                if (batchProcessor != null)
                 {
-                    if (newTypeDef != null)
+                    if (! entitiesStored)
+                    {
+                        /*
+                         * The relationships can only be stored once the entities they connect are in place.
+                         */
+                        submitEntityBatch();
+                        waitForBatches();
+                        entitiesStored = true;
+                    }
+
+                    relationshipBatch.add(relationship);
+
+                    if (relationshipBatch.size() >= archiveBatchSize)
                     {
-                        typeDefProcessor.processNewTypeDefEvent(archiveId,
-                                                                originatorMetadataCollectionId,
+                        submitRelationshipBatch();
+                    }
+                }
+                else
+                {
+                    instanceProcessor.processNewRelationshipEvent(instanceArchiveId,
+                                                                  homeMetadataCollectionId,
+                                                                  archiveName,
+                                                                  originatorServerType,
+                                                                  originatorOrganizationName,
+                                                                  relationship);
+                }
+
+                instanceCount ++;
+            }
+        }
+
+
+        /**
+         * Set up the header of a classification.
+         *
+         * @param classificationEntityExtension classification and the entity it is attached to
+         */
+        @Override
+        public void processClassification(ClassificationEntityExtension classificationEntityExtension)
+        {
+            if ((archiveProperties != null) && (instanceProcessor != null))
+            {
+                Classification classification = classificationEntityExtension.getClassification();
+
+                if (classification != null)
+                {
+                    setInstanceAuditHeader(homeMetadataCollectionId,
+                                           archiveName,
+                                           originatorName,
+                                           archiveCreationTime,
+                                           provenanceType,
+                                           originatorLicense,
+                                           classification);
+                }
+
+                classificationEntityExtension.setClassification(classification);
+
+                // Todo
+                /* new method required
+                instanceProcessor.processNewClassificationEvent(archiveId,
+                                                                homeMetadataCollectionId,
                                                                 originatorServerName,
                                                                 originatorServerType,
                                                                 originatorOrganizationName,
-                                                                newTypeDef);
-                        typeCount ++;
-                    }
-                }
+                                                                classificationEntityExtension);
+
+                instanceCount ++;
+                */
             }
+        }
+
 
-            if (typeDefPatches != null)
+        /**
+         * Store any remaining instances and wait for all of the batches to complete.  This is called once
+         * all of the archive's contents have been received, or the processing of the archive has failed.
+         */
+        void waitForInstances()
+        {
+            if (loadInterrupted)
+            {
+                return;
+            }
+
+            submitEntityBatch();
+            submitRelationshipBatch();
+            waitForBatches();
+
+            if (batchLoader != null)
             {
-                for (TypeDefPatch typeDefPatch : typeDefPatches)
+                batchLoader.shutdown();
+                batchLoader = null;
+
+                int total = storedCount.get();
+
+                if (total % archiveProgressInterval != 0)
                 {
-                    if (typeDefPatch != null)
-                    {
-                        typeDefProcessor.processUpdatedTypeDefEvent(archiveId,
-                                                                    originatorMetadataCollectionId,
-                                                                    originatorServerName,
-                                                                    originatorServerType,
-                                                                    originatorOrganizationName,
-                                                                    typeDefPatch);
-                        typeCount ++;
-                    }
+                    logProgress(total);
                 }
             }
         }
 
-        return typeCount;
-    }
 
+        /**
+         * Pass the current batch of entities to the batch loader.
+         */
+        private void submitEntityBatch()
+        {
+            if (! entityBatch.isEmpty())
+            {
+                List<EntityDetail> entities = entityBatch;
+
+                entityBatch = new ArrayList<>();
+                submitBatch(() -> batchProcessor.processNewEntitiesEvent(instanceArchiveId,
+                                                                         homeMetadataCollectionId,
+                                                                         archiveName,
+                                                                         entities),
+                            entities.size());
+            }
+        }
 
-    /**
-     * The InstanceStore is in three parts: an optional list of entities followed by an optional list
-     * of relationships followed by an optional list of classifications.
-     *
-     * It is possible that this archive has been processed before
-     * and so any duplicates detected are ignored.  However, conflicting instances are detected.
-     * Any problems found in applying the archive contents are recorded on the audit log.
-     *
-     * @param archiveProperties properties describing the archive used in logging
-     * @param archiveInstanceStore the instance store to process
-     * @param instanceProcessor the processor to add the instances to the local repository.  It may be null
-     *                          if there is no local repository configured for this server.
-     * @return instance count
-     */
-    private int  processInstanceStore(OpenMetadataArchiveProperties             archiveProperties,
-                                      OpenMetadataArchiveInstanceStore          archiveInstanceStore,
-                                      OMRSInstanceEventProcessorInterface       instanceProcessor)
-    {
-        List<EntityDetail>                  entities        = archiveInstanceStore.getEntities();
-        List<Relationship>                  relationships   = archiveInstanceStore.getRelationships();
-        List<ClassificationEntityExtension> classifications = archiveInstanceStore.getClassifications();
-        int                                 instanceCount   = 0;
 
-        if (instanceProcessor != null)
+        /**
+         * Pass the current batch of relationships to the batch loader.
+         */
+        private void submitRelationshipBatch()
         {
-            String                 sourceName                 = OMRSAuditingComponent.ARCHIVE_MANAGER.getComponentName();
-            String                 homeMetadataCollectionId   = archiveProperties.getArchiveGUID();
-            String                 archiveName                = archiveProperties.getArchiveName();
-            String                 originatorServerType       = OpenMetadataArchiveType.CONTENT_PACK.getName();
-            InstanceProvenanceType provenanceType             = InstanceProvenanceType.CONTENT_PACK;
-            Date                   archiveCreationTime        = archiveProperties.getCreationDate();
-            String                 originatorName             = archiveProperties.getOriginatorName();
-            String                 archiveVersion             = archiveProperties.getArchiveVersion();
-            String                 originatorOrganizationName = archiveProperties.getOriginatorOrganization();
-            String                 originatorLicense          = archiveProperties.getOriginatorLicense();
-
-            String archiveId = originatorName + " (" + archiveVersion + ")";
+            if (! relationshipBatch.isEmpty())
+            {
+                List<Relationship> relationships = relationshipBatch;
+
+                relationshipBatch = new ArrayList<>();
+                submitBatch(() -> batchProcessor.processNewRelationshipsEvent(instanceArchiveId,
+                                                                              homeMetadataCollectionId,
+                                                                              archiveName,
+                                                                              relationships),
+                            relationships.size());
+            }
+        }
 
-            if (archiveProperties.getArchiveType() == OpenMetadataArchiveType.METADATA_EXPORT)
+
+        /**
+         * Queue a batch of instances for storing in the local repository.  The queue is bounded.  When it is full,
+         * the batch is stored on the calling thread, which stops the archive being read faster than its instances
+         * can be stored.
+         *
+         * @param batch task to store the batch of instances
+         * @param batchSize number of instances in the batch
+         */
+        private void submitBatch(Runnable batch,
+                                 int      batchSize)
+        {
+            if (batchLoader == null)
             {
-                provenanceType       = InstanceProvenanceType.EXPORT_ARCHIVE;
-                originatorServerType = OpenMetadataArchiveType.METADATA_EXPORT.getName();
+                final String threadName = "OMRSArchiveLoader:" + archiveName + ":";
+
+                AtomicInteger threadCount = new AtomicInteger(0);
+
+                batchLoader = new ThreadPoolExecutor(archiveLoaderThreadCount,
+                                                     archiveLoaderThreadCount,
+                                                     0L,
+                                                     TimeUnit.MILLISECONDS,
+                                                     new ArrayBlockingQueue<>(archiveLoaderThreadCount),
+                                                     runnable ->
+                                                     {
+                                                         Thread thread = new Thread(runnable, threadName + threadCount.incrementAndGet());
+                                                         thread.setDaemon(true);
+                                                         return thread;
+                                                     },
+                                                     new ThreadPoolExecutor.CallerRunsPolicy());
+                loadStartTime = System.currentTimeMillis();
             }
 
+            pendingBatches.add(batchLoader.submit(() ->
+                                                  {
+                                                      batch.run();
+
+                                                      int total = storedCount.addAndGet(batchSize);
+
+                                                      if ((total / archiveProgressInterval) != ((total - batchSize) / archiveProgressInterval))
+                                                      {
+                                                          logProgress(total);
+                                                      }
+                                                  }));
+        }
+
 
-            if (entities != null)
+        /**
+         * Wait for all of the queued batches to be stored.  If the thread is interrupted, the batches that have
+         * not started are cancelled and the loading of the archive stops once the running batches are complete.
+         */
+        private void waitForBatches()
+        {
+            final String methodName = "waitForBatches";
+            final String eventType  = "archive instance batch";
+
+            for (Future<?> pendingBatch : pendingBatches)
             {
-                for (EntityDetail entity : entities)
+                try
                 {
-                    if (entity != null)
-                    {
-                        this.setInstanceAuditHeader(homeMetadataCollectionId,
-                                                    archiveName,
-                                                    originatorName,
-                                                    archiveCreationTime,
-                                                    provenanceType,
-                                                    originatorLicense,
-                                                    entity);
-
-                        instanceProcessor.processNewEntityEvent(archiveId,
-                                                                homeMetadataCollectionId,
-                                                                archiveName,
-                                                                originatorServerType,
-                                                                originatorOrganizationName,
-                                                                entity);
+                    pendingBatch.get();
+                }
+                catch (InterruptedException interrupted)
+                {
+                    cancelBatches();
+                    Thread.currentThread().interrupt();
 
-                        instanceCount++;
-                    }
+                    throw new OMRSRuntimeException(OMRSErrorCode.ARCHIVE_LOAD_INTERRUPTED.getMessageDefinition(archiveName),
+                                                   this.getClass().getName(),
+                                                   methodName,
+                                                   interrupted);
+                }
+                catch (CancellationException cancelled)
+                {
+                    /*
+                     * Only batches that had not started are cancelled.
+                     */
+                }
+                catch (ExecutionException error)
+                {
+                    auditLog.logMessage(methodName,
+                                        OMRSAuditCode.UNEXPECTED_EXCEPTION_FROM_EVENT.getMessageDefinition(eventType,
+                                                                                                           archiveName,
+                                                                                                           homeMetadataCollectionId,
+                                                                                                           error.getCause().getMessage()),
+                                        error.getCause().toString());
                 }
             }
 
+            pendingBatches.clear();
+        }
+
 
-            if (relationships != null)
+        /**
+         * Cancel the batches that have not started and wait for the running batches to complete, so that
+         * no batch of this archive is still being stored once the loading of the archive has stopped.
+         * The wait is not interruptible since the running batches can not be safely abandoned.
+         */
+        private void cancelBatches()
+        {
+            loadInterrupted = true;
+
+            for (Future<?> pendingBatch : pendingBatches)
             {
-                for (Relationship relationship : relationships)
-                {
-                    if (relationship != null)
-                    {
-                        this.setInstanceAuditHeader(homeMetadataCollectionId,
-                                                    archiveName,
-                                                    originatorName,
-                                                    archiveCreationTime,
-                                                    provenanceType,
-                                                    originatorLicense,
-                                                    relationship);
-
-                        instanceProcessor.processNewRelationshipEvent(archiveId,
-                                                                      homeMetadataCollectionId,
-                                                                      archiveName,
-                                                                      originatorServerType,
-                                                                      originatorOrganizationName,
-                                                                      relationship);
-
-                        instanceCount ++;
-                    }
-                }
+                pendingBatch.cancel(false);
             }
 
+            pendingBatches.clear();
+            entityBatch.clear();
+            relationshipBatch.clear();
 
-            if (classifications != null)
+            if (batchLoader != null)
             {
-                for (ClassificationEntityExtension classificationEntityExtension : classifications)
+                batchLoader.shutdown();
+
+                boolean terminated = false;
+
+                while (! terminated)
                 {
-                    if (classificationEntityExtension != null)
+                    try
                     {
-                        Classification classification = classificationEntityExtension.getClassification();
-
-                        this.setInstanceAuditHeader(homeMetadataCollectionId,
-                                                    archiveName,
-                                                    originatorName,
-                                                    archiveCreationTime,
-                                                    provenanceType,
-                                                    originatorLicense,
-                                                    classification);
-
-                        classificationEntityExtension.setClassification(classification);
-
-                        // Todo
-                        /* new method required
-                        instanceProcessor.processNewClassificationEvent(archiveId,
-                                                                        homeMetadataCollectionId,
-                                                                        originatorServerName,
-                                                                        originatorServerType,
-                                                                        originatorOrganizationName,
-                                                                        classificationEntityExtension);
-
-                        instanceCount ++;
-                        */
+                        terminated = batchLoader.awaitTermination(1, TimeUnit.SECONDS);
+                    }
+                    catch (InterruptedException interrupted)
+                    {
+                        /*
+                         * The interrupt is restored by the caller.
+                         */
                     }
                 }
+
+                batchLoader = null;
             }
         }
 
-        return instanceCount;
+
+        /**
+         * Record the number of instances stored and the rate they are being stored on the audit log.
+         *
+         * @param total number of instances stored
+         */
+        private void logProgress(int total)
+        {
+            final String actionDescription = "Process Open Metadata Archive";
+
+            long elapsedTime = Math.max(1L, System.currentTimeMillis() - loadStartTime);
+
+            auditLog.logMessage(actionDescription,
+                                OMRSAuditCode.ARCHIVE_LOAD_PROGRESS.getMessageDefinition(Integer.toString(total),
+                                                                                         archiveName,
+                                                                                         Long.toString(elapsedTime / 1000),
+                                                                                         Long.toString((total * 1000L) / elapsedTime)));
+        }
+
+
+        /**
+         * Record the outcome of processing the archive on the audit log.
+         *
+         * @param archiveSource source of the archive - such as file name
+         */
+        void logCompletion(String archiveSource)
+        {
+            final String     actionDescription = "Process Open Metadata Archive";
+
+            if (archiveProperties != null)
+            {
+                auditLog.logMessage(actionDescription,
+                                    OMRSAuditCode.COMPLETED_ARCHIVE.getMessageDefinition(Integer.toString(typeCount),
+                                                                                         Integer.toString(instanceCount),
+                                                                                         archiveProperties.getArchiveName()));
+            }
+            else
+            {
+                auditLog.logMessage(actionDescription, OMRSAuditCode.NULL_PROPERTIES_IN_ARCHIVE.getMessageDefinition(archiveSource));
+            }
+        }
     }
 
 
@@ -6,6 +6,7 @@ import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollectionBase;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.SearchClassifications;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.SearchProperties;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.PagingCursorCache;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.FederationControl;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.ParallelFederationControl;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.SequentialFederationControl;
@@ -55,6 +56,11 @@ import java.util.Date;
  *     and the duplicates are removed.  Queries are directed to the local repository and then the remote repositories
  *     until all of the requested metadata is assembled.
  * </p>
+ * <p>
+ *     Paged searches are merged in sequence across the repositories.  A cursor is kept for each search that is
+ *     being paged through so the request for the next page only retrieves the results that follow on from those
+ *     already retrieved, rather than every result up to the end of the requested page.
+ * </p>
  */
 class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
 {
@@ -64,6 +70,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     private EnterpriseOMRSRepositoryConnector enterpriseParentConnector;
     private String                            localMetadataCollectionId;
     private AuditLog                          auditLog;
+    private PagingCursorCache                 pagingCursors = new PagingCursorCache();
 
 
     /**
@@ -1131,6 +1138,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
          * there are no positive results from any repository.
          */
+        executor.setPagingCursors(pagingCursors);
         federationControl.executeCommand(executor);
 
         return executor.getResults(enterpriseParentConnector);
@@ -1238,6 +1246,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
          * there are no positive results from any repository.
          */
+        executor.setPagingCursors(pagingCursors);
         federationControl.executeCommand(executor);
 
         return executor.getResults(enterpriseParentConnector);
@@ -1313,6 +1322,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
          * there are no positive results from any repository.
          */
+        executor.setPagingCursors(pagingCursors);
         federationControl.executeCommand(executor);
 
         return executor.getResults(enterpriseParentConnector);
@@ -1425,6 +1435,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
          * there are no positive results from any repository.
          */
+        executor.setPagingCursors(pagingCursors);
         federationControl.executeCommand(executor);
 
         return executor.getResults(enterpriseParentConnector);
@@ -1531,6 +1542,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
          * there are no positive results from any repository.
          */
+        executor.setPagingCursors(pagingCursors);
         federationControl.executeCommand(executor);
 
         return executor.getResults(enterpriseParentConnector);
@@ -1748,6 +1760,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
          * there are no positive results from any repository.
          */
+        executor.setPagingCursors(pagingCursors);
         federationControl.executeCommand(executor);
 
         return executor.getResults(enterpriseParentConnector);
@@ -1852,6 +1865,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
          * there are no positive results from any repository.
          */
+        executor.setPagingCursors(pagingCursors);
         federationControl.executeCommand(executor);
 
         return executor.getResults(enterpriseParentConnector);
@@ -1954,6 +1968,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
          * there are no positive results from any repository.
          */
+        executor.setPagingCursors(pagingCursors);
         federationControl.executeCommand(executor);
 
         return executor.getResults(enterpriseParentConnector);
@@ -5,6 +5,7 @@ package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.
 
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.EnterpriseOMRSRepositoryConnector;
 
@@ -86,6 +87,11 @@ public class EntityAccumulator extends QueryInstanceAccumulatorBase
     public synchronized void addEntities(List<EntityDetail>   entities,
                                          String               metadataCollectionId)
     {
+        if (super.isTimedOut(metadataCollectionId))
+        {
+            return;
+        }
+
         if (entities != null)
         {
             for (EntityDetail entity : entities)
@@ -93,6 +99,8 @@ public class EntityAccumulator extends QueryInstanceAccumulatorBase
                 this.addEntity(entity, metadataCollectionId);
             }
 
+            super.captureMemberResults(metadataCollectionId, entities);
+
             /*
              * Record that this repository has returned results from the request.
              */
@@ -100,6 +108,8 @@ public class EntityAccumulator extends QueryInstanceAccumulatorBase
         }
         else
         {
+            super.captureMemberResults(metadataCollectionId, null);
+
             /*
              * Even though results were not found it was still a successful request.
              */
@@ -118,6 +128,11 @@ public class EntityAccumulator extends QueryInstanceAccumulatorBase
      */
     public synchronized List<EntityDetail>  getResults(EnterpriseOMRSRepositoryConnector repositoryConnector)
     {
+        if (super.isPaging())
+        {
+            return this.getPagedResults(repositoryConnector);
+        }
+
         if (accumulatedEntities.isEmpty())
         {
             return null;
@@ -130,6 +145,40 @@ public class EntityAccumulator extends QueryInstanceAccumulatorBase
     }
 
 
+    /**
+     * Extract the requested page from the results of a federated paging request.  Where the same entity was
+     * retrieved from more than one repository, the latest version is returned.
+     *
+     * @param repositoryConnector enterprise connector
+     * @return list of entities or null if the results have run out
+     */
+    private List<EntityDetail>  getPagedResults(EnterpriseOMRSRepositoryConnector repositoryConnector)
+    {
+        List<EntityDetail> results = new ArrayList<>();
+
+        for (InstanceHeader instance : super.getNextPage())
+        {
+            EntityDetail latestVersion = accumulatedEntities.get(instance.getGUID());
+
+            if (latestVersion == null)
+            {
+                latestVersion = (EntityDetail)instance;
+            }
+
+            results.add(latestVersion);
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        this.makeRefreshRecommendations(repositoryConnector);
+
+        return results;
+    }
+
+
     /**
      * Return the list of entities that where retrieved from other repositories and not stored in the local repository.
      * The local repository may use this list to send out refresh requests on the OMRS Topic.  If the rules allow, and
@@ -0,0 +1,394 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+
+import java.util.*;
+
+/**
+ * PagingCursor records how far a client has walked through the results of a federated query.  It keeps,
+ * for each cohort member, the number of results retrieved from that member and the results that have been
+ * retrieved but not yet returned to the client.  This means the next page can be built by a k-way merge of
+ * the members' results, and each member is only asked for the results that the next page could need.
+ *
+ * The merge relies on each member returning its results in the requested sequence.  It stops as soon as a member
+ * that may have more results has none left in its buffer, since that member's next result could sort ahead of
+ * any of the others.  The GUIDs of the instances already returned are remembered so that an instance stored in
+ * several members (for example, as a reference copy) is only returned once.
+ *
+ * A cursor is used by one request at a time - it is removed from the PagingCursorCache when a request
+ * picks it up and saved back when the page is complete.  Its methods are called under the lock of the
+ * accumulator that is using it.
+ */
+class PagingCursor
+{
+    private int                                   position          = 0;
+    private long                                  lastUsedTime      = System.currentTimeMillis();
+    private Map<String, Integer>                  fetchedCounts     = new HashMap<>();
+    private Map<String, Deque<InstanceHeader>>    memberBuffers     = new LinkedHashMap<>();
+    private Set<String>                           exhaustedMembers  = new HashSet<>();
+    private Set<String>                           returnedGUIDs     = new HashSet<>();
+    private Map<String, Integer>                  requestedCounts   = new HashMap<>();
+    private boolean                               stalled           = false;
+
+
+    /**
+     * Return the element number of the next result this cursor will produce.
+     *
+     * @return element number
+     */
+    int getPosition()
+    {
+        return position;
+    }
+
+
+    /**
+     * Return the time that this cursor was last used.
+     *
+     * @return milliseconds since the epoch
+     */
+    long getLastUsedTime()
+    {
+        return lastUsedTime;
+    }
+
+
+    /**
+     * Return the number of results needed from a single member to build the requested page.  In the worst case,
+     * all of the results up to the end of the page come from the same member.
+     *
+     * @param metadataCollectionId unique identifier of the member's metadata collection
+     * @param startingElement first element of the requested page
+     * @param pageSize size of the requested page
+     * @return number of results still to retrieve from the member - zero means none are needed
+     */
+    int getMemberPageSize(String metadataCollectionId,
+                          int    startingElement,
+                          int    pageSize)
+    {
+        if (exhaustedMembers.contains(metadataCollectionId))
+        {
+            return 0;
+        }
+
+        int required = (startingElement - position) + pageSize - this.getBufferSize(metadataCollectionId);
+
+        return Math.max(required, 0);
+    }
+
+
+    /**
+     * Return the element number to use when requesting the next results from a member.
+     *
+     * @param metadataCollectionId unique identifier of the member's metadata collection
+     * @return element number within the member's results
+     */
+    int getMemberStartingElement(String metadataCollectionId)
+    {
+        Integer fetchedCount = fetchedCounts.get(metadataCollectionId);
+
+        if (fetchedCount == null)
+        {
+            return 0;
+        }
+
+        return fetchedCount;
+    }
+
+
+    /**
+     * Return whether the merge of the last page stopped because a member that may have more results had none
+     * left in its buffer.  The page is then shorter than requested even though the walk is not complete.
+     *
+     * @return boolean
+     */
+    boolean isStalled()
+    {
+        return stalled;
+    }
+
+
+    /**
+     * Record that a request for the supplied number of results is being sent to a member.
+     *
+     * @param metadataCollectionId unique identifier of the member's metadata collection
+     * @param requestedCount page size passed to the member
+     */
+    void recordMemberRequest(String metadataCollectionId,
+                             int    requestedCount)
+    {
+        requestedCounts.put(metadataCollectionId, requestedCount);
+        this.getBuffer(metadataCollectionId);
+    }
+
+
+    /**
+     * Save the results returned by a member.  A member that returns no results when some were asked for
+     * has no more to give and is not called again for this walk.  A member may return fewer results than were
+     * asked for and still have more (for example, because it limits its page size) so it is asked again for
+     * the rest.
+     *
+     * @param metadataCollectionId unique identifier of the member's metadata collection
+     * @param results results in the member's sequence
+     */
+    void addMemberResults(String                         metadataCollectionId,
+                          List<? extends InstanceHeader> results)
+    {
+        Integer requestedCount = requestedCounts.remove(metadataCollectionId);
+        int     resultCount    = 0;
+
+        if (results != null)
+        {
+            resultCount = results.size();
+            this.getBuffer(metadataCollectionId).addAll(results);
+        }
+
+        fetchedCounts.put(metadataCollectionId, this.getMemberStartingElement(metadataCollectionId) + resultCount);
+
+        if ((requestedCount == null) || ((requestedCount > 0) && (resultCount == 0)))
+        {
+            exhaustedMembers.add(metadataCollectionId);
+        }
+    }
+
+
+    /**
+     * Merge the members' results to produce the requested page.  The cursor is advanced to the end of the page.
+     * Members that were asked for results but did not reply (they returned an exception or timed out) are
+     * left out of the rest of the walk, since their results could sort ahead of results already returned.
+     * The page is short if a member that may have more results runs out of buffered results during the merge.
+     *
+     * @param startingElement first element of the requested page
+     * @param pageSize size of the requested page
+     * @param comparator ordering of the results
+     * @return results for the page
+     */
+    List<InstanceHeader> getNextPage(int                        startingElement,
+                                     int                        pageSize,
+                                     Comparator<InstanceHeader> comparator)
+    {
+        exhaustedMembers.addAll(requestedCounts.keySet());
+        requestedCounts.clear();
+
+        List<InstanceHeader> page  = new ArrayList<>();
+        int                  end   = startingElement + pageSize;
+
+        stalled = false;
+
+        while ((position < end) && (! stalled))
+        {
+            Deque<InstanceHeader> nextBuffer = null;
+
+            /*
+             * Ties are resolved in member order, so an unsequenced query returns the results of one member
+             * before moving on to the next.
+             */
+            for (Map.Entry<String, Deque<InstanceHeader>> memberBuffer : memberBuffers.entrySet())
+            {
+                Deque<InstanceHeader> buffer = memberBuffer.getValue();
+
+                if (buffer.isEmpty())
+                {
+                    if (! exhaustedMembers.contains(memberBuffer.getKey()))
+                    {
+                        stalled = true;
+                        break;
+                    }
+                }
+                else if ((nextBuffer == null) || (comparator.compare(buffer.peekFirst(), nextBuffer.peekFirst()) < 0))
+                {
+                    nextBuffer = buffer;
+                }
+            }
+
+            if ((stalled) || (nextBuffer == null))
+            {
+                break;
+            }
+
+            InstanceHeader instance = nextBuffer.pollFirst();
+
+            if ((instance != null) && (returnedGUIDs.add(instance.getGUID())))
+            {
+                if (position >= startingElement)
+                {
+                    page.add(instance);
+                }
+
+                position++;
+            }
+        }
+
+        lastUsedTime = System.currentTimeMillis();
+
+        return page;
+    }
+
+
+    /**
+     * Return a comparator that orders instances in the requested sequence.
+     *
+     * @param sequencingProperty property used for ordering (optional)
+     * @param sequencingOrder ordering of results
+     * @return comparator
+     */
+    static Comparator<InstanceHeader> getComparator(String          sequencingProperty,
+                                                    SequencingOrder sequencingOrder)
+    {
+        if (sequencingOrder == null)
+        {
+            return (instance1, instance2) -> 0;
+        }
+
+        switch (sequencingOrder)
+        {
+            case GUID:
+                return Comparator.comparing(InstanceHeader::getGUID, Comparator.nullsLast(Comparator.naturalOrder()));
+
+            case CREATION_DATE_RECENT:
+                return Comparator.comparing(InstanceHeader::getCreateTime, Comparator.nullsLast(Comparator.reverseOrder()));
+
+            case CREATION_DATE_OLDEST:
+                return Comparator.comparing(InstanceHeader::getCreateTime, Comparator.nullsLast(Comparator.naturalOrder()));
+
+            case LAST_UPDATE_RECENT:
+                return Comparator.comparing(PagingCursor::getLastUpdateTime, Comparator.nullsLast(Comparator.reverseOrder()));
+
+            case LAST_UPDATE_OLDEST:
+                return Comparator.comparing(PagingCursor::getLastUpdateTime, Comparator.nullsLast(Comparator.naturalOrder()));
+
+            case PROPERTY_ASCENDING:
+                return (instance1, instance2) -> compareProperty(instance1, instance2, sequencingProperty);
+
+            case PROPERTY_DESCENDING:
+                return (instance1, instance2) -> compareProperty(instance2, instance1, sequencingProperty);
+
+            default:
+                return (instance1, instance2) -> 0;
+        }
+    }
+
+
+    /**
+     * Return the time that the instance was last changed.
+     *
+     * @param instance instance
+     * @return update time, or create time if the instance has not been updated
+     */
+    private static Date getLastUpdateTime(InstanceHeader instance)
+    {
+        if (instance.getUpdateTime() != null)
+        {
+            return instance.getUpdateTime();
+        }
+
+        return instance.getCreateTime();
+    }
+
+
+    /**
+     * Compare the value of a primitive property in two instances.  As with the sorting in the repository
+     * helper, an instance with a value sorts after one without, and values of different types are equal.
+     *
+     * @param instance1 first instance
+     * @param instance2 second instance
+     * @param propertyName name of property to compare
+     * @return sort result
+     */
+    @SuppressWarnings("unchecked")
+    private static int compareProperty(InstanceHeader instance1,
+                                       InstanceHeader instance2,
+                                       String         propertyName)
+    {
+        Object value1 = getPrimitiveValue(instance1, propertyName);
+        Object value2 = getPrimitiveValue(instance2, propertyName);
+
+        if ((value1 == null) && (value2 == null))
+        {
+            return 0;
+        }
+        else if (value2 == null)
+        {
+            return 1;
+        }
+        else if (value1 == null)
+        {
+            return -1;
+        }
+        else if ((value1 instanceof Comparable) && (value1.getClass().equals(value2.getClass())))
+        {
+            return ((Comparable<Object>)value1).compareTo(value2);
+        }
+
+        return 0;
+    }
+
+
+    /**
+     * Return the value of the named primitive property from an entity or relationship.
+     *
+     * @param instance instance
+     * @param propertyName name of property
+     * @return value or null if the property is not set or not primitive
+     */
+    private static Object getPrimitiveValue(InstanceHeader instance,
+                                            String         propertyName)
+    {
+        InstanceProperties properties = null;
+
+        if (instance instanceof EntityDetail)
+        {
+            properties = ((EntityDetail)instance).getProperties();
+        }
+        else if (instance instanceof Relationship)
+        {
+            properties = ((Relationship)instance).getProperties();
+        }
+
+        if ((properties != null) && (propertyName != null))
+        {
+            InstancePropertyValue propertyValue = properties.getPropertyValue(propertyName);
+
+            if (propertyValue instanceof PrimitivePropertyValue)
+            {
+                return ((PrimitivePropertyValue)propertyValue).getPrimitiveValue();
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the buffer of retrieved results for a member.
+     *
+     * @param metadataCollectionId unique identifier of the member's metadata collection
+     * @return buffer
+     */
+    private Deque<InstanceHeader> getBuffer(String metadataCollectionId)
+    {
+        return memberBuffers.computeIfAbsent(metadataCollectionId, id -> new ArrayDeque<>());
+    }
+
+
+    /**
+     * Return the number of retrieved results for a member that have not been returned yet.
+     *
+     * @param metadataCollectionId unique identifier of the member's metadata collection
+     * @return count
+     */
+    private int getBufferSize(String metadataCollectionId)
+    {
+        Deque<InstanceHeader> buffer = memberBuffers.get(metadataCollectionId);
+
+        if (buffer == null)
+        {
+            return 0;
+        }
+
+        return buffer.size();
+    }
+}
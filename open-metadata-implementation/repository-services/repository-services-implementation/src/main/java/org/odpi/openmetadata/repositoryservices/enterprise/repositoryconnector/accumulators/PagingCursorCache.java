@@ -0,0 +1,131 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * PagingCursorCache holds the cursors for the federated queries that clients are paging through.  A cursor is
+ * saved under the query and the element number of the next page, so a client asking for the next page picks up
+ * where the previous request stopped.  The cache is bounded and cursors that have not been used for a while
+ * are discarded.  A request that finds no cursor starts a new walk from the first element.
+ *
+ * This class may be called simultaneously from many different threads so it must be thread-safe.
+ */
+public class PagingCursorCache
+{
+    private static final int  DEFAULT_MAX_CURSORS     = 500;
+    private static final long DEFAULT_CURSOR_LIFETIME = 120000L;
+
+    private int                       maxCursors;
+    private long                      cursorLifetime;
+    private Map<String, PagingCursor> cursors = new LinkedHashMap<>();
+
+
+    /**
+     * Construct a cache with the default size and cursor lifetime.
+     */
+    public PagingCursorCache()
+    {
+        this(DEFAULT_MAX_CURSORS, DEFAULT_CURSOR_LIFETIME);
+    }
+
+
+    /**
+     * Construct a cache.
+     *
+     * @param maxCursors maximum number of cursors to keep
+     * @param cursorLifetime time in milliseconds that an unused cursor is kept
+     */
+    public PagingCursorCache(int  maxCursors,
+                             long cursorLifetime)
+    {
+        this.maxCursors = maxCursors;
+        this.cursorLifetime = cursorLifetime;
+    }
+
+
+    /**
+     * Remove and return the cursor for the query that is positioned at the requested element.
+     *
+     * @param queryKey identifier of the query
+     * @param startingElement element number of the requested page
+     * @return cursor or null if there is no usable cursor
+     */
+    synchronized PagingCursor retrieveCursor(String queryKey,
+                                             int    startingElement)
+    {
+        PagingCursor cursor = cursors.remove(getCursorKey(queryKey, startingElement));
+
+        if ((cursor != null) && (isExpired(cursor, System.currentTimeMillis())))
+        {
+            return null;
+        }
+
+        return cursor;
+    }
+
+
+    /**
+     * Save the cursor for a query so that it can be used for the next page.
+     *
+     * @param queryKey identifier of the query
+     * @param cursor cursor positioned at the start of the next page
+     */
+    synchronized void saveCursor(String       queryKey,
+                                 PagingCursor cursor)
+    {
+        long now = System.currentTimeMillis();
+
+        Iterator<PagingCursor> iterator = cursors.values().iterator();
+
+        while (iterator.hasNext())
+        {
+            PagingCursor savedCursor = iterator.next();
+
+            /*
+             * Cursors are held in the order they were saved so the oldest are removed first.
+             */
+            if ((cursors.size() >= maxCursors) || (isExpired(savedCursor, now)))
+            {
+                iterator.remove();
+            }
+            else
+            {
+                break;
+            }
+        }
+
+        cursors.put(getCursorKey(queryKey, cursor.getPosition()), cursor);
+    }
+
+
+    /**
+     * Return whether a cursor has been unused for longer than the cursor lifetime.
+     *
+     * @param cursor cursor to test
+     * @param now current time
+     * @return boolean
+     */
+    private boolean isExpired(PagingCursor cursor,
+                              long         now)
+    {
+        return (now - cursor.getLastUsedTime()) > cursorLifetime;
+    }
+
+
+    /**
+     * Return the key used to store a cursor.
+     *
+     * @param queryKey identifier of the query
+     * @param position element number the cursor is positioned at
+     * @return key
+     */
+    private String getCursorKey(String queryKey,
+                                int    position)
+    {
+        return position + ":" + queryKey;
+    }
+}
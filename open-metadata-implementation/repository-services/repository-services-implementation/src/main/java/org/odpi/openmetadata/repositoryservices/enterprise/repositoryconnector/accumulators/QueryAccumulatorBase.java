@@ -8,7 +8,9 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * QueryAccumulatorBase acts as a base class to the accumulators that need to visit each repository and
@@ -23,6 +25,8 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     private int                  responsesRequired  = 0;
     private Map<String, Integer> resultsContributed = new HashMap<>();
     private boolean              resultsReturned = false;
+    private Set<String>          timedOutMembers    = new HashSet<>();
+    private Set<String>          acceptedMembers    = new HashSet<>();
 
 
     /**
@@ -89,22 +93,80 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     synchronized void setResultsReturned(String      metadataCollectionId,
                                          int         numberOfElements)
     {
-        setRequestReturned(metadataCollectionId, numberOfElements);
-        resultsReturned = true;
+        if (setRequestReturned(metadataCollectionId, numberOfElements))
+        {
+            resultsReturned = true;
+        }
     }
 
 
     /**
-     * This records the completion of the request to a single repository.
+     * This records the completion of the request to a single repository.  The response is ignored if the
+     * repository has already timed out.
      *
      * @param metadataCollectionId identifier of repository's metadata collection
      * @param numberOfElements number of elements (zero could mean nothing was found or an exception was returned.
      *                         Exceptions are recorded by the superclass.
+     * @return true if the response is accepted
      */
-    private void setRequestReturned(String      metadataCollectionId,
-                                    int         numberOfElements)
+    private boolean setRequestReturned(String      metadataCollectionId,
+                                       int         numberOfElements)
     {
+        if (timedOutMembers.contains(metadataCollectionId))
+        {
+            return false;
+        }
+
         resultsContributed.put(metadataCollectionId, numberOfElements);
+        return true;
+    }
+
+
+    /**
+     * Record that the federation control has received the complete response of a repository.  A timeout
+     * is not recorded for a repository once its response has been accepted.
+     *
+     * @param metadataCollectionId identifier of repository's metadata collection
+     */
+    public synchronized void acceptResults(String metadataCollectionId)
+    {
+        if (! timedOutMembers.contains(metadataCollectionId))
+        {
+            acceptedMembers.add(metadataCollectionId);
+        }
+    }
+
+
+    /**
+     * Record that a repository did not respond before the federation control stopped waiting for it.
+     * The timeout is saved as a repository error and anything the repository returns afterwards is ignored,
+     * so the results do not change once the caller has started to use them.  This is the case even if the
+     * repository has already returned part of its response, such as the first of several pages.
+     * Nothing is recorded if the response of the repository has been accepted.
+     *
+     * @param metadataCollectionId identifier of repository's metadata collection
+     * @param exception exception describing the timeout
+     */
+    public synchronized void captureTimeout(String                   metadataCollectionId,
+                                            RepositoryErrorException exception)
+    {
+        if ((! acceptedMembers.contains(metadataCollectionId)) && (! timedOutMembers.contains(metadataCollectionId)))
+        {
+            this.captureException(metadataCollectionId, exception);
+            timedOutMembers.add(metadataCollectionId);
+        }
+    }
+
+
+    /**
+     * Return whether the results from a repository are to be ignored because they arrived after it timed out.
+     *
+     * @param metadataCollectionId identifier of repository's metadata collection
+     * @return boolean flag
+     */
+    synchronized boolean isTimedOut(String metadataCollectionId)
+    {
+        return timedOutMembers.contains(metadataCollectionId);
     }
 
 
@@ -118,8 +180,10 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                          metadataCollectionId,
                                               ClassificationErrorException    exception)
     {
-        setRequestReturned(metadataCollectionId, 0);
-        classificationErrorException = exception;
+        if (setRequestReturned(metadataCollectionId, 0))
+        {
+            classificationErrorException = exception;
+        }
     }
 
 
@@ -132,8 +196,10 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                     metadataCollectionId,
                                               EntityNotKnownException    exception)
     {
-        setRequestReturned(metadataCollectionId, 0);
-        entityNotKnownException = exception;
+        if (setRequestReturned(metadataCollectionId, 0))
+        {
+            entityNotKnownException = exception;
+        }
     }
 
 
@@ -147,8 +213,10 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                           metadataCollectionId,
                                               FunctionNotSupportedException    exception)
     {
-        setRequestReturned(metadataCollectionId, 0);
-        functionNotSupportedException = exception;
+        if (setRequestReturned(metadataCollectionId, 0))
+        {
+            functionNotSupportedException = exception;
+        }
     }
 
 
@@ -161,8 +229,10 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                     metadataCollectionId,
                                               InvalidParameterException  exception)
     {
-        setRequestReturned(metadataCollectionId, 0);
-        invalidParameterException = exception;
+        if (setRequestReturned(metadataCollectionId, 0))
+        {
+            invalidParameterException = exception;
+        }
     }
 
 
@@ -175,8 +245,10 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                     metadataCollectionId,
                                               PagingErrorException     exception)
     {
-        setRequestReturned(metadataCollectionId, 0);
-        pagingErrorException = exception;
+        if (setRequestReturned(metadataCollectionId, 0))
+        {
+            pagingErrorException = exception;
+        }
     }
 
 
@@ -189,8 +261,10 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                     metadataCollectionId,
                                               PropertyErrorException     exception)
     {
-        setRequestReturned(metadataCollectionId, 0);
-        propertyErrorException = exception;
+        if (setRequestReturned(metadataCollectionId, 0))
+        {
+            propertyErrorException = exception;
+        }
     }
 
 
@@ -203,8 +277,10 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                        metadataCollectionId,
                                               RelationshipNotKnownException exception)
     {
-        setRequestReturned(metadataCollectionId, 0);
-        relationshipNotKnownException = exception;
+        if (setRequestReturned(metadataCollectionId, 0))
+        {
+            relationshipNotKnownException = exception;
+        }
     }
 
 
@@ -217,8 +293,10 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                     metadataCollectionId,
                                               RepositoryErrorException   exception)
     {
-        setRequestReturned(metadataCollectionId, 0);
-        repositoryErrorException = exception;
+        if (setRequestReturned(metadataCollectionId, 0))
+        {
+            repositoryErrorException = exception;
+        }
     }
 
 
@@ -231,8 +309,10 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String               metadataCollectionId,
                                               TypeErrorException   exception)
     {
-        setRequestReturned(metadataCollectionId, 0);
-        typeErrorException = exception;
+        if (setRequestReturned(metadataCollectionId, 0))
+        {
+            typeErrorException = exception;
+        }
     }
 
 
@@ -245,8 +325,10 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                     metadataCollectionId,
                                               UserNotAuthorizedException exception)
     {
-        setRequestReturned(metadataCollectionId, 0);
-        userNotAuthorizedException = exception;
+        if (setRequestReturned(metadataCollectionId, 0))
+        {
+            userNotAuthorizedException = exception;
+        }
     }
 
 
@@ -259,7 +341,9 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureGenericException(String     metadataCollectionId,
                                                      Throwable  exception)
     {
-        setRequestReturned(metadataCollectionId, 0);
-        anotherException = exception;
+        if (setRequestReturned(metadataCollectionId, 0))
+        {
+            anotherException = exception;
+        }
     }
 }
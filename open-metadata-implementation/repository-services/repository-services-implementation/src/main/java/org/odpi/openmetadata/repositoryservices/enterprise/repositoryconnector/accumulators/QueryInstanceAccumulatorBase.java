@@ -4,10 +4,12 @@ package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.
 
 
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -18,6 +20,13 @@ public class QueryInstanceAccumulatorBase extends QueryAccumulatorBase
 {
     protected List<String>            locallyStoredInstancesGUIDs = new ArrayList<>();
 
+    private PagingCursorCache          pagingCursors   = null;
+    private PagingCursor               pagingCursor    = null;
+    private String                     queryKey        = null;
+    private int                        startingElement = 0;
+    private int                        pageSize        = 0;
+    private Comparator<InstanceHeader> comparator      = null;
+
     /**
      * Construct a query accumulator.  This base class manages the common variables needed to
      * control the execution of requests across all members of the cohort(s).
@@ -74,4 +83,163 @@ public class QueryInstanceAccumulatorBase extends QueryAccumulatorBase
     {
         return ! (locallyStoredInstancesGUIDs.contains(instanceGUID));
     }
+
+
+    /**
+     * Switch the accumulator into federated paging mode.  The results from each repository are kept in the
+     * sequence they were returned and merged into a single page.  If there is a cursor for this query at the
+     * requested element, the repositories are only asked for the results after those already retrieved.
+     *
+     * @param pagingCursors cache of cursors for queries that are being paged through
+     * @param queryKey identifier of the query (excluding the paging parameters)
+     * @param startingElement first element of the requested page
+     * @param pageSize size of the requested page
+     * @param sequencingProperty property used for ordering (optional)
+     * @param sequencingOrder ordering of results
+     */
+    public synchronized void startPaging(PagingCursorCache pagingCursors,
+                                         String            queryKey,
+                                         int               startingElement,
+                                         int               pageSize,
+                                         String            sequencingProperty,
+                                         SequencingOrder   sequencingOrder)
+    {
+        this.pagingCursors = pagingCursors;
+        this.queryKey = queryKey;
+        this.startingElement = startingElement;
+        this.pageSize = pageSize;
+        this.comparator = PagingCursor.getComparator(sequencingProperty, sequencingOrder);
+
+        this.pagingCursor = pagingCursors.retrieveCursor(queryKey, startingElement);
+
+        if (this.pagingCursor == null)
+        {
+            this.pagingCursor = new PagingCursor();
+        }
+    }
+
+
+    /**
+     * Return whether the accumulator is in federated paging mode.
+     *
+     * @return boolean
+     */
+    synchronized boolean isPaging()
+    {
+        return (pagingCursor != null);
+    }
+
+
+    /**
+     * Return whether a repository needs to be called to build the requested page.  If the results already
+     * retrieved from the repository are sufficient, the repository is recorded as having responded.
+     *
+     * @param metadataCollectionId unique identifier for the repository's metadata collection
+     * @return boolean true if the repository should be called
+     */
+    public synchronized boolean isMemberRequestNeeded(String metadataCollectionId)
+    {
+        if ((pagingCursor == null) || (pagingCursor.getMemberPageSize(metadataCollectionId, startingElement, pageSize) > 0))
+        {
+            return true;
+        }
+
+        super.setResultsReturned(metadataCollectionId, 0);
+
+        return false;
+    }
+
+
+    /**
+     * Return whether a repository that has just replied needs to be asked for more results to build the
+     * requested page.  This happens when it returns fewer results than were asked for (for example, because it
+     * limits its page size) without running out of results.  It is always false outside of paging mode.
+     *
+     * @param metadataCollectionId unique identifier for the repository's metadata collection
+     * @return boolean true if the repository should be called again
+     */
+    public synchronized boolean isMemberPageIncomplete(String metadataCollectionId)
+    {
+        return ((pagingCursor != null) &&
+                (! super.isTimedOut(metadataCollectionId)) &&
+                (pagingCursor.getMemberPageSize(metadataCollectionId, startingElement, pageSize) > 0));
+    }
+
+
+    /**
+     * Return the starting element to pass to a repository.
+     *
+     * @param metadataCollectionId unique identifier for the repository's metadata collection
+     * @param requestedStartingElement starting element requested by the caller
+     * @return starting element for the repository
+     */
+    public synchronized int getMemberStartingElement(String metadataCollectionId,
+                                                     int    requestedStartingElement)
+    {
+        if (pagingCursor == null)
+        {
+            return requestedStartingElement;
+        }
+
+        return pagingCursor.getMemberStartingElement(metadataCollectionId);
+    }
+
+
+    /**
+     * Return the page size to pass to a repository.  In paging mode this is recorded so a repository that
+     * returns no results is not called again for the rest of the walk.
+     *
+     * @param metadataCollectionId unique identifier for the repository's metadata collection
+     * @param requestedPageSize page size requested by the caller
+     * @return page size for the repository
+     */
+    public synchronized int getMemberPageSize(String metadataCollectionId,
+                                              int    requestedPageSize)
+    {
+        if (pagingCursor == null)
+        {
+            return requestedPageSize;
+        }
+
+        int memberPageSize = pagingCursor.getMemberPageSize(metadataCollectionId, startingElement, pageSize);
+
+        pagingCursor.recordMemberRequest(metadataCollectionId, memberPageSize);
+
+        return memberPageSize;
+    }
+
+
+    /**
+     * Save the results from a repository in the sequence they were returned.
+     *
+     * @param metadataCollectionId unique identifier for the repository's metadata collection
+     * @param results results from the repository
+     */
+    synchronized void captureMemberResults(String                         metadataCollectionId,
+                                           List<? extends InstanceHeader> results)
+    {
+        if ((pagingCursor != null) && (metadataCollectionId != null))
+        {
+            pagingCursor.addMemberResults(metadataCollectionId, results);
+        }
+    }
+
+
+    /**
+     * Merge the results from the repositories to build the requested page.  The cursor is saved so the
+     * next page can continue from where this one stopped, unless the results have run out.
+     *
+     * @return instances for the requested page
+     */
+    synchronized List<InstanceHeader> getNextPage()
+    {
+        List<InstanceHeader> page = pagingCursor.getNextPage(startingElement, pageSize, comparator);
+
+        if ((page.size() == pageSize) || (pagingCursor.isStalled()))
+        {
+            pagingCursors.saveCursor(queryKey, pagingCursor);
+        }
+
+        return page;
+    }
 }
@@ -4,6 +4,7 @@ package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.
 
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.EnterpriseOMRSRepositoryConnector;
 
@@ -85,6 +86,11 @@ public class RelationshipAccumulator extends QueryInstanceAccumulatorBase
     public synchronized void addRelationships(List<Relationship>   relationships,
                                               String               metadataCollectionId)
     {
+        if (super.isTimedOut(metadataCollectionId))
+        {
+            return;
+        }
+
         if (relationships != null)
         {
             for (Relationship relationship : relationships)
@@ -92,6 +98,8 @@ public class RelationshipAccumulator extends QueryInstanceAccumulatorBase
                 this.addRelationship(relationship, metadataCollectionId);
             }
 
+            super.captureMemberResults(metadataCollectionId, relationships);
+
             /*
              * Record that this repository has returned results from the request.
              */
@@ -99,6 +107,8 @@ public class RelationshipAccumulator extends QueryInstanceAccumulatorBase
         }
         else
         {
+            super.captureMemberResults(metadataCollectionId, null);
+
             /*
              * Even though results were not found it was still a successful request.
              */
@@ -117,6 +127,11 @@ public class RelationshipAccumulator extends QueryInstanceAccumulatorBase
      */
     public synchronized List<Relationship>  getResults(EnterpriseOMRSRepositoryConnector repositoryConnector)
     {
+        if (super.isPaging())
+        {
+            return this.getPagedResults(repositoryConnector);
+        }
+
         if (accumulatedRelationships.isEmpty())
         {
             return null;
@@ -129,6 +144,40 @@ public class RelationshipAccumulator extends QueryInstanceAccumulatorBase
     }
 
 
+    /**
+     * Extract the requested page from the results of a federated paging request.  Where the same relationship was
+     * retrieved from more than one repository, the latest version is returned.
+     *
+     * @param repositoryConnector enterprise connector
+     * @return list of relationships or null if the results have run out
+     */
+    private List<Relationship>  getPagedResults(EnterpriseOMRSRepositoryConnector repositoryConnector)
+    {
+        List<Relationship> results = new ArrayList<>();
+
+        for (InstanceHeader instance : super.getNextPage())
+        {
+            Relationship latestVersion = accumulatedRelationships.get(instance.getGUID());
+
+            if (latestVersion == null)
+            {
+                latestVersion = (Relationship)instance;
+            }
+
+            results.add(latestVersion);
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        this.makeRefreshRecommendations(repositoryConnector);
+
+        return results;
+    }
+
+
     /**
      * Return the list of relationships that where retrieved from other repositories and not stored in the local repository.
      * The local repository may use this list to send out refresh requests on the OMRS Topic.  If the rules allow, and
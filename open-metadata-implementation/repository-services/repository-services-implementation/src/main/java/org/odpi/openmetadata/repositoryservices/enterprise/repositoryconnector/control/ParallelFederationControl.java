@@ -4,18 +4,60 @@ package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.
 
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.CloneableRepositoryExecutor;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.RepositoryExecutor;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * ParallelFederationControl uses multiple worker threads to perform the calls to different systems in parallel.
+ *
+ * The executor passed to executeCommand is cloned for each cohort member.  The clones share the executor's
+ * accumulator (whose methods are synchronized) so the results build up as each repository responds.
+ * The worker threads come from a bounded pool that is shared by all enterprise connectors in the JVM.
+ * If the pool is saturated, the call is made on the calling thread once the calls to the other members
+ * have been started, so a query never waits for a worker.
+ *
+ * Each cohort member is given a fixed amount of time to respond, measured from the start of the request.
+ * A member that is slow or unreachable is recorded in the accumulator as a RepositoryErrorException and
+ * the query completes with the results from the other members.  This is the same partial result that the
+ * caller sees when a member returns an exception.  The response of a member is accepted by the accumulator
+ * once the member's call has completed.  Otherwise the call is cancelled and the accumulator ignores
+ * anything the member returns after the timeout.
+ *
+ * If the calling thread is interrupted while it is waiting, the outstanding calls are cancelled and the
+ * request fails with a RepositoryErrorException.
+ *
+ * Executors that are not cloneable are called on the calling thread, one repository after another.
  */
 public class ParallelFederationControl extends FederationControlBase
 {
-    // todo at this point the parallel federation control uses a sequential since the
-    // todo worker threads are not implemented.
+    /**
+     * Default time to wait for a single cohort member to respond to a federated request.
+     */
+    public static final long DEFAULT_MEMBER_TIMEOUT = 60000L;
+
+    private static final int    MAX_WORKER_THREADS = Math.max(16, Runtime.getRuntime().availableProcessors() * 4);
+    private static final int    MAX_QUEUED_REQUESTS = MAX_WORKER_THREADS * 16;
+    private static final String WORKER_THREAD_NAME = "EnterpriseFederationWorker-";
+
+    private static final ExecutorService workerPool = createWorkerPool();
+
+    private long memberTimeout;
 
 
     /**
@@ -28,9 +70,27 @@ public class ParallelFederationControl extends FederationControlBase
     public ParallelFederationControl(String                        userId,
                                      List<OMRSRepositoryConnector> cohortConnectors,
                                      String                        methodName)
+    {
+        this(userId, cohortConnectors, methodName, DEFAULT_MEMBER_TIMEOUT);
+    }
+
+
+    /**
+     * Constructor for a federated query that sets the time to wait for each cohort member.
+     *
+     * @param userId calling user
+     * @param cohortConnectors list of connectors to call
+     * @param methodName calling method
+     * @param memberTimeout maximum time in milliseconds to wait for each cohort member to respond
+     */
+    public ParallelFederationControl(String                        userId,
+                                     List<OMRSRepositoryConnector> cohortConnectors,
+                                     String                        methodName,
+                                     long                          memberTimeout)
     {
         super(userId, cohortConnectors, methodName);
 
+        this.memberTimeout = memberTimeout;
     }
 
 
@@ -45,6 +105,13 @@ public class ParallelFederationControl extends FederationControlBase
     {
         if (super.cohortConnectors != null)
         {
+            List<String>                 metadataCollectionIds = new ArrayList<>();
+            List<OMRSMetadataCollection> metadataCollections   = new ArrayList<>();
+
+            /*
+             * The metadata collections are validated before any work is started so a badly set up
+             * cohort is reported in the same way as for a sequential request.
+             */
             for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
             {
                 if (cohortConnector != null)
@@ -53,9 +120,178 @@ public class ParallelFederationControl extends FederationControlBase
 
                     String metadataCollectionId = this.validateMetadataCollection(metadataCollection, methodName);
 
-                    executor.issueRequestToRepository(metadataCollectionId, metadataCollection);
+                    metadataCollectionIds.add(metadataCollectionId);
+                    metadataCollections.add(metadataCollection);
+                }
+            }
+
+            if ((metadataCollections.size() > 1) && (executor instanceof CloneableRepositoryExecutor))
+            {
+                this.issueParallelRequests((CloneableRepositoryExecutor)executor, metadataCollectionIds, metadataCollections);
+            }
+            else
+            {
+                for (int i = 0; i < metadataCollections.size(); i++)
+                {
+                    executor.issueRequestToRepository(metadataCollectionIds.get(i), metadataCollections.get(i));
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Hand a clone of the executor to a worker thread for each cohort member and wait for them to complete.
+     * The deadline is set before the first call is started so the overall wait is bounded by the
+     * member timeout rather than growing with the number of members.  A call that is run on the calling
+     * thread, because the worker pool is saturated, counts towards the deadline.
+     *
+     * @param executor command to execute
+     * @param metadataCollectionIds unique identifiers of the metadata collections to call
+     * @param metadataCollections metadata collections to call (in the same order as the identifiers)
+     * @throws RepositoryErrorException the calling thread was interrupted
+     */
+    private void issueParallelRequests(CloneableRepositoryExecutor  executor,
+                                       List<String>                 metadataCollectionIds,
+                                       List<OMRSMetadataCollection> metadataCollections) throws RepositoryErrorException
+    {
+        long                      deadline         = System.currentTimeMillis() + memberTimeout;
+        List<Future<Boolean>>     requests         = new ArrayList<>();
+        List<FutureTask<Boolean>> rejectedRequests = new ArrayList<>();
+
+        for (int i = 0; i < metadataCollections.size(); i++)
+        {
+            RepositoryExecutor     clone                = (RepositoryExecutor)executor.getClone();
+            String                 metadataCollectionId = metadataCollectionIds.get(i);
+            OMRSMetadataCollection metadataCollection   = metadataCollections.get(i);
+
+            FutureTask<Boolean> request = new FutureTask<>(() -> clone.issueRequestToRepository(metadataCollectionId, metadataCollection));
+
+            try
+            {
+                workerPool.execute(request);
+            }
+            catch (RejectedExecutionException error)
+            {
+                /*
+                 * The worker pool is saturated.  The call is made on this thread once the calls to the
+                 * other members have been started.
+                 */
+                rejectedRequests.add(request);
+            }
+
+            requests.add(request);
+        }
+
+        for (FutureTask<Boolean> rejectedRequest : rejectedRequests)
+        {
+            rejectedRequest.run();
+        }
+
+        for (int i = 0; i < requests.size(); i++)
+        {
+            Future<Boolean> request = requests.get(i);
+
+            try
+            {
+                request.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+
+                executor.acceptResults(metadataCollectionIds.get(i));
+            }
+            catch (TimeoutException error)
+            {
+                if (request.cancel(true))
+                {
+                    this.captureMemberTimeout(executor, metadataCollectionIds.get(i));
+                }
+                else
+                {
+                    /*
+                     * The call completed between the timeout and the cancel.
+                     */
+                    executor.acceptResults(metadataCollectionIds.get(i));
                 }
             }
+            catch (InterruptedException error)
+            {
+                for (int j = i; j < requests.size(); j++)
+                {
+                    if (requests.get(j).cancel(true))
+                    {
+                        this.captureMemberTimeout(executor, metadataCollectionIds.get(j));
+                    }
+                }
+
+                Thread.currentThread().interrupt();
+
+                throw new RepositoryErrorException(OMRSErrorCode.FEDERATION_INTERRUPTED.getMessageDefinition(methodName),
+                                                   this.getClass().getName(),
+                                                   methodName,
+                                                   error);
+            }
+            catch (ExecutionException error)
+            {
+                /*
+                 * The executors capture the exceptions from the repositories in the accumulator so
+                 * this is only seen if the executor itself has failed.
+                 */
+            }
         }
     }
+
+
+    /**
+     * Record that a cohort member did not respond in time.
+     *
+     * @param executor command that was issued
+     * @param metadataCollectionId unique identifier of the metadata collection that did not respond
+     */
+    private void captureMemberTimeout(CloneableRepositoryExecutor executor,
+                                      String                      metadataCollectionId)
+    {
+        executor.captureTimeout(metadataCollectionId,
+                                new RepositoryErrorException(OMRSErrorCode.COHORT_MEMBER_TIMEOUT.getMessageDefinition(methodName,
+                                                                                                                      metadataCollectionId,
+                                                                                                                      Long.toString(memberTimeout)),
+                                                             this.getClass().getName(),
+                                                             methodName));
+    }
+
+
+    /**
+     * Create the pool of worker threads shared by all parallel federated requests.  The threads are daemon
+     * threads so they do not hold up the shutdown of the platform, and idle threads are released.
+     * Requests are rejected when the queue is full so that the caller can start its other calls first.
+     *
+     * @return executor service
+     */
+    private static ExecutorService createWorkerPool()
+    {
+        ThreadFactory threadFactory = new ThreadFactory()
+        {
+            private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+            @Override
+            public Thread newThread(Runnable runnable)
+            {
+                Thread thread = new Thread(runnable, WORKER_THREAD_NAME + threadNumber.getAndIncrement());
+
+                thread.setDaemon(true);
+
+                return thread;
+            }
+        };
+
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(MAX_WORKER_THREADS,
+                                                         MAX_WORKER_THREADS,
+                                                         60L,
+                                                         TimeUnit.SECONDS,
+                                                         new ArrayBlockingQueue<>(MAX_QUEUED_REQUESTS),
+                                                         threadFactory,
+                                                         new ThreadPoolExecutor.AbortPolicy());
+
+        pool.allowCoreThreadTimeOut(true);
+
+        return pool;
+    }
 }
@@ -2,6 +2,8 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
 
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+
 /**
  * CloneableRepositoryExecutor describes the interface for a repository executor that can be cloned to run
  * in parallel.  They use a shared accumulator to gather and assemble the result.
@@ -14,4 +16,22 @@ public interface CloneableRepositoryExecutor
      * @return clone of this executor
      */
     CloneableRepositoryExecutor getClone();
+
+
+    /**
+     * Record that the federation control has received the complete response of a repository.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     */
+    void acceptResults(String metadataCollectionId);
+
+
+    /**
+     * Record that a repository did not respond before the federation control stopped waiting for it.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     * @param exception exception describing the timeout
+     */
+    void captureTimeout(String                   metadataCollectionId,
+                        RepositoryErrorException exception);
 }
@@ -4,6 +4,7 @@ package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.
 
 
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.QueryAccumulatorBase;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 
 
 /**
@@ -12,12 +13,44 @@ import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.a
  */
 abstract class CloneableRepositoryExecutorBase extends RepositoryExecutorBase implements CloneableRepositoryExecutor
 {
+    private QueryAccumulatorBase sharedAccumulator;
+
+
     CloneableRepositoryExecutorBase(String               userId,
                                     String               methodName,
                                     QueryAccumulatorBase accumulator)
     {
         super(userId, methodName);
 
+        this.sharedAccumulator = accumulator;
+
         accumulator.registerExecutor();
     }
+
+
+    /**
+     * Record that the federation control has received the complete response of the repository, so a
+     * timeout is no longer recorded for it.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     */
+    public void acceptResults(String metadataCollectionId)
+    {
+        sharedAccumulator.acceptResults(metadataCollectionId);
+    }
+
+
+    /**
+     * Record that the repository did not respond in time.  The exception is saved in the shared accumulator
+     * along with any exceptions returned by the other repositories, and the results that the repository
+     * returns later are ignored.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     * @param exception exception describing the timeout
+     */
+    public void captureTimeout(String                   metadataCollectionId,
+                               RepositoryErrorException exception)
+    {
+        sharedAccumulator.captureTimeout(metadataCollectionId, exception);
+    }
 }
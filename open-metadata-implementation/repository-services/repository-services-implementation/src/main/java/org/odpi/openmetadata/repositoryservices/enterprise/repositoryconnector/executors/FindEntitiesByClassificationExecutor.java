@@ -14,6 +14,7 @@ import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.E
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.EntityAccumulator;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
@@ -171,6 +172,17 @@ public class FindEntitiesByClassificationExecutor extends PageableRepositoryExec
     }
 
 
+    /**
+     * Return the parameters that are specific to this type of query.
+     *
+     * @return list of parameter values
+     */
+    List<Object> getQueryParameters()
+    {
+        return Arrays.asList(classificationName, matchClassificationProperties, matchCriteria);
+    }
+
+
     /**
      * Perform the required action for the supplied repository.
      *
@@ -181,24 +193,34 @@ public class FindEntitiesByClassificationExecutor extends PageableRepositoryExec
     public boolean issueRequestToRepository(String                 metadataCollectionId,
                                             OMRSMetadataCollection metadataCollection)
     {
+        if (! this.isRequestNeeded(metadataCollectionId))
+        {
+            return true;
+        }
+
         try
         {
             /*
-             * Issue the request
+             * Issue the request.  In paging mode, a repository that returns a short page without running
+             * out of its results is asked again for the rest.
              */
-            List<EntityDetail> results = metadataCollection.findEntitiesByClassification(userId,
-                                                                                         instanceTypeGUID,
-                                                                                         classificationName,
-                                                                                         matchClassificationProperties,
-                                                                                         matchCriteria,
-                                                                                         startingElement,
-                                                                                         limitResultsByStatus,
-                                                                                         asOfTime,
-                                                                                         sequencingProperty,
-                                                                                         sequencingOrder,
-                                                                                         pageSize);
+            do
+            {
+                List<EntityDetail> results = metadataCollection.findEntitiesByClassification(userId,
+                                                                                             instanceTypeGUID,
+                                                                                             classificationName,
+                                                                                             matchClassificationProperties,
+                                                                                             matchCriteria,
+                                                                                             this.getMemberStartingElement(metadataCollectionId),
+                                                                                             limitResultsByStatus,
+                                                                                             asOfTime,
+                                                                                             sequencingProperty,
+                                                                                             sequencingOrder,
+                                                                                             this.getMemberPageSize(metadataCollectionId));
 
-            accumulator.addEntities(results, metadataCollectionId);
+                accumulator.addEntities(results, metadataCollectionId);
+            }
+            while (this.isMemberPageIncomplete(metadataCollectionId));
 
         }
         catch (InvalidParameterException error)
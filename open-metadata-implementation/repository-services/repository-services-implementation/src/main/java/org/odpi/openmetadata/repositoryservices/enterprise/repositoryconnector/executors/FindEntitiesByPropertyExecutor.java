@@ -14,6 +14,7 @@ import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.E
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.EntityAccumulator;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
@@ -169,6 +170,17 @@ public class FindEntitiesByPropertyExecutor extends PageableRepositoryExecutorBa
     }
 
 
+    /**
+     * Return the parameters that are specific to this type of query.
+     *
+     * @return list of parameter values
+     */
+    List<Object> getQueryParameters()
+    {
+        return Arrays.asList(matchProperties, matchCriteria, limitResultsByClassification);
+    }
+
+
     /**
      * Perform the required action for the supplied repository.
      *
@@ -179,24 +191,34 @@ public class FindEntitiesByPropertyExecutor extends PageableRepositoryExecutorBa
     public boolean issueRequestToRepository(String                 metadataCollectionId,
                                             OMRSMetadataCollection metadataCollection)
     {
+        if (! this.isRequestNeeded(metadataCollectionId))
+        {
+            return true;
+        }
+
         try
         {
             /*
-             * Issue the request
+             * Issue the request.  In paging mode, a repository that returns a short page without running
+             * out of its results is asked again for the rest.
              */
-            List<EntityDetail> results = metadataCollection.findEntitiesByProperty(userId,
-                                                                                   instanceTypeGUID,
-                                                                                   matchProperties,
-                                                                                   matchCriteria,
-                                                                                   startingElement,
-                                                                                   limitResultsByStatus,
-                                                                                   limitResultsByClassification,
-                                                                                   asOfTime,
-                                                                                   sequencingProperty,
-                                                                                   sequencingOrder,
-                                                                                   pageSize);
+            do
+            {
+                List<EntityDetail> results = metadataCollection.findEntitiesByProperty(userId,
+                                                                                       instanceTypeGUID,
+                                                                                       matchProperties,
+                                                                                       matchCriteria,
+                                                                                       this.getMemberStartingElement(metadataCollectionId),
+                                                                                       limitResultsByStatus,
+                                                                                       limitResultsByClassification,
+                                                                                       asOfTime,
+                                                                                       sequencingProperty,
+                                                                                       sequencingOrder,
+                                                                                       this.getMemberPageSize(metadataCollectionId));
 
-            accumulator.addEntities(results, metadataCollectionId);
+                accumulator.addEntities(results, metadataCollectionId);
+            }
+            while (this.isMemberPageIncomplete(metadataCollectionId));
         }
         catch (InvalidParameterException error)
         {
@@ -12,6 +12,7 @@ import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.E
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.EntityAccumulator;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
@@ -163,6 +164,17 @@ public class FindEntitiesByPropertyValueExecutor extends PageableRepositoryExecu
     }
 
 
+    /**
+     * Return the parameters that are specific to this type of query.
+     *
+     * @return list of parameter values
+     */
+    List<Object> getQueryParameters()
+    {
+        return Arrays.asList(searchCriteria, limitResultsByClassification);
+    }
+
+
     /**
      * Perform the required action for the supplied repository.
      *
@@ -173,23 +185,33 @@ public class FindEntitiesByPropertyValueExecutor extends PageableRepositoryExecu
     public boolean issueRequestToRepository(String                 metadataCollectionId,
                                             OMRSMetadataCollection metadataCollection)
     {
+        if (! this.isRequestNeeded(metadataCollectionId))
+        {
+            return true;
+        }
+
         try
         {
             /*
-             * Issue the request
+             * Issue the request.  In paging mode, a repository that returns a short page without running
+             * out of its results is asked again for the rest.
              */
-            List<EntityDetail> results = metadataCollection.findEntitiesByPropertyValue(userId,
-                                                                                        instanceTypeGUID,
-                                                                                        searchCriteria,
-                                                                                        startingElement,
-                                                                                        limitResultsByStatus,
-                                                                                        limitResultsByClassification,
-                                                                                        asOfTime,
-                                                                                        sequencingProperty,
-                                                                                        sequencingOrder,
-                                                                                        pageSize);
+            do
+            {
+                List<EntityDetail> results = metadataCollection.findEntitiesByPropertyValue(userId,
+                                                                                            instanceTypeGUID,
+                                                                                            searchCriteria,
+                                                                                            this.getMemberStartingElement(metadataCollectionId),
+                                                                                            limitResultsByStatus,
+                                                                                            limitResultsByClassification,
+                                                                                            asOfTime,
+                                                                                            sequencingProperty,
+                                                                                            sequencingOrder,
+                                                                                            this.getMemberPageSize(metadataCollectionId));
 
-            accumulator.addEntities(results, metadataCollectionId);
+                accumulator.addEntities(results, metadataCollectionId);
+            }
+            while (this.isMemberPageIncomplete(metadataCollectionId));
         }
         catch (InvalidParameterException error)
         {
@@ -12,6 +12,7 @@ import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.E
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.RelationshipAccumulator;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
@@ -153,6 +154,17 @@ public class GetRelationshipsForEntityExecutor extends PageableRepositoryExecuto
     }
 
 
+    /**
+     * Return the parameters that are specific to this type of query.
+     *
+     * @return list of parameter values
+     */
+    List<Object> getQueryParameters()
+    {
+        return Arrays.asList(entityGUID);
+    }
+
+
     /**
      * Perform the required action for the supplied repository.
      *
@@ -163,22 +175,32 @@ public class GetRelationshipsForEntityExecutor extends PageableRepositoryExecuto
     public boolean issueRequestToRepository(String                 metadataCollectionId,
                                             OMRSMetadataCollection metadataCollection)
     {
+        if (! this.isRequestNeeded(metadataCollectionId))
+        {
+            return true;
+        }
+
         try
         {
             /*
-             * Issue the request
+             * Issue the request.  In paging mode, a repository that returns a short page without running
+             * out of its results is asked again for the rest.
              */
-            List<Relationship> results = metadataCollection.getRelationshipsForEntity(userId,
-                                                                                      entityGUID,
-                                                                                      instanceTypeGUID,
-                                                                                      startingElement,
-                                                                                      limitResultsByStatus,
-                                                                                      asOfTime,
-                                                                                      sequencingProperty,
-                                                                                      sequencingOrder,
-                                                                                      pageSize);
+            do
+            {
+                List<Relationship> results = metadataCollection.getRelationshipsForEntity(userId,
+                                                                                          entityGUID,
+                                                                                          instanceTypeGUID,
+                                                                                          this.getMemberStartingElement(metadataCollectionId),
+                                                                                          limitResultsByStatus,
+                                                                                          asOfTime,
+                                                                                          sequencingProperty,
+                                                                                          sequencingOrder,
+                                                                                          this.getMemberPageSize(metadataCollectionId));
 
-            accumulator.addRelationships(results, metadataCollectionId);
+                accumulator.addRelationships(results, metadataCollectionId);
+            }
+            while (this.isMemberPageIncomplete(metadataCollectionId));
         }
         catch (InvalidParameterException error)
         {
@@ -5,15 +5,18 @@ package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.
 
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.PagingCursorCache;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.QueryInstanceAccumulatorBase;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
 /**
- * CloneableRepositoryExecutorBase provides a base class for executors that can be cloned and run in
- * parallel so the call to each repository runs in a different thread.
+ * PageableRepositoryExecutorBase provides a base class for executors that can be cloned and run in
+ * parallel so the call to each repository runs in a different thread, and that return their results in pages.
  */
 abstract class PageableRepositoryExecutorBase extends CloneableRepositoryExecutorBase
 {
@@ -68,6 +71,108 @@ abstract class PageableRepositoryExecutorBase extends CloneableRepositoryExecuto
     }
 
 
+    /**
+     * Page through the results of the repositories using the cursors in the supplied cache.  The results from
+     * the repositories are merged in sequence and the caller receives the requested page.  Each repository is
+     * only asked for the results that the page could need, continuing from the results retrieved for earlier
+     * pages of the same query.  This has no effect if the page size is zero (unlimited results).
+     *
+     * @param pagingCursors cache of cursors for queries that are being paged through
+     */
+    public void setPagingCursors(PagingCursorCache pagingCursors)
+    {
+        if ((pagingCursors != null) && (pageSize > 0))
+        {
+            queryInstanceAccumulator.startPaging(pagingCursors,
+                                                 this.getQueryKey(),
+                                                 startingElement,
+                                                 pageSize,
+                                                 sequencingProperty,
+                                                 sequencingOrder);
+        }
+    }
+
+
+    /**
+     * Return the parameters that are specific to the type of query.  Together with the common parameters,
+     * they identify the query when looking up a paging cursor.
+     *
+     * @return list of parameter values
+     */
+    abstract List<Object> getQueryParameters();
+
+
+    /**
+     * Return the identifier of the query, which is built from all of the parameters except the paging parameters.
+     *
+     * @return query key
+     */
+    private String getQueryKey()
+    {
+        List<Object> queryParameters = new ArrayList<>(Arrays.asList(this.getClass().getName(),
+                                                                     userId,
+                                                                     instanceTypeGUID,
+                                                                     limitResultsByStatus,
+                                                                     sequencingProperty,
+                                                                     sequencingOrder,
+                                                                     asOfTime));
+
+        queryParameters.addAll(this.getQueryParameters());
+
+        return queryParameters.toString();
+    }
+
+
+    /**
+     * Return whether the repository needs to be called.  In paging mode, a repository is skipped if the results
+     * already retrieved from it cover the requested page, or it has no more results.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     * @return boolean true if the request should be issued
+     */
+    boolean isRequestNeeded(String metadataCollectionId)
+    {
+        return queryInstanceAccumulator.isMemberRequestNeeded(metadataCollectionId);
+    }
+
+
+    /**
+     * Return the starting element to pass to the repository.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     * @return starting element
+     */
+    int getMemberStartingElement(String metadataCollectionId)
+    {
+        return queryInstanceAccumulator.getMemberStartingElement(metadataCollectionId, startingElement);
+    }
+
+
+    /**
+     * Return the page size to pass to the repository.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     * @return page size
+     */
+    int getMemberPageSize(String metadataCollectionId)
+    {
+        return queryInstanceAccumulator.getMemberPageSize(metadataCollectionId, pageSize);
+    }
+
+
+    /**
+     * Return whether the repository needs to be called again because it returned fewer results than the page
+     * needs without running out of results.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     * @return boolean true if the request should be issued again
+     */
+    boolean isMemberPageIncomplete(String metadataCollectionId)
+    {
+        return queryInstanceAccumulator.isMemberPageIncomplete(metadataCollectionId);
+    }
+
+
     /**
      * Return any of the exceptions that are common to paging requests.
      *
@@ -23,6 +23,9 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.eventmanagement.*;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 
@@ -725,6 +728,37 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
     }
 
 
+    /**
+     * A batch of new entities has been loaded, for example from an open metadata archive.  Each entity is
+     * processed as for processNewEntityEvent, except that the type of the entities is only validated once per
+     * TypeDef for the whole batch.  Different batches may be processed on different threads.
+     *
+     * @param sourceName                     name of the source of the entities.
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection that the entities came from.
+     * @param originatorServerName           name of the server or archive that the entities came from.
+     * @param entities                       details of the new entities
+     */
+    public void processNewEntitiesEvent(String             sourceName,
+                                        String             originatorMetadataCollectionId,
+                                        String             originatorServerName,
+                                        List<EntityDetail> entities)
+    {
+        final String methodName = "processNewEntitiesEvent";
+
+        Map<String, Boolean> activeTypes = new HashMap<>();
+
+        for (EntityDetail entity : entities)
+        {
+            updateReferenceEntity(sourceName,
+                                  methodName,
+                                  originatorMetadataCollectionId,
+                                  originatorServerName,
+                                  entity,
+                                  activeTypes);
+        }
+    }
+
+
     /**
      * An existing entity has been updated.
      *
@@ -1251,6 +1285,37 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
     }
 
 
+    /**
+     * A batch of new relationships has been loaded, for example from an open metadata archive.  Each relationship
+     * is processed as for processNewRelationshipEvent, except that the type of the relationships is only validated
+     * once per TypeDef for the whole batch.  Different batches may be processed on different threads.
+     *
+     * @param sourceName                     name of the source of the relationships.
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection that the relationships came from.
+     * @param originatorServerName           name of the server or archive that the relationships came from.
+     * @param relationships                  details of the new relationships
+     */
+    public void processNewRelationshipsEvent(String             sourceName,
+                                             String             originatorMetadataCollectionId,
+                                             String             originatorServerName,
+                                             List<Relationship> relationships)
+    {
+        final String methodName = "processNewRelationshipsEvent";
+
+        Map<String, Boolean> activeTypes = new HashMap<>();
+
+        for (Relationship relationship : relationships)
+        {
+            updateReferenceRelationship(sourceName,
+                                        methodName,
+                                        originatorMetadataCollectionId,
+                                        originatorServerName,
+                                        relationship,
+                                        activeTypes);
+        }
+    }
+
+
     /**
      * An existing relationship has been updated.
      *
@@ -2095,6 +2160,35 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
                                        String       originatorMetadataCollectionId,
                                        String       originatorServerName,
                                        EntityDetail entity)
+    {
+        updateReferenceEntity(sourceName,
+                              methodName,
+                              originatorMetadataCollectionId,
+                              originatorServerName,
+                              entity,
+                              null);
+    }
+
+
+    /**
+     * Update the reference entity in the local repository if all checks permit.  The active type cache is
+     * supplied when a batch of entities is processed so that each type is only validated once.
+     *
+     * @param sourceName                     name of the source of the event.  It may be the cohort name for incoming events or the
+     *                                       local repository, or event mapper name.
+     * @param methodName                     name of the event method
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that
+     *                                       sent the event.
+     * @param originatorServerName           name of the server that the event came from.
+     * @param entity                         details of the new entity
+     * @param activeTypes                    map of typeDefGUID to whether the type is active - or null to validate every time
+     */
+    private void updateReferenceEntity(String               sourceName,
+                                       String               methodName,
+                                       String               originatorMetadataCollectionId,
+                                       String               originatorServerName,
+                                       EntityDetail         entity,
+                                       Map<String, Boolean> activeTypes)
     {
         try
         {
@@ -2121,7 +2215,7 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
                 /*
                  * Verify that the rules allow the entity to be saved
                  */
-                if (verifyEventToSave(sourceName, entity))
+                if (verifyEventToSave(sourceName, entity, activeTypes))
                 {
                     localMetadataCollection.saveEntityReferenceCopy(localRepositoryConnector.getServerUserId(), entity);
                 }
@@ -2344,6 +2438,35 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
                                              String       originatorMetadataCollectionId,
                                              String       originatorServerName,
                                              Relationship relationship)
+    {
+        updateReferenceRelationship(sourceName,
+                                    methodName,
+                                    originatorMetadataCollectionId,
+                                    originatorServerName,
+                                    relationship,
+                                    null);
+    }
+
+
+    /**
+     * Update the reference relationship in the local repository.  The active type cache is
+     * supplied when a batch of relationships is processed so that each type is only validated once.
+     *
+     * @param sourceName                     name of the source of the event.  It may be the cohort name for incoming events or the
+     *                                       local repository, or event mapper name.
+     * @param methodName                     name of the event method
+     * @param originatorMetadataCollectionId unique identifier for the metadata collection hosted by the server that
+     *                                       sent the event.
+     * @param originatorServerName           name of the server that the event came from.
+     * @param relationship                   details of the relationship
+     * @param activeTypes                    map of typeDefGUID to whether the type is active - or null to validate every time
+     */
+    private void updateReferenceRelationship(String               sourceName,
+                                             String               methodName,
+                                             String               originatorMetadataCollectionId,
+                                             String               originatorServerName,
+                                             Relationship         relationship,
+                                             Map<String, Boolean> activeTypes)
     {
         try
         {
@@ -2356,7 +2479,7 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
                                                                 relationship,
                                                                 methodName);
 
-            if (verifyEventToSave(sourceName, relationship))
+            if (verifyEventToSave(sourceName, relationship, activeTypes))
             {
                 localMetadataCollection.saveRelationshipReferenceCopy(localRepositoryConnector.getServerUserId(),
                                                                       relationship);
@@ -2449,17 +2572,29 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
      *
      * @param source identifier of the source of the event.
      * @param instance metadata instance in the event.
+     * @param activeTypes map of typeDefGUID to whether the type is active - or null to validate every time
      * @return boolean flag indicating whether the event should be sent to the real repository or not.
      */
-    private boolean verifyEventToSave(String             source,
-                                      InstanceHeader     instance)
+    private boolean verifyEventToSave(String               source,
+                                      InstanceHeader       instance,
+                                      Map<String, Boolean> activeTypes)
     {
         InstanceType   instanceType = instance.getType();
 
-        return ((saveExchangeRule.processInstanceEvent(instance)) &&
-                (repositoryValidator.isActiveType(source,
-                                                  instanceType.getTypeDefGUID(),
-                                                  instanceType.getTypeDefName())));
+        if (! saveExchangeRule.processInstanceEvent(instance))
+        {
+            return false;
+        }
+
+        if (activeTypes == null)
+        {
+            return repositoryValidator.isActiveType(source, instanceType.getTypeDefGUID(), instanceType.getTypeDefName());
+        }
+
+        return activeTypes.computeIfAbsent(instanceType.getTypeDefGUID(),
+                                           typeDefGUID -> repositoryValidator.isActiveType(source,
+                                                                                           typeDefGUID,
+                                                                                           instanceType.getTypeDefName()));
     }
 
     /**
@@ -351,36 +351,7 @@ public class OMRSRepositoryContentHelper extends OMRSRepositoryPropertiesUtiliti
 
         validateRepositoryContentManager(methodName);
 
-        List<String>  subTypeNames = new ArrayList<>();
-        List<TypeDef> typeDefs = repositoryContentManager.getKnownTypeDefs();
-
-        if (typeDefs != null)
-        {
-            for (TypeDef typeDef : typeDefs)
-            {
-                if (typeDef != null)
-                {
-                    if (! superTypeName.equals(typeDef.getName()))
-                    {
-                        if (repositoryContentManager.isTypeOf(sourceName,
-                                                              typeDef.getName(),
-                                                              superTypeName))
-                        {
-                            subTypeNames.add(typeDef.getName());
-                        }
-                    }
-                }
-            }
-        }
-
-        if (subTypeNames.isEmpty())
-        {
-            return null;
-        }
-        else
-        {
-            return subTypeNames;
-        }
+        return repositoryContentManager.getSubTypesOf(superTypeName);
     }
 
 
@@ -56,7 +56,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     private Map<String, TypeDef>            activeTypeDefNames             = new HashMap<>();
     private Map<String, AttributeTypeDef>   activeAttributeTypeDefGUIDs    = new HashMap<>();
     private Map<String, AttributeTypeDef>   activeAttributeTypeDefNames    = new HashMap<>();
-    private Map<String, List<TypeDefLink>>  typeDefSuperTypes              = new HashMap<>();
+    private volatile TypeDefHierarchy       typeDefHierarchy               = null;
     private Map<String, InstanceType>       knownInstanceTypes             = new HashMap<>();
     private Map<String, String>             metadataCollectionNames        = new HashMap<>();
 
@@ -144,10 +144,11 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
      * @param newTypeDef TypeDef structure describing the new TypeDef.
      * @param isLocallySupported indicates whether the TypeDef is supported by the local repository.
      */
-    private void cacheTypeDef(String  sourceName, TypeDef      newTypeDef, boolean isLocallySupported)
+    private synchronized void cacheTypeDef(String  sourceName, TypeDef      newTypeDef, boolean isLocallySupported)
     {
         knownTypeDefGUIDs.put(newTypeDef.getGUID(), newTypeDef);
         knownTypeDefNames.put(newTypeDef.getName(), newTypeDef);
+        typeDefHierarchy = null;
 
         if (isLocallySupported)
         {
@@ -170,13 +171,14 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
      * @param obsoleteTypeDefName unique name for the type.
      * @param isLocallySupported indicates whether the TypeDef is supported by the local repository.
      */
-    private void uncacheTypeDef(String  sourceName,
-                                String  obsoleteTypeDefGUID,
-                                String  obsoleteTypeDefName,
-                                boolean isLocallySupported)
+    private synchronized void uncacheTypeDef(String  sourceName,
+                                             String  obsoleteTypeDefGUID,
+                                             String  obsoleteTypeDefName,
+                                             boolean isLocallySupported)
     {
         knownTypeDefGUIDs.remove(obsoleteTypeDefGUID);
         knownTypeDefNames.remove(obsoleteTypeDefName);
+        typeDefHierarchy = null;
 
         if (isLocallySupported)
         {
@@ -251,14 +253,15 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
      * @param obsoleteTypeDefGUID String unique identifier for the TypeDef.
      * @param obsoleteTypeDefName String unique name for the TypeDef.
      */
-    public void deleteTypeDef(String    sourceName,
-                              String    obsoleteTypeDefGUID,
-                              String    obsoleteTypeDefName)
+    public synchronized void deleteTypeDef(String    sourceName,
+                                           String    obsoleteTypeDefGUID,
+                                           String    obsoleteTypeDefName)
     {
         if (this.validTypeId(sourceName, obsoleteTypeDefGUID, obsoleteTypeDefName))
         {
             knownTypeDefGUIDs.remove(obsoleteTypeDefGUID);
             knownTypeDefNames.remove(obsoleteTypeDefName);
+            typeDefHierarchy = null;
 
             if (localRepositoryConnector != null)
             {
@@ -412,95 +415,104 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
 
 
     /**
-     * Evaluate the superTypes for a type.  The results are cached in typeDefSuperTypes.
+     * Return the type hierarchy for the known TypeDefs.  It is built on first use after the type system has
+     * changed.  The build runs under the same lock as the changes to the TypeDef cache, so it always sees a
+     * consistent set of types.
      *
-     * @param sourceName source of the request (used for logging)
-     * @param typeName name of type to process
-     * @param methodName calling method
-     * @return list of supertype links or null if top level
+     * @return type hierarchy
      */
-    private List<TypeDefLink>   getSuperTypes(String    sourceName,
-                                              String    typeName,
-                                              String    methodName)
+    private TypeDefHierarchy getTypeDefHierarchy()
     {
-        final String  thisMethodName = "getSuperTypes";
-
-        List<TypeDefLink>   typeHierarchy = typeDefSuperTypes.get(typeName);
+        TypeDefHierarchy hierarchy = typeDefHierarchy;
 
-        if (typeHierarchy == null)
+        if (hierarchy == null)
         {
-            /*
-             * The type hierarchy is not known at this time (it is evaluated lazily).
-             */
-            typeHierarchy = new ArrayList<>();
-
-            TypeDef typeDef = knownTypeDefNames.get(typeName);
-
-            if (typeDef != null)
+            synchronized (this)
             {
-                TypeDefLink superTypeLink = typeDef.getSuperType();
+                hierarchy = typeDefHierarchy;
 
-                while (superTypeLink != null)
+                if (hierarchy == null)
                 {
-                    String superTypeName = superTypeLink.getName();
+                    hierarchy = new TypeDefHierarchy(knownTypeDefNames);
+                    typeDefHierarchy = hierarchy;
+                }
+            }
+        }
 
-                    if (superTypeName != null)
-                    {
-                        log.debug(typeName + " has super type " + superTypeName);
+        return hierarchy;
+    }
 
-                        typeHierarchy.add(superTypeLink);
 
-                        /*
-                         * Retrieve the TypeDef for this super type
-                         */
-                        TypeDef superTypeDef = knownTypeDefNames.get(superTypeName);
+    /**
+     * Return the type hierarchy after checking that the requested type is part of it.
+     *
+     * @param sourceName source of the request (used for logging)
+     * @param typeName name of type to process
+     * @param methodName calling method
+     * @return type hierarchy
+     */
+    private TypeDefHierarchy getTypeDefHierarchy(String    sourceName,
+                                                 String    typeName,
+                                                 String    methodName)
+    {
+        final String  thisMethodName = "getSuperTypes";
 
-                        if (superTypeDef != null)
-                        {
-                            /*
-                             * Retrieve the super type for this super typeDef.  It will be null if the type is top-level.
-                             */
-                            superTypeLink = superTypeDef.getSuperType();
-                        }
-                        else
-                        {
-                            log.error(superTypeName + " supertype is not known in TypeDef cache");
-                            throwContentManagerLogicError(sourceName, methodName, thisMethodName);
-                        }
-                    }
-                    else
-                    {
-                        log.error("Corrupted TypeDef cache, no name for " + superTypeLink.toString());
-                        throwContentManagerLogicError(sourceName, methodName, thisMethodName);
-                    }
-                }
+        TypeDefHierarchy hierarchy = this.getTypeDefHierarchy();
 
-                /*
-                 * Cache the resulting superType list
-                 */
-                typeDefSuperTypes.put(typeName, typeHierarchy);
-            }
-            else
-            {
-                log.error(typeName + " type is not known in TypeDef cache");
-                throwContentManagerLogicError(sourceName, methodName, thisMethodName);
-            }
+        if (! hierarchy.isKnownType(typeName))
+        {
+            log.error(typeName + " type is not known in TypeDef cache or has an unknown super type");
+            throwContentManagerLogicError(sourceName, methodName, thisMethodName);
         }
 
+        return hierarchy;
+    }
+
+
+    /**
+     * Return the superTypes for a type.
+     *
+     * @param sourceName source of the request (used for logging)
+     * @param typeName name of type to process
+     * @param methodName calling method
+     * @return list of supertype links or null if top level
+     */
+    private List<TypeDefLink>   getSuperTypes(String    sourceName,
+                                              String    typeName,
+                                              String    methodName)
+    {
+        List<TypeDefLink>   typeHierarchy = this.getTypeDefHierarchy(sourceName, typeName, methodName).getSuperTypes(typeName);
+
         if (typeHierarchy.isEmpty())
         {
             /*
-             * The type hierarchy has been evaluated and this type has no supertypes.
+             * This type has no supertypes.
              */
             return null;
         }
         else
         {
-            /*
-             * The type hierarchy is known and can be returned directly.
-             */
-            return typeHierarchy;
+            return new ArrayList<>(typeHierarchy);
+        }
+    }
+
+
+    /**
+     * Return the names of all of the subtypes of a type.
+     *
+     * @param superTypeName name of the super type - this value is not included in the result.
+     * @return list of type names (a null means the type is not know or it has no sub types)
+     */
+    List<String>  getSubTypesOf(String superTypeName)
+    {
+        List<String>  subTypeNames = this.getTypeDefHierarchy().getSubTypeNames(superTypeName);
+
+        if (subTypeNames == null)
+        {
+            return null;
         }
+
+        return new ArrayList<>(subTypeNames);
     }
 
 
@@ -535,22 +547,10 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             /*
              * Looking for a match in the superTypes.
              */
-            List<TypeDefLink>   typeHierarchy = this.getSuperTypes(sourceName, actualTypeName, methodName);
-
-            if (typeHierarchy != null)
+            if (this.getTypeDefHierarchy(sourceName, actualTypeName, methodName).isSubTypeOf(actualTypeName, expectedTypeName))
             {
-                for (TypeDefLink superType : typeHierarchy)
-                {
-                    if (superType != null)
-                    {
-                        if (expectedTypeName.equals(superType.getName()))
-                        {
-                            log.debug("SuperType match success");
-                            return true;
-                        }
-                        log.debug("No match with " + superType.getName());
-                    }
-                }
+                log.debug("SuperType match success");
+                return true;
             }
         }
 
@@ -591,22 +591,10 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             /*
              * Looking for a match in the superTypes.
              */
-           List<TypeDefLink>   typeHierarchy = this.getSuperTypes(sourceName, actualTypeName, methodName);
-
-            if (typeHierarchy != null)
+            if (this.getTypeDefHierarchy(sourceName, actualTypeName, methodName).isSubTypeOfByGUID(actualTypeName, expectedTypeGUID))
             {
-                for (TypeDefLink superType : typeHierarchy)
-                {
-                    if (superType != null)
-                    {
-                        if (expectedTypeGUID.equals(superType.getGUID()))
-                        {
-                            log.debug("SuperType match success");
-                            return true;
-                        }
-                        log.debug("No match with " + superType.getGUID());
-                    }
-                }
+                log.debug("SuperType match success");
+                return true;
             }
         }
 
@@ -1363,7 +1351,11 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             {
                 if (!isKnownType(sourceName, typeDef.getGUID(), typeDef.getName()))
                 {
-                    knownTypeDefNames.put(typeDef.getName(), typeDef);
+                    synchronized (this)
+                    {
+                        knownTypeDefNames.put(typeDef.getName(), typeDef);
+                        typeDefHierarchy = null;
+                    }
                 }
             }
             else
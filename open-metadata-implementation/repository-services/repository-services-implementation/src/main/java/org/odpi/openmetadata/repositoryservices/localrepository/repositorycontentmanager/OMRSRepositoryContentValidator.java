@@ -3,6 +3,7 @@
 package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
 
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.utilities.OMRSRegexMatcher;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.utilities.OMRSRepositoryPropertiesUtilities;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -3636,7 +3637,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                                                 {
                                                     try
                                                     {
-                                                        if (instancePropertyValueString.matches(matchPropertyValueString))
+                                                        if (OMRSRegexMatcher.matches(instancePropertyValueString, matchPropertyValueString))
                                                         {
                                                             matchingProperties++;
                                                         }
@@ -3695,7 +3696,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
 
                     if (matchValue != null)
                     {
-                        if (matchValue.matches(expectedValue))
+                        if (OMRSRegexMatcher.matches(matchValue, expectedValue))
                         {
                             result = true;
                         }
@@ -4033,7 +4034,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                         else
                         {
                             String actual = actualValue.valueAsString();
-                            matchesProperties = actual.matches(test);
+                            matchesProperties = OMRSRegexMatcher.matches(actual, test);
                         }
                     }
                     else
@@ -4271,7 +4272,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
 
                             if (stringProperty != null)
                             {
-                                if (stringProperty.matches(searchCriteria))
+                                if (OMRSRegexMatcher.matches(stringProperty, searchCriteria))
                                 {
                                     return true;
                                 }
@@ -4285,7 +4286,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                         String  enumValue = enumPropertyValue.getSymbolicName();
                         if (enumValue != null)
                         {
-                            if (enumValue.matches(searchCriteria))
+                            if (OMRSRegexMatcher.matches(enumValue, searchCriteria))
                             {
                                 return true;
                             }
@@ -0,0 +1,168 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * TypeDefHierarchy holds the supertypes and subtypes of every TypeDef known to the repository content manager.
+ * It is calculated in one pass over the TypeDefs so that type checks and subtype lookups are simple map
+ * lookups rather than walks up the supertype chain of each type.
+ *
+ * A TypeDefHierarchy is never changed once it has been built.  When the type system changes, the repository
+ * content manager discards it and builds a new one, so it can be used by many threads without locking.
+ */
+class TypeDefHierarchy
+{
+    private static final Logger log = LoggerFactory.getLogger(TypeDefHierarchy.class);
+
+    private final Map<String, List<TypeDefLink>> superTypes     = new HashMap<>();
+    private final Map<String, Set<String>>       superTypeNames = new HashMap<>();
+    private final Map<String, Set<String>>       superTypeGUIDs = new HashMap<>();
+    private final Map<String, List<String>>      subTypeNames   = new HashMap<>();
+
+
+    /**
+     * Build the hierarchy from the known TypeDefs.  A TypeDef whose supertype chain refers to an unknown
+     * type (or loops back on itself) is left out of the hierarchy.
+     *
+     * @param typeDefs known TypeDefs indexed by name
+     */
+    TypeDefHierarchy(Map<String, TypeDef> typeDefs)
+    {
+        Map<String, List<String>> subTypes = new HashMap<>();
+
+        for (TypeDef typeDef : typeDefs.values())
+        {
+            if ((typeDef != null) && (typeDef.getName() != null))
+            {
+                String            typeName          = typeDef.getName();
+                List<TypeDefLink> typeHierarchy     = new ArrayList<>();
+                Set<String>       hierarchyNames    = new HashSet<>();
+                Set<String>       hierarchyGUIDs    = new HashSet<>();
+                boolean           completeHierarchy = true;
+                TypeDefLink       superTypeLink     = typeDef.getSuperType();
+
+                while (superTypeLink != null)
+                {
+                    String  superTypeName = superTypeLink.getName();
+                    TypeDef superTypeDef  = null;
+
+                    if (superTypeName != null)
+                    {
+                        superTypeDef = typeDefs.get(superTypeName);
+                    }
+
+                    if ((superTypeDef == null) || (superTypeName.equals(typeName)) || (! hierarchyNames.add(superTypeName)))
+                    {
+                        log.error(typeName + " has an unknown or circular super type " + superTypeLink);
+                        completeHierarchy = false;
+                        break;
+                    }
+
+                    typeHierarchy.add(superTypeLink);
+
+                    if (superTypeLink.getGUID() != null)
+                    {
+                        hierarchyGUIDs.add(superTypeLink.getGUID());
+                    }
+
+                    /*
+                     * Move to the super type of this super type.  It will be null if the type is top-level.
+                     */
+                    superTypeLink = superTypeDef.getSuperType();
+                }
+
+                if (completeHierarchy)
+                {
+                    superTypes.put(typeName, Collections.unmodifiableList(typeHierarchy));
+                    superTypeNames.put(typeName, hierarchyNames);
+                    superTypeGUIDs.put(typeName, hierarchyGUIDs);
+
+                    for (String superTypeName : hierarchyNames)
+                    {
+                        subTypes.computeIfAbsent(superTypeName, name -> new ArrayList<>()).add(typeName);
+                    }
+                }
+            }
+        }
+
+        for (Map.Entry<String, List<String>> subTypeEntry : subTypes.entrySet())
+        {
+            subTypeNames.put(subTypeEntry.getKey(), Collections.unmodifiableList(subTypeEntry.getValue()));
+        }
+    }
+
+
+    /**
+     * Return whether the type is known and has a complete supertype chain.
+     *
+     * @param typeName name of type
+     * @return boolean
+     */
+    boolean isKnownType(String typeName)
+    {
+        return superTypes.containsKey(typeName);
+    }
+
+
+    /**
+     * Return the supertypes of a type, starting with its immediate supertype.
+     *
+     * @param typeName name of type
+     * @return list of supertype links (empty if the type is top-level) or null if the type is not known
+     */
+    List<TypeDefLink> getSuperTypes(String typeName)
+    {
+        return superTypes.get(typeName);
+    }
+
+
+    /**
+     * Return whether a type is a subtype of the named type.
+     *
+     * @param typeName name of type
+     * @param superTypeName name of the possible super type
+     * @return boolean
+     */
+    boolean isSubTypeOf(String typeName,
+                        String superTypeName)
+    {
+        Set<String> names = superTypeNames.get(typeName);
+
+        return (names != null) && (names.contains(superTypeName));
+    }
+
+
+    /**
+     * Return whether a type is a subtype of the type with the supplied unique identifier.
+     *
+     * @param typeName name of type
+     * @param superTypeGUID unique identifier of the possible super type
+     * @return boolean
+     */
+    boolean isSubTypeOfByGUID(String typeName,
+                              String superTypeGUID)
+    {
+        Set<String> guids = superTypeGUIDs.get(typeName);
+
+        return (guids != null) && (guids.contains(superTypeGUID));
+    }
+
+
+    /**
+     * Return the names of all of the types that have the named type in their supertype chain.
+     *
+     * @param superTypeName name of the super type
+     * @return list of type names or null if the type has no subtypes
+     */
+    List<String> getSubTypeNames(String superTypeName)
+    {
+        return subTypeNames.get(superTypeName);
+    }
+}
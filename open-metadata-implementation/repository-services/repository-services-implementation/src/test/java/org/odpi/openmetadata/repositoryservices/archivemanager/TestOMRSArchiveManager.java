@@ -0,0 +1,269 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.archivemanager;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.messagesets.AuditLogMessageDefinition;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStoreConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveInstanceStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSRuntimeException;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositoryconnector.LocalOMRSInstanceEventProcessor;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentManager;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+/**
+ * Test that the OMRSArchiveManager stores the types of an archive before its instances and the entities before
+ * the relationships, that a failing batch does not stop the others, and that an interrupt stops the loading
+ * of the archive once the running batches are complete.
+ */
+public class TestOMRSArchiveManager
+{
+    private static final String archiveTypeName = "TestArchiveType";
+
+    private List<String>                    events;
+    private AuditLog                        auditLog;
+    private OMRSRepositoryContentManager    contentManager;
+    private LocalOMRSInstanceEventProcessor instanceProcessor;
+    private OMRSArchiveManager              archiveManager;
+
+
+    @BeforeMethod
+    public void setUp()
+    {
+        events            = Collections.synchronizedList(new ArrayList<>());
+        auditLog          = mock(AuditLog.class);
+        contentManager    = mock(OMRSRepositoryContentManager.class);
+        instanceProcessor = mock(LocalOMRSInstanceEventProcessor.class);
+
+        doAnswer(invocation ->
+                 {
+                     TypeDef typeDef = invocation.getArgument(5);
+
+                     if (archiveTypeName.equals(typeDef.getName()))
+                     {
+                         events.add("type");
+                     }
+                     return null;
+                 }).when(contentManager).processNewTypeDefEvent(anyString(), any(), any(), any(), any(), any(TypeDef.class));
+
+        archiveManager = new OMRSArchiveManager(null, auditLog);
+        archiveManager.setLocalRepository(contentManager, instanceProcessor);
+    }
+
+
+    @Test
+    public void testTypesAndEntitiesStoredBeforeRelationships()
+    {
+        recordBatches();
+
+        archiveManager.addOpenMetadataArchive(new TestArchiveStore(getArchive(1200, 700)), "test");
+
+        assertEquals(events.get(0), "type");
+
+        int entityCount       = 0;
+        int relationshipCount = 0;
+
+        for (String event : events.subList(1, events.size()))
+        {
+            if (event.startsWith("entities:"))
+            {
+                assertEquals(relationshipCount, 0, "entities stored after a relationship: " + events);
+                entityCount += Integer.parseInt(event.substring(9));
+            }
+            else
+            {
+                relationshipCount += Integer.parseInt(event.substring(14));
+            }
+        }
+
+        assertEquals(entityCount, 1200);
+        assertEquals(relationshipCount, 700);
+    }
+
+
+    @Test
+    public void testFailingBatchDoesNotStopTheOthers()
+    {
+        recordBatches();
+
+        doAnswer(invocation ->
+                 {
+                     List<EntityDetail> entities = invocation.getArgument(3);
+
+                     if (entities.get(0).getGUID().equals("entity0"))
+                     {
+                         throw new IllegalStateException("test failure");
+                     }
+
+                     events.add("entities:" + entities.size());
+                     return null;
+                 }).when(instanceProcessor).processNewEntitiesEvent(anyString(), anyString(), anyString(), anyList());
+
+        archiveManager.addOpenMetadataArchive(new TestArchiveStore(getArchive(1200, 10)), "test");
+
+        assertTrue(events.contains("entities:500"));
+        assertTrue(events.contains("entities:200"));
+        assertTrue(events.contains("relationships:10"));
+        verify(auditLog).logMessage(eq("waitForBatches"), any(AuditLogMessageDefinition.class), contains("test failure"));
+    }
+
+
+    @Test
+    public void testInterruptStopsLoadingOnceRunningBatchesComplete() throws Exception
+    {
+        CountDownLatch batchStarted = new CountDownLatch(1);
+        CountDownLatch releaseBatch = new CountDownLatch(1);
+        AtomicBoolean  batchDone    = new AtomicBoolean(false);
+        Thread         loadThread   = Thread.currentThread();
+
+        doAnswer(invocation ->
+                 {
+                     batchStarted.countDown();
+                     releaseBatch.await();
+                     batchDone.set(true);
+                     return null;
+                 }).when(instanceProcessor).processNewEntitiesEvent(anyString(), anyString(), anyString(), anyList());
+
+        Thread interrupter = new Thread(() ->
+                                        {
+                                            try
+                                            {
+                                                batchStarted.await();
+                                                loadThread.interrupt();
+                                                Thread.sleep(200);
+                                            }
+                                            catch (InterruptedException error)
+                                            {
+                                                // test ends
+                                            }
+                                            releaseBatch.countDown();
+                                        });
+        interrupter.start();
+
+        try
+        {
+            archiveManager.addOpenMetadataArchive(new TestArchiveStore(getArchive(10, 10)), "test");
+            fail("the loading of the archive should stop when it is interrupted");
+        }
+        catch (OMRSRuntimeException expected)
+        {
+            assertTrue(expected.getMessage().contains(OMRSErrorCode.ARCHIVE_LOAD_INTERRUPTED.getMessageDefinition().getMessageId()));
+            assertTrue(batchDone.get(), "the running batch should complete before the loading stops");
+            assertTrue(Thread.interrupted());
+        }
+        finally
+        {
+            interrupter.join(TimeUnit.SECONDS.toMillis(5));
+        }
+
+        verify(instanceProcessor, never()).processNewRelationshipsEvent(anyString(), anyString(), anyString(), anyList());
+    }
+
+
+    /**
+     * Record the size of each batch passed to the instance processor.
+     */
+    private void recordBatches()
+    {
+        doAnswer(invocation ->
+                 {
+                     events.add("entities:" + ((List<?>) invocation.getArgument(3)).size());
+                     return null;
+                 }).when(instanceProcessor).processNewEntitiesEvent(anyString(), anyString(), anyString(), anyList());
+        doAnswer(invocation ->
+                 {
+                     events.add("relationships:" + ((List<?>) invocation.getArgument(3)).size());
+                     return null;
+                 }).when(instanceProcessor).processNewRelationshipsEvent(anyString(), anyString(), anyString(), anyList());
+    }
+
+
+    private OpenMetadataArchive getArchive(int entityCount,
+                                           int relationshipCount)
+    {
+        OpenMetadataArchiveProperties archiveProperties = new OpenMetadataArchiveProperties();
+        archiveProperties.setArchiveGUID(UUID.randomUUID().toString());
+        archiveProperties.setArchiveName("TestArchive");
+        archiveProperties.setOriginatorName("TestOriginator");
+
+        EntityDef entityDef = new EntityDef();
+        entityDef.setName(archiveTypeName);
+
+        OpenMetadataArchiveTypeStore typeStore = new OpenMetadataArchiveTypeStore();
+        typeStore.setNewTypeDefs(Collections.singletonList(entityDef));
+
+        List<EntityDetail> entities = new ArrayList<>();
+        for (int i = 0; i < entityCount; i++)
+        {
+            EntityDetail entity = new EntityDetail();
+            entity.setGUID("entity" + i);
+            entities.add(entity);
+        }
+
+        List<Relationship> relationships = new ArrayList<>();
+        for (int i = 0; i < relationshipCount; i++)
+        {
+            Relationship relationship = new Relationship();
+            relationship.setGUID("relationship" + i);
+            relationships.add(relationship);
+        }
+
+        OpenMetadataArchiveInstanceStore instanceStore = new OpenMetadataArchiveInstanceStore();
+        instanceStore.setEntities(entities);
+        instanceStore.setRelationships(relationships);
+
+        OpenMetadataArchive archive = new OpenMetadataArchive();
+        archive.setArchiveProperties(archiveProperties);
+        archive.setArchiveTypeStore(typeStore);
+        archive.setArchiveInstanceStore(instanceStore);
+
+        return archive;
+    }
+
+
+    /**
+     * Archive store holding its archive in memory.
+     */
+    private static class TestArchiveStore extends OpenMetadataArchiveStoreConnector
+    {
+        private OpenMetadataArchive archive;
+
+
+        TestArchiveStore(OpenMetadataArchive archive)
+        {
+            this.archive = archive;
+        }
+
+
+        @Override
+        public OpenMetadataArchive getArchiveContents()
+        {
+            return archive;
+        }
+
+
+        @Override
+        public void setArchiveContents(OpenMetadataArchive archiveContents)
+        {
+            this.archive = archiveContents;
+        }
+    }
+}
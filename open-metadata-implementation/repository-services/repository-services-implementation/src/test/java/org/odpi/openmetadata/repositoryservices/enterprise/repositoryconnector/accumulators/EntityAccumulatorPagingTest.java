@@ -0,0 +1,341 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+/**
+ * Verify that federated paging merges the members' results in sequence and only asks each member for
+ * the results that the next page needs.
+ */
+public class EntityAccumulatorPagingTest
+{
+    private static final String QUERY_KEY = "findEntities";
+    private static final int    PAGE_SIZE = 3;
+
+    private Map<String, List<EntityDetail>> members;
+    private Map<String, Integer>            retrievedCount;
+    private Map<String, Integer>            memberPageLimits;
+    private Set<String>                     failingMembers;
+    private boolean                         askAgain;
+
+
+    @BeforeMethod
+    void setUp()
+    {
+        members = new LinkedHashMap<>();
+        retrievedCount = new HashMap<>();
+        memberPageLimits = new HashMap<>();
+        failingMembers = new HashSet<>();
+        askAgain = true;
+    }
+
+
+    @Test
+    void testWalkAllPages()
+    {
+        members.put("member1", getEntities("a01", "a03", "a05", "a07", "a09"));
+        members.put("member2", getEntities("a02", "a04", "a05", "a06"));
+
+        PagingCursorCache  pagingCursors = new PagingCursorCache();
+        List<String>       walkedGUIDs   = new ArrayList<>();
+        List<EntityDetail> page;
+        int                startingElement = 0;
+
+        do
+        {
+            page = getPage(pagingCursors, startingElement);
+
+            if (page != null)
+            {
+                assertTrue(page.size() <= PAGE_SIZE);
+
+                for (EntityDetail entity : page)
+                {
+                    walkedGUIDs.add(entity.getGUID());
+                }
+
+                startingElement = startingElement + page.size();
+            }
+        }
+        while ((page != null) && (page.size() == PAGE_SIZE));
+
+        assertEquals(walkedGUIDs, Arrays.asList("a01", "a02", "a03", "a04", "a05", "a06", "a07", "a09"));
+
+        /*
+         * Each of the members' results is retrieved exactly once during the walk.
+         */
+        assertEquals((int)retrievedCount.get("member1"), 5);
+        assertEquals((int)retrievedCount.get("member2"), 4);
+    }
+
+
+    @Test
+    void testMemberWithSmallerPages()
+    {
+        members.put("member1", getEntities("a01", "a03", "a05", "a07", "a09"));
+        members.put("member2", getEntities("a02", "a04", "a06", "a08"));
+
+        /*
+         * member1 never returns more than two results, however many are asked for.
+         */
+        memberPageLimits.put("member1", 2);
+
+        assertEquals(walkAllPages(new PagingCursorCache()),
+                     Arrays.asList("a01", "a02", "a03", "a04", "a05", "a06", "a07", "a08", "a09"));
+    }
+
+
+    @Test
+    void testMemberWithSingleResultPages()
+    {
+        members.put("member1", getEntities("a01", "a02", "a03", "a04", "a05", "a07", "a09"));
+        members.put("member2", getEntities("a06", "a08", "a10"));
+
+        /*
+         * member1 holds the first five results but never returns more than one at a time, so it has to be
+         * asked again for each page.
+         */
+        memberPageLimits.put("member1", 1);
+
+        assertEquals(walkAllPages(new PagingCursorCache()),
+                     Arrays.asList("a01", "a02", "a03", "a04", "a05", "a06", "a07", "a08", "a09", "a10"));
+        assertEquals((int)retrievedCount.get("member1"), 7);
+        assertEquals((int)retrievedCount.get("member2"), 3);
+    }
+
+
+    @Test
+    void testMergeStopsAtMemberWithShortPage()
+    {
+        members.put("member1", getEntities("a01", "a02", "a03", "a04", "a05", "a07"));
+        members.put("member2", getEntities("a06", "a08"));
+
+        memberPageLimits.put("member1", 1);
+        askAgain = false;
+
+        PagingCursorCache  pagingCursors = new PagingCursorCache();
+        List<EntityDetail> page          = getPage(pagingCursors, 0);
+
+        /*
+         * Without asking member1 again, the page has to stop after member1's only result because its next
+         * result could sort ahead of member2's results.
+         */
+        assertNotNull(page);
+        assertEquals(page.size(), 1);
+        assertEquals(page.get(0).getGUID(), "a01");
+
+        List<String> walkedGUIDs = new ArrayList<>(Collections.singletonList("a01"));
+        int          startingElement = 1;
+
+        while ((page = getPage(pagingCursors, startingElement)) != null)
+        {
+            for (EntityDetail entity : page)
+            {
+                walkedGUIDs.add(entity.getGUID());
+            }
+
+            startingElement = startingElement + page.size();
+        }
+
+        assertEquals(walkedGUIDs, Arrays.asList("a01", "a02", "a03", "a04", "a05", "a06", "a07", "a08"));
+    }
+
+
+    @Test
+    void testFailedMemberIsLeftOutOfTheWalk()
+    {
+        members.put("member1", getEntities("a01", "a03", "a05", "a07", "a09"));
+        members.put("member2", getEntities("a02", "a04", "a06", "a08"));
+
+        PagingCursorCache pagingCursors = new PagingCursorCache();
+
+        /*
+         * member2 fails (or times out) for the first page.  Its results would sort ahead of results already
+         * returned, so it is not asked again for the rest of the walk.
+         */
+        failingMembers.add("member2");
+
+        List<EntityDetail> page = getPage(pagingCursors, 0);
+
+        assertNotNull(page);
+        assertEquals(page.size(), PAGE_SIZE);
+        assertEquals(page.get(0).getGUID(), "a01");
+        assertEquals(page.get(1).getGUID(), "a03");
+        assertEquals(page.get(2).getGUID(), "a05");
+
+        failingMembers.clear();
+
+        List<String> walkedGUIDs = new ArrayList<>(Arrays.asList("a01", "a03", "a05"));
+        int          startingElement = PAGE_SIZE;
+
+        do
+        {
+            page = getPage(pagingCursors, startingElement);
+
+            if (page != null)
+            {
+                for (EntityDetail entity : page)
+                {
+                    walkedGUIDs.add(entity.getGUID());
+                }
+
+                startingElement = startingElement + page.size();
+            }
+        }
+        while ((page != null) && (page.size() == PAGE_SIZE));
+
+        assertEquals(walkedGUIDs, Arrays.asList("a01", "a03", "a05", "a07", "a09"));
+        assertNull(retrievedCount.get("member2"));
+    }
+
+
+    @Test
+    void testDeepPageWithoutCursor()
+    {
+        members.put("member1", getEntities("a01", "a03", "a05", "a07", "a09"));
+        members.put("member2", getEntities("a02", "a04", "a06", "a08"));
+
+        PagingCursorCache  pagingCursors = new PagingCursorCache();
+        List<EntityDetail> page          = getPage(pagingCursors, 6);
+
+        assertNotNull(page);
+        assertEquals(page.size(), PAGE_SIZE);
+        assertEquals(page.get(0).getGUID(), "a07");
+        assertEquals(page.get(1).getGUID(), "a08");
+        assertEquals(page.get(2).getGUID(), "a09");
+    }
+
+
+    @Test
+    void testExpiredCursor() throws InterruptedException
+    {
+        members.put("member1", getEntities("a01", "a03", "a05", "a07", "a09", "a11", "a13", "a15"));
+        members.put("member2", getEntities("a02", "a04", "a06", "a08", "a10", "a12", "a14", "a16"));
+
+        PagingCursorCache pagingCursors = new PagingCursorCache(10, 0L);
+
+        getPage(pagingCursors, 0);
+        Thread.sleep(5);
+        retrievedCount.clear();
+
+        List<EntityDetail> page = getPage(pagingCursors, 3);
+
+        assertNotNull(page);
+        assertEquals(page.get(0).getGUID(), "a04");
+
+        /*
+         * Without the cursor, the members are asked for all of the results up to the end of the page.
+         */
+        assertEquals((int)retrievedCount.get("member1"), 6);
+        assertEquals((int)retrievedCount.get("member2"), 6);
+    }
+
+
+    /**
+     * Simulate the calls made by a pageable executor to each member.
+     *
+     * @param pagingCursors cursor cache
+     * @param startingElement first element of the page
+     * @return page of results
+     */
+    private List<EntityDetail> getPage(PagingCursorCache pagingCursors,
+                                       int               startingElement)
+    {
+        EntityAccumulator accumulator = new EntityAccumulator(null, null, null);
+
+        accumulator.startPaging(pagingCursors, QUERY_KEY, startingElement, PAGE_SIZE, null, SequencingOrder.GUID);
+
+        for (String metadataCollectionId : members.keySet())
+        {
+            if (accumulator.isMemberRequestNeeded(metadataCollectionId))
+            {
+                if (failingMembers.contains(metadataCollectionId))
+                {
+                    accumulator.getMemberPageSize(metadataCollectionId, PAGE_SIZE);
+                    continue;
+                }
+
+                do
+                {
+                    List<EntityDetail> memberResults  = members.get(metadataCollectionId);
+                    int                memberStart    = accumulator.getMemberStartingElement(metadataCollectionId, startingElement);
+                    int                memberPageSize = accumulator.getMemberPageSize(metadataCollectionId, PAGE_SIZE);
+                    int                memberEnd      = Math.min(memberStart + memberPageSize, memberResults.size());
+                    List<EntityDetail> results        = null;
+
+                    if (memberPageLimits.containsKey(metadataCollectionId))
+                    {
+                        memberEnd = Math.min(memberEnd, memberStart + memberPageLimits.get(metadataCollectionId));
+                    }
+
+                    if (memberStart < memberEnd)
+                    {
+                        results = new ArrayList<>(memberResults.subList(memberStart, memberEnd));
+                        retrievedCount.merge(metadataCollectionId, results.size(), Integer::sum);
+                    }
+
+                    accumulator.addEntities(results, metadataCollectionId);
+                }
+                while (askAgain && accumulator.isMemberPageIncomplete(metadataCollectionId));
+            }
+        }
+
+        return accumulator.getResults(null);
+    }
+
+
+    /**
+     * Walk through all of the pages of the query.
+     *
+     * @param pagingCursors cursor cache
+     * @return guids of the returned entities in the order they were returned
+     */
+    private List<String> walkAllPages(PagingCursorCache pagingCursors)
+    {
+        List<String>       walkedGUIDs     = new ArrayList<>();
+        List<EntityDetail> page;
+        int                startingElement = 0;
+
+        do
+        {
+            page = getPage(pagingCursors, startingElement);
+
+            if (page != null)
+            {
+                for (EntityDetail entity : page)
+                {
+                    walkedGUIDs.add(entity.getGUID());
+                }
+
+                startingElement = startingElement + page.size();
+            }
+        }
+        while ((page != null) && (page.size() == PAGE_SIZE));
+
+        return walkedGUIDs;
+    }
+
+
+    private List<EntityDetail> getEntities(String... guids)
+    {
+        List<EntityDetail> entities = new ArrayList<>();
+
+        for (String guid : guids)
+        {
+            EntityDetail entity = new EntityDetail();
+
+            entity.setGUID(guid);
+            entities.add(entity);
+        }
+
+        return entities;
+    }
+}
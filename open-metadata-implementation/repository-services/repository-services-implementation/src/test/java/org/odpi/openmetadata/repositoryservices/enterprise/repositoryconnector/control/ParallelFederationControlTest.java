@@ -0,0 +1,328 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSDynamicTypeMetadataCollectionBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.EntityAccumulator;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.CloneableRepositoryExecutor;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.RepositoryExecutor;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.*;
+
+/**
+ * Verify that ParallelFederationControl stops waiting for a slow member, ignores what the member returns
+ * afterwards, and gives up the request when the calling thread is interrupted.
+ */
+public class ParallelFederationControlTest
+{
+    private static final String FAST_MEMBER = "fastMember";
+    private static final String SLOW_MEMBER = "slowMember";
+
+    private CountDownLatch slowMemberStarted;
+    private CountDownLatch releaseSlowMember;
+    private CountDownLatch slowMemberDone;
+
+
+    @BeforeMethod
+    void setUp()
+    {
+        slowMemberStarted = new CountDownLatch(1);
+        releaseSlowMember = new CountDownLatch(1);
+        slowMemberDone = new CountDownLatch(1);
+    }
+
+
+    @AfterMethod
+    void releaseMembers()
+    {
+        releaseSlowMember.countDown();
+    }
+
+
+    @Test
+    void testLateResultsAreIgnored() throws Exception
+    {
+        EntityAccumulator accumulator = new EntityAccumulator(null, null, null);
+
+        /*
+         * The slow member can not be interrupted so it returns its results after the timeout.
+         */
+        getControl(2000L).executeCommand(new TestExecutor(accumulator, false));
+
+        assertEquals(getGUIDs(accumulator), Collections.singletonList("fast1"));
+        assertTrue(accumulator.resultsReturned());
+        assertCapturedTimeout(accumulator);
+
+        releaseSlowMember.countDown();
+        assertTrue(slowMemberDone.await(5, TimeUnit.SECONDS));
+
+        assertEquals(getGUIDs(accumulator), Collections.singletonList("fast1"));
+        assertCapturedTimeout(accumulator);
+    }
+
+
+    @Test
+    void testTimeoutAfterResponseIsIgnored() throws Exception
+    {
+        EntityAccumulator accumulator = new EntityAccumulator(null, null, null);
+
+        accumulator.addEntities(Collections.singletonList(getEntity("fast1")), FAST_MEMBER);
+        accumulator.acceptResults(FAST_MEMBER);
+        accumulator.captureTimeout(FAST_MEMBER, getTimeout(FAST_MEMBER));
+
+        accumulator.throwCapturedRepositoryErrorException();
+        assertEquals(getGUIDs(accumulator), Collections.singletonList("fast1"));
+    }
+
+
+    @Test
+    void testTimeoutAfterPartialResponseStopsTheMember() throws Exception
+    {
+        EntityAccumulator accumulator = new EntityAccumulator(null, null, null);
+
+        /*
+         * The member has returned its first page but its call has not completed.
+         */
+        accumulator.addEntities(Collections.singletonList(getEntity("slow1")), SLOW_MEMBER);
+        accumulator.captureTimeout(SLOW_MEMBER, getTimeout(SLOW_MEMBER));
+        accumulator.addEntities(Collections.singletonList(getEntity("slow2")), SLOW_MEMBER);
+
+        assertCapturedTimeout(accumulator);
+        assertEquals(getGUIDs(accumulator), Collections.singletonList("slow1"));
+    }
+
+
+    @Test
+    void testInterruptStopsTheRequest() throws Exception
+    {
+        EntityAccumulator accumulator = new EntityAccumulator(null, null, null);
+        Thread            caller      = Thread.currentThread();
+
+        /*
+         * The calling thread is interrupted while it waits for the slow member.
+         */
+        new Thread(() ->
+        {
+            try
+            {
+                slowMemberStarted.await();
+                caller.interrupt();
+            }
+            catch (InterruptedException error)
+            {
+                // test will fail
+            }
+        }).start();
+
+        try
+        {
+            getControl(60000L).executeCommand(new TestExecutor(accumulator, true));
+            fail("the interrupt should end the request");
+        }
+        catch (RepositoryErrorException error)
+        {
+            assertEquals(error.getReportedErrorMessageId(), OMRSErrorCode.FEDERATION_INTERRUPTED.getMessageDefinition().getMessageId());
+        }
+        finally
+        {
+            assertTrue(Thread.interrupted(), "the interrupt should be restored");
+        }
+
+        /*
+         * The call to the slow member is cancelled rather than left waiting for the latch.
+         */
+        assertTrue(slowMemberDone.await(5, TimeUnit.SECONDS));
+        assertFalse(getGUIDs(accumulator).contains("slow1"));
+    }
+
+
+    private ParallelFederationControl getControl(long memberTimeout)
+    {
+        List<OMRSRepositoryConnector> cohortConnectors = new ArrayList<>();
+
+        cohortConnectors.add(new TestRepositoryConnector(FAST_MEMBER));
+        cohortConnectors.add(new TestRepositoryConnector(SLOW_MEMBER));
+
+        return new ParallelFederationControl("testUser", cohortConnectors, "testMethod", memberTimeout);
+    }
+
+
+    private void assertCapturedTimeout(EntityAccumulator accumulator)
+    {
+        try
+        {
+            accumulator.throwCapturedRepositoryErrorException();
+            fail("the timeout should be captured");
+        }
+        catch (RepositoryErrorException error)
+        {
+            assertEquals(error.getReportedErrorMessageId(), OMRSErrorCode.COHORT_MEMBER_TIMEOUT.getMessageDefinition().getMessageId());
+        }
+    }
+
+
+    private RepositoryErrorException getTimeout(String metadataCollectionId)
+    {
+        return new RepositoryErrorException(OMRSErrorCode.COHORT_MEMBER_TIMEOUT.getMessageDefinition("testMethod", metadataCollectionId, "0"),
+                                            this.getClass().getName(),
+                                            "testMethod");
+    }
+
+
+    private List<String> getGUIDs(EntityAccumulator accumulator)
+    {
+        List<String>       guids    = new ArrayList<>();
+        List<EntityDetail> entities = accumulator.getResults(null);
+
+        if (entities != null)
+        {
+            for (EntityDetail entity : entities)
+            {
+                guids.add(entity.getGUID());
+            }
+        }
+
+        return guids;
+    }
+
+
+    private static EntityDetail getEntity(String guid)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+
+        return entity;
+    }
+
+
+    /**
+     * Executor that returns one entity from each member.  The slow member waits until the test releases it.
+     */
+    private class TestExecutor implements RepositoryExecutor, CloneableRepositoryExecutor
+    {
+        private final EntityAccumulator accumulator;
+        private final boolean           interruptible;
+
+
+        TestExecutor(EntityAccumulator accumulator,
+                     boolean           interruptible)
+        {
+            this.accumulator = accumulator;
+            this.interruptible = interruptible;
+        }
+
+
+        @Override
+        public CloneableRepositoryExecutor getClone()
+        {
+            return new TestExecutor(accumulator, interruptible);
+        }
+
+
+        @Override
+        public void acceptResults(String metadataCollectionId)
+        {
+            accumulator.acceptResults(metadataCollectionId);
+        }
+
+
+        @Override
+        public void captureTimeout(String                   metadataCollectionId,
+                                   RepositoryErrorException exception)
+        {
+            accumulator.captureTimeout(metadataCollectionId, exception);
+        }
+
+
+        @Override
+        public boolean issueRequestToRepository(String                 metadataCollectionId,
+                                                OMRSMetadataCollection metadataCollection)
+        {
+            if (SLOW_MEMBER.equals(metadataCollectionId))
+            {
+                slowMemberStarted.countDown();
+
+                try
+                {
+                    if (! waitForRelease())
+                    {
+                        return false;
+                    }
+
+                    accumulator.addEntities(Collections.singletonList(getEntity("slow1")), metadataCollectionId);
+                }
+                finally
+                {
+                    slowMemberDone.countDown();
+                }
+            }
+            else
+            {
+                accumulator.addEntities(Collections.singletonList(getEntity("fast1")), metadataCollectionId);
+            }
+
+            return true;
+        }
+
+
+        /**
+         * Wait for the test to release the slow member.
+         *
+         * @return false if the wait was interrupted
+         */
+        private boolean waitForRelease()
+        {
+            while (true)
+            {
+                try
+                {
+                    releaseSlowMember.await();
+                    return true;
+                }
+                catch (InterruptedException error)
+                {
+                    if (interruptible)
+                    {
+                        return false;
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Connector for a cohort member.  Its metadata collection is only used for its identifier.
+     */
+    private static class TestRepositoryConnector extends OMRSRepositoryConnector
+    {
+        TestRepositoryConnector(String metadataCollectionId)
+        {
+            super.metadataCollection = new OMRSDynamicTypeMetadataCollectionBase(this,
+                                                                                  metadataCollectionId,
+                                                                                  null,
+                                                                                  null,
+                                                                                  metadataCollectionId)
+            {
+                @Override
+                public String getMetadataCollectionId(String userId)
+                {
+                    return metadataCollectionId;
+                }
+            };
+        }
+    }
+}
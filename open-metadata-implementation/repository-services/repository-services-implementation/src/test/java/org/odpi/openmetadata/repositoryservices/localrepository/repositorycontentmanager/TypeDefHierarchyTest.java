@@ -0,0 +1,88 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+/**
+ * Verify that the type hierarchy returns the same supertypes and subtypes as walking the supertype chain.
+ */
+public class TypeDefHierarchyTest
+{
+    @Test
+    void testHierarchy()
+    {
+        Map<String, TypeDef> typeDefs = new HashMap<>();
+
+        addTypeDef(typeDefs, "Referenceable", null);
+        addTypeDef(typeDefs, "Asset", "Referenceable");
+        addTypeDef(typeDefs, "DataSet", "Asset");
+        addTypeDef(typeDefs, "DataFile", "DataSet");
+        addTypeDef(typeDefs, "Process", "Asset");
+
+        TypeDefHierarchy hierarchy = new TypeDefHierarchy(typeDefs);
+
+        List<String> superTypeNames = new ArrayList<>();
+        for (TypeDefLink superType : hierarchy.getSuperTypes("DataFile"))
+        {
+            superTypeNames.add(superType.getName());
+        }
+        assertEquals(superTypeNames, Arrays.asList("DataSet", "Asset", "Referenceable"));
+        assertTrue(hierarchy.getSuperTypes("Referenceable").isEmpty());
+
+        assertTrue(hierarchy.isSubTypeOf("DataFile", "Asset"));
+        assertTrue(hierarchy.isSubTypeOfByGUID("DataFile", "Asset-GUID"));
+        assertFalse(hierarchy.isSubTypeOf("Process", "DataSet"));
+        assertFalse(hierarchy.isSubTypeOf("Asset", "Asset"));
+
+        assertEquals(new HashSet<>(hierarchy.getSubTypeNames("Asset")), new HashSet<>(Arrays.asList("DataSet", "DataFile", "Process")));
+        assertNull(hierarchy.getSubTypeNames("DataFile"));
+    }
+
+
+    @Test
+    void testIncompleteHierarchy()
+    {
+        Map<String, TypeDef> typeDefs = new HashMap<>();
+
+        addTypeDef(typeDefs, "Asset", "Missing");
+        addTypeDef(typeDefs, "Loop1", "Loop2");
+        addTypeDef(typeDefs, "Loop2", "Loop1");
+
+        TypeDefHierarchy hierarchy = new TypeDefHierarchy(typeDefs);
+
+        assertFalse(hierarchy.isKnownType("Asset"));
+        assertFalse(hierarchy.isKnownType("Loop1"));
+        assertNull(hierarchy.getSuperTypes("Asset"));
+        assertNull(hierarchy.getSubTypeNames("Missing"));
+    }
+
+
+    private void addTypeDef(Map<String, TypeDef> typeDefs,
+                            String               typeName,
+                            String               superTypeName)
+    {
+        EntityDef typeDef = new EntityDef();
+
+        typeDef.setName(typeName);
+        typeDef.setGUID(typeName + "-GUID");
+
+        if (superTypeName != null)
+        {
+            TypeDefLink superType = new TypeDefLink();
+
+            superType.setName(superTypeName);
+            superType.setGUID(superTypeName + "-GUID");
+            typeDef.setSuperType(superType);
+        }
+
+        typeDefs.put(typeName, typeDef);
+    }
+}